@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the client-side validation of {@link Tool#execute} arguments against a compiled {@link
+ * ToolInvocationPlan}, including its input schema.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ArgumentValidationBenchmark {
+
+  /**
+   * {@code flat} has ten top-level string parameters and no input schema; {@code nested} adds an
+   * object parameter with an enum, bounded numbers and an array of pattern-checked strings.
+   */
+  @Param({"flat", "nested"})
+  public String schema;
+
+  private ToolInvocationPlan plan;
+  private Map<String, Object> arguments;
+
+  @Setup(Level.Trial)
+  public void setUp() throws JsonProcessingException {
+    ToolDefinition flat = BenchmarkData.definition(10, 0);
+    arguments = new HashMap<>(BenchmarkData.arguments(10, 0, 16));
+    if ("flat".equals(schema)) {
+      plan = ToolInvocationPlan.compile(flat);
+      return;
+    }
+    String inputSchema =
+        "{\"type\":\"object\",\"required\":[\"param_0\",\"filter\"],\"properties\":{"
+            + "\"param_0\":{\"type\":\"string\",\"maxLength\":64},"
+            + "\"filter\":{\"type\":\"object\",\"additionalProperties\":false,"
+            + "\"required\":[\"field\"],\"properties\":{"
+            + "\"field\":{\"enum\":[\"name\",\"date\",\"size\"]},"
+            + "\"limit\":{\"type\":\"integer\",\"minimum\":1,\"maximum\":1000},"
+            + "\"tags\":{\"type\":\"array\",\"maxItems\":10,"
+            + "\"items\":{\"type\":\"string\",\"pattern\":\"^[a-z0-9_]+$\"}}}}}}";
+    plan =
+        ToolInvocationPlan.compile(
+            new ToolDefinition(
+                flat.description(),
+                flat.parameters(),
+                flat.authRequired(),
+                null,
+                null,
+                BenchmarkData.objectMapper.readTree(inputSchema)));
+    arguments.put(
+        "filter",
+        Map.of("field", "date", "limit", 50, "tags", List.of("alpha", "beta_2", "gamma")));
+  }
+
+  @Benchmark
+  public Map<String, Object> validate() {
+    Map<String, Object> args = new HashMap<>(arguments);
+    plan.validateAndSanitize(args, "tool_0");
+    return args;
+  }
+}
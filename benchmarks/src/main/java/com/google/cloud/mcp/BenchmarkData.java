@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.cloud.mcp.apache.ApacheHttpEngine;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Builds the manifests, definitions and payloads shared by the benchmarks. */
+final class BenchmarkData {
+  static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private BenchmarkData() {}
+
+  /**
+   * Builds a {@code tools/list} response shaped like a real toolbox manifest: every tool has a
+   * description, five parameters of which one is authenticated, and an invocation auth source.
+   */
+  static String toolsListResponse(int toolCount) {
+    ObjectNode response = objectMapper.createObjectNode();
+    response.put("jsonrpc", "2.0");
+    response.put("id", "1");
+    ArrayNode tools = response.putObject("result").putArray("tools");
+    for (int i = 0; i < toolCount; i++) {
+      ObjectNode tool = tools.addObject();
+      tool.put("name", "tool_" + i);
+      tool.put("description", "Looks up records of kind " + i + " matching the given filters.");
+      ObjectNode schema = tool.putObject("inputSchema");
+      schema.put("type", "object");
+      ObjectNode properties = schema.putObject("properties");
+      ArrayNode required = schema.putArray("required");
+      for (ToolDefinition.Parameter parameter : definition(5, 1).parameters()) {
+        properties
+            .putObject(parameter.name())
+            .put("type", parameter.type())
+            .put("description", parameter.description());
+        if (parameter.required()) {
+          required.add(parameter.name());
+        }
+      }
+      ObjectNode meta = tool.putObject("_meta");
+      meta.putObject("toolbox/authParam").putArray("param_0").add("service_0");
+      meta.putArray("toolbox/authInvoke").add("service_0");
+      tool.put("readOnlyHint", true);
+    }
+    return response.toString();
+  }
+
+  /** Builds a successful {@code tools/call} response whose text content has the given length. */
+  static String callToolResponse(int payloadSize) {
+    ObjectNode response = objectMapper.createObjectNode();
+    response.put("jsonrpc", "2.0");
+    response.put("id", "1");
+    ObjectNode result = response.putObject("result");
+    result.putArray("content").addObject().put("type", "text").put("text", text(payloadSize));
+    result.put("isError", false);
+    return response.toString();
+  }
+
+  /**
+   * Builds a tool definition with the given number of string parameters, the first {@code
+   * authenticatedCount} of which are filled from the auth services {@code service_0}, {@code
+   * service_1}, ...
+   */
+  static ToolDefinition definition(int parameterCount, int authenticatedCount) {
+    List<ToolDefinition.Parameter> parameters = new ArrayList<>();
+    for (int i = 0; i < parameterCount; i++) {
+      parameters.add(
+          new ToolDefinition.Parameter(
+              "param_" + i,
+              "string",
+              i % 2 == 0,
+              "Filter number " + i,
+              i < authenticatedCount ? List.of("service_" + i) : List.of()));
+    }
+    return new ToolDefinition(
+        "Looks up records matching the given filters.", parameters, List.of());
+  }
+
+  /** Builds arguments for the unauthenticated parameters of {@link #definition}. */
+  static Map<String, Object> arguments(int parameterCount, int authenticatedCount, int valueSize) {
+    Map<String, Object> arguments = new LinkedHashMap<>();
+    for (int i = authenticatedCount; i < parameterCount; i++) {
+      arguments.put("param_" + i, text(valueSize));
+    }
+    return arguments;
+  }
+
+  /** Returns printable text of the given length that compresses like typical tool output. */
+  static String text(int length) {
+    StringBuilder text = new StringBuilder(length);
+    for (int i = 0; text.length() < length; i++) {
+      text.append("row ").append(i).append(": status=ok; ");
+    }
+    text.setLength(length);
+    return text.toString();
+  }
+
+  /**
+   * Creates the {@link HttpEngine} named by a benchmark parameter.
+   *
+   * @param name {@code jdk} or {@code apache}.
+   * @return A new engine, to be closed by the caller.
+   */
+  static HttpEngine httpEngine(String name) {
+    switch (name) {
+      case "jdk":
+        return new JdkHttpEngine(java.net.http.HttpClient.newHttpClient());
+      case "apache":
+        return ApacheHttpEngine.builder().build();
+      default:
+        throw new IllegalArgumentException("Unknown engine: " + name);
+    }
+  }
+}
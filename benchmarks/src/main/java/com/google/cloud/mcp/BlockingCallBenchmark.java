@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.google.cloud.mcp.testing.FakeMcpServer;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a burst of concurrent {@code invokeToolBlocking} calls over HTTP, each on its own
+ * thread, against a server that takes 5 ms per call. With {@code platform} threads every caller
+ * holds an OS thread while it waits; with {@code virtual} threads the callers and the HTTP client
+ * run on virtual threads and a waiting caller holds none. The {@code virtual} runs need Java 21 or
+ * later and fail their setup on older JVMs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingCallBenchmark {
+
+  @Param({"platform", "virtual"})
+  public String threads;
+
+  @Param({"64", "512"})
+  public int concurrency;
+
+  private FakeMcpServer server;
+  private McpToolboxClient client;
+  private ExecutorService callers;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    boolean virtual = threads.equals("virtual");
+    if (virtual && !VirtualThreads.isAvailable()) {
+      throw new IllegalStateException("Virtual threads require Java 21 or later");
+    }
+    server =
+        FakeToolbox.builder()
+            .tool("tool_0", BenchmarkData.definition(2, 0), args -> "ok")
+            .serviceTime(random -> Duration.ofMillis(5))
+            .build()
+            .startServer();
+    client = McpToolboxClient.builder().baseUrl(server.url()).virtualThreads(virtual).build();
+    callers = virtual ? VirtualThreads.newExecutor() : Executors.newCachedThreadPool();
+    burst();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    callers.shutdownNow();
+    server.close();
+  }
+
+  @Benchmark
+  public int burst() throws Exception {
+    List<Future<ToolResult>> calls = new ArrayList<>(concurrency);
+    for (int i = 0; i < concurrency; i++) {
+      calls.add(
+          callers.submit(() -> client.invokeToolBlocking("tool_0", Map.of("param_0", "value"))));
+    }
+    int errors = 0;
+    for (Future<ToolResult> call : calls) {
+      errors += call.get().isError() ? 1 : 0;
+    }
+    return errors;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * An {@link HttpEngine} that answers from memory, so that benchmarks of {@link HttpMcpTransport}
+ * measure the transport's own work rather than the network. Requests are told apart by the method
+ * near the start of the body; compressed bodies are always tool calls, because benchmarks only
+ * compress requests larger than any handshake.
+ */
+final class CannedHttpEngine implements HttpEngine {
+  private static final String INITIALIZE_RESPONSE =
+      "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":{\"protocolVersion\":\""
+          + ProtocolVersion.VERSION_2025_11_25.getValue()
+          + "\",\"capabilities\":{\"tools\":{}},\"serverInfo\":{\"name\":\"canned\"}}}";
+
+  private final CompletableFuture<Response> initialize = respond(200, INITIALIZE_RESPONSE);
+  private final CompletableFuture<Response> accepted = respond(202, "");
+  private final CompletableFuture<Response> toolsList;
+  private final CompletableFuture<Response> toolsCall;
+
+  CannedHttpEngine(String toolsListResponse, String callToolResponse) {
+    this.toolsList = respond(200, toolsListResponse);
+    this.toolsCall = respond(200, callToolResponse);
+  }
+
+  @Override
+  public CompletableFuture<Response> execute(Request request) {
+    if (request.headers().containsKey("Content-Encoding")) {
+      return toolsCall;
+    }
+    byte[] body = request.body();
+    String head = new String(body, 0, Math.min(body.length, 128), StandardCharsets.UTF_8);
+    if (head.contains("\"tools/call\"")) {
+      return toolsCall;
+    } else if (head.contains("\"tools/list\"")) {
+      return toolsList;
+    } else if (head.contains("\"initialize\"")) {
+      return initialize;
+    }
+    return accepted;
+  }
+
+  private static CompletableFuture<Response> respond(int statusCode, String body) {
+    return CompletableFuture.completedFuture(
+        new Response() {
+          @Override
+          public int statusCode() {
+            return statusCode;
+          }
+
+          @Override
+          public String body() {
+            return body;
+          }
+
+          @Override
+          public Optional<String> header(String name) {
+            return Optional.empty();
+          }
+        });
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost {@link InMemoryClientMetrics} and {@link CallRecorder} add to every invocation,
+ * alone and with threads contending on the same tool or ring buffer. Run with the GC profiler to
+ * check that recording a call that is not captured as slow allocates nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ClientMetricsBenchmark {
+  private static final ToolResult RESULT = new ToolResult(java.util.List.of(), false);
+
+  private final InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+  private final CallRecorder recorder = CallRecorder.builder().build();
+  private final InvocationTimer timer = timer();
+
+  private static InvocationTimer timer() {
+    InvocationTimer timer = new InvocationTimer("tool_0");
+    long start = System.nanoTime();
+    timer.record(InvocationTimer.HEADERS, start);
+    timer.record(InvocationTimer.NETWORK, start);
+    timer.record(InvocationTimer.PARSE, start);
+    timer.end();
+    return timer;
+  }
+
+  @Benchmark
+  public void recordInvocation() {
+    metrics.invocationStarted("tool_0");
+    metrics.invocationCompleted("tool_0", 1_234_567, false);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void recordInvocationContended() {
+    metrics.invocationStarted("tool_0");
+    metrics.invocationCompleted("tool_0", 1_234_567, false);
+  }
+
+  @Benchmark
+  public void recordCall() {
+    recorder.record(timer, RESULT, null);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void recordCallContended() {
+    recorder.record(timer, RESULT, null);
+  }
+}
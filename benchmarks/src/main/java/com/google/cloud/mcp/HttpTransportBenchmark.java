@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the work {@link HttpMcpTransport} does around each tool call against an engine that
+ * answers from memory: merging client, auth and protocol headers, encoding and optionally
+ * compressing the request, and reading the response.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpTransportBenchmark {
+
+  /** The number of client headers, each also sent as per-call metadata to be merged. */
+  @Param({"0", "8", "32"})
+  public int headerCount;
+
+  @Param({"64", "65536"})
+  public int argumentSize;
+
+  @Param({"false", "true"})
+  public boolean compressRequests;
+
+  private HttpMcpTransport transport;
+  private Map<String, Object> arguments;
+  private Map<String, String> metadata;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Map<String, String> clientHeaders = new HashMap<>();
+    metadata = new HashMap<>();
+    for (int i = 0; i < headerCount; i++) {
+      clientHeaders.put("X-Client-" + i, "value-" + i);
+      metadata.put("X-Call-" + i, "value-" + i);
+    }
+    metadata.put("Authorization", "Bearer token");
+    transport =
+        new HttpMcpTransport(
+            "http://canned/mcp",
+            clientHeaders,
+            null,
+            null,
+            null,
+            null,
+            HttpTransportOptions.builder()
+                .httpEngine(
+                    new CannedHttpEngine(
+                        BenchmarkData.toolsListResponse(1), BenchmarkData.callToolResponse(1024)))
+                .requestCompressionThreshold(compressRequests ? 1024 : -1)
+                .build());
+    arguments = Map.of("param_0", BenchmarkData.text(argumentSize));
+    transport.invokeTool("tool_0", arguments, metadata).join();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    transport.close();
+  }
+
+  @Benchmark
+  public TransportResponse invokeTool() {
+    return transport.invokeTool("tool_0", arguments, metadata).join();
+  }
+}
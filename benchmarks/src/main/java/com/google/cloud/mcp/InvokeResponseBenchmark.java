@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how the client turns a {@code tools/call} response into a {@link ToolResult}, using a
+ * transport that returns a canned response so that only the client's decoding is timed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InvokeResponseBenchmark {
+
+  @Param({"1024", "65536", "1048576", "10485760"})
+  public int payloadSize;
+
+  private McpToolboxClient client;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    TransportResponse response =
+        new TransportResponse(200, BenchmarkData.callToolResponse(payloadSize));
+    client = McpToolboxClient.builder().transport(new CannedTransport(response)).build();
+  }
+
+  @Benchmark
+  public ToolResult invokeTool() {
+    return client.invokeTool("tool_0", Map.of("param_0", "value")).join();
+  }
+
+  private static final class CannedTransport implements Transport {
+    private final CompletableFuture<TransportResponse> response;
+
+    CannedTransport(TransportResponse response) {
+      this.response = CompletableFuture.completedFuture(response);
+    }
+
+    @Override
+    public String getBaseUrl() {
+      return "canned:";
+    }
+
+    @Override
+    public CompletableFuture<TransportManifest> listTools(
+        String toolsetName, Map<String, String> metadata) {
+      return CompletableFuture.completedFuture(new TransportManifest(Map.of()));
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> invokeTool(
+        String toolName, Map<String, Object> arguments, Map<String, String> metadata) {
+      return response;
+    }
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures encoding of {@code tools/call} requests as the transports send them. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonRpcEncodingBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int argumentCount;
+
+  @Param({"16", "1024"})
+  public int valueSize;
+
+  private Map<String, Object> arguments;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    arguments = BenchmarkData.arguments(argumentCount, 0, valueSize);
+  }
+
+  /** A request as encoded by the stream transports, including the id they generate. */
+  @Benchmark
+  public String encodeMessage() throws JsonProcessingException {
+    return BenchmarkData.objectMapper.writeValueAsString(
+        new JsonRpc.Request("tools/call", new JsonRpc.CallToolParams("tool_0", arguments)));
+  }
+
+  /** A request as encoded by the HTTP transport: to a string, then to a UTF-8 body. */
+  @Benchmark
+  public byte[] encodeHttpBody() throws JsonProcessingException {
+    return BenchmarkData.objectMapper
+        .writeValueAsString(
+            new JsonRpc.Request("tools/call", new JsonRpc.CallToolParams("tool_0", arguments)))
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  /** The same body encoded by Jackson straight to UTF-8, as a baseline for the HTTP path. */
+  @Benchmark
+  public byte[] encodeUtf8Directly() throws JsonProcessingException {
+    return BenchmarkData.objectMapper.writeValueAsBytes(
+        new JsonRpc.Request("tools/call", new JsonRpc.CallToolParams("tool_0", arguments)));
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import org.HdrHistogram.Histogram;
+
+/** The outcome of one load test scenario. Latencies are recorded in nanoseconds. */
+final class LoadResult {
+  static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+  final String scenario;
+  final double targetRate;
+  final Duration elapsed;
+  final long errors;
+  final long incomplete;
+  final Duration maxSendLag;
+  final Histogram corrected;
+  final Histogram uncorrected;
+
+  LoadResult(
+      String scenario,
+      double targetRate,
+      Duration elapsed,
+      long errors,
+      long incomplete,
+      Duration maxSendLag,
+      Histogram corrected,
+      Histogram uncorrected) {
+    this.scenario = scenario;
+    this.targetRate = targetRate;
+    this.elapsed = elapsed;
+    this.errors = errors;
+    this.incomplete = incomplete;
+    this.maxSendLag = maxSendLag;
+    this.corrected = corrected;
+    this.uncorrected = uncorrected;
+  }
+
+  /**
+   * Returns the rate at which recorded calls completed, which falls below the target rate when the
+   * client or server cannot keep up.
+   */
+  double achievedRate() {
+    return corrected.getTotalCount() / (elapsed.toNanos() / 1e9);
+  }
+
+  /**
+   * Returns a JSON summary including both histograms, encoded as compressed base64 so that they can
+   * be decoded with {@code Histogram.decodeFromCompressedByteBuffer} and compared exactly.
+   */
+  ObjectNode toJson() {
+    ObjectNode json = BenchmarkData.objectMapper.createObjectNode();
+    json.put("scenario", scenario);
+    json.put("targetRate", targetRate);
+    json.put("achievedRate", achievedRate());
+    json.put("count", corrected.getTotalCount());
+    json.put("errors", errors);
+    json.put("incomplete", incomplete);
+    json.put("maxSendLagMillis", maxSendLag.toNanos() / 1e6);
+    json.set("correctedMillis", percentiles(corrected));
+    json.set("uncorrectedMillis", percentiles(uncorrected));
+    json.put("correctedHistogram", encode(corrected));
+    json.put("uncorrectedHistogram", encode(uncorrected));
+    return json;
+  }
+
+  private static ObjectNode percentiles(Histogram histogram) {
+    ObjectNode json = BenchmarkData.objectMapper.createObjectNode();
+    for (double percentile : PERCENTILES) {
+      json.put(label(percentile), millis(histogram.getValueAtPercentile(percentile)));
+    }
+    json.put("max", millis(histogram.getMaxValue()));
+    json.put("mean", histogram.getMean() / 1e6);
+    return json;
+  }
+
+  private static String encode(Histogram histogram) {
+    ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+    int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+    return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+  }
+
+  /** Returns a label such as {@code p99} or {@code p99.9}. */
+  static String label(double percentile) {
+    return "p"
+        + (percentile == Math.rint(percentile)
+            ? String.valueOf((long) percentile)
+            : String.valueOf(percentile));
+  }
+
+  static double millis(long nanos) {
+    return nanos / 1e6;
+  }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.cloud.mcp.testing.FakeMcpServer;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import com.google.cloud.mcp.testing.FakeUnixSocketServer;
+import com.google.cloud.mcp.testing.ServiceTime;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Drives an {@link McpToolboxClient} at a target request rate against a fake MCP server and reports
+ * coordinated-omission-corrected latency percentiles. Every combination of the given transports,
+ * executors and manifest cache settings runs in turn against a fresh server, so that they can be
+ * compared in one run:
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.google.cloud.mcp.LoadTest \
+ *     --rate=2000 --duration=30s --transports=in-process,http,unix-socket \
+ *     --executors=default,fixed-4 --cache-ttls=0s,5m --workload=execute \
+ *     --service-time=lognormal:2ms:0.5
+ * </pre>
+ *
+ * <p>Options:
+ *
+ * <ul>
+ *   <li>{@code --rate}: calls per second. Defaults to 1000.
+ *   <li>{@code --arrivals}: {@code constant} or {@code poisson} gaps between calls. Defaults to
+ *       constant.
+ *   <li>{@code --warmup}, {@code --duration}: how long to run before and while recording. Default
+ *       to 5s and 30s.
+ *   <li>{@code --transports}: any of {@code in-process}, {@code http} and {@code unix-socket}.
+ *       Defaults to all.
+ *   <li>{@code --executors}: any of {@code default}, {@code cached}, {@code fixed-N} and {@code
+ *       virtual}, for the HTTP transport only. {@code virtual} needs Java 21 or later. Defaults to
+ *       default.
+ *   <li>{@code --cache-ttls}: manifest cache TTLs, which matter for the {@code execute} workload.
+ *       Defaults to 0s.
+ *   <li>{@code --workload}: {@code invoke} calls {@code invokeTool}; {@code execute} loads the tool
+ *       and calls {@code Tool.execute}. Defaults to invoke.
+ *   <li>{@code --service-time}: {@code fixed:D}, {@code uniform:MIN:MAX}, {@code exponential:MEAN}
+ *       or {@code lognormal:MEDIAN:SIGMA}. Defaults to lognormal:1ms:0.5.
+ *   <li>{@code --payload}: the size of every tool result in bytes. Defaults to 1024.
+ *   <li>{@code --error-rate}: the fraction of calls the server fails. Defaults to 0.
+ *   <li>{@code --output}: where to write the JSON results. Defaults to load-result.json.
+ * </ul>
+ *
+ * <p>Durations are written as a number followed by {@code us}, {@code ms}, {@code s} or {@code m}.
+ */
+public final class LoadTest {
+  private static final String TOOL = "lookup";
+  private static final Map<String, Object> ARGUMENTS = Map.of("param_0", "value");
+
+  private LoadTest() {}
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = parseOptions(args);
+    double rate = Double.parseDouble(options.getOrDefault("rate", "1000"));
+    boolean poisson = parseArrivals(options.getOrDefault("arrivals", "constant"));
+    Duration warmup = parseDuration(options.getOrDefault("warmup", "5s"));
+    Duration duration = parseDuration(options.getOrDefault("duration", "30s"));
+    List<String> transports =
+        list(options.getOrDefault("transports", "in-process,http,unix-socket"));
+    List<String> executors = list(options.getOrDefault("executors", "default"));
+    List<String> cacheTtls = list(options.getOrDefault("cache-ttls", "0s"));
+    boolean execute = parseWorkload(options.getOrDefault("workload", "invoke"));
+    ServiceTime serviceTime =
+        parseServiceTime(options.getOrDefault("service-time", "lognormal:1ms:0.5"));
+    int payload = Integer.parseInt(options.getOrDefault("payload", "1024"));
+    double errorRate = Double.parseDouble(options.getOrDefault("error-rate", "0"));
+    Path output = Path.of(options.getOrDefault("output", "load-result.json"));
+
+    OpenLoopGenerator generator = new OpenLoopGenerator(rate, poisson, warmup, duration, 42);
+    List<LoadResult> results = new ArrayList<>();
+    printHeader();
+    for (String transport : transports) {
+      // The executor only applies to the HTTP transport; run the others once.
+      for (String executor : transport.equals("http") ? executors : List.of("default")) {
+        for (String cacheTtl : cacheTtls) {
+          FakeToolbox toolbox =
+              FakeToolbox.builder()
+                  .tool(TOOL, BenchmarkData.definition(2, 0), arguments -> "ok")
+                  .serviceTime(serviceTime)
+                  .payloadSize(payload)
+                  .errorRate(errorRate)
+                  .build();
+          String scenario = transport + "/" + executor + "/ttl=" + cacheTtl;
+          LoadResult result =
+              run(
+                  generator,
+                  scenario,
+                  toolbox,
+                  transport,
+                  executor,
+                  parseDuration(cacheTtl),
+                  execute);
+          printRow(result);
+          results.add(result);
+        }
+      }
+    }
+
+    ArrayNode json = BenchmarkData.objectMapper.createArrayNode();
+    results.forEach(result -> json.add(result.toJson()));
+    BenchmarkData.objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), json);
+    System.out.println("Results written to " + output);
+  }
+
+  private static LoadResult run(
+      OpenLoopGenerator generator,
+      String scenario,
+      FakeToolbox toolbox,
+      String transport,
+      String executorName,
+      Duration cacheTtl,
+      boolean execute)
+      throws Exception {
+    List<AutoCloseable> resources = new ArrayList<>();
+    ExecutorService executor = newExecutor(executorName);
+    try {
+      McpToolboxClient.Builder builder = McpToolboxClient.builder().manifestCacheTtl(cacheTtl);
+      switch (transport) {
+        case "in-process":
+          Transport inProcess = toolbox.transport();
+          resources.add(inProcess::close);
+          builder.transport(inProcess);
+          break;
+        case "http":
+          FakeMcpServer httpServer = toolbox.startServer();
+          resources.add(httpServer);
+          builder.baseUrl(httpServer.url()).executor(executor);
+          break;
+        case "unix-socket":
+          Path directory = Files.createTempDirectory("mcp-load");
+          resources.add(() -> Files.deleteIfExists(directory));
+          FakeUnixSocketServer socketServer =
+              toolbox.startUnixSocketServer(directory.resolve("mcp.sock"));
+          resources.add(socketServer);
+          Transport socket = new UnixSocketMcpTransport(socketServer.path());
+          resources.add(socket::close);
+          builder.transport(socket);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown transport: " + transport);
+      }
+      McpToolboxClient client = builder.build();
+      client.warmUp().join();
+      Supplier<CompletableFuture<ToolResult>> call =
+          execute
+              ? () -> client.loadTool(TOOL).thenCompose(tool -> tool.execute(ARGUMENTS))
+              : () -> client.invokeTool(TOOL, ARGUMENTS);
+      return generator.run(scenario, call);
+    } finally {
+      for (int i = resources.size() - 1; i >= 0; i--) {
+        resources.get(i).close();
+      }
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+  }
+
+  private static ExecutorService newExecutor(String name) {
+    if (name.equals("default")) {
+      return null;
+    } else if (name.equals("cached")) {
+      return Executors.newCachedThreadPool(LoadTest::daemon);
+    } else if (name.equals("virtual")) {
+      ExecutorService virtual = VirtualThreads.newExecutor();
+      if (virtual == null) {
+        throw new IllegalArgumentException("Virtual threads require Java 21 or later");
+      }
+      return virtual;
+    } else if (name.startsWith("fixed-")) {
+      return Executors.newFixedThreadPool(
+          Integer.parseInt(name.substring("fixed-".length())), LoadTest::daemon);
+    }
+    throw new IllegalArgumentException("Unknown executor: " + name);
+  }
+
+  private static Thread daemon(Runnable runnable) {
+    Thread thread = new Thread(runnable, "load-test-http");
+    thread.setDaemon(true);
+    return thread;
+  }
+
+  private static void printHeader() {
+    StringBuilder header =
+        new StringBuilder(
+            String.format("%-36s %10s %10s %8s", "scenario", "target/s", "done/s", "errors"));
+    for (double percentile : LoadResult.PERCENTILES) {
+      header.append(String.format(" %9s", LoadResult.label(percentile)));
+    }
+    header.append(String.format(" %9s %13s", "max", "p99 (sent)"));
+    System.out.println(header + "   (latencies in ms)");
+  }
+
+  private static void printRow(LoadResult result) {
+    StringBuilder row =
+        new StringBuilder(
+            String.format(
+                "%-36s %10.0f %10.0f %8d",
+                result.scenario, result.targetRate, result.achievedRate(), result.errors));
+    for (double percentile : LoadResult.PERCENTILES) {
+      row.append(
+          String.format(
+              " %9.3f", LoadResult.millis(result.corrected.getValueAtPercentile(percentile))));
+    }
+    row.append(
+        String.format(
+            " %9.3f %13.3f",
+            LoadResult.millis(result.corrected.getMaxValue()),
+            LoadResult.millis(result.uncorrected.getValueAtPercentile(99))));
+    if (result.incomplete > 0) {
+      row.append("  (" + result.incomplete + " calls did not complete)");
+    }
+    System.out.println(row);
+  }
+
+  static Map<String, String> parseOptions(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      int equals = arg.indexOf('=');
+      if (!arg.startsWith("--") || equals < 0) {
+        throw new IllegalArgumentException("Expected --option=value but got: " + arg);
+      }
+      options.put(arg.substring(2, equals), arg.substring(equals + 1));
+    }
+    return options;
+  }
+
+  private static List<String> list(String value) {
+    return Arrays.asList(value.split(","));
+  }
+
+  private static boolean parseArrivals(String value) {
+    if (!value.equals("constant") && !value.equals("poisson")) {
+      throw new IllegalArgumentException("Unknown arrivals: " + value);
+    }
+    return value.equals("poisson");
+  }
+
+  private static boolean parseWorkload(String value) {
+    if (!value.equals("invoke") && !value.equals("execute")) {
+      throw new IllegalArgumentException("Unknown workload: " + value);
+    }
+    return value.equals("execute");
+  }
+
+  static ServiceTime parseServiceTime(String value) {
+    String[] parts = value.split(":");
+    switch (parts[0]) {
+      case "fixed":
+        return ServiceTime.fixed(parseDuration(parts[1]));
+      case "uniform":
+        return ServiceTime.uniform(parseDuration(parts[1]), parseDuration(parts[2]));
+      case "exponential":
+        return ServiceTime.exponential(parseDuration(parts[1]));
+      case "lognormal":
+        return ServiceTime.logNormal(parseDuration(parts[1]), Double.parseDouble(parts[2]));
+      default:
+        throw new IllegalArgumentException("Unknown service time: " + value);
+    }
+  }
+
+  static Duration parseDuration(String value) {
+    int unit = 0;
+    while (unit < value.length()
+        && (Character.isDigit(value.charAt(unit)) || value.charAt(unit) == '.')) {
+      unit++;
+    }
+    double amount = Double.parseDouble(value.substring(0, unit));
+    switch (value.substring(unit)) {
+      case "us":
+        return Duration.ofNanos((long) (amount * 1e3));
+      case "ms":
+        return Duration.ofNanos((long) (amount * 1e6));
+      case "s":
+        return Duration.ofNanos((long) (amount * 1e9));
+      case "m":
+        return Duration.ofNanos((long) (amount * 60e9));
+      default:
+        throw new IllegalArgumentException("Unknown duration: " + value);
+    }
+  }
+}
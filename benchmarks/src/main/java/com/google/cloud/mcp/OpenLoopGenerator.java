@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Issues calls on a fixed schedule regardless of how many are still outstanding, as independent
+ * users would. Latency is measured from when each call was due rather than when it was sent, so
+ * that a stalled client or server is charged for every call it delayed (coordinated omission
+ * correction); the latency from sending is recorded as well for comparison.
+ */
+final class OpenLoopGenerator {
+  private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+  private final double rate;
+  private final boolean poisson;
+  private final Duration warmup;
+  private final Duration duration;
+  private final long seed;
+
+  /**
+   * Creates a generator.
+   *
+   * @param rate The target rate in calls per second.
+   * @param poisson Whether gaps between calls are exponentially distributed rather than equal.
+   * @param warmup How long to run before recording.
+   * @param duration How long to record for.
+   * @param seed Seeds the Poisson arrivals.
+   */
+  OpenLoopGenerator(double rate, boolean poisson, Duration warmup, Duration duration, long seed) {
+    if (!(rate > 0)) {
+      throw new IllegalArgumentException("Rate must be positive");
+    }
+    this.rate = rate;
+    this.poisson = poisson;
+    this.warmup = warmup;
+    this.duration = duration;
+    this.seed = seed;
+  }
+
+  LoadResult run(String scenario, Supplier<CompletableFuture<ToolResult>> call)
+      throws InterruptedException {
+    Recorder corrected = new Recorder(3);
+    Recorder uncorrected = new Recorder(3);
+    AtomicLong errors = new AtomicLong();
+    AtomicLong outstanding = new AtomicLong();
+    AtomicLong lastDone = new AtomicLong();
+    Random random = new Random(seed);
+    double interval = 1e9 / rate;
+
+    long start = System.nanoTime();
+    long recordFrom = start + warmup.toNanos();
+    long end = recordFrom + duration.toNanos();
+    double due = start;
+    long maxSendLag = 0;
+    while ((long) due < end) {
+      long scheduled = (long) due;
+      long now;
+      while ((now = System.nanoTime()) < scheduled) {
+        LockSupport.parkNanos(scheduled - now);
+      }
+      boolean recorded = scheduled >= recordFrom;
+      if (recorded) {
+        maxSendLag = Math.max(maxSendLag, now - scheduled);
+      }
+      long sent = now;
+      outstanding.incrementAndGet();
+      CompletableFuture<ToolResult> future;
+      try {
+        future = call.get();
+      } catch (RuntimeException e) {
+        future = CompletableFuture.failedFuture(e);
+      }
+      future.whenComplete(
+          (result, error) -> {
+            long done = System.nanoTime();
+            if (recorded) {
+              corrected.recordValue(done - scheduled);
+              uncorrected.recordValue(done - sent);
+              lastDone.accumulateAndGet(done, Math::max);
+              if (error != null || result.isError()) {
+                errors.incrementAndGet();
+              }
+            }
+            outstanding.decrementAndGet();
+          });
+      due += poisson ? -Math.log(1 - random.nextDouble()) * interval : interval;
+    }
+
+    long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+    while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+      Thread.sleep(1);
+    }
+    return new LoadResult(
+        scenario,
+        rate,
+        Duration.ofNanos(Math.max(lastDone.get(), end) - recordFrom),
+        errors.get(),
+        outstanding.get(),
+        Duration.ofNanos(maxSendLag),
+        corrected.getIntervalHistogram(),
+        uncorrected.getIntervalHistogram());
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Tool#execute} with four client-level pre-processors and four post-processors that
+ * do no work, so that the cost is that of running the processor chain.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessorChainBenchmark {
+  private static final int PROCESSOR_COUNT = 4;
+
+  /**
+   * {@code async} processors return completed futures; {@code sync} processors implement {@link
+   * SyncToolPreProcessor} and {@link SyncToolPostProcessor}.
+   */
+  @Param({"async", "sync"})
+  public String mode;
+
+  private Tool tool;
+  private Map<String, Object> arguments;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ToolDefinition definition = BenchmarkData.definition(4, 0);
+    FakeToolbox toolbox = FakeToolbox.builder().tool("tool_0", definition, args -> "ok").build();
+    McpToolboxClient.Builder builder = McpToolboxClient.builder().transport(toolbox.transport());
+    for (int i = 0; i < PROCESSOR_COUNT; i++) {
+      if ("sync".equals(mode)) {
+        builder
+            .preProcessor((SyncToolPreProcessor) (name, args) -> args)
+            .postProcessor((SyncToolPostProcessor) (name, result) -> result);
+      } else {
+        builder
+            .preProcessor((name, args) -> CompletableFuture.completedFuture(args))
+            .postProcessor((name, result) -> CompletableFuture.completedFuture(result));
+      }
+    }
+    tool = builder.build().loadTool("tool_0").join();
+    arguments = new HashMap<>(BenchmarkData.arguments(4, 0, 16));
+  }
+
+  @Benchmark
+  public ToolResult execute() {
+    return tool.execute(arguments).join();
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures how resolved tokens are applied to the arguments and headers of a call. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResolvedAuthBenchmark {
+
+  @Param({"1", "10", "100"})
+  public int parameterCount;
+
+  @Param({"1", "4"})
+  public int serviceCount;
+
+  private ResolvedAuth auth;
+  private ToolDefinition definition;
+  private ToolInvocationPlan plan;
+  private Map<String, Object> arguments;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    Map<String, String> tokens = new LinkedHashMap<>();
+    for (int i = 0; i < serviceCount; i++) {
+      tokens.put("service_" + i, "token-" + i);
+    }
+    auth = new ResolvedAuth(tokens);
+    definition = BenchmarkData.definition(parameterCount, Math.min(serviceCount, parameterCount));
+    plan = ToolInvocationPlan.compile(definition);
+    arguments = BenchmarkData.arguments(parameterCount, serviceCount, 16);
+  }
+
+  /** Includes copying the arguments, as {@link Tool#execute} does before applying the tokens. */
+  @Benchmark
+  public Map<String, Object> applyTo() {
+    Map<String, Object> finalArgs = new HashMap<>(arguments);
+    Map<String, String> extraHeaders = new HashMap<>();
+    auth.applyTo(finalArgs, extraHeaders, definition);
+    return finalArgs;
+  }
+
+  /** Looks the parameters up in a compiled plan, as {@link Tool#execute} does. */
+  @Benchmark
+  public Map<String, Object> applyToPlan() {
+    Map<String, Object> finalArgs = new HashMap<>(arguments);
+    Map<String, String> extraHeaders = new HashMap<>();
+    auth.applyTo(finalArgs, extraHeaders, plan);
+    return finalArgs;
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.google.cloud.mcp.testing.FakeMcpServer;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code tools/call} throughput over HTTP against a {@link FakeMcpServer} on the same
+ * machine with and without gzip response compression. The server gzips every non-empty body the
+ * client accepts, so {@code compression=gzip} adds the server's compression and the client's
+ * streaming decompression to each round trip in exchange for fewer bytes on the wire.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseDecompressionBenchmark {
+
+  @Param({"none", "gzip"})
+  public String compression;
+
+  @Param({"jdk", "apache"})
+  public String engine;
+
+  @Param({"16384", "1048576"})
+  public int payloadSize;
+
+  private FakeMcpServer server;
+  private HttpEngine httpEngine;
+  private HttpMcpTransport transport;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    // Realistic text rather than the toolbox's payloadSize padding, which compresses too well.
+    String text = BenchmarkData.text(payloadSize);
+    server =
+        FakeToolbox.builder()
+            .tool("tool_0", BenchmarkData.definition(1, 0), args -> text)
+            .build()
+            .startServer();
+    httpEngine = BenchmarkData.httpEngine(engine);
+    transport =
+        new HttpMcpTransport(
+            server.url(),
+            Map.of(),
+            null,
+            null,
+            null,
+            null,
+            HttpTransportOptions.builder()
+                .httpEngine(httpEngine)
+                .compressResponses(compression.equals("gzip"))
+                .build());
+    invokeTool();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    transport.close();
+    httpEngine.close();
+    server.close();
+  }
+
+  @Benchmark
+  public TransportResponse invokeTool() {
+    return transport.invokeTool("tool_0", Map.of("param_0", "value"), Map.of()).join();
+  }
+}
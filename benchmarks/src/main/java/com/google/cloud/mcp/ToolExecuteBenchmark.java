@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Tool#execute} over an in-process transport, so that the cost is that of bound
+ * parameters, auth resolution, validation and result decoding rather than I/O.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ToolExecuteBenchmark {
+  private static final int PARAMETER_COUNT = 10;
+
+  /**
+   * {@code plain} passes every argument; {@code bound} binds two of them, one through a supplier;
+   * {@code authenticated} fills the first parameter and the headers from an auth token getter.
+   */
+  @Param({"plain", "bound", "authenticated"})
+  public String mode;
+
+  private Tool tool;
+  private Map<String, Object> arguments;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ToolDefinition definition = BenchmarkData.definition(PARAMETER_COUNT, 1);
+    FakeToolbox toolbox = FakeToolbox.builder().tool("tool_0", definition, args -> "ok").build();
+    McpToolboxClient client = McpToolboxClient.builder().transport(toolbox.transport()).build();
+    tool = new Tool("tool_0", definition, client);
+    arguments = new HashMap<>(BenchmarkData.arguments(PARAMETER_COUNT, 0, 16));
+    switch (mode) {
+      case "plain":
+        break;
+      case "bound":
+        tool.bindParam("param_1", arguments.remove("param_1"));
+        Object supplied = arguments.remove("param_2");
+        tool.bindParam("param_2", () -> supplied);
+        break;
+      case "authenticated":
+        arguments.remove("param_0");
+        tool.addAuthTokenGetter("service_0", () -> CompletableFuture.completedFuture("token"));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown mode: " + mode);
+    }
+  }
+
+  @Benchmark
+  public ToolResult execute() {
+    return tool.execute(arguments).join();
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Measures parsing of {@code tools/list} responses, alone and through the HTTP transport. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ToolsListBenchmark {
+
+  @Param({"10", "100", "1000", "10000"})
+  public int toolCount;
+
+  private String body;
+  private HttpMcpTransport transport;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    body = BenchmarkData.toolsListResponse(toolCount);
+    transport =
+        new HttpMcpTransport(
+            "http://canned/mcp",
+            Map.of(),
+            null,
+            null,
+            null,
+            null,
+            HttpTransportOptions.builder()
+                .httpEngine(new CannedHttpEngine(body, BenchmarkData.callToolResponse(0)))
+                .build());
+    transport.listTools("", Map.of()).join();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    transport.close();
+  }
+
+  /** The codec alone: JSON tree parsing and conversion into tool definitions. */
+  @Benchmark
+  public TransportManifest parseToolsList() {
+    return McpCodec.parseToolsList(BenchmarkData.objectMapper, body);
+  }
+
+  /** The full {@code listTools} path of an initialized session, including request encoding. */
+  @Benchmark
+  public TransportManifest httpListTools() {
+    return transport.listTools("", Map.of()).join();
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.google.cloud.mcp.testing.FakeMcpServer;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import com.google.cloud.mcp.testing.FakeUnixSocketServer;
+import com.google.cloud.mcp.testing.FakeWebSocketServer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a complete {@code invokeTool} round trip through each transport against a fake server on
+ * the same machine, so that releases can be compared on the cost of framing and I/O. The {@code
+ * engine} parameter picks the {@link HttpEngine} of the {@code http} transport and is ignored by
+ * the others; pass {@code -p engine=jdk} to skip the repeated runs when comparing transports only.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransportRoundTripBenchmark {
+
+  @Param({"in-process", "http", "unix-socket", "websocket"})
+  public String transport;
+
+  @Param({"jdk", "apache"})
+  public String engine;
+
+  @Param({"1024", "65536"})
+  public int payloadSize;
+
+  private AutoCloseable server;
+  private HttpEngine httpEngine;
+  private Path directory;
+  private Transport clientTransport;
+  private McpToolboxClient client;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    FakeToolbox toolbox =
+        FakeToolbox.builder()
+            .tool("tool_0", BenchmarkData.definition(2, 0), args -> "ok")
+            .payloadSize(payloadSize)
+            .build();
+    switch (transport) {
+      case "in-process":
+        clientTransport = toolbox.transport();
+        break;
+      case "http":
+        FakeMcpServer httpServer = toolbox.startServer();
+        server = httpServer;
+        httpEngine = BenchmarkData.httpEngine(engine);
+        clientTransport =
+            new HttpMcpTransport(
+                httpServer.url(),
+                Map.of(),
+                null,
+                null,
+                null,
+                null,
+                HttpTransportOptions.builder().httpEngine(httpEngine).build());
+        break;
+      case "unix-socket":
+        directory = Files.createTempDirectory("mcp-benchmark");
+        FakeUnixSocketServer socketServer =
+            toolbox.startUnixSocketServer(directory.resolve("mcp.sock"));
+        server = socketServer;
+        clientTransport = new UnixSocketMcpTransport(socketServer.path());
+        break;
+      case "websocket":
+        FakeWebSocketServer webSocketServer = toolbox.startWebSocketServer();
+        server = webSocketServer;
+        clientTransport = new WebSocketMcpTransport(webSocketServer.url());
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown transport: " + transport);
+    }
+    client = McpToolboxClient.builder().transport(clientTransport).build();
+    client.invokeTool("tool_0", Map.of("param_0", "value")).join();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    clientTransport.close();
+    if (httpEngine != null) {
+      httpEngine.close();
+    }
+    if (server != null) {
+      server.close();
+    }
+    if (directory != null) {
+      Files.deleteIfExists(directory);
+    }
+  }
+
+  @Benchmark
+  public ToolResult invokeTool() {
+    return client.invokeTool("tool_0", Map.of("param_0", "value")).join();
+  }
+}
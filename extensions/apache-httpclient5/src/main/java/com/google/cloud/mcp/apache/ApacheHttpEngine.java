@@ -0,0 +1,327 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.apache;
+
+import com.google.cloud.mcp.HttpEngine;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.config.Http1Config;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.config.H2Config;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+/**
+ * An {@link HttpEngine} backed by the Apache HttpClient 5 async client, with a bounded connection
+ * pool, idle connection eviction and configurable HTTP/2 flow control.
+ *
+ * <pre>{@code
+ * ApacheHttpEngine engine = ApacheHttpEngine.builder().maxConnectionsPerRoute(32).build();
+ * McpToolboxClient client =
+ *     McpToolboxClient.builder()
+ *         .baseUrl(url)
+ *         .transportOptions(HttpTransportOptions.builder().httpEngine(engine).build())
+ *         .build();
+ * }</pre>
+ *
+ * <p>The engine owns a client with its own I/O threads; close it once every transport using it is
+ * closed.
+ */
+public final class ApacheHttpEngine implements HttpEngine {
+
+  private final CloseableHttpAsyncClient client;
+
+  private ApacheHttpEngine(Builder builder) {
+    ConnectionConfig connectionConfig =
+        ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.of(builder.connectTimeout))
+            .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+            .build();
+    H2Config.Builder h2Config = H2Config.custom();
+    if (builder.http2InitialWindowSize > 0) {
+      h2Config.setInitialWindowSize(builder.http2InitialWindowSize);
+    }
+    this.client =
+        HttpAsyncClients.custom()
+            .setConnectionManager(
+                PoolingAsyncClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(builder.maxConnectionsTotal)
+                    .setMaxConnPerRoute(builder.maxConnectionsPerRoute)
+                    .setDefaultConnectionConfig(connectionConfig)
+                    .build())
+            .setVersionPolicy(builder.versionPolicy)
+            .setH2Config(h2Config.build())
+            .setHttp1Config(Http1Config.DEFAULT)
+            .evictIdleConnections(TimeValue.of(builder.idleTimeout))
+            .evictExpiredConnections()
+            .build();
+    this.client.start();
+  }
+
+  /**
+   * Creates a new builder.
+   *
+   * @return A new Builder instance.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  @Override
+  public CompletableFuture<Response> execute(Request request) {
+    SimpleHttpRequest httpRequest = SimpleRequestBuilder.post(request.uri()).build();
+    ContentType contentType = ContentType.APPLICATION_JSON;
+    for (Map.Entry<String, String> header : request.headers().entrySet()) {
+      if ("Content-Type".equalsIgnoreCase(header.getKey())) {
+        contentType = ContentType.parse(header.getValue());
+      } else {
+        httpRequest.setHeader(header.getKey(), header.getValue());
+      }
+    }
+    httpRequest.setBody(request.body(), contentType);
+
+    CompletableFuture<Response> future = new CompletableFuture<>();
+    client.execute(
+        httpRequest,
+        new FutureCallback<SimpleHttpResponse>() {
+          @Override
+          public void completed(SimpleHttpResponse response) {
+            try {
+              future.complete(new ApacheResponse(response, decode(response)));
+            } catch (IOException e) {
+              future.completeExceptionally(e);
+            }
+          }
+
+          @Override
+          public void failed(Exception e) {
+            future.completeExceptionally(e);
+          }
+
+          @Override
+          public void cancelled() {
+            future.cancel(false);
+          }
+        });
+    return future;
+  }
+
+  private static String decode(SimpleHttpResponse response) throws IOException {
+    byte[] body = response.getBodyBytes();
+    if (body == null || body.length == 0) {
+      // Some servers and proxies label empty bodies, such as 204 responses, as compressed.
+      return "";
+    }
+    Header encodingHeader = response.getFirstHeader("Content-Encoding");
+    String encoding =
+        encodingHeader != null ? encodingHeader.getValue().trim().toLowerCase(Locale.ROOT) : "";
+    if (encoding.equals("gzip") || encoding.equals("x-gzip")) {
+      try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+        body = in.readAllBytes();
+      }
+    } else if (encoding.equals("deflate")) {
+      // "deflate" is zlib-wrapped per RFC 9110, but some servers send raw deflate.
+      int cmf = body.length > 1 ? body[0] & 0xff : 0;
+      boolean zlib = (cmf & 0x0f) == 8 && ((cmf << 8) | (body[1] & 0xff)) % 31 == 0;
+      Inflater inflater = new Inflater(!zlib);
+      try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(body), inflater)) {
+        body = in.readAllBytes();
+      } finally {
+        inflater.end();
+      }
+    }
+    ContentType contentType = response.getContentType();
+    Charset charset =
+        contentType != null && contentType.getCharset() != null
+            ? contentType.getCharset()
+            : StandardCharsets.UTF_8;
+    return new String(body, charset);
+  }
+
+  @Override
+  public void close() {
+    client.close(CloseMode.GRACEFUL);
+  }
+
+  private static final class ApacheResponse implements Response {
+    private final SimpleHttpResponse response;
+    private final String body;
+
+    private ApacheResponse(SimpleHttpResponse response, String body) {
+      this.response = response;
+      this.body = body;
+    }
+
+    @Override
+    public int statusCode() {
+      return response.getCode();
+    }
+
+    @Override
+    public String body() {
+      return body;
+    }
+
+    @Override
+    public Optional<String> header(String name) {
+      Header header = response.getFirstHeader(name);
+      return header != null ? Optional.of(header.getValue()) : Optional.empty();
+    }
+
+    @Override
+    public Map<String, List<String>> headers() {
+      Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+      for (Header header : response.getHeaders()) {
+        headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+      }
+      return headers;
+    }
+  }
+
+  /** Builder for {@link ApacheHttpEngine}. */
+  public static final class Builder {
+    private int maxConnectionsTotal = 64;
+    private int maxConnectionsPerRoute = 16;
+    private Duration idleTimeout = Duration.ofSeconds(60);
+    private Duration connectTimeout = Duration.ofSeconds(10);
+    private int http2InitialWindowSize;
+    private HttpVersionPolicy versionPolicy = HttpVersionPolicy.NEGOTIATE;
+
+    private Builder() {}
+
+    /**
+     * Sets the maximum number of pooled connections across all hosts. Defaults to 64.
+     *
+     * @param maxConnectionsTotal The maximum number of connections.
+     * @return The builder instance.
+     */
+    public Builder maxConnectionsTotal(int maxConnectionsTotal) {
+      if (maxConnectionsTotal < 1) {
+        throw new IllegalArgumentException("Max connections must be at least 1");
+      }
+      this.maxConnectionsTotal = maxConnectionsTotal;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of pooled connections per host. Defaults to 16.
+     *
+     * @param maxConnectionsPerRoute The maximum number of connections per host.
+     * @return The builder instance.
+     */
+    public Builder maxConnectionsPerRoute(int maxConnectionsPerRoute) {
+      if (maxConnectionsPerRoute < 1) {
+        throw new IllegalArgumentException("Max connections per route must be at least 1");
+      }
+      this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+      return this;
+    }
+
+    /**
+     * Sets how long a connection may stay idle in the pool before it is closed. Defaults to 60
+     * seconds.
+     *
+     * @param idleTimeout The idle timeout.
+     * @return The builder instance.
+     */
+    public Builder idleTimeout(Duration idleTimeout) {
+      if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+        throw new IllegalArgumentException("Idle timeout must be positive");
+      }
+      this.idleTimeout = idleTimeout;
+      return this;
+    }
+
+    /**
+     * Sets the connect timeout. Defaults to 10 seconds.
+     *
+     * @param connectTimeout The connect timeout.
+     * @return The builder instance.
+     */
+    public Builder connectTimeout(Duration connectTimeout) {
+      if (connectTimeout == null || connectTimeout.isNegative() || connectTimeout.isZero()) {
+        throw new IllegalArgumentException("Connect timeout must be positive");
+      }
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    /**
+     * Sets the initial HTTP/2 flow-control window size in bytes. Larger windows let big tool
+     * results stream without waiting for window updates. Defaults to the HttpClient default.
+     *
+     * @param http2InitialWindowSize The initial window size.
+     * @return The builder instance.
+     */
+    public Builder http2InitialWindowSize(int http2InitialWindowSize) {
+      if (http2InitialWindowSize < 1) {
+        throw new IllegalArgumentException("HTTP/2 initial window size must be positive");
+      }
+      this.http2InitialWindowSize = http2InitialWindowSize;
+      return this;
+    }
+
+    /**
+     * Sets which HTTP versions may be used. Defaults to {@link HttpVersionPolicy#NEGOTIATE}, which
+     * uses HTTP/2 where the server offers it over TLS.
+     *
+     * @param versionPolicy The HTTP version policy.
+     * @return The builder instance.
+     */
+    public Builder versionPolicy(HttpVersionPolicy versionPolicy) {
+      if (versionPolicy == null) {
+        throw new IllegalArgumentException("Version policy must be provided");
+      }
+      this.versionPolicy = versionPolicy;
+      return this;
+    }
+
+    /**
+     * Builds and starts the engine.
+     *
+     * @return The new engine.
+     */
+    public ApacheHttpEngine build() {
+      return new ApacheHttpEngine(this);
+    }
+  }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.apache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.cloud.mcp.HttpEngine;
+import com.google.cloud.mcp.HttpMcpTransport;
+import com.google.cloud.mcp.HttpTransportOptions;
+import com.google.cloud.mcp.ToolDefinition;
+import com.google.cloud.mcp.TransportResponse;
+import com.google.cloud.mcp.testing.FakeMcpServer;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class ApacheHttpEngineTest {
+
+  private static final String BODY = "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":{}}";
+  private static final ToolDefinition ECHO =
+      new ToolDefinition(
+          "Echoes",
+          List.of(new ToolDefinition.Parameter("text", "string", true, "Text", List.of())),
+          List.of());
+
+  private ApacheHttpEngine engine;
+  private HttpServer stub;
+
+  @BeforeEach
+  void setUp() {
+    engine = ApacheHttpEngine.builder().build();
+  }
+
+  @AfterEach
+  void tearDown() {
+    engine.close();
+    if (stub != null) {
+      stub.stop(0);
+    }
+  }
+
+  @Test
+  void testRoundTripThroughTransport() throws Exception {
+    FakeToolbox toolbox =
+        FakeToolbox.builder().tool("echo", ECHO, args -> "echo: " + args.get("text")).build();
+    try (FakeMcpServer server = toolbox.startServer()) {
+      HttpMcpTransport transport =
+          new HttpMcpTransport(
+              server.url(),
+              Map.of(),
+              null,
+              null,
+              null,
+              null,
+              HttpTransportOptions.builder().httpEngine(engine).build());
+
+      assertTrue(transport.listTools("", Map.of()).get().getTools().containsKey("echo"));
+      TransportResponse response =
+          transport.invokeTool("echo", Map.of("text", "hi"), Map.of()).get();
+      assertEquals(200, response.getStatusCode());
+      assertTrue(response.getBody().contains("echo: hi"));
+      transport.close();
+    }
+  }
+
+  @Test
+  void testDecodesGzipFromFakeServer() throws Exception {
+    try (FakeMcpServer server = FakeToolbox.builder().build().startServer()) {
+      HttpEngine.Response response =
+          engine
+              .execute(
+                  new HttpEngine.Request(
+                      URI.create(server.url()),
+                      Map.of("Content-Type", "application/json", "Accept-Encoding", "gzip"),
+                      "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"ping\"}"
+                          .getBytes(StandardCharsets.UTF_8)))
+              .get();
+
+      assertEquals("gzip", response.header("Content-Encoding").orElse(null));
+      assertTrue(response.body().startsWith("{"), response.body());
+      assertEquals(List.of("gzip"), response.headers().get("content-encoding"));
+    }
+  }
+
+  @Test
+  void testDecodesXGzip() throws Exception {
+    assertEquals(BODY, post(serve(gzip(BODY), "x-gzip", "application/json")).body());
+  }
+
+  @Test
+  void testDecodesZlibDeflate() throws Exception {
+    assertEquals(BODY, post(serve(deflate(BODY, false), "deflate", "application/json")).body());
+  }
+
+  @Test
+  void testDecodesRawDeflate() throws Exception {
+    assertEquals(BODY, post(serve(deflate(BODY, true), "deflate", "application/json")).body());
+  }
+
+  @Test
+  void testEmptyCompressedBodyDecodesToEmptyString() throws Exception {
+    assertEquals("", post(serve(new byte[0], "gzip", "application/json")).body());
+  }
+
+  @Test
+  void testUsesCharsetFromContentType() throws Exception {
+    String text = "{\"text\":\"café\"}";
+    URI uri =
+        serve(
+            text.getBytes(StandardCharsets.ISO_8859_1),
+            null,
+            "application/json; charset=ISO-8859-1");
+    assertEquals(text, post(uri).body());
+  }
+
+  @Test
+  void testFailedExchangeFailsFuture() throws Exception {
+    int port;
+    try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      port = socket.getLocalPort();
+    }
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> post(URI.create("http://127.0.0.1:" + port)));
+    assertTrue(e.getCause() instanceof IOException, String.valueOf(e.getCause()));
+  }
+
+  @Test
+  void testBuilderOptionsAreApplied() throws Exception {
+    URI uri = serve(BODY.getBytes(StandardCharsets.UTF_8), null, "application/json");
+    try (ApacheHttpEngine configured =
+        ApacheHttpEngine.builder()
+            .maxConnectionsTotal(4)
+            .maxConnectionsPerRoute(2)
+            .idleTimeout(Duration.ofSeconds(5))
+            .connectTimeout(Duration.ofSeconds(1))
+            .http2InitialWindowSize(1 << 20)
+            .versionPolicy(HttpVersionPolicy.FORCE_HTTP_1)
+            .build()) {
+      HttpEngine.Response response =
+          configured.execute(new HttpEngine.Request(uri, Map.of(), new byte[0])).get();
+      assertEquals(200, response.statusCode());
+      assertEquals(BODY, response.body());
+    }
+  }
+
+  @Test
+  void testBuilderRejectsInvalidArguments() {
+    ApacheHttpEngine.Builder builder = ApacheHttpEngine.builder();
+    assertThrows(IllegalArgumentException.class, () -> builder.maxConnectionsTotal(0));
+    assertThrows(IllegalArgumentException.class, () -> builder.maxConnectionsPerRoute(0));
+    assertThrows(IllegalArgumentException.class, () -> builder.idleTimeout(null));
+    assertThrows(IllegalArgumentException.class, () -> builder.idleTimeout(Duration.ZERO));
+    assertThrows(IllegalArgumentException.class, () -> builder.connectTimeout(null));
+    assertThrows(
+        IllegalArgumentException.class, () -> builder.connectTimeout(Duration.ofSeconds(-1)));
+    assertThrows(IllegalArgumentException.class, () -> builder.http2InitialWindowSize(0));
+    assertThrows(IllegalArgumentException.class, () -> builder.versionPolicy(null));
+  }
+
+  private HttpEngine.Response post(URI uri) throws Exception {
+    return engine
+        .execute(
+            new HttpEngine.Request(
+                uri,
+                Map.of("Content-Type", "application/json"),
+                "{}".getBytes(StandardCharsets.UTF_8)))
+        .get();
+  }
+
+  /** Starts a server that answers every request with the given body and headers. */
+  private URI serve(byte[] body, String contentEncoding, String contentType) throws IOException {
+    stub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    stub.createContext(
+        "/",
+        exchange -> {
+          try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            if (contentEncoding != null) {
+              exchange.getResponseHeaders().set("Content-Encoding", contentEncoding);
+            }
+            exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+              try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+              }
+            }
+          }
+        });
+    stub.start();
+    return URI.create("http://127.0.0.1:" + stub.getAddress().getPort() + "/mcp");
+  }
+
+  private static byte[] deflate(String text, boolean raw) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+    try (OutputStream deflating = new DeflaterOutputStream(out, deflater)) {
+      deflating.write(text.getBytes(StandardCharsets.UTF_8));
+    } finally {
+      deflater.end();
+    }
+    return out.toByteArray();
+  }
+
+  private static byte[] gzip(String text) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (OutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.micrometer;
+
+import com.google.cloud.mcp.ClientMetrics;
+import com.google.cloud.mcp.InvocationTiming;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link ClientMetrics} that records to a Micrometer {@link MeterRegistry}:
+ *
+ * <ul>
+ *   <li>{@code mcp.client.tool.invocations}: a timer tagged with {@code tool} and {@code outcome}
+ *       ({@code success} or {@code error}).
+ *   <li>{@code mcp.client.tool.in_flight}: a gauge of started but unfinished invocations, tagged
+ *       with {@code tool}.
+ *   <li>{@code mcp.client.auth.duration}: a timer of auth token resolution tagged with {@code tool}
+ *       and {@code outcome}.
+ *   <li>{@code mcp.client.tool.stage.duration}: a timer of each {@link InvocationTiming} stage
+ *       tagged with {@code tool} and {@code stage}, with the server time reported in {@code
+ *       Server-Timing} headers as stage {@code server}.
+ *   <li>{@code mcp.client.requests}: a timer of HTTP requests tagged with {@code method} and {@code
+ *       status}.
+ *   <li>{@code mcp.client.request.size} and {@code mcp.client.response.size}: distribution
+ *       summaries of body sizes tagged with {@code method}.
+ *   <li>{@code mcp.client.keepalive.rtt}: a timer of keepalive ping round trips tagged with {@code
+ *       outcome}.
+ * </ul>
+ *
+ * <pre>{@code
+ * McpToolboxClient client =
+ *     McpToolboxClient.builder()
+ *         .baseUrl(url)
+ *         .metrics(new MicrometerClientMetrics(meterRegistry))
+ *         .build();
+ * }</pre>
+ *
+ * <p>Meters are registered on first use and then looked up in a map, so recording does not go
+ * through the registry.
+ */
+public final class MicrometerClientMetrics implements ClientMetrics {
+
+  private static final String SERVER_STAGE = "server";
+
+  private final MeterRegistry registry;
+  private final Map<String, ToolMeters> tools = new ConcurrentHashMap<>();
+  private final Map<String, RequestMeters> requests = new ConcurrentHashMap<>();
+  private final Map<Boolean, Timer> keepAlivePings = new ConcurrentHashMap<>();
+
+  /**
+   * Creates metrics that register their meters with the given registry.
+   *
+   * @param registry The registry.
+   */
+  public MicrometerClientMetrics(MeterRegistry registry) {
+    if (registry == null) {
+      throw new IllegalArgumentException("Registry must be provided");
+    }
+    this.registry = registry;
+  }
+
+  @Override
+  public void invocationStarted(String toolName) {
+    tool(toolName).inFlight.incrementAndGet();
+  }
+
+  @Override
+  public void invocationCompleted(String toolName, long durationNanos, boolean error) {
+    ToolMeters meters = tool(toolName);
+    meters.inFlight.decrementAndGet();
+    (error ? meters.errors : meters.successes).record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void authResolved(String toolName, long durationNanos, boolean failed) {
+    ToolMeters meters = tool(toolName);
+    (failed ? meters.authFailures : meters.authSuccesses)
+        .record(durationNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void invocationTimed(InvocationTiming timing) {
+    ToolMeters meters = tool(timing.toolName());
+    timing
+        .stages()
+        .forEach(
+            (stage, duration) ->
+                meters.stage(registry, stage).record(duration.toNanos(), TimeUnit.NANOSECONDS));
+    if (!timing.serverTiming().isEmpty()) {
+      meters
+          .stage(registry, SERVER_STAGE)
+          .record(timing.serverTime().toNanos(), TimeUnit.NANOSECONDS);
+    }
+  }
+
+  @Override
+  public void requestCompleted(
+      String method, int statusCode, long requestBytes, long responseChars, long durationNanos) {
+    RequestMeters meters = requests.get(method);
+    if (meters == null) {
+      meters = requests.computeIfAbsent(method, m -> new RequestMeters(registry, m));
+    }
+    meters.timer(statusCode).record(durationNanos, TimeUnit.NANOSECONDS);
+    meters.requestSize.record(requestBytes);
+    meters.responseSize.record(responseChars);
+  }
+
+  @Override
+  public void keepAlivePingCompleted(long rttNanos, boolean failed) {
+    Timer timer = keepAlivePings.get(failed);
+    if (timer == null) {
+      timer =
+          keepAlivePings.computeIfAbsent(
+              failed,
+              f ->
+                  Timer.builder("mcp.client.keepalive.rtt")
+                      .tag("outcome", f ? "error" : "success")
+                      .register(registry));
+    }
+    timer.record(rttNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private ToolMeters tool(String toolName) {
+    ToolMeters meters = tools.get(toolName);
+    return meters != null
+        ? meters
+        : tools.computeIfAbsent(toolName, name -> new ToolMeters(registry, name));
+  }
+
+  private static final class ToolMeters {
+    final AtomicLong inFlight;
+    final Timer successes;
+    final Timer errors;
+    final Timer authSuccesses;
+    final Timer authFailures;
+    final String tool;
+    final Map<String, Timer> stages = new ConcurrentHashMap<>();
+
+    ToolMeters(MeterRegistry registry, String tool) {
+      this.tool = tool;
+      inFlight =
+          registry.gauge("mcp.client.tool.in_flight", Tags.of("tool", tool), new AtomicLong());
+      successes = timer(registry, "mcp.client.tool.invocations", tool, "success");
+      errors = timer(registry, "mcp.client.tool.invocations", tool, "error");
+      authSuccesses = timer(registry, "mcp.client.auth.duration", tool, "success");
+      authFailures = timer(registry, "mcp.client.auth.duration", tool, "error");
+    }
+
+    Timer stage(MeterRegistry registry, String stage) {
+      Timer timer = stages.get(stage);
+      if (timer == null) {
+        timer =
+            stages.computeIfAbsent(
+                stage,
+                s ->
+                    Timer.builder("mcp.client.tool.stage.duration")
+                        .tag("tool", tool)
+                        .tag("stage", s)
+                        .register(registry));
+      }
+      return timer;
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String tool, String outcome) {
+      return Timer.builder(name).tag("tool", tool).tag("outcome", outcome).register(registry);
+    }
+  }
+
+  private static final class RequestMeters {
+    final MeterRegistry registry;
+    final String method;
+    final Map<Integer, Timer> timers = new ConcurrentHashMap<>();
+    final DistributionSummary requestSize;
+    final DistributionSummary responseSize;
+
+    RequestMeters(MeterRegistry registry, String method) {
+      this.registry = registry;
+      this.method = method;
+      requestSize =
+          DistributionSummary.builder("mcp.client.request.size")
+              .baseUnit("bytes")
+              .tag("method", method)
+              .register(registry);
+      responseSize =
+          DistributionSummary.builder("mcp.client.response.size")
+              .baseUnit("characters")
+              .tag("method", method)
+              .register(registry);
+    }
+
+    Timer timer(int statusCode) {
+      Timer timer = timers.get(statusCode);
+      if (timer == null) {
+        timer =
+            timers.computeIfAbsent(
+                statusCode,
+                status ->
+                    Timer.builder("mcp.client.requests")
+                        .tag("method", method)
+                        .tag("status", status < 0 ? "none" : String.valueOf(status))
+                        .register(registry));
+      }
+      return timer;
+    }
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.micrometer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.cloud.mcp.InvocationTiming;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS)
+class MicrometerClientMetricsTest {
+
+  private SimpleMeterRegistry registry;
+  private MicrometerClientMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    metrics = new MicrometerClientMetrics(registry);
+  }
+
+  @Test
+  void testRejectsNullRegistry() {
+    assertThrows(IllegalArgumentException.class, () -> new MicrometerClientMetrics(null));
+  }
+
+  @Test
+  void testInvocationsAreTimedByOutcomeAndTrackedInFlight() {
+    metrics.invocationStarted("search");
+    metrics.invocationStarted("search");
+    assertEquals(
+        2, registry.get("mcp.client.tool.in_flight").tag("tool", "search").gauge().value());
+
+    metrics.invocationCompleted("search", 2_000_000, false);
+    metrics.invocationCompleted("search", 3_000_000, true);
+
+    assertEquals(
+        0, registry.get("mcp.client.tool.in_flight").tag("tool", "search").gauge().value());
+    Timer success =
+        registry
+            .get("mcp.client.tool.invocations")
+            .tags("tool", "search", "outcome", "success")
+            .timer();
+    assertEquals(1, success.count());
+    assertEquals(2, success.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    Timer error =
+        registry
+            .get("mcp.client.tool.invocations")
+            .tags("tool", "search", "outcome", "error")
+            .timer();
+    assertEquals(1, error.count());
+    assertEquals(3, error.totalTime(TimeUnit.MILLISECONDS), 0.001);
+  }
+
+  @Test
+  void testAuthResolutionIsTimedByOutcome() {
+    metrics.authResolved("search", 1_000_000, false);
+    metrics.authResolved("search", 4_000_000, true);
+
+    assertEquals(
+        1,
+        registry
+            .get("mcp.client.auth.duration")
+            .tags("tool", "search", "outcome", "success")
+            .timer()
+            .count());
+    assertEquals(
+        4,
+        registry
+            .get("mcp.client.auth.duration")
+            .tags("tool", "search", "outcome", "error")
+            .timer()
+            .totalTime(TimeUnit.MILLISECONDS),
+        0.001);
+  }
+
+  @Test
+  void testStagesAndServerTimeAreTimed() {
+    Map<String, Duration> stages = new LinkedHashMap<>();
+    stages.put(InvocationTiming.STAGE_NETWORK, Duration.ofMillis(7));
+    stages.put(InvocationTiming.STAGE_PARSE, Duration.ofMillis(1));
+    metrics.invocationTimed(
+        new InvocationTiming(
+            "search", stages, Duration.ofMillis(9), Map.of("total", Duration.ofMillis(5))));
+    metrics.invocationTimed(new InvocationTiming("search", stages, Duration.ofMillis(9), Map.of()));
+
+    Timer network =
+        registry
+            .get("mcp.client.tool.stage.duration")
+            .tags("tool", "search", "stage", InvocationTiming.STAGE_NETWORK)
+            .timer();
+    assertEquals(2, network.count());
+    assertEquals(14, network.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    Timer server =
+        registry
+            .get("mcp.client.tool.stage.duration")
+            .tags("tool", "search", "stage", "server")
+            .timer();
+    assertEquals(1, server.count());
+    assertEquals(5, server.totalTime(TimeUnit.MILLISECONDS), 0.001);
+  }
+
+  @Test
+  void testRequestsAreTimedByStatusWithBodySizes() {
+    metrics.requestCompleted("tools/call", 200, 120, 300, 5_000_000);
+    metrics.requestCompleted("tools/call", 200, 80, 100, 1_000_000);
+    metrics.requestCompleted("tools/call", -1, 50, 0, 2_000_000);
+
+    assertEquals(
+        2,
+        registry
+            .get("mcp.client.requests")
+            .tags("method", "tools/call", "status", "200")
+            .timer()
+            .count());
+    assertEquals(
+        1,
+        registry
+            .get("mcp.client.requests")
+            .tags("method", "tools/call", "status", "none")
+            .timer()
+            .count());
+    DistributionSummary requestSize =
+        registry.get("mcp.client.request.size").tag("method", "tools/call").summary();
+    assertEquals(3, requestSize.count());
+    assertEquals(250, requestSize.totalAmount(), 0.001);
+    assertEquals("bytes", requestSize.getId().getBaseUnit());
+    DistributionSummary responseSize =
+        registry.get("mcp.client.response.size").tag("method", "tools/call").summary();
+    assertEquals(400, responseSize.totalAmount(), 0.001);
+    assertEquals("characters", responseSize.getId().getBaseUnit());
+  }
+
+  @Test
+  void testKeepAlivePingsAreTimedByOutcome() {
+    metrics.keepAlivePingCompleted(2_000_000, false);
+    metrics.keepAlivePingCompleted(3_000_000, false);
+    metrics.keepAlivePingCompleted(9_000_000, true);
+
+    Timer success = registry.get("mcp.client.keepalive.rtt").tag("outcome", "success").timer();
+    assertEquals(2, success.count());
+    assertEquals(5, success.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    assertEquals(
+        1, registry.get("mcp.client.keepalive.rtt").tag("outcome", "error").timer().count());
+  }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.opentelemetry;
+
+import com.google.cloud.mcp.ClientMetrics;
+import com.google.cloud.mcp.InvocationTiming;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.LongUpDownCounter;
+import io.opentelemetry.api.metrics.Meter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ClientMetrics} that records through the OpenTelemetry metrics API:
+ *
+ * <ul>
+ *   <li>{@code mcp.client.tool.duration}: a histogram in seconds with the attributes {@code
+ *       mcp.tool.name} and {@code error.type}, which is only set for failed invocations.
+ *   <li>{@code mcp.client.tool.active_invocations}: an up-down counter with {@code mcp.tool.name}.
+ *   <li>{@code mcp.client.auth.duration}: a histogram in seconds of auth token resolution, with the
+ *       same attributes as the tool duration.
+ *   <li>{@code mcp.client.tool.stage.duration}: a histogram in seconds of each {@link
+ *       InvocationTiming} stage with {@code mcp.tool.name} and {@code mcp.stage.name}, with the
+ *       server time reported in {@code Server-Timing} headers as stage {@code server}.
+ *   <li>{@code mcp.client.request.duration}: a histogram in seconds of HTTP requests with {@code
+ *       mcp.method.name} and {@code http.response.status_code}, which is absent when no response
+ *       was received.
+ *   <li>{@code mcp.client.request.body.size} and {@code mcp.client.response.body.size}: histograms
+ *       of body sizes with {@code mcp.method.name}.
+ *   <li>{@code mcp.client.keepalive.rtt}: a histogram in seconds of keepalive ping round trips,
+ *       with {@code error.type} set for failed pings.
+ * </ul>
+ *
+ * <pre>{@code
+ * McpToolboxClient client =
+ *     McpToolboxClient.builder()
+ *         .baseUrl(url)
+ *         .metrics(new OpenTelemetryClientMetrics(openTelemetry))
+ *         .build();
+ * }</pre>
+ *
+ * <p>Attribute sets are built once per tool and method and then reused, so recording does not
+ * allocate them.
+ */
+public final class OpenTelemetryClientMetrics implements ClientMetrics {
+  /** The instrumentation scope name. */
+  public static final String INSTRUMENTATION_NAME = "com.google.cloud.mcp";
+
+  private static final AttributeKey<String> TOOL_NAME = AttributeKey.stringKey("mcp.tool.name");
+  private static final AttributeKey<String> ERROR_TYPE = AttributeKey.stringKey("error.type");
+  private static final AttributeKey<String> STAGE_NAME = AttributeKey.stringKey("mcp.stage.name");
+  private static final String SERVER_STAGE = "server";
+  private static final AttributeKey<String> METHOD_NAME = AttributeKey.stringKey("mcp.method.name");
+  private static final AttributeKey<Long> STATUS_CODE =
+      AttributeKey.longKey("http.response.status_code");
+  private static final double NANOS_PER_SECOND = 1e9;
+  private static final Attributes PING_ERROR = Attributes.of(ERROR_TYPE, "ping_error");
+
+  private final DoubleHistogram toolDuration;
+  private final LongUpDownCounter activeInvocations;
+  private final DoubleHistogram authDuration;
+  private final DoubleHistogram stageDuration;
+  private final DoubleHistogram requestDuration;
+  private final LongHistogram requestSize;
+  private final LongHistogram responseSize;
+  private final DoubleHistogram keepAliveRtt;
+  private final Map<String, ToolAttributes> tools = new ConcurrentHashMap<>();
+  private final Map<String, MethodAttributes> methods = new ConcurrentHashMap<>();
+
+  /**
+   * Creates metrics that record with a meter of the given OpenTelemetry instance.
+   *
+   * @param openTelemetry The OpenTelemetry instance.
+   */
+  public OpenTelemetryClientMetrics(OpenTelemetry openTelemetry) {
+    this(requireNonNull(openTelemetry).getMeter(INSTRUMENTATION_NAME));
+  }
+
+  /**
+   * Creates metrics that record with the given meter.
+   *
+   * @param meter The meter.
+   */
+  public OpenTelemetryClientMetrics(Meter meter) {
+    requireNonNull(meter);
+    toolDuration =
+        meter
+            .histogramBuilder("mcp.client.tool.duration")
+            .setDescription("Duration of MCP tool invocations.")
+            .setUnit("s")
+            .build();
+    activeInvocations =
+        meter
+            .upDownCounterBuilder("mcp.client.tool.active_invocations")
+            .setDescription("MCP tool invocations started but not completed.")
+            .setUnit("{invocation}")
+            .build();
+    authDuration =
+        meter
+            .histogramBuilder("mcp.client.auth.duration")
+            .setDescription("Duration of auth token resolution for MCP tool invocations.")
+            .setUnit("s")
+            .build();
+    stageDuration =
+        meter
+            .histogramBuilder("mcp.client.tool.stage.duration")
+            .setDescription("Duration of each stage of MCP tool invocations.")
+            .setUnit("s")
+            .build();
+    requestDuration =
+        meter
+            .histogramBuilder("mcp.client.request.duration")
+            .setDescription("Duration of HTTP requests to the MCP server.")
+            .setUnit("s")
+            .build();
+    requestSize =
+        meter
+            .histogramBuilder("mcp.client.request.body.size")
+            .setDescription("Size of HTTP request bodies sent to the MCP server.")
+            .setUnit("By")
+            .ofLongs()
+            .build();
+    responseSize =
+        meter
+            .histogramBuilder("mcp.client.response.body.size")
+            .setDescription("Length of HTTP response bodies received from the MCP server.")
+            .setUnit("{character}")
+            .ofLongs()
+            .build();
+    keepAliveRtt =
+        meter
+            .histogramBuilder("mcp.client.keepalive.rtt")
+            .setDescription("Round-trip time of keepalive pings to the MCP server.")
+            .setUnit("s")
+            .build();
+  }
+
+  private static <T> T requireNonNull(T value) {
+    if (value == null) {
+      throw new IllegalArgumentException("OpenTelemetry or meter must be provided");
+    }
+    return value;
+  }
+
+  @Override
+  public void invocationStarted(String toolName) {
+    activeInvocations.add(1, tool(toolName).success);
+  }
+
+  @Override
+  public void invocationCompleted(String toolName, long durationNanos, boolean error) {
+    ToolAttributes attributes = tool(toolName);
+    activeInvocations.add(-1, attributes.success);
+    toolDuration.record(
+        durationNanos / NANOS_PER_SECOND, error ? attributes.error : attributes.success);
+  }
+
+  @Override
+  public void authResolved(String toolName, long durationNanos, boolean failed) {
+    ToolAttributes attributes = tool(toolName);
+    authDuration.record(
+        durationNanos / NANOS_PER_SECOND, failed ? attributes.error : attributes.success);
+  }
+
+  @Override
+  public void invocationTimed(InvocationTiming timing) {
+    ToolAttributes attributes = tool(timing.toolName());
+    timing
+        .stages()
+        .forEach(
+            (stage, duration) ->
+                stageDuration.record(
+                    duration.toNanos() / NANOS_PER_SECOND, attributes.stage(stage)));
+    if (!timing.serverTiming().isEmpty()) {
+      stageDuration.record(
+          timing.serverTime().toNanos() / NANOS_PER_SECOND, attributes.stage(SERVER_STAGE));
+    }
+  }
+
+  @Override
+  public void requestCompleted(
+      String method, int statusCode, long requestBytes, long responseChars, long durationNanos) {
+    MethodAttributes attributes = methods.get(method);
+    if (attributes == null) {
+      attributes = methods.computeIfAbsent(method, MethodAttributes::new);
+    }
+    requestDuration.record(durationNanos / NANOS_PER_SECOND, attributes.withStatus(statusCode));
+    requestSize.record(requestBytes, attributes.method);
+    responseSize.record(responseChars, attributes.method);
+  }
+
+  @Override
+  public void keepAlivePingCompleted(long rttNanos, boolean failed) {
+    keepAliveRtt.record(rttNanos / NANOS_PER_SECOND, failed ? PING_ERROR : Attributes.empty());
+  }
+
+  private ToolAttributes tool(String toolName) {
+    ToolAttributes attributes = tools.get(toolName);
+    return attributes != null ? attributes : tools.computeIfAbsent(toolName, ToolAttributes::new);
+  }
+
+  private static final class ToolAttributes {
+    final Attributes success;
+    final Attributes error;
+    final Map<String, Attributes> stages = new ConcurrentHashMap<>();
+
+    ToolAttributes(String toolName) {
+      success = Attributes.of(TOOL_NAME, toolName);
+      error = Attributes.of(TOOL_NAME, toolName, ERROR_TYPE, "tool_error");
+    }
+
+    Attributes stage(String stage) {
+      Attributes attributes = stages.get(stage);
+      if (attributes == null) {
+        attributes =
+            stages.computeIfAbsent(stage, s -> success.toBuilder().put(STAGE_NAME, s).build());
+      }
+      return attributes;
+    }
+  }
+
+  private static final class MethodAttributes {
+    final Attributes method;
+    final Map<Integer, Attributes> byStatus = new ConcurrentHashMap<>();
+
+    MethodAttributes(String methodName) {
+      method = Attributes.of(METHOD_NAME, methodName);
+    }
+
+    Attributes withStatus(int statusCode) {
+      if (statusCode < 0) {
+        return method;
+      }
+      Attributes attributes = byStatus.get(statusCode);
+      if (attributes == null) {
+        attributes =
+            byStatus.computeIfAbsent(
+                statusCode, status -> method.toBuilder().put(STATUS_CODE, (long) status).build());
+      }
+      return attributes;
+    }
+  }
+}
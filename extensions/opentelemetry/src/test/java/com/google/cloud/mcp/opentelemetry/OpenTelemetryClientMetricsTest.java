@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.opentelemetry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.cloud.mcp.InvocationTiming;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = TimeUnit.SECONDS)
+class OpenTelemetryClientMetricsTest {
+
+  private static final AttributeKey<String> TOOL = AttributeKey.stringKey("mcp.tool.name");
+  private static final AttributeKey<String> ERROR = AttributeKey.stringKey("error.type");
+
+  private InMemoryMetricReader reader;
+  private SdkMeterProvider provider;
+  private OpenTelemetryClientMetrics metrics;
+
+  @BeforeEach
+  void setUp() {
+    reader = InMemoryMetricReader.create();
+    provider = SdkMeterProvider.builder().registerMetricReader(reader).build();
+    Meter meter = provider.get(OpenTelemetryClientMetrics.INSTRUMENTATION_NAME);
+    metrics = new OpenTelemetryClientMetrics(meter);
+  }
+
+  @AfterEach
+  void tearDown() {
+    provider.close();
+  }
+
+  @Test
+  void testRejectsNullArguments() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new OpenTelemetryClientMetrics((io.opentelemetry.api.OpenTelemetry) null));
+    assertThrows(
+        IllegalArgumentException.class, () -> new OpenTelemetryClientMetrics((Meter) null));
+  }
+
+  @Test
+  void testInvocationsRecordDurationAndActiveCount() {
+    metrics.invocationStarted("search");
+    metrics.invocationStarted("search");
+    metrics.invocationCompleted("search", 2_000_000, false);
+    metrics.invocationCompleted("search", 3_000_000, true);
+    metrics.invocationStarted("search");
+
+    Collection<MetricData> data = reader.collectAllMetrics();
+    MetricData duration = metric(data, "mcp.client.tool.duration");
+    assertEquals("s", duration.getUnit());
+    HistogramPointData success = histogram(duration, Attributes.of(TOOL, "search"));
+    assertEquals(1, success.getCount());
+    assertEquals(0.002, success.getSum(), 1e-9);
+    HistogramPointData error =
+        histogram(duration, Attributes.of(TOOL, "search", ERROR, "tool_error"));
+    assertEquals(0.003, error.getSum(), 1e-9);
+
+    MetricData active = metric(data, "mcp.client.tool.active_invocations");
+    assertEquals("{invocation}", active.getUnit());
+    LongPointData point = active.getLongSumData().getPoints().iterator().next();
+    assertEquals(Attributes.of(TOOL, "search"), point.getAttributes());
+    assertEquals(1, point.getValue());
+  }
+
+  @Test
+  void testAuthResolutionRecordsDurationWithErrorType() {
+    metrics.authResolved("search", 1_000_000, false);
+    metrics.authResolved("search", 4_000_000, true);
+
+    MetricData auth = metric(reader.collectAllMetrics(), "mcp.client.auth.duration");
+    assertEquals(0.001, histogram(auth, Attributes.of(TOOL, "search")).getSum(), 1e-9);
+    assertEquals(
+        0.004, histogram(auth, Attributes.of(TOOL, "search", ERROR, "tool_error")).getSum(), 1e-9);
+  }
+
+  @Test
+  void testStagesAndServerTimeRecordStageName() {
+    AttributeKey<String> stage = AttributeKey.stringKey("mcp.stage.name");
+    metrics.invocationTimed(
+        new InvocationTiming(
+            "search",
+            Map.of(InvocationTiming.STAGE_NETWORK, Duration.ofMillis(7)),
+            Duration.ofMillis(9),
+            Map.of("total", Duration.ofMillis(5))));
+
+    MetricData stages = metric(reader.collectAllMetrics(), "mcp.client.tool.stage.duration");
+    assertEquals(
+        0.007,
+        histogram(stages, Attributes.of(TOOL, "search", stage, InvocationTiming.STAGE_NETWORK))
+            .getSum(),
+        1e-9);
+    assertEquals(
+        0.005, histogram(stages, Attributes.of(TOOL, "search", stage, "server")).getSum(), 1e-9);
+  }
+
+  @Test
+  void testRequestsRecordStatusAndBodySizes() {
+    AttributeKey<String> method = AttributeKey.stringKey("mcp.method.name");
+    AttributeKey<Long> status = AttributeKey.longKey("http.response.status_code");
+    metrics.requestCompleted("tools/call", 200, 120, 300, 5_000_000);
+    metrics.requestCompleted("tools/call", -1, 80, 0, 1_000_000);
+
+    Collection<MetricData> data = reader.collectAllMetrics();
+    MetricData duration = metric(data, "mcp.client.request.duration");
+    assertEquals(
+        0.005,
+        histogram(duration, Attributes.of(method, "tools/call", status, 200L)).getSum(),
+        1e-9);
+    assertEquals(0.001, histogram(duration, Attributes.of(method, "tools/call")).getSum(), 1e-9);
+    MetricData requestSize = metric(data, "mcp.client.request.body.size");
+    assertEquals("By", requestSize.getUnit());
+    assertEquals(200, histogram(requestSize, Attributes.of(method, "tools/call")).getSum(), 1e-9);
+    MetricData responseSize = metric(data, "mcp.client.response.body.size");
+    assertEquals("{character}", responseSize.getUnit());
+    assertEquals(300, histogram(responseSize, Attributes.of(method, "tools/call")).getSum(), 1e-9);
+  }
+
+  @Test
+  void testKeepAlivePingsRecordRttWithErrorType() {
+    metrics.keepAlivePingCompleted(2_000_000, false);
+    metrics.keepAlivePingCompleted(9_000_000, true);
+
+    MetricData rtt = metric(reader.collectAllMetrics(), "mcp.client.keepalive.rtt");
+    assertEquals("s", rtt.getUnit());
+    assertEquals(0.002, histogram(rtt, Attributes.empty()).getSum(), 1e-9);
+    assertEquals(0.009, histogram(rtt, Attributes.of(ERROR, "ping_error")).getSum(), 1e-9);
+  }
+
+  private static MetricData metric(Collection<MetricData> data, String name) {
+    return data.stream()
+        .filter(m -> m.getName().equals(name))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("No metric " + name + " in " + data));
+  }
+
+  private static HistogramPointData histogram(MetricData metric, Attributes attributes) {
+    return metric.getHistogramData().getPoints().stream()
+        .filter(p -> p.getAttributes().equals(attributes))
+        .findFirst()
+        .orElseThrow(
+            () -> new AssertionError("No point with " + attributes + " in " + metric.getName()));
+  }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A tool invocation kept by a {@link CallRecorder}. Sizes and the status code are -1 when the
+ * transport did not report them. Slow calls also carry the request and response headers they were
+ * sent with, with credentials redacted.
+ */
+public final class CallRecord {
+
+  /** Status of an invocation that returned a successful result. */
+  public static final String STATUS_SUCCESS = "success";
+
+  /** Status of an invocation that returned an error result. */
+  public static final String STATUS_ERROR = "error";
+
+  /** Status of an invocation that failed without a result. */
+  public static final String STATUS_FAILED = "failed";
+
+  private final long id;
+  private final Instant completedAt;
+  private final String status;
+  private final int statusCode;
+  private final int argumentCount;
+  private final long requestBytes;
+  private final long responseLength;
+  private final String url;
+  private final String sessionId;
+  private final InvocationTiming timing;
+  private final Map<String, String> requestHeaders;
+  private final Map<String, List<String>> responseHeaders;
+
+  CallRecord(
+      long id,
+      Instant completedAt,
+      String status,
+      int statusCode,
+      int argumentCount,
+      long requestBytes,
+      long responseLength,
+      String url,
+      String sessionId,
+      InvocationTiming timing,
+      Map<String, String> requestHeaders,
+      Map<String, List<String>> responseHeaders) {
+    this.id = id;
+    this.completedAt = completedAt;
+    this.status = status;
+    this.statusCode = statusCode;
+    this.argumentCount = argumentCount;
+    this.requestBytes = requestBytes;
+    this.responseLength = responseLength;
+    this.url = url;
+    this.sessionId = sessionId;
+    this.timing = timing;
+    this.requestHeaders = Collections.unmodifiableMap(new LinkedHashMap<>(requestHeaders));
+    this.responseHeaders = Collections.unmodifiableMap(new LinkedHashMap<>(responseHeaders));
+  }
+
+  /**
+   * Returns the sequence number of the call, in order of completion.
+   *
+   * @return The call id.
+   */
+  public long id() {
+    return id;
+  }
+
+  /**
+   * Returns when the call completed.
+   *
+   * @return The completion time.
+   */
+  public Instant completedAt() {
+    return completedAt;
+  }
+
+  /**
+   * Returns the name of the invoked tool.
+   *
+   * @return The tool name.
+   */
+  public String toolName() {
+    return timing.toolName();
+  }
+
+  /**
+   * Returns the outcome of the call.
+   *
+   * @return {@link #STATUS_SUCCESS}, {@link #STATUS_ERROR} or {@link #STATUS_FAILED}.
+   */
+  public String status() {
+    return status;
+  }
+
+  /**
+   * Returns the HTTP status code of the response, 200 for transports without one.
+   *
+   * @return The status code, or -1 if no response was received.
+   */
+  public int statusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Returns the number of arguments sent, after bound parameters and auth tokens were applied.
+   *
+   * @return The argument count.
+   */
+  public int argumentCount() {
+    return argumentCount;
+  }
+
+  /**
+   * Returns the size of the request body as sent, after any compression.
+   *
+   * @return The size in bytes, or -1 if the transport did not report it.
+   */
+  public long requestBytes() {
+    return requestBytes;
+  }
+
+  /**
+   * Returns the length of the response body.
+   *
+   * @return The length in characters, or -1 if no response was received.
+   */
+  public long responseLength() {
+    return responseLength;
+  }
+
+  /**
+   * Returns the server the call was sent to.
+   *
+   * @return The base URL of the transport.
+   */
+  public String url() {
+    return url;
+  }
+
+  /**
+   * Returns the MCP session the call was sent on.
+   *
+   * @return The session id, or null if the protocol version or transport has none.
+   */
+  public String sessionId() {
+    return sessionId;
+  }
+
+  /**
+   * Returns the stage timings of the call.
+   *
+   * @return The timing.
+   */
+  public InvocationTiming timing() {
+    return timing;
+  }
+
+  /**
+   * Returns the headers the request was sent with. Only captured for slow calls sent over HTTP.
+   *
+   * @return The headers, with credential values replaced by {@code REDACTED}.
+   */
+  public Map<String, String> requestHeaders() {
+    return requestHeaders;
+  }
+
+  /**
+   * Returns the headers of the response. Only captured for slow calls sent over HTTP with an engine
+   * that exposes them.
+   *
+   * @return The headers.
+   */
+  public Map<String, List<String>> responseHeaders() {
+    return responseHeaders;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb =
+        new StringBuilder("CallRecord{id=")
+            .append(id)
+            .append(", completedAt=")
+            .append(completedAt)
+            .append(", toolName=")
+            .append(toolName())
+            .append(", status=")
+            .append(status)
+            .append(", statusCode=")
+            .append(statusCode)
+            .append(", argumentCount=")
+            .append(argumentCount)
+            .append(", requestBytes=")
+            .append(requestBytes)
+            .append(", responseLength=")
+            .append(responseLength)
+            .append(", url=")
+            .append(url)
+            .append(", sessionId=")
+            .append(sessionId)
+            .append(", total=")
+            .append(timing.total())
+            .append(", stages=")
+            .append(timing.stages())
+            .append(", serverTiming=")
+            .append(timing.serverTiming());
+    if (!requestHeaders.isEmpty()) {
+      sb.append(", requestHeaders=").append(requestHeaders);
+    }
+    if (!responseHeaders.isEmpty()) {
+      sb.append(", responseHeaders=").append(responseHeaders);
+    }
+    return sb.append('}').toString();
+  }
+}
@@ -0,0 +1,433 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Keeps the last calls of a client in a fixed-size ring buffer, so that they can be dumped after a
+ * latency spike without verbose logging having been on. Each call records the tool, argument count,
+ * sizes, status, stage timings and session id. Calls slower than a threshold can additionally be
+ * sampled into a separate buffer together with their request and response headers.
+ *
+ * <pre>{@code
+ * CallRecorder recorder =
+ *     CallRecorder.builder().capacity(512).slowCallThreshold(Duration.ofSeconds(2)).build();
+ * McpToolboxClient client =
+ *     McpToolboxClient.builder().baseUrl(url).callRecorder(recorder).build();
+ * recorder.registerMBean("toolbox");
+ * ...
+ * recorder.recentCalls().forEach(System.out::println);
+ * }</pre>
+ *
+ * <p>Recording is lock-free and, unless the call is captured as slow, allocates nothing: every slot
+ * is preallocated and guarded by a version number that is odd while a writer fills it, so readers
+ * copy a slot and discard it if its version changed. A call whose slot is still being written by an
+ * earlier call, which only happens when the buffer wraps around within one write, is dropped and
+ * counted in {@link #getDroppedCalls()}.
+ */
+public final class CallRecorder implements CallRecorderMXBean {
+  private static final VarHandle VERSION;
+
+  static {
+    try {
+      VERSION = MethodHandles.lookup().findVarHandle(Slot.class, "version", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private static final byte SUCCESS = 0;
+  private static final byte ERROR = 1;
+  private static final byte FAILED = 2;
+  private static final String[] STATUSES = {
+    CallRecord.STATUS_SUCCESS, CallRecord.STATUS_ERROR, CallRecord.STATUS_FAILED
+  };
+  private static final String REDACTED = "REDACTED";
+
+  private final Slot[] slots;
+  private final AtomicLong sequence = new AtomicLong();
+  private final LongAdder dropped = new LongAdder();
+  private final long slowCallThresholdNanos;
+  private final double slowCallSampleRate;
+  private final AtomicReferenceArray<CallRecord> slowCalls;
+  private final AtomicLong slowCallSequence = new AtomicLong();
+  private volatile ObjectName objectName;
+
+  private CallRecorder(Builder builder) {
+    this.slots = new Slot[builder.capacity];
+    for (int i = 0; i < slots.length; i++) {
+      slots[i] = new Slot();
+    }
+    this.slowCallThresholdNanos =
+        builder.slowCallThreshold != null ? builder.slowCallThreshold.toNanos() : Long.MAX_VALUE;
+    this.slowCallSampleRate = builder.slowCallSampleRate;
+    this.slowCalls = new AtomicReferenceArray<>(builder.slowCallCapacity);
+  }
+
+  /**
+   * Returns a new builder.
+   *
+   * @return The builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /** One call in the ring buffer. Fields are only read between two equal even versions. */
+  private static final class Slot {
+    volatile long version;
+    long id = -1;
+    long completedAtMillis;
+    String toolName;
+    byte status;
+    int statusCode;
+    int argumentCount;
+    long requestBytes;
+    long responseLength;
+    String url;
+    String sessionId;
+    long totalNanos;
+    int stageCount;
+    final byte[] stageOrder = new byte[InvocationTimer.STAGE_NAMES.length];
+    final long[] stageNanos = new long[InvocationTimer.STAGE_NAMES.length];
+    Map<String, Duration> serverTiming;
+  }
+
+  /**
+   * Records a completed invocation. Called by the client on the thread completing it.
+   *
+   * @param timer The invocation's timer.
+   * @param result The result, or null if the invocation failed.
+   * @param error The failure, or null.
+   */
+  void record(InvocationTimer timer, ToolResult result, Throwable error) {
+    timer.end();
+    byte status = error != null ? FAILED : result.isError() ? ERROR : SUCCESS;
+    long id = sequence.getAndIncrement();
+    Slot slot = slots[(int) (id % slots.length)];
+    long version = slot.version;
+    if ((version & 1) != 0 || !VERSION.compareAndSet(slot, version, version + 1)) {
+      dropped.increment();
+    } else {
+      if (slot.id < id) {
+        slot.id = id;
+        slot.completedAtMillis = System.currentTimeMillis();
+        slot.toolName = timer.toolName;
+        slot.status = status;
+        slot.statusCode = timer.statusCode;
+        slot.argumentCount = timer.argumentCount;
+        slot.requestBytes = timer.requestBytes;
+        slot.responseLength = timer.responseLength;
+        slot.url = timer.url;
+        slot.sessionId = timer.sessionId;
+        slot.totalNanos = timer.totalNanos();
+        slot.stageCount = timer.stageCount();
+        timer.copyStages(slot.stageOrder, slot.stageNanos);
+        slot.serverTiming = timer.serverTiming();
+      } else {
+        // A later call overtook this one and already holds the slot.
+        dropped.increment();
+      }
+      slot.version = version + 2;
+    }
+    if (timer.totalNanos() >= slowCallThresholdNanos
+        && (slowCallSampleRate >= 1
+            || ThreadLocalRandom.current().nextDouble() < slowCallSampleRate)) {
+      captureSlowCall(id, timer, status);
+    }
+  }
+
+  private void captureSlowCall(long id, InvocationTimer timer, byte status) {
+    Map<String, String> requestHeaders = new LinkedHashMap<>();
+    if (timer.requestHeaders != null) {
+      timer.requestHeaders.forEach(
+          (name, value) -> requestHeaders.put(name, isCredential(name) ? REDACTED : value));
+    }
+    Map<String, List<String>> responseHeaders = new LinkedHashMap<>();
+    if (timer.response != null) {
+      timer
+          .response
+          .headers()
+          .forEach(
+              (name, values) ->
+                  responseHeaders.put(name, isCredential(name) ? List.of(REDACTED) : values));
+    }
+    CallRecord call =
+        new CallRecord(
+            id,
+            Instant.now(),
+            STATUSES[status],
+            timer.statusCode,
+            timer.argumentCount,
+            timer.requestBytes,
+            timer.responseLength,
+            timer.url,
+            timer.sessionId,
+            timer.finish(),
+            requestHeaders,
+            responseHeaders);
+    long slowId = slowCallSequence.getAndIncrement();
+    slowCalls.set((int) (slowId % slowCalls.length()), call);
+  }
+
+  /** Whether a header carries credentials: auth headers, cookies, API keys and auth tokens. */
+  private static boolean isCredential(String header) {
+    String name = header.toLowerCase(Locale.ROOT);
+    return name.contains("authorization")
+        || name.contains("cookie")
+        || name.endsWith("_token")
+        || name.replace("-", "").contains("apikey");
+  }
+
+  /**
+   * Returns the calls in the ring buffer, newest first. Calls being written at the time are left
+   * out.
+   *
+   * @return A snapshot of the recent calls.
+   */
+  public List<CallRecord> recentCalls() {
+    long next = sequence.get();
+    List<CallRecord> calls = new ArrayList<>();
+    byte[] order = new byte[InvocationTimer.STAGE_NAMES.length];
+    long[] nanos = new long[InvocationTimer.STAGE_NAMES.length];
+    for (long id = next - 1; id >= 0 && id >= next - slots.length; id--) {
+      CallRecord call = read(slots[(int) (id % slots.length)], id, order, nanos);
+      if (call != null) {
+        calls.add(call);
+      }
+    }
+    return calls;
+  }
+
+  private static CallRecord read(Slot slot, long id, byte[] order, long[] nanos) {
+    long version = slot.version;
+    if ((version & 1) != 0) {
+      return null;
+    }
+    long slotId = slot.id;
+    long completedAtMillis = slot.completedAtMillis;
+    String toolName = slot.toolName;
+    byte status = slot.status;
+    int statusCode = slot.statusCode;
+    int argumentCount = slot.argumentCount;
+    long requestBytes = slot.requestBytes;
+    long responseLength = slot.responseLength;
+    String url = slot.url;
+    String sessionId = slot.sessionId;
+    long totalNanos = slot.totalNanos;
+    int stageCount = slot.stageCount;
+    System.arraycopy(slot.stageOrder, 0, order, 0, order.length);
+    System.arraycopy(slot.stageNanos, 0, nanos, 0, nanos.length);
+    Map<String, Duration> serverTiming = slot.serverTiming;
+    VarHandle.acquireFence();
+    if (slot.version != version || slotId != id) {
+      return null;
+    }
+    Map<String, Duration> stages = new LinkedHashMap<>();
+    for (int i = 0; i < stageCount; i++) {
+      stages.put(InvocationTimer.STAGE_NAMES[order[i]], Duration.ofNanos(nanos[i]));
+    }
+    return new CallRecord(
+        id,
+        Instant.ofEpochMilli(completedAtMillis),
+        STATUSES[status],
+        statusCode,
+        argumentCount,
+        requestBytes,
+        responseLength,
+        url,
+        sessionId,
+        new InvocationTiming(toolName, stages, Duration.ofNanos(totalNanos), serverTiming),
+        Map.of(),
+        Map.of());
+  }
+
+  /**
+   * Returns the captured slow calls with their request and response headers, newest first.
+   *
+   * @return A snapshot of the slow calls.
+   */
+  public List<CallRecord> slowCalls() {
+    long next = slowCallSequence.get();
+    List<CallRecord> calls = new ArrayList<>();
+    for (long id = next - 1; id >= 0 && id >= next - slowCalls.length(); id--) {
+      CallRecord call = slowCalls.get((int) (id % slowCalls.length()));
+      if (call != null) {
+        calls.add(call);
+      }
+    }
+    return calls;
+  }
+
+  @Override
+  public int getCapacity() {
+    return slots.length;
+  }
+
+  @Override
+  public long getRecordedCalls() {
+    return sequence.get();
+  }
+
+  @Override
+  public long getDroppedCalls() {
+    return dropped.sum();
+  }
+
+  @Override
+  public String[] dumpRecentCalls() {
+    return recentCalls().stream().map(CallRecord::toString).toArray(String[]::new);
+  }
+
+  @Override
+  public String[] dumpSlowCalls() {
+    return slowCalls().stream().map(CallRecord::toString).toArray(String[]::new);
+  }
+
+  /**
+   * Registers the recorder with the platform MBean server as {@code
+   * com.google.cloud.mcp:type=CallRecorder,name=<name>}, so that its calls can be dumped from JMX
+   * clients such as JConsole.
+   *
+   * @param name The name distinguishing this recorder from others in the JVM.
+   * @return The object name the recorder was registered under.
+   * @throws IllegalStateException If the recorder is already registered or registration fails.
+   */
+  public synchronized ObjectName registerMBean(String name) {
+    if (objectName != null) {
+      throw new IllegalStateException("Recorder is already registered as " + objectName);
+    }
+    try {
+      ObjectName registered =
+          new ObjectName("com.google.cloud.mcp:type=CallRecorder,name=" + ObjectName.quote(name));
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, registered);
+      objectName = registered;
+      return registered;
+    } catch (JMException e) {
+      throw new IllegalStateException("Failed to register call recorder MBean", e);
+    }
+  }
+
+  /**
+   * Unregisters the recorder from the platform MBean server if it is registered.
+   *
+   * @throws IllegalStateException If unregistration fails.
+   */
+  public synchronized void unregisterMBean() {
+    if (objectName == null) {
+      return;
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+      objectName = null;
+    } catch (JMException e) {
+      throw new IllegalStateException("Failed to unregister call recorder MBean", e);
+    }
+  }
+
+  /** Builder for {@link CallRecorder}. */
+  public static final class Builder {
+    private int capacity = 256;
+    private Duration slowCallThreshold;
+    private double slowCallSampleRate = 1;
+    private int slowCallCapacity = 16;
+
+    private Builder() {}
+
+    /**
+     * Sets the number of recent calls kept. Defaults to 256.
+     *
+     * @param capacity The capacity, at least 1.
+     * @return The builder instance.
+     */
+    public Builder capacity(int capacity) {
+      if (capacity < 1) {
+        throw new IllegalArgumentException("Capacity must be at least 1");
+      }
+      this.capacity = capacity;
+      return this;
+    }
+
+    /**
+     * Sets the latency from which calls are captured with their headers. Defaults to null, which
+     * captures no slow calls.
+     *
+     * @param slowCallThreshold The threshold, or null to disable capture.
+     * @return The builder instance.
+     */
+    public Builder slowCallThreshold(Duration slowCallThreshold) {
+      if (slowCallThreshold != null && slowCallThreshold.isNegative()) {
+        throw new IllegalArgumentException("Slow call threshold must not be negative");
+      }
+      this.slowCallThreshold = slowCallThreshold;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of slow calls that are captured. Defaults to 1, capturing all of them.
+     *
+     * @param slowCallSampleRate The fraction, between 0 and 1.
+     * @return The builder instance.
+     */
+    public Builder slowCallSampleRate(double slowCallSampleRate) {
+      if (!(slowCallSampleRate >= 0 && slowCallSampleRate <= 1)) {
+        throw new IllegalArgumentException("Slow call sample rate must be between 0 and 1");
+      }
+      this.slowCallSampleRate = slowCallSampleRate;
+      return this;
+    }
+
+    /**
+     * Sets the number of captured slow calls kept. Defaults to 16.
+     *
+     * @param slowCallCapacity The capacity, at least 1.
+     * @return The builder instance.
+     */
+    public Builder slowCallCapacity(int slowCallCapacity) {
+      if (slowCallCapacity < 1) {
+        throw new IllegalArgumentException("Slow call capacity must be at least 1");
+      }
+      this.slowCallCapacity = slowCallCapacity;
+      return this;
+    }
+
+    /**
+     * Builds the recorder.
+     *
+     * @return The recorder.
+     */
+    public CallRecorder build() {
+      return new CallRecorder(this);
+    }
+  }
+}
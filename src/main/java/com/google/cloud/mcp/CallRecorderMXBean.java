@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+/**
+ * The JMX management interface of a {@link CallRecorder}, registered with {@link
+ * CallRecorder#registerMBean(String)}.
+ */
+public interface CallRecorderMXBean {
+
+  /**
+   * Returns the number of calls the recorder keeps.
+   *
+   * @return The capacity of the ring buffer.
+   */
+  int getCapacity();
+
+  /**
+   * Returns the number of calls recorded since the recorder was created.
+   *
+   * @return The call count.
+   */
+  long getRecordedCalls();
+
+  /**
+   * Returns the number of calls that could not be recorded because another call was being written
+   * to the same slot.
+   *
+   * @return The dropped call count.
+   */
+  long getDroppedCalls();
+
+  /**
+   * Returns the most recent calls, newest first, one per line.
+   *
+   * @return The calls as text.
+   */
+  String[] dumpRecentCalls();
+
+  /**
+   * Returns the captured slow calls with their headers, newest first, one per line.
+   *
+   * @return The slow calls as text.
+   */
+  String[] dumpSlowCalls();
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+/**
+ * Receives measurements of client activity: tool invocations and their stage timings, auth token
+ * resolution, HTTP requests and keepalive pings. Register an implementation with {@link
+ * McpToolboxClient.Builder#metrics}; {@link InMemoryClientMetrics} keeps them in memory, and the
+ * Micrometer and OpenTelemetry extensions export them.
+ *
+ * <p>Methods are called on the threads completing the invocation, often an HTTP client thread, and
+ * must be thread-safe, fast and must not throw. All methods do nothing by default.
+ */
+public interface ClientMetrics {
+
+  /** Records nothing. This is the default. */
+  ClientMetrics NOOP = new ClientMetrics() {};
+
+  /**
+   * Called when a tool invocation starts. Every call is followed by exactly one call to {@link
+   * #invocationCompleted} for the same tool.
+   *
+   * @param toolName The name of the tool.
+   */
+  default void invocationStarted(String toolName) {}
+
+  /**
+   * Called when a tool invocation completes.
+   *
+   * @param toolName The name of the tool.
+   * @param durationNanos The time from the start of the invocation, in nanoseconds.
+   * @param error Whether the invocation failed or returned an error result.
+   */
+  default void invocationCompleted(String toolName, long durationNanos, boolean error) {}
+
+  /**
+   * Called when {@link Tool#execute} has resolved the tokens of its auth token getters.
+   *
+   * @param toolName The name of the tool.
+   * @param durationNanos The time taken by the token getters, in nanoseconds.
+   * @param failed Whether a token getter failed.
+   */
+  default void authResolved(String toolName, long durationNanos, boolean failed) {}
+
+  /**
+   * Called after {@link #invocationCompleted} with the time each stage of the invocation took. For
+   * {@link Tool#execute} this includes the processors and auth token resolution; for a direct
+   * {@link McpToolboxClient#invokeTool} call it starts at the client.
+   *
+   * @param timing The stage timings, including any {@code Server-Timing} the server sent.
+   */
+  default void invocationTimed(InvocationTiming timing) {}
+
+  /**
+   * Called when {@link HttpMcpTransport} receives the response to a JSON-RPC message, or fails to.
+   *
+   * @param method The JSON-RPC method, such as {@code tools/call}.
+   * @param statusCode The HTTP status code, or -1 if no response was received.
+   * @param requestBytes The size of the request body as sent, after any compression.
+   * @param responseChars The length of the decoded response body in characters.
+   * @param durationNanos The time from sending the request, in nanoseconds.
+   */
+  default void requestCompleted(
+      String method, int statusCode, long requestBytes, long responseChars, long durationNanos) {}
+
+  /**
+   * Called when a keepalive ping of {@link HttpMcpTransport} completes, after {@link
+   * #requestCompleted} for its request. A ping does no work on the server, so its round-trip time
+   * tracks the network latency to the server without the noise of tool execution.
+   *
+   * @param rttNanos The time from sending the ping, in nanoseconds.
+   * @param failed Whether the ping failed or received a status other than 200.
+   */
+  default void keepAlivePingCompleted(long rttNanos, boolean failed) {}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Client-level settings collected by {@link McpToolboxClientBuilder}. */
+final class ClientOptions {
+
+  static final ClientOptions DEFAULTS = builder().build();
+
+  private final Duration manifestCacheTtl;
+  private final ClientMetrics metrics;
+  private final CallRecorder callRecorder;
+  private final List<TransportInterceptor> interceptors;
+
+  private ClientOptions(Builder builder) {
+    this.manifestCacheTtl = builder.manifestCacheTtl;
+    this.metrics = builder.metrics;
+    this.callRecorder = builder.callRecorder;
+    this.interceptors = List.copyOf(builder.interceptors);
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  Duration manifestCacheTtl() {
+    return manifestCacheTtl;
+  }
+
+  ClientMetrics metrics() {
+    return metrics;
+  }
+
+  CallRecorder callRecorder() {
+    return callRecorder;
+  }
+
+  List<TransportInterceptor> interceptors() {
+    return interceptors;
+  }
+
+  static final class Builder {
+    private Duration manifestCacheTtl = Duration.ZERO;
+    private ClientMetrics metrics = ClientMetrics.NOOP;
+    private CallRecorder callRecorder;
+    private final List<TransportInterceptor> interceptors = new ArrayList<>();
+
+    private Builder() {}
+
+    Builder manifestCacheTtl(Duration manifestCacheTtl) {
+      this.manifestCacheTtl = manifestCacheTtl != null ? manifestCacheTtl : Duration.ZERO;
+      return this;
+    }
+
+    Builder metrics(ClientMetrics metrics) {
+      this.metrics = metrics != null ? metrics : ClientMetrics.NOOP;
+      return this;
+    }
+
+    Builder callRecorder(CallRecorder callRecorder) {
+      this.callRecorder = callRecorder;
+      return this;
+    }
+
+    Builder interceptor(TransportInterceptor interceptor) {
+      interceptors.add(interceptor);
+      return this;
+    }
+
+    ClientOptions build() {
+      return new ClientOptions(this);
+    }
+  }
+}
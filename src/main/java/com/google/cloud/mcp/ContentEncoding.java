@@ -0,0 +1,314 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/** gzip/deflate support for request and response bodies. */
+final class ContentEncoding {
+
+  /** Value of the Accept-Encoding header sent when response compression is enabled. */
+  static final String ACCEPT_ENCODING = "gzip, deflate";
+
+  private ContentEncoding() {}
+
+  /**
+   * Compresses a request body with gzip.
+   *
+   * @param body The uncompressed body.
+   * @return The gzip-compressed body.
+   */
+  static byte[] gzip(byte[] body) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+      gzip.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Returns a body handler that decodes gzip and deflate responses while they are received, and
+   * reads other responses as a string.
+   *
+   * @return The decoding body handler.
+   */
+  static HttpResponse.BodyHandler<String> decodingBodyHandler() {
+    return responseInfo -> {
+      HttpHeaders headers = responseInfo.headers();
+      Charset charset = charset(headers);
+      String encoding =
+          headers.firstValue("Content-Encoding").orElse("").trim().toLowerCase(Locale.ROOT);
+      switch (encoding) {
+        case "gzip":
+        case "x-gzip":
+          return new InflatingSubscriber(true, charset);
+        case "deflate":
+          return new InflatingSubscriber(false, charset);
+        default:
+          return HttpResponse.BodySubscribers.ofString(charset);
+      }
+    };
+  }
+
+  private static Charset charset(HttpHeaders headers) {
+    String contentType = headers.firstValue("Content-Type").orElse("");
+    for (String part : contentType.split(";")) {
+      String trimmed = part.trim();
+      if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+        try {
+          return Charset.forName(trimmed.substring(8).replace("\"", ""));
+        } catch (RuntimeException e) {
+          return StandardCharsets.UTF_8;
+        }
+      }
+    }
+    return StandardCharsets.UTF_8;
+  }
+
+  /**
+   * Inflates a gzip or deflate body chunk by chunk as it arrives, so the compressed body is never
+   * buffered in full.
+   */
+  static final class InflatingSubscriber implements HttpResponse.BodySubscriber<String> {
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final CompletableFuture<String> body = new CompletableFuture<>();
+    private final boolean gzip;
+    private final Charset charset;
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final byte[] chunk = new byte[8192];
+    private final CRC32 crc = new CRC32();
+    // Buffers the gzip header, the first bytes of a deflate stream and the gzip trailer, which
+    // may be split across chunks.
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private Inflater inflater;
+    private Flow.Subscription subscription;
+
+    InflatingSubscriber(boolean gzip, Charset charset) {
+      this.gzip = gzip;
+      this.charset = charset;
+    }
+
+    @Override
+    public CompletionStage<String> getBody() {
+      return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+      if (body.isDone()) {
+        return;
+      }
+      try {
+        for (ByteBuffer buffer : buffers) {
+          accept(buffer);
+        }
+      } catch (IOException | DataFormatException e) {
+        fail(e);
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      release();
+      body.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      if (body.isDone()) {
+        return;
+      }
+      try {
+        if (inflater == null && pending.size() == 0) {
+          // Some servers and proxies label empty bodies, such as 204 responses, as compressed.
+          body.complete("");
+          return;
+        }
+        if (inflater == null || !inflater.finished()) {
+          throw new ZipException("Unexpected end of compressed response body");
+        }
+        if (gzip) {
+          verifyTrailer();
+        }
+        release();
+        body.complete(new String(out.toByteArray(), charset));
+      } catch (IOException e) {
+        fail(e);
+      }
+    }
+
+    private void accept(ByteBuffer buffer) throws IOException, DataFormatException {
+      if (inflater == null) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        pending.write(bytes);
+        byte[] start = pending.toByteArray();
+        int headerLength = gzip ? gzipHeaderLength(start) : deflateStart(start);
+        if (headerLength < 0) {
+          return;
+        }
+        pending.reset();
+        buffer = ByteBuffer.wrap(start, headerLength, start.length - headerLength);
+      }
+      if (inflater.finished()) {
+        // Remaining bytes belong to the gzip trailer.
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        pending.write(bytes);
+        return;
+      }
+      inflater.setInput(buffer);
+      while (!inflater.finished() && !inflater.needsInput()) {
+        int n = inflater.inflate(chunk);
+        if (n == 0 && inflater.needsDictionary()) {
+          throw new ZipException("Compressed response body requires a preset dictionary");
+        }
+        out.write(chunk, 0, n);
+        if (gzip) {
+          crc.update(chunk, 0, n);
+        }
+      }
+      if (inflater.finished() && buffer.hasRemaining()) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        pending.write(bytes);
+      }
+    }
+
+    /** Returns the gzip header length, or -1 if more bytes are needed to parse it. */
+    private int gzipHeaderLength(byte[] data) throws ZipException {
+      if (data.length < 10) {
+        return -1;
+      }
+      if (((data[0] & 0xff) | ((data[1] & 0xff) << 8)) != GZIP_MAGIC || data[2] != 8) {
+        throw new ZipException("Not in gzip format");
+      }
+      int flags = data[3] & 0xff;
+      int pos = 10;
+      if ((flags & FEXTRA) != 0) {
+        if (data.length < pos + 2) {
+          return -1;
+        }
+        pos += 2 + ((data[pos] & 0xff) | ((data[pos + 1] & 0xff) << 8));
+      }
+      if ((flags & FNAME) != 0) {
+        pos = skipZeroTerminated(data, pos);
+      }
+      if ((flags & FCOMMENT) != 0) {
+        pos = skipZeroTerminated(data, pos);
+      }
+      if ((flags & FHCRC) != 0 && pos >= 0) {
+        pos += 2;
+      }
+      if (pos < 0 || pos > data.length) {
+        return -1;
+      }
+      inflater = new Inflater(true);
+      return pos;
+    }
+
+    private static int skipZeroTerminated(byte[] data, int pos) {
+      if (pos < 0) {
+        return -1;
+      }
+      for (int i = pos; i < data.length; i++) {
+        if (data[i] == 0) {
+          return i + 1;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Picks between zlib-wrapped and raw deflate, since servers send both for "deflate". Returns 0
+     * once the first two bytes are known.
+     */
+    private int deflateStart(byte[] data) {
+      if (data.length < 2) {
+        return -1;
+      }
+      int cmf = data[0] & 0xff;
+      boolean zlib = (cmf & 0x0f) == 8 && ((cmf << 8) | (data[1] & 0xff)) % 31 == 0;
+      inflater = new Inflater(!zlib);
+      return 0;
+    }
+
+    private void verifyTrailer() throws ZipException {
+      byte[] trailer = pending.toByteArray();
+      if (trailer.length < 8) {
+        throw new ZipException("Truncated gzip trailer");
+      }
+      long expectedCrc = readUInt(trailer, 0);
+      long expectedSize = readUInt(trailer, 4);
+      if (expectedCrc != crc.getValue()
+          || expectedSize != (inflater.getBytesWritten() & 0xffffffffL)) {
+        throw new ZipException("Corrupt gzip trailer");
+      }
+    }
+
+    private static long readUInt(byte[] data, int pos) {
+      return (data[pos] & 0xffL)
+          | ((data[pos + 1] & 0xffL) << 8)
+          | ((data[pos + 2] & 0xffL) << 16)
+          | ((data[pos + 3] & 0xffL) << 24);
+    }
+
+    private void fail(Exception e) {
+      release();
+      if (subscription != null) {
+        subscription.cancel();
+      }
+      body.completeExceptionally(e);
+    }
+
+    private void release() {
+      if (inflater != null) {
+        inflater.end();
+      }
+    }
+  }
+}
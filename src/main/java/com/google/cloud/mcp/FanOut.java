@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A running {@link McpToolboxClient#invokeAll(Collection, FanOutOptions)}. Its outcomes can be
+ * consumed all at once in the order of the calls, or one by one in the order they finish:
+ *
+ * <pre>{@code
+ * FanOut fanOut = client.invokeAll(calls, FanOutOptions.builder().maxConcurrency(4).build());
+ * for (CompletableFuture<ToolCallOutcome> next : fanOut.completionOrder()) {
+ *   ToolCallOutcome outcome = next.join();
+ *   ...
+ * }
+ * }</pre>
+ *
+ * <p>Calls are sent in order as concurrency slots free up. No thread is blocked while they wait.
+ */
+public final class FanOut {
+
+  private final McpToolboxClient client;
+  private final List<ToolCall> calls;
+  private final FanOutOptions options;
+  private final ToolCallOutcome[] outcomes;
+  private final AtomicReferenceArray<CompletableFuture<ToolResult>> inFlight;
+  private final List<CompletableFuture<ToolCallOutcome>> completionOrder;
+  private final CompletableFuture<List<ToolCallOutcome>> results = new CompletableFuture<>();
+  private final AtomicInteger nextCall = new AtomicInteger();
+  private final AtomicInteger nextSlot = new AtomicInteger();
+  private final AtomicInteger remaining;
+  private final AtomicInteger startRequests = new AtomicInteger();
+  private final AtomicReference<Throwable> abortCause = new AtomicReference<>();
+
+  private FanOut(McpToolboxClient client, List<ToolCall> calls, FanOutOptions options) {
+    this.client = client;
+    this.calls = calls;
+    this.options = options;
+    this.outcomes = new ToolCallOutcome[calls.size()];
+    this.inFlight = new AtomicReferenceArray<>(calls.size());
+    List<CompletableFuture<ToolCallOutcome>> slots = new ArrayList<>(calls.size());
+    for (int i = 0; i < calls.size(); i++) {
+      slots.add(new CompletableFuture<>());
+    }
+    this.completionOrder = Collections.unmodifiableList(slots);
+    this.remaining = new AtomicInteger(calls.size());
+  }
+
+  /** Starts sending {@code calls} through {@code client}. */
+  static FanOut start(McpToolboxClient client, Collection<ToolCall> calls, FanOutOptions options) {
+    if (calls == null) {
+      throw new IllegalArgumentException("Calls must be provided");
+    }
+    List<ToolCall> ordered = List.copyOf(calls);
+    FanOut fanOut =
+        new FanOut(client, ordered, options != null ? options : FanOutOptions.defaults());
+    if (ordered.isEmpty()) {
+      fanOut.results.complete(List.of());
+    }
+    int initial = Math.min(fanOut.options.maxConcurrency(), ordered.size());
+    for (int i = 0; i < initial; i++) {
+      fanOut.startNext();
+    }
+    return fanOut;
+  }
+
+  /**
+   * Returns the outcome of every call, in the order of the calls. In fail-fast mode the future
+   * fails with the first failure instead; after {@link #cancel()} it fails with a {@link
+   * CancellationException}.
+   *
+   * @return A future of the outcomes.
+   */
+  public CompletableFuture<List<ToolCallOutcome>> results() {
+    return results;
+  }
+
+  /**
+   * Returns one future per call, completed in the order the calls finish: the first future with the
+   * first outcome, the second with the second, and so on. Every future completes normally,
+   * including those of failed, skipped and cancelled calls.
+   *
+   * @return The futures in completion order.
+   */
+  public List<CompletableFuture<ToolCallOutcome>> completionOrder() {
+    return completionOrder;
+  }
+
+  /**
+   * Skips the calls not yet sent and stops waiting for those in flight. Their outcomes carry a
+   * {@link CancellationException}, as does {@link #results()} unless it has already completed.
+   *
+   * <p>A request that has already been sent is not aborted: it runs to completion on the server and
+   * in the transport, and its result is discarded.
+   */
+  public void cancel() {
+    abort(new CancellationException("Fan-out cancelled"));
+  }
+
+  /**
+   * Starts the next call. Calls that finish synchronously would otherwise start the next one from
+   * within this method, so re-entrant requests are counted and run by the outermost invocation.
+   */
+  private void startNext() {
+    if (startRequests.getAndIncrement() != 0) {
+      return;
+    }
+    do {
+      int index = nextCall.getAndIncrement();
+      if (index < calls.size()) {
+        send(index);
+      }
+    } while (startRequests.decrementAndGet() != 0);
+  }
+
+  private void send(int index) {
+    Throwable aborted = abortCause.get();
+    if (aborted != null) {
+      finish(index, null, stopped(aborted));
+      return;
+    }
+    ToolCall call = calls.get(index);
+    CompletableFuture<ToolResult> future;
+    try {
+      future = client.invokeTool(call.toolName(), call.arguments(), call.extraHeaders());
+    } catch (RuntimeException e) {
+      future = CompletableFuture.failedFuture(e);
+    }
+    inFlight.set(index, future);
+    if (abortCause.get() != null) {
+      future.cancel(true);
+    }
+    CompletableFuture<ToolResult> sent = future;
+    CompletableFuture<ToolResult> watched =
+        options.callTimeout() == null
+            ? sent
+            : sent.copy().orTimeout(options.callTimeout().toNanos(), TimeUnit.NANOSECONDS);
+    watched.whenComplete(
+        (result, error) -> {
+          inFlight.set(index, null);
+          Throwable cause = unwrap(error);
+          if (cause instanceof TimeoutException) {
+            sent.cancel(true);
+          }
+          Throwable abortedBy = abortCause.get();
+          if (cause instanceof CancellationException && abortedBy != null) {
+            cause = stopped(abortedBy);
+          }
+          finish(index, result, cause);
+          startNext();
+        });
+  }
+
+  private void finish(int index, ToolResult result, Throwable error) {
+    Throwable cause = unwrap(error);
+    ToolCallOutcome outcome =
+        new ToolCallOutcome(index, calls.get(index), cause == null ? result : null, cause);
+    outcomes[index] = outcome;
+    completionOrder.get(nextSlot.getAndIncrement()).complete(outcome);
+    if (cause != null && options.failFast()) {
+      abort(cause);
+    }
+    if (remaining.decrementAndGet() == 0) {
+      results.complete(List.of(outcomes));
+    }
+  }
+
+  private void abort(Throwable cause) {
+    if (!abortCause.compareAndSet(null, cause)) {
+      return;
+    }
+    results.completeExceptionally(cause);
+    int index;
+    while ((index = nextCall.getAndIncrement()) < calls.size()) {
+      finish(index, null, stopped(cause));
+    }
+    for (int i = 0; i < calls.size(); i++) {
+      CompletableFuture<ToolResult> future = inFlight.get(i);
+      if (future != null) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  /** Returns the error of a call skipped or cancelled because the fan-out was aborted. */
+  private static CancellationException stopped(Throwable cause) {
+    if (cause instanceof CancellationException) {
+      return new CancellationException(cause.getMessage());
+    }
+    CancellationException e = new CancellationException("Stopped after another call failed");
+    e.initCause(cause);
+    return e;
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    while (error instanceof CompletionException && error.getCause() != null) {
+      error = error.getCause();
+    }
+    return error;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.time.Duration;
+
+/**
+ * Options for {@link McpToolboxClient#invokeAll(java.util.Collection, FanOutOptions)}. Use {@link
+ * #builder()} to create instances.
+ */
+public final class FanOutOptions {
+
+  private static final FanOutOptions DEFAULTS = builder().build();
+
+  private final int maxConcurrency;
+  private final Duration callTimeout;
+  private final boolean failFast;
+
+  private FanOutOptions(Builder builder) {
+    this.maxConcurrency = builder.maxConcurrency;
+    this.callTimeout = builder.callTimeout;
+    this.failFast = builder.failFast;
+  }
+
+  /**
+   * Returns the default options.
+   *
+   * @return The default options.
+   */
+  public static FanOutOptions defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * Creates a new builder initialized with the default values.
+   *
+   * @return A new Builder instance.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the maximum number of calls in flight at once.
+   *
+   * @return The concurrency cap.
+   */
+  public int maxConcurrency() {
+    return maxConcurrency;
+  }
+
+  /**
+   * Returns how long each call may take from when it is sent, or null if calls have no deadline.
+   *
+   * @return The per-call timeout.
+   */
+  public Duration callTimeout() {
+    return callTimeout;
+  }
+
+  /**
+   * Returns whether the first failed call stops the others.
+   *
+   * @return true if the fan-out fails fast.
+   */
+  public boolean failFast() {
+    return failFast;
+  }
+
+  /** Builder for {@link FanOutOptions}. */
+  public static final class Builder {
+    private int maxConcurrency = 8;
+    private Duration callTimeout;
+    private boolean failFast;
+
+    private Builder() {}
+
+    /**
+     * Sets the maximum number of calls in flight at once. The others wait and are sent, in order,
+     * as earlier calls finish. Defaults to 8.
+     *
+     * @param maxConcurrency The concurrency cap.
+     * @return The builder instance.
+     */
+    public Builder maxConcurrency(int maxConcurrency) {
+      if (maxConcurrency < 1) {
+        throw new IllegalArgumentException("Max concurrency must be at least 1");
+      }
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * Fails each call with a {@link java.util.concurrent.TimeoutException} if it has not finished
+     * within the given time of being sent. Time spent waiting for a concurrency slot does not
+     * count. A timed out call frees its slot right away, although the server may still run it.
+     * Defaults to null, which sets no deadline.
+     *
+     * @param callTimeout The per-call timeout, or null for none.
+     * @return The builder instance.
+     */
+    public Builder callTimeout(Duration callTimeout) {
+      if (callTimeout != null && (callTimeout.isNegative() || callTimeout.isZero())) {
+        throw new IllegalArgumentException("Call timeout must be positive");
+      }
+      this.callTimeout = callTimeout;
+      return this;
+    }
+
+    /**
+     * Makes the first failed call fail the fan-out: calls not yet sent are skipped, the results of
+     * calls in flight are discarded, and {@link FanOut#results()} fails with the first failure.
+     * Defaults to false, which runs every call and collects each outcome. A result with {@link
+     * ToolResult#isError()} set is not a failure.
+     *
+     * @param failFast Whether to fail fast.
+     * @return The builder instance.
+     */
+    public Builder failFast(boolean failFast) {
+      this.failFast = failFast;
+      return this;
+    }
+
+    /**
+     * Builds the options.
+     *
+     * @return The options.
+     */
+    public FanOutOptions build() {
+      return new FanOutOptions(this);
+    }
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder events for the SDK's own activity, so that it shows up in recordings as more
+ * than anonymous {@code CompletableFuture} and HTTP client frames. All events are disabled unless a
+ * recording enables them, for example with a settings file containing
+ *
+ * <pre>{@code
+ * <event name="com.google.cloud.mcp.ToolInvocation">
+ *   <setting name="enabled">true</setting>
+ *   <setting name="threshold">10 ms</setting>
+ * </event>
+ * }</pre>
+ *
+ * or on the command line with {@code
+ * -XX:StartFlightRecording:com.google.cloud.mcp.ToolInvocation#enabled=true}. A disabled event
+ * costs little more than a flag check: callers create the event and only call {@code begin()},
+ * attach a completion callback and fill in its fields if {@code isEnabled()}.
+ *
+ * <p>Events of asynchronous operations are committed on the thread that completes them, so their
+ * thread and stack trace are not those of the caller; stack traces are therefore not recorded.
+ */
+final class FlightRecorderEvents {
+  private static final String CATEGORY = "MCP Toolbox";
+
+  private FlightRecorderEvents() {}
+
+  /** A tool invocation through {@link McpToolboxClient#invokeTool}, from sending to parsing. */
+  @Name("com.google.cloud.mcp.ToolInvocation")
+  @Label("MCP Tool Invocation")
+  @Description("A tool invocation, from sending the request to parsing the result")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static final class ToolInvocation extends Event {
+    @Label("Tool")
+    String toolName;
+
+    @Label("Server")
+    String url;
+
+    @Label("Status")
+    @Description("success, error for an error result, or failed if no result was received")
+    String status;
+
+    @Label("Status Code")
+    @Description("The HTTP status code, 200 for transports without one, or -1 if none")
+    int statusCode = -1;
+
+    @Label("Response Length")
+    @Description("The length of the response body in characters")
+    long responseLength;
+  }
+
+  /** An HTTP request sent by {@link HttpMcpTransport}, with the bytes that went over the wire. */
+  @Name("com.google.cloud.mcp.HttpRequest")
+  @Label("MCP HTTP Request")
+  @Description("A JSON-RPC message sent to the MCP server over HTTP")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static final class HttpRequest extends Event {
+    @Label("Method")
+    String method;
+
+    @Label("URL")
+    String url;
+
+    @Label("Status Code")
+    @Description("The HTTP status code, or -1 if no response was received")
+    int statusCode = -1;
+
+    @Label("Request Size")
+    @Description("The size of the request body as sent, after any compression")
+    @DataAmount
+    long requestSize;
+
+    @Label("Response Length")
+    @Description("The length of the decoded response body in characters")
+    long responseLength;
+  }
+
+  /** A fetch of a toolset's manifest from the server, made on a manifest cache miss. */
+  @Name("com.google.cloud.mcp.ManifestFetch")
+  @Label("MCP Manifest Fetch")
+  @Description("A tools/list request for a toolset's manifest")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static final class ManifestFetch extends Event {
+    @Label("Toolset")
+    String toolset;
+
+    @Label("Server")
+    String url;
+
+    @Label("Success")
+    boolean success;
+
+    @Label("Tool Count")
+    int toolCount;
+  }
+
+  /** A lookup in the manifest cache. */
+  @Name("com.google.cloud.mcp.ManifestCacheAccess")
+  @Label("MCP Manifest Cache Access")
+  @Description("A lookup of a toolset in the manifest cache")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static final class ManifestCacheAccess extends Event {
+    @Label("Toolset")
+    String toolset;
+
+    @Label("Hit")
+    boolean hit;
+  }
+
+  /** An MCP initialization handshake of a session or connection. */
+  @Name("com.google.cloud.mcp.SessionInitialization")
+  @Label("MCP Session Initialization")
+  @Description("An initialize handshake, including the initialized notification when awaited")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static final class SessionInitialization extends Event {
+    @Label("Server")
+    String url;
+
+    @Label("Protocol Version")
+    @Description("The negotiated protocol version, or null if the handshake failed")
+    String protocolVersion;
+
+    @Label("Success")
+    boolean success;
+  }
+
+  /** A refresh of the credentials of a {@link GoogleCredentialsProvider} and its ID token. */
+  @Name("com.google.cloud.mcp.CredentialRefresh")
+  @Label("MCP Credential Refresh")
+  @Description("Loading or refreshing Google credentials and fetching an ID token")
+  @Category(CATEGORY)
+  @StackTrace(false)
+  static final class CredentialRefresh extends Event {
+    @Label("Audience")
+    String audience;
+
+    @Label("Success")
+    boolean success;
+  }
+}
@@ -69,16 +69,32 @@ public class GoogleCredentialsProvider implements CredentialsProvider {
   public CompletableFuture<String> getAuthorizationHeader() {
     return CompletableFuture.supplyAsync(
         () -> {
-          try {
-            GoogleCredentials creds = getCredentials();
-            if (creds == null) {
-              return null;
-            }
-            return AuthMethods.getGoogleIdToken(creds, audience);
-          } catch (Exception e) {
-            // ADC not available or not OIDC-compatible. Proceed without global auth.
-            return null;
+          FlightRecorderEvents.CredentialRefresh event =
+              new FlightRecorderEvents.CredentialRefresh();
+          boolean recording = event.isEnabled();
+          if (recording) {
+            event.begin();
           }
+          String header = fetchAuthorizationHeader();
+          if (recording) {
+            event.audience = audience;
+            event.success = header != null;
+            event.commit();
+          }
+          return header;
         });
   }
+
+  private String fetchAuthorizationHeader() {
+    try {
+      GoogleCredentials creds = getCredentials();
+      if (creds == null) {
+        return null;
+      }
+      return AuthMethods.getGoogleIdToken(creds, audience);
+    } catch (Exception e) {
+      // ADC not available or not OIDC-compatible. Proceed without global auth.
+      return null;
+    }
+  }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The HTTP layer beneath {@link HttpMcpTransport}. The transport handles the MCP protocol (JSON-RPC
+ * framing, headers, the handshake and sessions) and hands fully prepared POST requests to the
+ * engine. {@link JdkHttpEngine} is used by default; other engines can add connection pool controls
+ * the JDK client does not offer.
+ */
+public interface HttpEngine extends AutoCloseable {
+
+  /**
+   * Sends a POST request.
+   *
+   * <p>Implementations must return the decoded body for responses with a {@code gzip} or {@code
+   * deflate} Content-Encoding. Network failures complete the future exceptionally.
+   *
+   * @param request The request to send.
+   * @return A future completing with the response.
+   */
+  CompletableFuture<Response> execute(Request request);
+
+  /** Releases the resources held by the engine. The default implementation does nothing. */
+  @Override
+  default void close() {}
+
+  /** A POST request prepared by the transport. */
+  final class Request {
+    private final URI uri;
+    private final Map<String, String> headers;
+    private final byte[] body;
+
+    /**
+     * Constructs a new Request.
+     *
+     * @param uri The target URI.
+     * @param headers The request headers. Names are case-insensitive.
+     * @param body The encoded request body.
+     */
+    public Request(URI uri, Map<String, String> headers, byte[] body) {
+      this.uri = uri;
+      Map<String, String> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+      copy.putAll(headers);
+      this.headers = Collections.unmodifiableMap(copy);
+      this.body = body;
+    }
+
+    /**
+     * Returns the target URI.
+     *
+     * @return The URI.
+     */
+    public URI uri() {
+      return uri;
+    }
+
+    /**
+     * Returns the request headers, keyed case-insensitively.
+     *
+     * @return The headers.
+     */
+    public Map<String, String> headers() {
+      return headers;
+    }
+
+    /**
+     * Returns the encoded request body. Callers must not modify it.
+     *
+     * @return The body bytes.
+     */
+    public byte[] body() {
+      return body;
+    }
+  }
+
+  /** A response returned by an engine. */
+  interface Response {
+
+    /**
+     * Returns the HTTP status code.
+     *
+     * @return The status code.
+     */
+    int statusCode();
+
+    /**
+     * Returns the decoded response body.
+     *
+     * @return The body, or an empty string if there is none.
+     */
+    String body();
+
+    /**
+     * Returns the first value of a response header.
+     *
+     * @param name The case-insensitive header name.
+     * @return The header value, or empty if the header is absent.
+     */
+    Optional<String> header(String name);
+
+    /**
+     * Returns all response headers. Engines that cannot list their headers return an empty map.
+     *
+     * @return The header values keyed by header name.
+     */
+    default Map<String, List<String>> headers() {
+      return Map.of();
+    }
+  }
+}
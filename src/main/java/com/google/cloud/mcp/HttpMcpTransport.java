@@ -16,20 +16,13 @@
 
 package com.google.cloud.mcp;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.logging.Logger;
 
@@ -44,13 +37,20 @@ public final class HttpMcpTransport implements Transport {
   private final String baseUrl;
   private final Map<String, String> clientHeaders;
   private final CredentialsProvider credentialsProvider;
-  private final HttpClient httpClient;
+  private final HttpEngine engine;
   private final ObjectMapper objectMapper;
   private final ProtocolVersion preferredProtocolVersion;
-  private final Object initLock = new Object();
-  private CompletableFuture<Void> initFuture;
-  private volatile ProtocolVersion negotiatedProtocolVersion;
-  private volatile String sessionId;
+  private final McpSessionPool sessionPool;
+  private final boolean optimisticHandshake;
+  private final boolean negotiateProtocolVersion;
+  // The version last negotiated by any session of this transport, assumed by optimistic
+  // handshakes. Kept per transport, since other transports may use other credentials or options.
+  private volatile ProtocolVersion lastNegotiatedVersion;
+  private final boolean compressResponses;
+  private final int requestCompressionThreshold;
+  private final ClientMetrics metrics;
+  private final java.util.concurrent.ScheduledFuture<?> keepAliveTask;
+  private volatile long lastPingRttNanos = -1L;
 
   /**
    * Constructs a new HttpMcpTransport with a base URL.
@@ -102,7 +102,7 @@ public final class HttpMcpTransport implements Transport {
   }
 
   /**
-   * Primary constructor for HttpMcpTransport.
+   * Constructs a HttpMcpTransport with the default {@link HttpTransportOptions}.
    *
    * @param baseUrl The base URL of the remote service.
    * @param clientHeaders Default HTTP headers to include in every request.
@@ -118,6 +118,35 @@ public final class HttpMcpTransport implements Transport {
       ProtocolVersion preferredProtocolVersion,
       HttpClient httpClient,
       java.util.concurrent.Executor executor) {
+    this(
+        baseUrl,
+        clientHeaders,
+        credentialsProvider,
+        preferredProtocolVersion,
+        httpClient,
+        executor,
+        null);
+  }
+
+  /**
+   * Primary constructor for HttpMcpTransport.
+   *
+   * @param baseUrl The base URL of the remote service.
+   * @param clientHeaders Default HTTP headers to include in every request.
+   * @param credentialsProvider Provider for retrieving authorization credentials.
+   * @param preferredProtocolVersion Preferred MCP protocol version.
+   * @param httpClient Custom HTTP Client.
+   * @param executor Optional Executor for handling async requests.
+   * @param options Transport tuning options, or null for the defaults.
+   */
+  public HttpMcpTransport(
+      String baseUrl,
+      Map<String, String> clientHeaders,
+      CredentialsProvider credentialsProvider,
+      ProtocolVersion preferredProtocolVersion,
+      HttpClient httpClient,
+      java.util.concurrent.Executor executor,
+      HttpTransportOptions options) {
     if (baseUrl == null || baseUrl.isEmpty()) {
       throw new IllegalArgumentException("Base URL must be provided");
     }
@@ -131,19 +160,38 @@ public final class HttpMcpTransport implements Transport {
         preferredProtocolVersion != null
             ? preferredProtocolVersion
             : ProtocolVersion.VERSION_2025_11_25;
-    if (httpClient != null) {
-      this.httpClient = httpClient;
-    } else {
-      HttpClient.Builder builder =
-          HttpClient.newBuilder()
-              .cookieHandler(new java.net.CookieManager())
-              .connectTimeout(Duration.ofSeconds(10));
-      if (executor != null) {
-        builder.executor(executor);
-      }
-      this.httpClient = builder.build();
-    }
     this.objectMapper = new ObjectMapper();
+    HttpTransportOptions resolvedOptions =
+        options != null ? options : HttpTransportOptions.defaults();
+    this.engine =
+        resolvedOptions.httpEngine() != null
+            ? resolvedOptions.httpEngine()
+            : new JdkHttpEngine(httpClient != null ? httpClient : newHttpClient(executor));
+    this.sessionPool =
+        new McpSessionPool(
+            resolvedOptions.sessionPoolSize(),
+            resolvedOptions.maxInitAttempts(),
+            resolvedOptions.initRetryBackoff());
+    this.optimisticHandshake = resolvedOptions.optimisticHandshake();
+    this.negotiateProtocolVersion = resolvedOptions.negotiateProtocolVersion();
+    this.compressResponses = resolvedOptions.compressResponses();
+    this.requestCompressionThreshold = resolvedOptions.requestCompressionThreshold();
+    this.metrics = resolvedOptions.metrics();
+    this.keepAliveTask =
+        resolvedOptions.keepAliveInterval() != null
+            ? KeepAliveTask.schedule(this, resolvedOptions.keepAliveInterval())
+            : null;
+  }
+
+  private static HttpClient newHttpClient(java.util.concurrent.Executor executor) {
+    HttpClient.Builder builder =
+        HttpClient.newBuilder()
+            .cookieHandler(new java.net.CookieManager())
+            .connectTimeout(Duration.ofSeconds(10));
+    if (executor != null) {
+      builder.executor(executor);
+    }
+    return builder.build();
   }
 
   HttpMcpTransport(String baseUrl, HttpClient httpClient) {
@@ -168,11 +216,17 @@ public final class HttpMcpTransport implements Transport {
   }
 
   private CompletableFuture<Map<String, String>> mergeHeaders(Map<String, String> extraMetadata) {
-    CompletableFuture<String> authFuture =
-        this.credentialsProvider != null
-            ? this.credentialsProvider.getAuthorizationHeader()
-            : CompletableFuture.completedFuture(null);
+    return mergeHeaders(extraMetadata, fetchCredentials());
+  }
+
+  private CompletableFuture<String> fetchCredentials() {
+    return this.credentialsProvider != null
+        ? this.credentialsProvider.getAuthorizationHeader()
+        : CompletableFuture.completedFuture(null);
+  }
 
+  private CompletableFuture<Map<String, String>> mergeHeaders(
+      Map<String, String> extraMetadata, CompletableFuture<String> authFuture) {
     return authFuture.thenApply(
         providerAuth -> {
           Map<String, String> merged = new HashMap<>();
@@ -234,34 +288,66 @@ public final class HttpMcpTransport implements Transport {
         });
   }
 
-  private CompletableFuture<Void> ensureInitialized(Map<String, String> extraMetadata) {
-    synchronized (initLock) {
-      if (initFuture == null) {
-        Map<String, String> handshakeMetadata = new HashMap<>();
-        if (extraMetadata != null) {
-          String authKey =
-              extraMetadata.keySet().stream()
-                  .filter(k -> "Authorization".equalsIgnoreCase(k))
-                  .findFirst()
-                  .orElse(null);
-          if (authKey != null) {
-            handshakeMetadata.put("Authorization", extraMetadata.get(authKey));
-          }
-        }
-        initFuture =
-            mergeHeaders(handshakeMetadata)
-                .thenCompose(
-                    handshakeHeaders -> {
-                      String authHeader = handshakeHeaders.get("Authorization");
-                      return performInitialization(authHeader, handshakeHeaders);
-                    });
+  private CompletableFuture<Void> ensureInitialized(
+      McpSessionPool.Session session, Map<String, String> extraMetadata) {
+    return sessionPool.ensureInitialized(
+        session,
+        s ->
+            initializeSession(s, handshakeMetadata(extraMetadata))
+                .thenRun(
+                    () ->
+                        s.initMetadata =
+                            extraMetadata != null
+                                ? Collections.unmodifiableMap(new HashMap<>(extraMetadata))
+                                : Map.of()));
+  }
+
+  private static Map<String, String> handshakeMetadata(Map<String, String> extraMetadata) {
+    Map<String, String> handshakeMetadata = new HashMap<>();
+    if (extraMetadata != null) {
+      String authKey =
+          extraMetadata.keySet().stream()
+              .filter(k -> "Authorization".equalsIgnoreCase(k))
+              .findFirst()
+              .orElse(null);
+      if (authKey != null) {
+        handshakeMetadata.put("Authorization", extraMetadata.get(authKey));
       }
-      return initFuture;
     }
+    return handshakeMetadata;
+  }
+
+  private CompletableFuture<Void> initializeSession(
+      McpSessionPool.Session session, Map<String, String> handshakeMetadata) {
+    FlightRecorderEvents.SessionInitialization event =
+        new FlightRecorderEvents.SessionInitialization();
+    boolean recording = event.isEnabled();
+    if (recording) {
+      event.begin();
+    }
+    CompletableFuture<Void> initialized =
+        mergeHeaders(handshakeMetadata)
+            .thenCompose(
+                handshakeHeaders -> {
+                  String authHeader = handshakeHeaders.get("Authorization");
+                  return performInitialization(session, authHeader, handshakeHeaders);
+                });
+    if (!recording) {
+      return initialized;
+    }
+    return initialized.whenComplete(
+        (v, e) -> {
+          event.url = baseUrl;
+          event.success = e == null;
+          if (e == null) {
+            event.protocolVersion = session.negotiatedProtocolVersion.getValue();
+          }
+          event.commit();
+        });
   }
 
   private CompletableFuture<Void> performInitialization(
-      String authHeader, Map<String, String> handshakeHeaders) {
+      McpSessionPool.Session session, String authHeader, Map<String, String> handshakeHeaders) {
     try {
       if (this.baseUrl.toLowerCase(java.util.Locale.ROOT).startsWith("http://")
           && authHeader != null) {
@@ -273,77 +359,62 @@ public final class HttpMcpTransport implements Transport {
               new JsonRpc.InitializeParams(
                   preferredProtocolVersion.getValue(), "mcp-toolbox-sdk-java"));
       String body = objectMapper.writeValueAsString(initReq);
-      HttpRequest.Builder req =
-          HttpRequest.newBuilder()
-              .uri(URI.create(baseUrl))
-              .POST(HttpRequest.BodyPublishers.ofString(body));
-
-      handshakeHeaders.forEach(req::setHeader);
-      applyProtocolHeaders(req);
+      Map<String, String> headers = headerMap(handshakeHeaders);
+      headers.put("Content-Type", "application/json");
 
-      return httpClient
-          .sendAsync(req.build(), HttpResponse.BodyHandlers.ofString())
+      return execute("initialize", newRequest(baseUrl, headers, body))
           .thenCompose(
               res -> {
                 if (res.statusCode() != 200) {
+                  String message = "Init failed: " + res.statusCode() + " " + res.body();
                   return CompletableFuture.failedFuture(
-                      new McpException("Init failed: " + res.statusCode() + " " + res.body()));
+                      isTransientStatus(res.statusCode())
+                          ? new McpSessionPool.RetryableException(message)
+                          : new McpException(message));
                 }
                 try {
-                  JsonNode responseJson = objectMapper.readTree(res.body());
-                  if (responseJson.has("error")) {
-                    return CompletableFuture.failedFuture(
-                        new McpException("MCP Error: " + responseJson.get("error").toString()));
-                  }
-                  JsonNode result = responseJson.get("result");
-                  String serverVersion;
-                  if (result != null && result.has("protocolVersion")) {
-                    serverVersion = result.get("protocolVersion").asText();
-                  } else {
-                    // Fallback to the client's preferred version for backward-compatible/mock
-                    // servers
-                    serverVersion = preferredProtocolVersion.getValue();
-                  }
-
-                  // Verify strict compliance with Python/Go behavior
-                  if (!preferredProtocolVersion.getValue().equals(serverVersion)) {
-                    return CompletableFuture.failedFuture(
-                        new McpException(
-                            "MCP version mismatch: client ("
-                                + preferredProtocolVersion.getValue()
-                                + ") != server ("
-                                + serverVersion
-                                + ")"));
+                  ProtocolVersion negotiated =
+                      McpCodec.negotiatedVersion(
+                          objectMapper.readTree(res.body()),
+                          preferredProtocolVersion,
+                          negotiateProtocolVersion);
+                  synchronized (session) {
+                    session.negotiatedProtocolVersion = negotiated;
                   }
+                  lastNegotiatedVersion = negotiated;
 
-                  this.negotiatedProtocolVersion = ProtocolVersion.fromString(serverVersion);
-
-                  if (negotiatedProtocolVersion == ProtocolVersion.VERSION_2025_03_26) {
-                    java.util.Optional<String> sessionIdOpt =
-                        res.headers().firstValue("Mcp-Session-Id");
+                  if (session.negotiatedProtocolVersion == ProtocolVersion.VERSION_2025_03_26) {
+                    java.util.Optional<String> sessionIdOpt = res.header("Mcp-Session-Id");
                     if (sessionIdOpt.isEmpty()) {
                       return CompletableFuture.failedFuture(
                           new McpException(
                               "Server did not return a Mcp-Session-Id header during"
                                   + " initialization."));
                     }
-                    this.sessionId = sessionIdOpt.get();
+                    session.sessionId = sessionIdOpt.get();
                   }
 
                   JsonRpc.Notification notif =
                       new JsonRpc.Notification("notifications/initialized", Map.of());
                   String notifBody = objectMapper.writeValueAsString(notif);
-                  HttpRequest.Builder nReq =
-                      HttpRequest.newBuilder()
-                          .uri(URI.create(baseUrl))
-                          .POST(HttpRequest.BodyPublishers.ofString(notifBody));
-
-                  handshakeHeaders.forEach(nReq::setHeader);
-                  applyProtocolHeaders(nReq);
-
-                  return httpClient
-                      .sendAsync(nReq.build(), HttpResponse.BodyHandlers.ofString())
-                      .thenAccept(nRes -> {});
+                  Map<String, String> notifHeaders = headerMap(handshakeHeaders);
+                  applyProtocolHeaders(notifHeaders, session);
+
+                  CompletableFuture<Void> notified =
+                      execute(
+                              "notifications/initialized",
+                              newRequest(baseUrl, notifHeaders, notifBody))
+                          .thenAccept(nRes -> {});
+                  if (optimisticHandshake) {
+                    // The notification has no response; do not keep the handshake waiting on it.
+                    notified.exceptionally(
+                        e -> {
+                          logger.fine("Failed to send notifications/initialized: " + e);
+                          return null;
+                        });
+                    return CompletableFuture.completedFuture(null);
+                  }
+                  return notified;
                 } catch (Exception e) {
                   return CompletableFuture.failedFuture(e);
                 }
@@ -353,20 +424,239 @@ public final class HttpMcpTransport implements Transport {
     }
   }
 
-  private void applyProtocolHeaders(HttpRequest.Builder builder) {
-    builder.header("Content-Type", "application/json");
+  private static boolean isStateless(ProtocolVersion version) {
+    return version.requiresVersionHeader() && !version.requiresSessionIdHeader();
+  }
+
+  /**
+   * Returns the future a request has to wait for before it is dispatched. With the optimistic
+   * handshake, requests over a stateless protocol version are sent right away, concurrently with
+   * the first {@code initialize}, using the version last negotiated by this transport. A request
+   * following a failed handshake always waits for the new handshake.
+   */
+  private CompletableFuture<Void> dispatchReady(
+      McpSessionPool.Session session,
+      CompletableFuture<Void> previousInit,
+      CompletableFuture<Void> init) {
+    if (!optimisticHandshake || init.isDone() || (previousInit != null && previousInit != init)) {
+      return init;
+    }
+    synchronized (session) {
+      if (session.negotiatedProtocolVersion == null) {
+        ProtocolVersion negotiated = lastNegotiatedVersion;
+        ProtocolVersion assumed = negotiated != null ? negotiated : preferredProtocolVersion;
+        if (!isStateless(assumed)) {
+          return init;
+        }
+        session.negotiatedProtocolVersion = assumed;
+      } else if (!isStateless(session.negotiatedProtocolVersion)) {
+        return init;
+      }
+    }
+    return CompletableFuture.completedFuture(null);
+  }
+
+  private static boolean isTransientStatus(int statusCode) {
+    return statusCode == 429 || statusCode >= 500;
+  }
+
+  private void applyProtocolHeaders(Map<String, String> headers, McpSessionPool.Session session) {
+    headers.put("Content-Type", "application/json");
+    ProtocolVersion negotiatedProtocolVersion = session.negotiatedProtocolVersion;
     if (negotiatedProtocolVersion == null) {
       return;
     }
     if (negotiatedProtocolVersion.requiresAcceptJson()) {
-      builder.header("Accept", "application/json");
+      headers.put("Accept", "application/json");
     }
     if (negotiatedProtocolVersion.requiresVersionHeader()) {
-      builder.header("MCP-Protocol-Version", negotiatedProtocolVersion.getValue());
+      headers.put("MCP-Protocol-Version", negotiatedProtocolVersion.getValue());
     }
+    String sessionId = session.sessionId;
     if (negotiatedProtocolVersion.requiresSessionIdHeader() && sessionId != null) {
-      builder.header("Mcp-Session-Id", sessionId);
+      headers.put("Mcp-Session-Id", sessionId);
+    }
+  }
+
+  /**
+   * Sends a JSON-RPC message over an initialized session. If the server reports that the session
+   * has expired, the session is re-initialized once and the message is sent again.
+   */
+  private CompletableFuture<HttpEngine.Response> send(
+      McpSessionPool.Session session,
+      Map<String, String> metadata,
+      String method,
+      String url,
+      String body,
+      boolean retryOnExpiredSession) {
+    return send(session, metadata, method, url, body, retryOnExpiredSession, null);
+  }
+
+  /** Sends a JSON-RPC message, recording its stages in {@code timer} unless it is null. */
+  private CompletableFuture<HttpEngine.Response> send(
+      McpSessionPool.Session session,
+      Map<String, String> metadata,
+      String method,
+      String url,
+      String body,
+      boolean retryOnExpiredSession,
+      InvocationTimer timer) {
+    return send(session, metadata, method, url, body, retryOnExpiredSession, timer, null);
+  }
+
+  /**
+   * Sends a JSON-RPC message, using the credentials fetch started by {@link #prefetch} unless
+   * {@code credentials} is null.
+   */
+  private CompletableFuture<HttpEngine.Response> send(
+      McpSessionPool.Session session,
+      Map<String, String> metadata,
+      String method,
+      String url,
+      String body,
+      boolean retryOnExpiredSession,
+      InvocationTimer timer,
+      CompletableFuture<String> credentials) {
+    long sessionStart = timer != null ? System.nanoTime() : 0;
+    CompletableFuture<Void> previousInit = sessionPool.currentInit(session);
+    CompletableFuture<Void> init = ensureInitialized(session, metadata);
+    CompletableFuture<Void> ready = dispatchReady(session, previousInit, init);
+    CompletableFuture<Map<String, String>> headersReady;
+    if (timer == null) {
+      headersReady =
+          ready.thenCompose(
+              v -> mergeHeaders(metadata, credentials != null ? credentials : fetchCredentials()));
+    } else {
+      headersReady =
+          ready.thenCompose(
+              v -> {
+                timer.record(InvocationTimer.SESSION, sessionStart);
+                long headersStart = System.nanoTime();
+                return mergeHeaders(
+                        metadata, credentials != null ? credentials : fetchCredentials())
+                    .whenComplete((h, e) -> timer.record(InvocationTimer.HEADERS, headersStart));
+              });
+    }
+    return headersReady.thenCompose(
+        mergedHeaders -> {
+          String sentSessionId = session.sessionId;
+          try {
+            Map<String, String> headers = headerMap(mergedHeaders);
+            applyProtocolHeaders(headers, session);
+
+            long encodeStart = timer != null ? System.nanoTime() : 0;
+            HttpEngine.Request request = newRequest(url, headers, body);
+            CompletableFuture<HttpEngine.Response> response;
+            if (timer == null) {
+              response = execute(method, request);
+            } else {
+              timer.record(InvocationTimer.ENCODE, encodeStart);
+              timer.sessionId = sentSessionId;
+              timer.requestHeaders = request.headers();
+              timer.requestBytes = request.body().length;
+              long networkStart = System.nanoTime();
+              response =
+                  execute(method, request)
+                      .whenComplete(
+                          (res, e) -> {
+                            timer.record(InvocationTimer.NETWORK, networkStart);
+                            timer.response = res;
+                          });
+            }
+            return response.thenCompose(
+                res -> {
+                  if (retryOnExpiredSession
+                      && sentSessionId != null
+                      && isSessionExpired(res, session, url)) {
+                    logger.fine("MCP session expired, re-initializing.");
+                    sessionPool.invalidate(session, init);
+                    return send(session, metadata, method, url, body, false, timer, credentials);
+                  }
+                  return CompletableFuture.completedFuture(res);
+                });
+          } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+          }
+        });
+  }
+
+  /** Sends a request through the engine, recording it in the metrics and the flight recorder. */
+  private CompletableFuture<HttpEngine.Response> execute(
+      String method, HttpEngine.Request request) {
+    FlightRecorderEvents.HttpRequest event = new FlightRecorderEvents.HttpRequest();
+    boolean recording = event.isEnabled();
+    if (metrics == ClientMetrics.NOOP && !recording) {
+      return engine.execute(request);
+    }
+    if (recording) {
+      event.begin();
+    }
+    long start = System.nanoTime();
+    return engine
+        .execute(request)
+        .whenComplete(
+            (res, e) -> {
+              long durationNanos = System.nanoTime() - start;
+              int statusCode = res != null ? res.statusCode() : -1;
+              String responseBody = res != null ? res.body() : null;
+              long responseLength = responseBody != null ? responseBody.length() : 0;
+              metrics.requestCompleted(
+                  method, statusCode, request.body().length, responseLength, durationNanos);
+              if (recording) {
+                event.method = method;
+                event.url = request.uri().toString();
+                event.statusCode = statusCode;
+                event.requestSize = request.body().length;
+                event.responseLength = responseLength;
+                event.commit();
+              }
+            });
+  }
+
+  /**
+   * Encodes a request for the engine, gzip-compressing the body if it reaches the compression
+   * threshold and asking for a compressed response if response compression is enabled.
+   */
+  private HttpEngine.Request newRequest(String url, Map<String, String> headers, String body) {
+    Map<String, String> requestHeaders = headerMap(headers);
+    if (compressResponses) {
+      requestHeaders.put("Accept-Encoding", ContentEncoding.ACCEPT_ENCODING);
     }
+    byte[] bytes = body.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+    if (requestCompressionThreshold >= 0 && bytes.length >= requestCompressionThreshold) {
+      requestHeaders.put("Content-Encoding", "gzip");
+      bytes = ContentEncoding.gzip(bytes);
+    }
+    return new HttpEngine.Request(URI.create(url), requestHeaders, bytes);
+  }
+
+  private static Map<String, String> headerMap(Map<String, String> headers) {
+    Map<String, String> map = new java.util.TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    map.putAll(headers);
+    return map;
+  }
+
+  /**
+   * Returns true if the server rejected a request because its {@code Mcp-Session-Id} is no longer
+   * known. Only sessions of the stateful protocol can expire. A 404 means expiry only when it comes
+   * from the session endpoint itself, since a 404 on a toolset path just names an unknown toolset;
+   * otherwise the error body has to name the session.
+   */
+  private boolean isSessionExpired(
+      HttpEngine.Response response, McpSessionPool.Session session, String url) {
+    ProtocolVersion version = session.negotiatedProtocolVersion;
+    if (version == null || !version.requiresSessionIdHeader()) {
+      return false;
+    }
+    int statusCode = response.statusCode();
+    if (statusCode != 404 && statusCode != 400) {
+      return false;
+    }
+    String body = response.body();
+    if (body != null && body.toLowerCase(java.util.Locale.ROOT).contains("session")) {
+      return true;
+    }
+    return statusCode == 404 && url.equals(baseUrl);
   }
 
   @Override
@@ -376,162 +666,277 @@ public final class HttpMcpTransport implements Transport {
         && !metadata.isEmpty()) {
       logger.warning(HTTP_WARNING);
     }
-    return ensureInitialized(metadata)
-        .thenCompose(v -> mergeHeaders(metadata))
-        .thenCompose(
-            mergedHeaders -> {
-              String path = toolsetName != null && !toolsetName.isEmpty() ? "/" + toolsetName : "";
-              String url = baseUrl + path;
-              try {
-                JsonRpc.Request listReq = new JsonRpc.Request("tools/list", Map.of());
-                String body = objectMapper.writeValueAsString(listReq);
-                HttpRequest.Builder req =
-                    HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .POST(HttpRequest.BodyPublishers.ofString(body));
-                mergedHeaders.forEach(req::setHeader);
-                applyProtocolHeaders(req);
-
-                return httpClient
-                    .sendAsync(req.build(), HttpResponse.BodyHandlers.ofString())
-                    .thenApply(this::handleListToolsResponse);
-              } catch (Exception e) {
-                return CompletableFuture.failedFuture(e);
-              }
-            });
+    String path = toolsetName != null && !toolsetName.isEmpty() ? "/" + toolsetName : "";
+    try {
+      JsonRpc.Request listReq = new JsonRpc.Request("tools/list", Map.of());
+      String body = objectMapper.writeValueAsString(listReq);
+      return send(sessionPool.acquire(), metadata, "tools/list", baseUrl + path, body, true)
+          .thenApply(this::handleListToolsResponse);
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
   }
 
   @Override
   public CompletableFuture<TransportResponse> invokeTool(
       String toolName, Map<String, Object> arguments, Map<String, String> metadata) {
+    return invokeTool(toolName, arguments, metadata, null, null);
+  }
+
+  /**
+   * The parts of a {@code tools/call} that do not depend on its arguments: the session it will use
+   * and the credentials fetch for its {@code Authorization} header.
+   */
+  static final class Prefetch {
+    final McpSessionPool.Session session;
+    final CompletableFuture<String> credentials;
+
+    private Prefetch(McpSessionPool.Session session, CompletableFuture<String> credentials) {
+      this.session = session;
+      this.credentials = credentials;
+    }
+  }
+
+  /**
+   * Starts the work of a call before its arguments are ready: picks its session, starts the
+   * credentials fetch, and initializes the session as soon as the call's headers are known, since
+   * the handshake is sent with the call's {@code Authorization} header.
+   *
+   * @param metadata The call's metadata, once known.
+   * @return The prefetch to pass to {@link #invokeTool(String, Map, Map, InvocationTimer,
+   *     Prefetch)}.
+   */
+  Prefetch prefetch(CompletableFuture<Map<String, String>> metadata) {
+    McpSessionPool.Session session = sessionPool.acquire();
+    Prefetch prefetch = new Prefetch(session, fetchCredentials());
+    metadata.thenAccept(m -> ensureInitialized(session, m));
+    return prefetch;
+  }
+
+  /**
+   * Invokes a tool, recording its stages in {@code timer} unless it is null, along with the
+   * response's {@code Server-Timing} header.
+   */
+  CompletableFuture<TransportResponse> invokeTool(
+      String toolName,
+      Map<String, Object> arguments,
+      Map<String, String> metadata,
+      InvocationTimer timer) {
+    return invokeTool(toolName, arguments, metadata, timer, null);
+  }
+
+  /**
+   * Invokes a tool over the session and with the credentials of {@code prefetch} unless it is null,
+   * recording its stages in {@code timer} unless it is null.
+   */
+  CompletableFuture<TransportResponse> invokeTool(
+      String toolName,
+      Map<String, Object> arguments,
+      Map<String, String> metadata,
+      InvocationTimer timer,
+      Prefetch prefetch) {
     if (this.baseUrl.toLowerCase(java.util.Locale.ROOT).startsWith("http://")
         && !metadata.isEmpty()) {
       logger.warning(HTTP_WARNING);
     }
-    return ensureInitialized(metadata)
-        .thenCompose(v -> mergeHeaders(metadata))
+    try {
+      long encodeStart = timer != null ? System.nanoTime() : 0;
+      JsonRpc.Request invokeReq =
+          new JsonRpc.Request("tools/call", new JsonRpc.CallToolParams(toolName, arguments));
+      String requestBody = objectMapper.writeValueAsString(invokeReq);
+      McpSessionPool.Session session = prefetch != null ? prefetch.session : sessionPool.acquire();
+      CompletableFuture<String> credentials = prefetch != null ? prefetch.credentials : null;
+      if (timer == null) {
+        return send(session, metadata, "tools/call", baseUrl, requestBody, true, null, credentials)
+            .thenApply(res -> new TransportResponse(res.statusCode(), res.body(), res.headers()));
+      }
+      timer.record(InvocationTimer.ENCODE, encodeStart);
+      return send(session, metadata, "tools/call", baseUrl, requestBody, true, timer, credentials)
+          .thenApply(
+              res -> {
+                res.header("Server-Timing")
+                    .ifPresent(header -> timer.serverTiming(ServerTiming.parse(header)));
+                return new TransportResponse(res.statusCode(), res.body(), res.headers());
+              });
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Initializes every pooled session, then sends {@code connections} concurrent {@code ping}
+   * requests so that the engine opens up to that many connections. Over HTTP/2 the pings may be
+   * multiplexed as streams over fewer connections. The first handshake also pays for DNS resolution
+   * and the TCP and TLS setup of the first connection.
+   */
+  @Override
+  public CompletableFuture<Map<String, Duration>> warmUp(
+      int connections, Map<String, String> metadata) {
+    if (connections < 1) {
+      return CompletableFuture.failedFuture(
+          new IllegalArgumentException("Connections must be at least 1"));
+    }
+    Map<String, Duration> phases = new java.util.LinkedHashMap<>();
+    long initStart = System.nanoTime();
+    CompletableFuture<?>[] inits =
+        sessionPool.sessions().stream()
+            .map(session -> ensureInitialized(session, metadata))
+            .toArray(CompletableFuture[]::new);
+    return CompletableFuture.allOf(inits)
         .thenCompose(
-            mergedHeaders -> {
-              try {
-                JsonRpc.Request invokeReq =
-                    new JsonRpc.Request(
-                        "tools/call", new JsonRpc.CallToolParams(toolName, arguments));
-                String requestBody = objectMapper.writeValueAsString(invokeReq);
-
-                HttpRequest.Builder requestBuilder =
-                    HttpRequest.newBuilder()
-                        .uri(URI.create(baseUrl))
-                        .POST(HttpRequest.BodyPublishers.ofString(requestBody));
-
-                mergedHeaders.forEach(requestBuilder::setHeader);
-                applyProtocolHeaders(requestBuilder);
-
-                return httpClient
-                    .sendAsync(requestBuilder.build(), HttpResponse.BodyHandlers.ofString())
-                    .thenApply(res -> new TransportResponse(res.statusCode(), res.body()));
-              } catch (Exception e) {
-                return CompletableFuture.failedFuture(e);
+            v -> {
+              phases.put(
+                  WarmUpReport.PHASE_INITIALIZE, Duration.ofNanos(System.nanoTime() - initStart));
+              long connectStart = System.nanoTime();
+              CompletableFuture<?>[] pings = new CompletableFuture<?>[connections];
+              for (int i = 0; i < connections; i++) {
+                pings[i] = ping(sessionPool.acquire(), metadata, true);
               }
+              return CompletableFuture.allOf(pings)
+                  .thenApply(
+                      ignored -> {
+                        phases.put(
+                            WarmUpReport.PHASE_CONNECT,
+                            Duration.ofNanos(System.nanoTime() - connectStart));
+                        return phases;
+                      });
             });
   }
 
+  private CompletableFuture<HttpEngine.Response> ping(
+      McpSessionPool.Session session, Map<String, String> metadata, boolean retryOnExpiredSession) {
+    try {
+      String body = objectMapper.writeValueAsString(new JsonRpc.Request("ping", Map.of()));
+      return send(session, metadata, "ping", baseUrl, body, retryOnExpiredSession);
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /**
+   * Returns the engine that sends this transport's requests.
+   *
+   * @return The HTTP engine.
+   */
+  HttpEngine engine() {
+    return engine;
+  }
+
+  /**
+   * Returns the sessions managed by this transport.
+   *
+   * @return The session pool.
+   */
+  McpSessionPool sessionPool() {
+    return sessionPool;
+  }
+
   @Override
   public void close() {
-    // No-op for HttpClient in Java 11
+    // The HttpClient in Java 17 has no close method; only background work is stopped.
+    if (keepAliveTask != null) {
+      keepAliveTask.cancel(false);
+    }
   }
 
-  private TransportManifest handleListToolsResponse(HttpResponse<String> response) {
-    if (response.statusCode() != 200)
-      throw new RuntimeException(
-          "Failed to list tools. Status: " + response.statusCode() + " " + response.body());
-    try {
-      JsonNode root = objectMapper.readTree(response.body());
-      if (root.has("error")) {
-        throw new RuntimeException("MCP Error: " + root.get("error").toString());
-      }
-      JsonNode result = root.get("result");
-      JsonNode toolsNode = result.get("tools");
-
-      Map<String, ToolDefinition> toolsMap = new HashMap<>();
-      if (toolsNode != null && toolsNode.isArray()) {
-        for (JsonNode toolNode : toolsNode) {
-          String name = toolNode.get("name").asText();
-          String description =
-              toolNode.has("description") ? toolNode.get("description").asText() : "";
-
-          List<String> authRequired = new ArrayList<>();
-          JsonNode metaNode = toolNode.get("_meta");
-          if (metaNode != null && metaNode.has("toolbox/authInvoke")) {
-            JsonNode invokeAuthNode = metaNode.get("toolbox/authInvoke");
-            if (invokeAuthNode != null && invokeAuthNode.isArray()) {
-              for (JsonNode src : invokeAuthNode) {
-                authRequired.add(src.asText());
-              }
-            }
-          }
-
-          List<ToolDefinition.Parameter> params = new ArrayList<>();
-          JsonNode inputSchema = toolNode.get("inputSchema");
-          JsonNode requiredNode = inputSchema != null ? inputSchema.get("required") : null;
-          Set<String> requiredSet = new HashSet<>();
-          if (requiredNode != null && requiredNode.isArray()) {
-            for (JsonNode req : requiredNode) {
-              requiredSet.add(req.asText());
-            }
-          }
+  /**
+   * Returns the round-trip time of the most recent successful keepalive ping.
+   *
+   * @return The ping round-trip time, or empty if no keepalive ping has succeeded yet.
+   */
+  public java.util.Optional<Duration> lastPingRtt() {
+    long rtt = lastPingRttNanos;
+    return rtt < 0 ? java.util.Optional.empty() : java.util.Optional.of(Duration.ofNanos(rtt));
+  }
 
-          JsonNode propertiesNode = inputSchema != null ? inputSchema.get("properties") : null;
-          if (propertiesNode != null && propertiesNode.isObject()) {
-            Iterator<Map.Entry<String, JsonNode>> fields = propertiesNode.fields();
-            while (fields.hasNext()) {
-              Map.Entry<String, JsonNode> entry = fields.next();
-              String paramName = entry.getKey();
-              JsonNode propNode = entry.getValue();
-
-              String paramType = propNode.has("type") ? propNode.get("type").asText() : "string";
-              String paramDesc =
-                  propNode.has("description") ? propNode.get("description").asText() : "";
-
-              List<String> authSources = new ArrayList<>();
-              if (metaNode != null && metaNode.has("toolbox/authParam")) {
-                JsonNode paramAuthNode = metaNode.get("toolbox/authParam").get(paramName);
-                if (paramAuthNode != null && paramAuthNode.isArray()) {
-                  for (JsonNode src : paramAuthNode) {
-                    authSources.add(src.asText());
-                  }
+  /**
+   * Pings every initialized session once, with the call metadata of the session's last successful
+   * initialization so that pings carry the same auth. A session whose ping fails is discarded and
+   * initialized again in the background, so the next request finds a live session; a 401 or 403
+   * keeps the session, since a new handshake with the same credentials would be rejected too.
+   */
+  void sendKeepAlivePings() {
+    for (McpSessionPool.Session session : sessionPool.sessions()) {
+      CompletableFuture<Void> init = sessionPool.currentInit(session);
+      if (init == null || !init.isDone() || init.isCompletedExceptionally()) {
+        continue;
+      }
+      if (!session.pingInFlight.compareAndSet(false, true)) {
+        continue;
+      }
+      Map<String, String> metadata = session.initMetadata;
+      long start = System.nanoTime();
+      ping(session, metadata, false)
+          .whenComplete(
+              (res, err) -> {
+                session.pingInFlight.set(false);
+                long rttNanos = System.nanoTime() - start;
+                boolean ok = err == null && res.statusCode() == 200;
+                metrics.keepAlivePingCompleted(rttNanos, !ok);
+                if (ok) {
+                  lastPingRttNanos = rttNanos;
+                  return;
                 }
-              }
+                if (err == null && (res.statusCode() == 401 || res.statusCode() == 403)) {
+                  logger.fine(
+                      "Keepalive ping was not authorized, keeping MCP session: HTTP "
+                          + res.statusCode());
+                  return;
+                }
+                logger.fine(
+                    "Keepalive ping failed, re-initializing MCP session: "
+                        + (err != null ? err : "HTTP " + res.statusCode()));
+                sessionPool.invalidate(session, init);
+                ensureInitialized(session, metadata);
+              });
+    }
+  }
 
-              Object defaultValue = null;
-              if (propNode.has("default")) {
-                JsonNode defNode = propNode.get("default");
-                defaultValue = objectMapper.treeToValue(defNode, Object.class);
-              }
+  /**
+   * Periodically pings the sessions of a transport. Only weakly references the transport so that an
+   * unclosed, unreachable transport does not stay alive through the shared scheduler.
+   */
+  private static final class KeepAliveTask implements Runnable {
+    private final java.lang.ref.WeakReference<HttpMcpTransport> transport;
+    private volatile java.util.concurrent.ScheduledFuture<?> future;
 
-              params.add(
-                  new ToolDefinition.Parameter(
-                      paramName,
-                      paramType,
-                      requiredSet.contains(paramName),
-                      paramDesc,
-                      authSources,
-                      defaultValue));
-            }
-          }
+    private KeepAliveTask(HttpMcpTransport transport) {
+      this.transport = new java.lang.ref.WeakReference<>(transport);
+    }
 
-          Boolean readOnlyHint =
-              toolNode.has("readOnlyHint") ? toolNode.get("readOnlyHint").asBoolean() : null;
-          Boolean destructiveHint =
-              toolNode.has("destructiveHint") ? toolNode.get("destructiveHint").asBoolean() : null;
+    static java.util.concurrent.ScheduledFuture<?> schedule(
+        HttpMcpTransport transport, Duration interval) {
+      KeepAliveTask task = new KeepAliveTask(transport);
+      long millis = interval.toMillis();
+      task.future =
+          SharedScheduler.get()
+              .scheduleWithFixedDelay(
+                  task, millis, millis, java.util.concurrent.TimeUnit.MILLISECONDS);
+      return task.future;
+    }
 
-          toolsMap.put(
-              name,
-              new ToolDefinition(description, params, authRequired, readOnlyHint, destructiveHint));
+    @Override
+    public void run() {
+      HttpMcpTransport target = transport.get();
+      if (target == null) {
+        java.util.concurrent.ScheduledFuture<?> scheduled = future;
+        if (scheduled != null) {
+          scheduled.cancel(false);
         }
+        return;
+      }
+      try {
+        target.sendKeepAlivePings();
+      } catch (RuntimeException e) {
+        logger.fine("Keepalive ping could not be sent: " + e);
       }
-      return new TransportManifest(toolsMap);
-    } catch (Exception e) {
-      throw new RuntimeException(e);
     }
   }
+
+  private TransportManifest handleListToolsResponse(HttpEngine.Response response) {
+    if (response.statusCode() != 200)
+      throw new RuntimeException(
+          "Failed to list tools. Status: " + response.statusCode() + " " + response.body());
+    return McpCodec.parseToolsList(objectMapper, response.body());
+  }
 }
@@ -0,0 +1,349 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.time.Duration;
+
+/** Tuning options for {@link HttpMcpTransport}. Use {@link #builder()} to create instances. */
+public final class HttpTransportOptions {
+
+  private static final HttpTransportOptions DEFAULTS = builder().build();
+
+  private final int sessionPoolSize;
+  private final int maxInitAttempts;
+  private final Duration initRetryBackoff;
+  private final boolean optimisticHandshake;
+  private final boolean negotiateProtocolVersion;
+  private final Duration keepAliveInterval;
+  private final boolean compressResponses;
+  private final int requestCompressionThreshold;
+  private final HttpEngine httpEngine;
+  private final ClientMetrics metrics;
+
+  private HttpTransportOptions(Builder builder) {
+    this.sessionPoolSize = builder.sessionPoolSize;
+    this.maxInitAttempts = builder.maxInitAttempts;
+    this.initRetryBackoff = builder.initRetryBackoff;
+    this.optimisticHandshake = builder.optimisticHandshake;
+    this.negotiateProtocolVersion = builder.negotiateProtocolVersion;
+    this.keepAliveInterval = builder.keepAliveInterval;
+    this.compressResponses = builder.compressResponses;
+    this.requestCompressionThreshold = builder.requestCompressionThreshold;
+    this.httpEngine = builder.httpEngine;
+    this.metrics = builder.metrics;
+  }
+
+  /**
+   * Returns the default options.
+   *
+   * @return The default options.
+   */
+  public static HttpTransportOptions defaults() {
+    return DEFAULTS;
+  }
+
+  /**
+   * Creates a new builder initialized with the default values.
+   *
+   * @return A new Builder instance.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the number of MCP sessions kept by the transport.
+   *
+   * @return The session pool size.
+   */
+  public int sessionPoolSize() {
+    return sessionPoolSize;
+  }
+
+  /**
+   * Returns the maximum number of attempts made to initialize a session.
+   *
+   * @return The maximum number of initialization attempts.
+   */
+  public int maxInitAttempts() {
+    return maxInitAttempts;
+  }
+
+  /**
+   * Returns the delay before the first initialization retry. Later retries double it.
+   *
+   * @return The initial retry backoff.
+   */
+  public Duration initRetryBackoff() {
+    return initRetryBackoff;
+  }
+
+  /**
+   * Returns whether requests over stateless protocol versions are dispatched without waiting for
+   * the initialization handshake.
+   *
+   * @return true if the optimistic handshake is enabled.
+   */
+  public boolean optimisticHandshake() {
+    return optimisticHandshake;
+  }
+
+  /**
+   * Returns whether an older protocol version offered by the server is accepted instead of failing
+   * the handshake.
+   *
+   * @return true if protocol version negotiation is enabled.
+   */
+  public boolean negotiateProtocolVersion() {
+    return negotiateProtocolVersion;
+  }
+
+  /**
+   * Returns the interval between keepalive pings, or null if keepalive is disabled.
+   *
+   * @return The keepalive interval.
+   */
+  public Duration keepAliveInterval() {
+    return keepAliveInterval;
+  }
+
+  /**
+   * Returns whether gzip and deflate encoded responses are requested and decoded.
+   *
+   * @return true if response compression is enabled.
+   */
+  public boolean compressResponses() {
+    return compressResponses;
+  }
+
+  /**
+   * Returns the request body size in bytes from which bodies are gzip-compressed, or -1 if request
+   * compression is disabled.
+   *
+   * @return The request compression threshold.
+   */
+  public int requestCompressionThreshold() {
+    return requestCompressionThreshold;
+  }
+
+  /**
+   * Returns the HTTP engine used to send requests, or null to use a {@link JdkHttpEngine}.
+   *
+   * @return The HTTP engine.
+   */
+  public HttpEngine httpEngine() {
+    return httpEngine;
+  }
+
+  /**
+   * Returns where the transport records its HTTP requests.
+   *
+   * @return The metrics.
+   */
+  public ClientMetrics metrics() {
+    return metrics;
+  }
+
+  /** Returns a builder initialized with these options. */
+  Builder toBuilder() {
+    Builder builder = new Builder();
+    builder.sessionPoolSize = sessionPoolSize;
+    builder.maxInitAttempts = maxInitAttempts;
+    builder.initRetryBackoff = initRetryBackoff;
+    builder.optimisticHandshake = optimisticHandshake;
+    builder.negotiateProtocolVersion = negotiateProtocolVersion;
+    builder.keepAliveInterval = keepAliveInterval;
+    builder.compressResponses = compressResponses;
+    builder.requestCompressionThreshold = requestCompressionThreshold;
+    builder.httpEngine = httpEngine;
+    builder.metrics = metrics;
+    return builder;
+  }
+
+  /** Builder for {@link HttpTransportOptions}. */
+  public static final class Builder {
+    private int sessionPoolSize = 1;
+    private int maxInitAttempts = 3;
+    private Duration initRetryBackoff = Duration.ofMillis(100);
+    private boolean optimisticHandshake;
+    private boolean negotiateProtocolVersion;
+    private Duration keepAliveInterval;
+    private boolean compressResponses;
+    private int requestCompressionThreshold = -1;
+    private HttpEngine httpEngine;
+    private ClientMetrics metrics = ClientMetrics.NOOP;
+
+    private Builder() {}
+
+    /**
+     * Sets the number of MCP sessions to keep. Requests are spread round-robin across the sessions,
+     * which distributes server-side session state of the stateful 2025-03-26 protocol across
+     * replicas. Defaults to 1.
+     *
+     * @param sessionPoolSize The session pool size.
+     * @return The builder instance.
+     */
+    public Builder sessionPoolSize(int sessionPoolSize) {
+      if (sessionPoolSize < 1) {
+        throw new IllegalArgumentException("Session pool size must be at least 1");
+      }
+      this.sessionPoolSize = sessionPoolSize;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of attempts made to initialize a session when the server is
+     * unreachable or returns a transient error. Defaults to 3.
+     *
+     * @param maxInitAttempts The maximum number of initialization attempts.
+     * @return The builder instance.
+     */
+    public Builder maxInitAttempts(int maxInitAttempts) {
+      if (maxInitAttempts < 1) {
+        throw new IllegalArgumentException("Max init attempts must be at least 1");
+      }
+      this.maxInitAttempts = maxInitAttempts;
+      return this;
+    }
+
+    /**
+     * Sets the delay before the first initialization retry. Defaults to 100 milliseconds.
+     *
+     * @param initRetryBackoff The initial retry backoff.
+     * @return The builder instance.
+     */
+    public Builder initRetryBackoff(Duration initRetryBackoff) {
+      if (initRetryBackoff == null || initRetryBackoff.isNegative()) {
+        throw new IllegalArgumentException("Init retry backoff must be a non-negative duration");
+      }
+      this.initRetryBackoff = initRetryBackoff;
+      return this;
+    }
+
+    /**
+     * Enables the optimistic handshake. When the protocol version is stateless (2025-06-18 and
+     * later), the first requests are sent concurrently with {@code initialize} instead of after it,
+     * and {@code notifications/initialized} is sent without awaiting its response. The version
+     * assumed for the first requests of a session is the one last negotiated by another session of
+     * the same transport, or the preferred version. Defaults to false.
+     *
+     * @param optimisticHandshake Whether to enable the optimistic handshake.
+     * @return The builder instance.
+     */
+    public Builder optimisticHandshake(boolean optimisticHandshake) {
+      this.optimisticHandshake = optimisticHandshake;
+      return this;
+    }
+
+    /**
+     * Accepts an older supported protocol version returned by the server in the {@code initialize}
+     * response instead of failing with a version mismatch. Defaults to false, which requires the
+     * server to answer with the preferred version.
+     *
+     * @param negotiateProtocolVersion Whether to negotiate the protocol version.
+     * @return The builder instance.
+     */
+    public Builder negotiateProtocolVersion(boolean negotiateProtocolVersion) {
+      this.negotiateProtocolVersion = negotiateProtocolVersion;
+      return this;
+    }
+
+    /**
+     * Sends an MCP {@code ping} over every initialized session at the given interval, so that idle
+     * connections are not silently dropped by proxies. A failed ping discards the session and
+     * starts a new handshake right away. Pings run on a scheduler thread shared by all clients.
+     * Defaults to null, which disables keepalive.
+     *
+     * @param keepAliveInterval The interval between pings, or null to disable keepalive.
+     * @return The builder instance.
+     */
+    public Builder keepAliveInterval(Duration keepAliveInterval) {
+      if (keepAliveInterval != null
+          && (keepAliveInterval.isNegative() || keepAliveInterval.isZero())) {
+        throw new IllegalArgumentException("Keepalive interval must be positive");
+      }
+      this.keepAliveInterval = keepAliveInterval;
+      return this;
+    }
+
+    /**
+     * Sends {@code Accept-Encoding: gzip, deflate} and decodes compressed responses as they are
+     * received. Large tool manifests and tool results typically shrink several times over. Defaults
+     * to false.
+     *
+     * @param compressResponses Whether to request compressed responses.
+     * @return The builder instance.
+     */
+    public Builder compressResponses(boolean compressResponses) {
+      this.compressResponses = compressResponses;
+      return this;
+    }
+
+    /**
+     * Gzip-compresses request bodies of at least the given size in bytes and marks them with {@code
+     * Content-Encoding: gzip}. Only enable this for servers that accept compressed requests.
+     * Defaults to -1, which disables request compression.
+     *
+     * @param requestCompressionThreshold The minimum body size to compress, or -1 to disable.
+     * @return The builder instance.
+     */
+    public Builder requestCompressionThreshold(int requestCompressionThreshold) {
+      if (requestCompressionThreshold < -1) {
+        throw new IllegalArgumentException(
+            "Request compression threshold must be non-negative, or -1 to disable");
+      }
+      this.requestCompressionThreshold = requestCompressionThreshold;
+      return this;
+    }
+
+    /**
+     * Sets the HTTP engine used to send requests, for example a pooled engine with connection
+     * limits and idle eviction. When set, the {@code HttpClient} and executor given to the
+     * transport are not used. The engine is owned by the caller, may be shared by several
+     * transports, and is not closed with them. Defaults to null, which uses a {@link
+     * JdkHttpEngine}.
+     *
+     * @param httpEngine The HTTP engine, or null for the JDK engine.
+     * @return The builder instance.
+     */
+    public Builder httpEngine(HttpEngine httpEngine) {
+      this.httpEngine = httpEngine;
+      return this;
+    }
+
+    /**
+     * Sets where to record the latency, status and body sizes of every HTTP request. Defaults to
+     * {@link ClientMetrics#NOOP}.
+     *
+     * @param metrics The metrics to record to, or null to record nothing.
+     * @return The builder instance.
+     */
+    public Builder metrics(ClientMetrics metrics) {
+      this.metrics = metrics != null ? metrics : ClientMetrics.NOOP;
+      return this;
+    }
+
+    /**
+     * Builds the options.
+     *
+     * @return The new options instance.
+     */
+    public HttpTransportOptions build() {
+      return new HttpTransportOptions(this);
+    }
+  }
+}
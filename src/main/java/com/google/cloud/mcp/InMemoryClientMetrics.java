@@ -0,0 +1,296 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps client measurements in memory, per tool and per JSON-RPC method, without locks: counters
+ * are {@link LongAdder}s, which spread contended updates over separate cells, and distributions are
+ * {@link LogBucketHistogram}s. Recording an invocation costs tens of nanoseconds.
+ *
+ * <pre>{@code
+ * InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+ * McpToolboxClient client = McpToolboxClient.builder().baseUrl(url).metrics(metrics).build();
+ * ...
+ * InMemoryClientMetrics.ToolMetrics search = metrics.tools().get("search");
+ * long p99Nanos = search.latency().valueAtPercentile(99);
+ * }</pre>
+ */
+public final class InMemoryClientMetrics implements ClientMetrics {
+  private final Map<String, ToolMetrics> tools = new ConcurrentHashMap<>();
+  private final Map<String, RequestMetrics> requests = new ConcurrentHashMap<>();
+  private final LogBucketHistogram keepAlivePingRtt = new LogBucketHistogram();
+  private final LongAdder keepAlivePingFailures = new LongAdder();
+
+  /** Constructs an empty instance. */
+  public InMemoryClientMetrics() {}
+
+  /**
+   * Returns the measurements of every tool invoked so far, keyed by tool name.
+   *
+   * @return A live, unmodifiable view.
+   */
+  public Map<String, ToolMetrics> tools() {
+    return Collections.unmodifiableMap(tools);
+  }
+
+  /**
+   * Returns the measurements of the HTTP requests sent so far, keyed by JSON-RPC method.
+   *
+   * @return A live, unmodifiable view.
+   */
+  public Map<String, RequestMetrics> requests() {
+    return Collections.unmodifiableMap(requests);
+  }
+
+  /**
+   * Returns the round-trip times of the successful keepalive pings, in nanoseconds.
+   *
+   * @return The ping round-trip time histogram.
+   */
+  public LogBucketHistogram keepAlivePingRtt() {
+    return keepAlivePingRtt;
+  }
+
+  /**
+   * Returns the number of keepalive pings that failed or received a status other than 200.
+   *
+   * @return The failure count.
+   */
+  public long keepAlivePingFailures() {
+    return keepAlivePingFailures.sum();
+  }
+
+  @Override
+  public void invocationStarted(String toolName) {
+    tool(toolName).inFlight.increment();
+  }
+
+  @Override
+  public void invocationCompleted(String toolName, long durationNanos, boolean error) {
+    ToolMetrics tool = tool(toolName);
+    tool.inFlight.decrement();
+    tool.invocations.increment();
+    if (error) {
+      tool.errors.increment();
+    }
+    tool.latency.record(durationNanos);
+  }
+
+  @Override
+  public void authResolved(String toolName, long durationNanos, boolean failed) {
+    ToolMetrics tool = tool(toolName);
+    if (failed) {
+      tool.authFailures.increment();
+    }
+    tool.authLatency.record(durationNanos);
+  }
+
+  @Override
+  public void invocationTimed(InvocationTiming timing) {
+    ToolMetrics tool = tool(timing.toolName());
+    for (Map.Entry<String, java.time.Duration> stage : timing.stages().entrySet()) {
+      LogBucketHistogram histogram = tool.stageLatency.get(stage.getKey());
+      if (histogram == null) {
+        histogram =
+            tool.stageLatency.computeIfAbsent(stage.getKey(), s -> new LogBucketHistogram());
+      }
+      histogram.record(stage.getValue().toNanos());
+    }
+    if (!timing.serverTiming().isEmpty()) {
+      tool.serverLatency.record(timing.serverTime().toNanos());
+    }
+  }
+
+  @Override
+  public void requestCompleted(
+      String method, int statusCode, long requestBytes, long responseChars, long durationNanos) {
+    RequestMetrics request = requests.get(method);
+    if (request == null) {
+      request = requests.computeIfAbsent(method, m -> new RequestMetrics());
+    }
+    request.requests.increment();
+    if (statusCode < 200 || statusCode >= 300) {
+      request.failures.increment();
+    }
+    request.latency.record(durationNanos);
+    request.requestBytes.record(requestBytes);
+    request.responseChars.record(responseChars);
+  }
+
+  @Override
+  public void keepAlivePingCompleted(long rttNanos, boolean failed) {
+    if (failed) {
+      keepAlivePingFailures.increment();
+    } else {
+      keepAlivePingRtt.record(rttNanos);
+    }
+  }
+
+  private ToolMetrics tool(String toolName) {
+    ToolMetrics tool = tools.get(toolName);
+    return tool != null ? tool : tools.computeIfAbsent(toolName, name -> new ToolMetrics());
+  }
+
+  /** The measurements of one tool. */
+  public static final class ToolMetrics {
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder authFailures = new LongAdder();
+    private final LogBucketHistogram latency = new LogBucketHistogram();
+    private final LogBucketHistogram authLatency = new LogBucketHistogram();
+    private final Map<String, LogBucketHistogram> stageLatency = new ConcurrentHashMap<>();
+    private final LogBucketHistogram serverLatency = new LogBucketHistogram();
+
+    private ToolMetrics() {}
+
+    /**
+     * Returns the number of completed invocations.
+     *
+     * @return The invocation count.
+     */
+    public long invocations() {
+      return invocations.sum();
+    }
+
+    /**
+     * Returns the number of invocations that failed or returned an error result.
+     *
+     * @return The error count.
+     */
+    public long errors() {
+      return errors.sum();
+    }
+
+    /**
+     * Returns the number of invocations started but not yet completed.
+     *
+     * @return The in-flight count.
+     */
+    public long inFlight() {
+      return inFlight.sum();
+    }
+
+    /**
+     * Returns the number of executions whose auth token getters failed.
+     *
+     * @return The failure count.
+     */
+    public long authFailures() {
+      return authFailures.sum();
+    }
+
+    /**
+     * Returns the invocation latencies in nanoseconds.
+     *
+     * @return The latency histogram.
+     */
+    public LogBucketHistogram latency() {
+      return latency;
+    }
+
+    /**
+     * Returns the time taken by the auth token getters, in nanoseconds.
+     *
+     * @return The auth latency histogram.
+     */
+    public LogBucketHistogram authLatency() {
+      return authLatency;
+    }
+
+    /**
+     * Returns the time taken by each stage of the invocations, in nanoseconds, keyed by stage name
+     * such as {@link InvocationTiming#STAGE_NETWORK}.
+     *
+     * @return A live, unmodifiable view of the stage latency histograms.
+     */
+    public Map<String, LogBucketHistogram> stageLatency() {
+      return Collections.unmodifiableMap(stageLatency);
+    }
+
+    /**
+     * Returns the server time reported in {@code Server-Timing} headers, in nanoseconds; see {@link
+     * InvocationTiming#serverTime()}.
+     *
+     * @return The server latency histogram.
+     */
+    public LogBucketHistogram serverLatency() {
+      return serverLatency;
+    }
+  }
+
+  /** The measurements of the HTTP requests for one JSON-RPC method. */
+  public static final class RequestMetrics {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LogBucketHistogram latency = new LogBucketHistogram();
+    private final LogBucketHistogram requestBytes = new LogBucketHistogram();
+    private final LogBucketHistogram responseChars = new LogBucketHistogram();
+
+    private RequestMetrics() {}
+
+    /**
+     * Returns the number of requests sent.
+     *
+     * @return The request count.
+     */
+    public long requests() {
+      return requests.sum();
+    }
+
+    /**
+     * Returns the number of requests that failed or received a status other than 2xx.
+     *
+     * @return The failure count.
+     */
+    public long failures() {
+      return failures.sum();
+    }
+
+    /**
+     * Returns the request latencies in nanoseconds.
+     *
+     * @return The latency histogram.
+     */
+    public LogBucketHistogram latency() {
+      return latency;
+    }
+
+    /**
+     * Returns the sizes of the request bodies as sent, in bytes.
+     *
+     * @return The request size histogram.
+     */
+    public LogBucketHistogram requestBytes() {
+      return requestBytes;
+    }
+
+    /**
+     * Returns the lengths of the decoded response bodies, in characters.
+     *
+     * @return The response size histogram.
+     */
+    public LogBucketHistogram responseChars() {
+      return responseChars;
+    }
+  }
+}
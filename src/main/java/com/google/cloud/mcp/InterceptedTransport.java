@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One link of a client's interceptor chain: a transport that hands its calls to an interceptor
+ * together with the next link. Everything but {@code listTools} and {@code invokeTool} goes
+ * straight to the next link.
+ */
+final class InterceptedTransport implements Transport {
+  private final TransportInterceptor interceptor;
+  private final Transport next;
+
+  private InterceptedTransport(TransportInterceptor interceptor, Transport next) {
+    this.interceptor = interceptor;
+    this.next = next;
+  }
+
+  /**
+   * Builds the chain, with the first interceptor outermost.
+   *
+   * @param transport The transport at the end of the chain.
+   * @param interceptors The interceptors, in the order they see a call.
+   * @return The head of the chain, or {@code transport} itself if there are no interceptors.
+   */
+  static Transport chain(Transport transport, List<TransportInterceptor> interceptors) {
+    Transport head = transport;
+    for (int i = interceptors.size() - 1; i >= 0; i--) {
+      head = new InterceptedTransport(interceptors.get(i), head);
+    }
+    return head;
+  }
+
+  @Override
+  public String getBaseUrl() {
+    return next.getBaseUrl();
+  }
+
+  @Override
+  public CompletableFuture<TransportManifest> listTools(
+      String toolsetName, Map<String, String> metadata) {
+    try {
+      return interceptor.listTools(toolsetName, metadata, next);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> invokeTool(
+      String toolName, Map<String, Object> arguments, Map<String, String> metadata) {
+    try {
+      return interceptor.invokeTool(toolName, arguments, metadata, next);
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Map<String, Duration>> warmUp(
+      int connections, Map<String, String> metadata) {
+    return next.warmUp(connections, metadata);
+  }
+
+  @Override
+  public void close() {
+    next.close();
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulates what happens to one tool invocation as it passes through {@link Tool}, {@link
+ * McpToolboxClientImpl} and {@link HttpMcpTransport}: stage durations, sizes, status and the
+ * request and response it was sent with. Stages are kept in arrays indexed by the stage constants
+ * below, so recording allocates nothing. The stages of an invocation run one after another, each
+ * completing the future the next one depends on, so no locking is needed.
+ */
+final class InvocationTimer {
+  static final int PRE_PROCESS = 0;
+  static final int AUTH = 1;
+  static final int SESSION = 2;
+  static final int HEADERS = 3;
+  static final int ENCODE = 4;
+  static final int NETWORK = 5;
+  static final int PARSE = 6;
+  static final int POST_PROCESS = 7;
+
+  /** The stage names, indexed by the stage constants. */
+  static final String[] STAGE_NAMES = {
+    InvocationTiming.STAGE_PRE_PROCESS,
+    InvocationTiming.STAGE_AUTH,
+    InvocationTiming.STAGE_SESSION,
+    InvocationTiming.STAGE_HEADERS,
+    InvocationTiming.STAGE_ENCODE,
+    InvocationTiming.STAGE_NETWORK,
+    InvocationTiming.STAGE_PARSE,
+    InvocationTiming.STAGE_POST_PROCESS
+  };
+
+  final String toolName;
+  final long startNanos = System.nanoTime();
+  private final long[] stageNanos = new long[STAGE_NAMES.length];
+  private final byte[] stageOrder = new byte[STAGE_NAMES.length];
+  private int stageCount;
+  private long totalNanos = -1;
+  private Map<String, Duration> serverTiming = Map.of();
+
+  int argumentCount;
+  int statusCode = -1;
+  long requestBytes = -1;
+  long responseLength = -1;
+  String url;
+  String sessionId;
+  Map<String, String> requestHeaders;
+  HttpEngine.Response response;
+
+  InvocationTimer(String toolName) {
+    this.toolName = toolName;
+  }
+
+  /** Adds the time since {@code startNanos} to a stage; stages that repeat, as on retry, add up. */
+  void record(int stage, long startNanos) {
+    if (stageNanos[stage] == 0) {
+      stageOrder[stageCount++] = (byte) stage;
+    }
+    stageNanos[stage] += Math.max(1, System.nanoTime() - startNanos);
+  }
+
+  void serverTiming(Map<String, Duration> serverTiming) {
+    this.serverTiming = serverTiming;
+  }
+
+  Map<String, Duration> serverTiming() {
+    return serverTiming;
+  }
+
+  /** Ends the invocation, fixing its total duration. Later calls keep the first total. */
+  void end() {
+    if (totalNanos < 0) {
+      totalNanos = System.nanoTime() - startNanos;
+    }
+  }
+
+  long totalNanos() {
+    return totalNanos;
+  }
+
+  int stageCount() {
+    return stageCount;
+  }
+
+  /** Copies the stages in execution order, as stage indexes and durations, without allocating. */
+  void copyStages(byte[] order, long[] nanos) {
+    for (int i = 0; i < stageCount; i++) {
+      order[i] = stageOrder[i];
+      nanos[i] = stageNanos[stageOrder[i]];
+    }
+  }
+
+  InvocationTiming finish() {
+    end();
+    Map<String, Duration> stages = new LinkedHashMap<>(16);
+    for (int i = 0; i < stageCount; i++) {
+      stages.put(STAGE_NAMES[stageOrder[i]], Duration.ofNanos(stageNanos[stageOrder[i]]));
+    }
+    return new InvocationTiming(toolName, stages, Duration.ofNanos(totalNanos), serverTiming);
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Where the time of a single tool invocation went, measured with {@link System#nanoTime()} at each
+ * stage. Delivered to {@link ClientMetrics#invocationTimed} when metrics are enabled.
+ *
+ * <p>Stages only appear if they ran: {@link #STAGE_PRE_PROCESS}, {@link #STAGE_AUTH} and {@link
+ * #STAGE_POST_PROCESS} come from {@link Tool#execute}, the others from the client and the
+ * transport. {@link #STAGE_SESSION}, {@link #STAGE_ENCODE} and the split between them and {@link
+ * #STAGE_NETWORK} are only measured by the HTTP transport; with other transports, {@link
+ * #STAGE_NETWORK} covers the whole transport call. Time between stages, such as argument
+ * validation, is counted in {@link #total()} only.
+ */
+public final class InvocationTiming {
+
+  /** Stage in which the tool's pre-processors run. */
+  public static final String STAGE_PRE_PROCESS = "preProcess";
+
+  /**
+   * Stage spent waiting for the auth token getters. They start with the invocation, so this is only
+   * the part of their time not hidden behind pre-processing.
+   */
+  public static final String STAGE_AUTH = "auth";
+
+  /** Stage spent waiting for the MCP session to be initialized. */
+  public static final String STAGE_SESSION = "session";
+
+  /**
+   * Stage in which client headers and the credentials provider's token are merged, including any
+   * wait for a token fetch that {@link Tool#execute} started early.
+   */
+  public static final String STAGE_HEADERS = "headers";
+
+  /** Stage in which the JSON-RPC request is serialized and, if enabled, compressed. */
+  public static final String STAGE_ENCODE = "encode";
+
+  /** Stage from sending the request until its response body has been received. */
+  public static final String STAGE_NETWORK = "network";
+
+  /** Stage in which the response is parsed into a {@link ToolResult}. */
+  public static final String STAGE_PARSE = "parse";
+
+  /** Stage in which the tool's post-processors run. */
+  public static final String STAGE_POST_PROCESS = "postProcess";
+
+  private static final String SERVER_TIMING_TOTAL = "total";
+
+  private final String toolName;
+  private final Map<String, Duration> stages;
+  private final Duration total;
+  private final Map<String, Duration> serverTiming;
+
+  /**
+   * Constructs a new InvocationTiming.
+   *
+   * @param toolName The name of the invoked tool.
+   * @param stages The duration of each stage, in execution order.
+   * @param total The total duration of the invocation.
+   * @param serverTiming The durations reported in the response's {@code Server-Timing} header.
+   */
+  public InvocationTiming(
+      String toolName,
+      Map<String, Duration> stages,
+      Duration total,
+      Map<String, Duration> serverTiming) {
+    this.toolName = toolName;
+    this.stages = Collections.unmodifiableMap(new LinkedHashMap<>(stages));
+    this.total = total;
+    this.serverTiming = Collections.unmodifiableMap(new LinkedHashMap<>(serverTiming));
+  }
+
+  /**
+   * Returns the name of the invoked tool.
+   *
+   * @return The tool name.
+   */
+  public String toolName() {
+    return toolName;
+  }
+
+  /**
+   * Returns the duration of each stage, in execution order.
+   *
+   * @return The stage durations keyed by stage name.
+   */
+  public Map<String, Duration> stages() {
+    return stages;
+  }
+
+  /**
+   * Returns the duration of a single stage.
+   *
+   * @param stage The stage name, e.g. {@link #STAGE_NETWORK}.
+   * @return The duration, or {@link Duration#ZERO} if the stage did not run.
+   */
+  public Duration stage(String stage) {
+    return stages.getOrDefault(stage, Duration.ZERO);
+  }
+
+  /**
+   * Returns the total duration of the invocation.
+   *
+   * @return The total duration.
+   */
+  public Duration total() {
+    return total;
+  }
+
+  /**
+   * Returns the metrics of the response's {@code Server-Timing} header that carry a duration, in
+   * header order.
+   *
+   * @return The durations keyed by metric name; empty if the server sent none.
+   */
+  public Map<String, Duration> serverTiming() {
+    return serverTiming;
+  }
+
+  /**
+   * Returns the time the server reports having spent on the request: its {@code total} {@code
+   * Server-Timing} metric if it sent one, otherwise the longest metric, since servers usually
+   * report nested spans.
+   *
+   * @return The server time, or {@link Duration#ZERO} if the server sent no timing.
+   */
+  public Duration serverTime() {
+    Duration total = serverTiming.get(SERVER_TIMING_TOTAL);
+    if (total != null) {
+      return total;
+    }
+    return serverTiming.values().stream().max(Duration::compareTo).orElse(Duration.ZERO);
+  }
+
+  /**
+   * Returns the {@link #STAGE_NETWORK} time not accounted for by {@link #serverTime()}: the time on
+   * the wire and in the HTTP stacks.
+   *
+   * @return The network time minus the server time, never negative.
+   */
+  public Duration networkTime() {
+    Duration network = stage(STAGE_NETWORK).minus(serverTime());
+    return network.isNegative() ? Duration.ZERO : network;
+  }
+
+  @Override
+  public String toString() {
+    return "InvocationTiming{toolName="
+        + toolName
+        + ", stages="
+        + stages
+        + ", total="
+        + total
+        + ", serverTiming="
+        + serverTiming
+        + "}";
+  }
+}
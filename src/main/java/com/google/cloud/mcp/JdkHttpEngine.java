@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/** An {@link HttpEngine} backed by {@link java.net.http.HttpClient}. */
+public final class JdkHttpEngine implements HttpEngine {
+
+  private final HttpClient httpClient;
+
+  /**
+   * Constructs a new JdkHttpEngine.
+   *
+   * @param httpClient The client used to send requests.
+   */
+  public JdkHttpEngine(HttpClient httpClient) {
+    if (httpClient == null) {
+      throw new IllegalArgumentException("HttpClient must be provided");
+    }
+    this.httpClient = httpClient;
+  }
+
+  /**
+   * Returns the client used to send requests.
+   *
+   * @return The HTTP client.
+   */
+  HttpClient httpClient() {
+    return httpClient;
+  }
+
+  @Override
+  public CompletableFuture<Response> execute(Request request) {
+    HttpRequest.Builder builder =
+        HttpRequest.newBuilder()
+            .uri(request.uri())
+            .POST(HttpRequest.BodyPublishers.ofByteArray(request.body()));
+    request.headers().forEach(builder::setHeader);
+    return httpClient
+        .sendAsync(builder.build(), ContentEncoding.decodingBodyHandler())
+        .thenApply(JdkResponse::new);
+  }
+
+  private static final class JdkResponse implements Response {
+    private final HttpResponse<String> response;
+
+    private JdkResponse(HttpResponse<String> response) {
+      this.response = response;
+    }
+
+    @Override
+    public int statusCode() {
+      return response.statusCode();
+    }
+
+    @Override
+    public String body() {
+      return response.body();
+    }
+
+    @Override
+    public Optional<String> header(String name) {
+      HttpHeaders headers = response.headers();
+      return headers != null ? headers.firstValue(name) : Optional.empty();
+    }
+
+    @Override
+    public Map<String, List<String>> headers() {
+      HttpHeaders headers = response.headers();
+      return headers != null ? headers.map() : Map.of();
+    }
+  }
+}
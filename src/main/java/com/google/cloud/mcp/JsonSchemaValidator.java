@@ -0,0 +1,560 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.lang.reflect.Array;
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Validates tool arguments against a tool's JSON Schema {@code inputSchema}, compiled once into a
+ * tree of checks so that validating a call does no parsing and allocates nothing unless it fails.
+ *
+ * <p>Supports {@code type}, {@code enum}, {@code const}, {@code properties}, {@code required},
+ * {@code additionalProperties}, {@code items}, {@code minItems}, {@code maxItems}, {@code minimum},
+ * {@code maximum}, {@code exclusiveMinimum}, {@code exclusiveMaximum}, {@code minLength}, {@code
+ * maxLength}, {@code pattern} and the {@code date-time}, {@code date}, {@code time}, {@code email},
+ * {@code uuid}, {@code uri} and {@code ipv4} formats. Other keywords and formats are left for the
+ * server to check.
+ */
+final class JsonSchemaValidator {
+
+  private static final int STRING = 1;
+  private static final int INTEGER = 1 << 1;
+  private static final int NUMBER = 1 << 2;
+  private static final int BOOLEAN = 1 << 3;
+  private static final int ARRAY = 1 << 4;
+  private static final int OBJECT = 1 << 5;
+  private static final int NULL = 1 << 6;
+
+  private static final Map<String, Integer> TYPES =
+      Map.of(
+          "string", STRING,
+          "integer", INTEGER,
+          "number", NUMBER,
+          "boolean", BOOLEAN,
+          "array", ARRAY,
+          "object", OBJECT,
+          "null", NULL);
+
+  private final Node root;
+
+  private JsonSchemaValidator(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Compiles a schema.
+   *
+   * @param schema The {@code inputSchema} of a tool, or null.
+   * @return The validator, or null if the schema is missing or checks nothing.
+   */
+  static JsonSchemaValidator compile(JsonNode schema) {
+    Node root = compileNode(schema);
+    return root == Node.ANY ? null : new JsonSchemaValidator(root);
+  }
+
+  /**
+   * Validates the arguments of a call.
+   *
+   * @param args The arguments.
+   * @param toolName The tool name, for the error message.
+   * @throws IllegalArgumentException If an argument does not match the schema, with the path to it,
+   *     such as {@code filter.tags[2]}.
+   */
+  void validate(Map<String, Object> args, String toolName) {
+    try {
+      root.validate(args);
+    } catch (Violation v) {
+      throw new IllegalArgumentException(
+          String.format("Invalid argument '%s' for tool '%s': %s.", v.path(), toolName, v.reason));
+    }
+  }
+
+  private static Node compileNode(JsonNode schema) {
+    if (schema == null || !schema.isObject() || schema.isEmpty()) {
+      return Node.ANY;
+    }
+    Node node = new Node();
+    boolean checks = false;
+
+    JsonNode type = schema.get("type");
+    if (type != null) {
+      int mask = 0;
+      if (type.isArray()) {
+        for (JsonNode t : type) {
+          mask = addType(mask, t.asText());
+        }
+      } else {
+        mask = addType(mask, type.asText());
+      }
+      if (mask > 0) {
+        node.types = mask;
+        node.typeName = type.isArray() ? type.toString() : "'" + type.asText() + "'";
+        checks = true;
+      }
+    }
+
+    JsonNode enumNode = schema.get("enum");
+    JsonNode constNode = schema.get("const");
+    if (enumNode != null && enumNode.isArray()) {
+      node.enumValues = new Object[enumNode.size()];
+      for (int i = 0; i < node.enumValues.length; i++) {
+        node.enumValues[i] = toJava(enumNode.get(i));
+      }
+      node.enumText = "one of " + enumNode;
+      checks = true;
+    } else if (constNode != null) {
+      node.enumValues = new Object[] {toJava(constNode)};
+      node.enumText = "equal to " + constNode;
+      checks = true;
+    }
+
+    JsonNode minimum = schema.get("minimum");
+    JsonNode exclusiveMinimum = schema.get("exclusiveMinimum");
+    if (exclusiveMinimum != null && exclusiveMinimum.isNumber()) {
+      node.minimum = exclusiveMinimum.doubleValue();
+      node.minimumText = "greater than " + exclusiveMinimum.asText();
+      node.exclusiveMinimum = true;
+      checks = true;
+    } else if (minimum != null && minimum.isNumber()) {
+      node.minimum = minimum.doubleValue();
+      node.exclusiveMinimum = exclusiveMinimum != null && exclusiveMinimum.asBoolean();
+      node.minimumText = (node.exclusiveMinimum ? "greater than " : "at least ") + minimum.asText();
+      checks = true;
+    }
+    JsonNode maximum = schema.get("maximum");
+    JsonNode exclusiveMaximum = schema.get("exclusiveMaximum");
+    if (exclusiveMaximum != null && exclusiveMaximum.isNumber()) {
+      node.maximum = exclusiveMaximum.doubleValue();
+      node.maximumText = "less than " + exclusiveMaximum.asText();
+      node.exclusiveMaximum = true;
+      checks = true;
+    } else if (maximum != null && maximum.isNumber()) {
+      node.maximum = maximum.doubleValue();
+      node.exclusiveMaximum = exclusiveMaximum != null && exclusiveMaximum.asBoolean();
+      node.maximumText = (node.exclusiveMaximum ? "less than " : "at most ") + maximum.asText();
+      checks = true;
+    }
+
+    node.minLength = intValue(schema.get("minLength"), 0);
+    node.maxLength = intValue(schema.get("maxLength"), Integer.MAX_VALUE);
+    checks |= node.minLength > 0 || node.maxLength < Integer.MAX_VALUE;
+    JsonNode pattern = schema.get("pattern");
+    if (pattern != null && pattern.isTextual()) {
+      try {
+        node.pattern = Pattern.compile(pattern.asText());
+        checks = true;
+      } catch (PatternSyntaxException e) {
+        // Left for the server, which may use a different regex dialect.
+      }
+    }
+    JsonNode format = schema.get("format");
+    if (format != null && format.isTextual()) {
+      node.format = Format.of(format.asText());
+      checks |= node.format != null;
+    }
+
+    JsonNode properties = schema.get("properties");
+    if (properties != null && properties.isObject()) {
+      node.properties = new HashMap<>();
+      Iterator<Map.Entry<String, JsonNode>> fields = properties.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        node.properties.put(field.getKey(), compileNode(field.getValue()));
+      }
+    }
+    JsonNode required = schema.get("required");
+    if (required != null && required.isArray() && !required.isEmpty()) {
+      node.required = new String[required.size()];
+      for (int i = 0; i < node.required.length; i++) {
+        node.required[i] = required.get(i).asText();
+      }
+      checks = true;
+    }
+    JsonNode additional = schema.get("additionalProperties");
+    if (additional != null && additional.isBoolean()) {
+      node.additionalForbidden = !additional.asBoolean();
+      checks |= node.additionalForbidden;
+    } else {
+      node.additional = compileNode(additional);
+      checks |= node.additional != Node.ANY;
+    }
+    if (node.properties != null) {
+      for (Node property : node.properties.values()) {
+        checks |= property != Node.ANY;
+      }
+    }
+
+    node.items = compileNode(schema.get("items"));
+    node.minItems = intValue(schema.get("minItems"), 0);
+    node.maxItems = intValue(schema.get("maxItems"), Integer.MAX_VALUE);
+    checks |= node.items != Node.ANY || node.minItems > 0 || node.maxItems < Integer.MAX_VALUE;
+
+    return checks ? node : Node.ANY;
+  }
+
+  private static int addType(int mask, String name) {
+    Integer type = TYPES.get(name);
+    // An unknown type makes the whole check lenient rather than rejecting valid arguments.
+    return type == null || mask < 0 ? -1 : mask | type;
+  }
+
+  private static int intValue(JsonNode node, int fallback) {
+    return node != null && node.canConvertToInt() ? node.intValue() : fallback;
+  }
+
+  /** Converts a schema value to the Java types arguments are given in. */
+  private static Object toJava(JsonNode node) {
+    if (node.isTextual()) {
+      return node.asText();
+    } else if (node.isBoolean()) {
+      return node.asBoolean();
+    } else if (node.isNumber()) {
+      return node.numberValue();
+    } else if (node.isArray()) {
+      List<Object> list = new ArrayList<>(node.size());
+      node.forEach(item -> list.add(toJava(item)));
+      return list;
+    } else if (node.isObject()) {
+      Map<String, Object> map = new LinkedHashMap<>();
+      node.fields().forEachRemaining(e -> map.put(e.getKey(), toJava(e.getValue())));
+      return map;
+    }
+    return null;
+  }
+
+  /** Compares an argument with a schema value as JSON values, so that {@code 1 == 1L == 1.0}. */
+  private static boolean jsonEquals(Object value, Object expected) {
+    if (value instanceof Number && expected instanceof Number) {
+      return ((Number) value).doubleValue() == ((Number) expected).doubleValue();
+    } else if (value instanceof List && expected instanceof List) {
+      List<?> a = (List<?>) value;
+      List<?> b = (List<?>) expected;
+      if (a.size() != b.size()) {
+        return false;
+      }
+      for (int i = 0; i < a.size(); i++) {
+        if (!jsonEquals(a.get(i), b.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    } else if (value instanceof Map && expected instanceof Map) {
+      Map<?, ?> a = (Map<?, ?>) value;
+      Map<?, ?> b = (Map<?, ?>) expected;
+      if (a.size() != b.size()) {
+        return false;
+      }
+      for (Map.Entry<?, ?> entry : b.entrySet()) {
+        if (!a.containsKey(entry.getKey())
+            || !jsonEquals(a.get(entry.getKey()), entry.getValue())) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return value == null ? expected == null : value.equals(expected);
+  }
+
+  private static String typeOf(Object value) {
+    return value == null ? "null" : value.getClass().getSimpleName();
+  }
+
+  /** The checks compiled from one schema. */
+  private static final class Node {
+    /** Accepts any value. */
+    static final Node ANY = new Node();
+
+    int types;
+    String typeName;
+    Object[] enumValues;
+    String enumText;
+    double minimum = Double.NaN;
+    boolean exclusiveMinimum;
+    String minimumText;
+    double maximum = Double.NaN;
+    boolean exclusiveMaximum;
+    String maximumText;
+    int minLength;
+    int maxLength = Integer.MAX_VALUE;
+    Pattern pattern;
+    Format format;
+    Map<String, Node> properties;
+    String[] required;
+    boolean additionalForbidden;
+    Node additional = ANY;
+    Node items = ANY;
+    int minItems;
+    int maxItems = Integer.MAX_VALUE;
+
+    void validate(Object value) {
+      if (types > 0 && !hasType(value)) {
+        throw new Violation("expected type " + typeName + " but got '" + typeOf(value) + "'");
+      }
+      if (enumValues != null && !inEnum(value)) {
+        throw new Violation("must be " + enumText);
+      }
+      if (value instanceof String) {
+        validateString((String) value);
+      } else if (value instanceof Number) {
+        validateNumber(((Number) value).doubleValue());
+      } else if (value instanceof Map) {
+        validateObject((Map<?, ?>) value);
+      } else if (value instanceof List) {
+        List<?> list = (List<?>) value;
+        validateSize(list.size());
+        if (items != ANY) {
+          for (int i = 0; i < list.size(); i++) {
+            validateItem(list.get(i), i);
+          }
+        }
+      } else if (value != null && value.getClass().isArray()) {
+        int length = Array.getLength(value);
+        validateSize(length);
+        if (items != ANY) {
+          for (int i = 0; i < length; i++) {
+            validateItem(Array.get(value, i), i);
+          }
+        }
+      }
+    }
+
+    private boolean hasType(Object value) {
+      if (value == null) {
+        return (types & NULL) != 0;
+      } else if (value instanceof String) {
+        return (types & STRING) != 0;
+      } else if (value instanceof Boolean) {
+        return (types & BOOLEAN) != 0;
+      } else if (value instanceof Number) {
+        if ((types & NUMBER) != 0) {
+          return true;
+        }
+        return (types & INTEGER) != 0
+            && (value instanceof Integer
+                || value instanceof Long
+                || value instanceof Short
+                || value instanceof Byte
+                || value instanceof BigInteger);
+      } else if (value instanceof Map) {
+        return (types & OBJECT) != 0;
+      } else if (value instanceof List || value.getClass().isArray()) {
+        return (types & ARRAY) != 0;
+      }
+      return false;
+    }
+
+    private boolean inEnum(Object value) {
+      for (Object allowed : enumValues) {
+        if (jsonEquals(value, allowed)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void validateString(String value) {
+      if (minLength > 0 || maxLength < Integer.MAX_VALUE) {
+        int length = value.codePointCount(0, value.length());
+        if (length < minLength) {
+          throw new Violation("must be at least " + minLength + " characters long");
+        }
+        if (length > maxLength) {
+          throw new Violation("must be at most " + maxLength + " characters long");
+        }
+      }
+      if (pattern != null && !pattern.matcher(value).find()) {
+        throw new Violation("must match pattern '" + pattern.pattern() + "'");
+      }
+      if (format != null && !format.matches(value)) {
+        throw new Violation("must be a valid " + format.keyword);
+      }
+    }
+
+    private void validateNumber(double value) {
+      if (minimumText != null && (exclusiveMinimum ? value <= minimum : value < minimum)) {
+        throw new Violation("must be " + minimumText);
+      }
+      if (maximumText != null && (exclusiveMaximum ? value >= maximum : value > maximum)) {
+        throw new Violation("must be " + maximumText);
+      }
+    }
+
+    private void validateObject(Map<?, ?> map) {
+      if (required != null) {
+        for (String name : required) {
+          if (!map.containsKey(name)) {
+            throw new Violation("is required").at(name);
+          }
+        }
+      }
+      if (properties == null && additional == ANY && !additionalForbidden) {
+        return;
+      }
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        String key = String.valueOf(entry.getKey());
+        Node property = properties != null ? properties.get(key) : null;
+        if (property == null) {
+          if (additionalForbidden) {
+            throw new Violation("is not allowed").at(key);
+          }
+          property = additional;
+        }
+        if (property != ANY) {
+          try {
+            property.validate(entry.getValue());
+          } catch (Violation v) {
+            throw v.at(key);
+          }
+        }
+      }
+    }
+
+    private void validateSize(int size) {
+      if (size < minItems) {
+        throw new Violation("must have at least " + minItems + " items");
+      }
+      if (size > maxItems) {
+        throw new Violation("must have at most " + maxItems + " items");
+      }
+    }
+
+    private void validateItem(Object item, int index) {
+      try {
+        items.validate(item);
+      } catch (Violation v) {
+        throw v.at(index);
+      }
+    }
+  }
+
+  /** The string formats that are checked. */
+  private enum Format {
+    DATE_TIME("date-time"),
+    DATE("date"),
+    TIME("time"),
+    EMAIL("email"),
+    UUID("uuid"),
+    URI("uri"),
+    IPV4("ipv4");
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+    private static final Pattern UUID_PATTERN =
+        Pattern.compile("^[0-9a-fA-F]{8}-([0-9a-fA-F]{4}-){3}[0-9a-fA-F]{12}$");
+    // RFC 3339 allows a lowercase "t" and "z" and leap seconds, which java.time does not parse.
+    private static final String RFC3339_TIME =
+        "([01]\\d|2[0-3]):[0-5]\\d:([0-5]\\d|60)(\\.\\d+)?([zZ]|[+-]([01]\\d|2[0-3]):[0-5]\\d)";
+    private static final Pattern TIME_PATTERN = Pattern.compile("^" + RFC3339_TIME + "$");
+    private static final Pattern DATE_TIME_PATTERN =
+        Pattern.compile("^(\\d{4}-\\d{2}-\\d{2})[tT]" + RFC3339_TIME + "$");
+    private static final Pattern IPV4_PATTERN =
+        Pattern.compile(
+            "^((25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)\\.){3}(25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)$");
+
+    final String keyword;
+
+    Format(String keyword) {
+      this.keyword = keyword;
+    }
+
+    static Format of(String keyword) {
+      for (Format format : values()) {
+        if (format.keyword.equals(keyword)) {
+          return format;
+        }
+      }
+      return null;
+    }
+
+    boolean matches(String value) {
+      try {
+        switch (this) {
+          case DATE_TIME:
+            Matcher dateTime = DATE_TIME_PATTERN.matcher(value);
+            if (!dateTime.matches()) {
+              return false;
+            }
+            LocalDate.parse(dateTime.group(1));
+            return true;
+          case DATE:
+            LocalDate.parse(value);
+            return true;
+          case TIME:
+            return TIME_PATTERN.matcher(value).matches();
+          case EMAIL:
+            return EMAIL_PATTERN.matcher(value).matches();
+          case UUID:
+            return UUID_PATTERN.matcher(value).matches();
+          case URI:
+            return new URI(value).isAbsolute();
+          default:
+            return IPV4_PATTERN.matcher(value).matches();
+        }
+      } catch (DateTimeParseException | URISyntaxException e) {
+        return false;
+      }
+    }
+  }
+
+  /** A failed check, which collects the path to the argument on its way up. */
+  private static final class Violation extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    final String reason;
+    private final List<Object> path = new ArrayList<>(4);
+
+    Violation(String reason) {
+      super(reason, null, false, false);
+      this.reason = reason;
+    }
+
+    Violation at(Object segment) {
+      path.add(segment);
+      return this;
+    }
+
+    String path() {
+      StringBuilder sb = new StringBuilder();
+      for (int i = path.size() - 1; i >= 0; i--) {
+        Object segment = path.get(i);
+        if (segment instanceof Integer) {
+          sb.append('[').append(segment).append(']');
+        } else {
+          if (sb.length() > 0) {
+            sb.append('.');
+          }
+          sb.append(segment);
+        }
+      }
+      return sb.toString();
+    }
+  }
+}
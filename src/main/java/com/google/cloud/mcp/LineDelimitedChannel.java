@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Carries newline-delimited JSON-RPC messages over a pair of byte channels. A reader thread splits
+ * the input into messages, and a writer thread drains a bounded queue, batching queued messages
+ * into a single write. Senders wait for a short while when the queue is full and then fail, so a
+ * peer that stops reading slows its callers down and eventually rejects them instead of growing
+ * memory without bound or blocking them forever.
+ */
+final class LineDelimitedChannel {
+
+  /** Maximum number of messages waiting to be written. */
+  static final int MAX_QUEUED_MESSAGES = 1024;
+
+  /** How long a sender waits for room in a full queue before failing. */
+  static final Duration DEFAULT_QUEUE_TIMEOUT = Duration.ofSeconds(1);
+
+  private static final int MAX_BATCH = 64;
+
+  /** The failure of a message that found the write queue full. */
+  static final class QueueFullException extends McpException {
+    QueueFullException(String message) {
+      super(message);
+    }
+  }
+
+  private static final class Outgoing {
+    private final byte[] bytes;
+    private final CompletableFuture<Void> written = new CompletableFuture<>();
+
+    private Outgoing(byte[] bytes) {
+      this.bytes = bytes;
+    }
+  }
+
+  private final ReadableByteChannel in;
+  private final WritableByteChannel out;
+  private final Consumer<String> onMessage;
+  private final Consumer<Throwable> onClosed;
+  private final BlockingQueue<Outgoing> queue = new ArrayBlockingQueue<>(MAX_QUEUED_MESSAGES);
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private final long queueTimeoutNanos;
+  private final Thread reader;
+  private final Thread writer;
+
+  /**
+   * Creates a channel. Call {@link #start()} to begin reading and writing.
+   *
+   * @param name The prefix of the reader and writer thread names.
+   * @param in The channel messages are read from.
+   * @param out The channel messages are written to.
+   * @param onMessage Called on the reader thread with every received message; it must not block.
+   * @param onClosed Called once when the channel closes, with the cause.
+   */
+  LineDelimitedChannel(
+      String name,
+      ReadableByteChannel in,
+      WritableByteChannel out,
+      Consumer<String> onMessage,
+      Consumer<Throwable> onClosed) {
+    this(name, in, out, onMessage, onClosed, DEFAULT_QUEUE_TIMEOUT);
+  }
+
+  /**
+   * Creates a channel whose senders wait up to {@code queueTimeout} for room in a full queue.
+   *
+   * @param name The prefix of the reader and writer thread names.
+   * @param in The channel messages are read from.
+   * @param out The channel messages are written to.
+   * @param onMessage Called on the reader thread with every received message; it must not block.
+   * @param onClosed Called once when the channel closes, with the cause.
+   * @param queueTimeout How long a sender waits while the write queue is full.
+   */
+  LineDelimitedChannel(
+      String name,
+      ReadableByteChannel in,
+      WritableByteChannel out,
+      Consumer<String> onMessage,
+      Consumer<Throwable> onClosed,
+      Duration queueTimeout) {
+    this.in = in;
+    this.out = out;
+    this.onMessage = onMessage;
+    this.onClosed = onClosed;
+    this.queueTimeoutNanos = queueTimeout.toNanos();
+    this.reader = new Thread(this::readLoop, name + "-reader");
+    this.reader.setDaemon(true);
+    this.writer = new Thread(this::writeLoop, name + "-writer");
+    this.writer.setDaemon(true);
+  }
+
+  void start() {
+    reader.start();
+    writer.start();
+  }
+
+  boolean isOpen() {
+    return !closed.get();
+  }
+
+  /**
+   * Queues a message for writing. While the write queue is full, waits up to the queue timeout for
+   * room and then fails the returned future with a {@link QueueFullException}.
+   *
+   * @param message A single JSON-RPC message without line breaks.
+   * @return A future completing once the message has been written.
+   */
+  CompletableFuture<Void> send(String message) {
+    if (closed.get()) {
+      return CompletableFuture.failedFuture(new McpException("Connection is closed"));
+    }
+    byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+    byte[] framed = new byte[bytes.length + 1];
+    System.arraycopy(bytes, 0, framed, 0, bytes.length);
+    framed[bytes.length] = '\n';
+    Outgoing outgoing = new Outgoing(framed);
+    try {
+      if (!queue.offer(outgoing, queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        return CompletableFuture.failedFuture(
+            new QueueFullException(
+                "Write queue is full: the peer has not read the last "
+                    + MAX_QUEUED_MESSAGES
+                    + " messages"));
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return CompletableFuture.failedFuture(new McpException("Interrupted while sending", e));
+    }
+    if (closed.get()) {
+      // The channel closed while this message was being queued; make sure it is not stranded.
+      failQueued();
+    }
+    return outgoing.written;
+  }
+
+  /** Closes the channel and fails every queued message. */
+  void close() {
+    closeWith(new McpException("Connection closed"));
+  }
+
+  private void readLoop() {
+    ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    ByteArrayOutputStream line = new ByteArrayOutputStream();
+    try {
+      while (true) {
+        buffer.clear();
+        if (in.read(buffer) < 0) {
+          throw new EOFException("Connection closed by peer");
+        }
+        byte[] array = buffer.array();
+        int start = 0;
+        for (int i = 0; i < buffer.position(); i++) {
+          if (array[i] == '\n') {
+            line.write(array, start, i - start);
+            deliver(line);
+            start = i + 1;
+          }
+        }
+        line.write(array, start, buffer.position() - start);
+      }
+    } catch (IOException | RuntimeException e) {
+      closeWith(e);
+    }
+  }
+
+  private void deliver(ByteArrayOutputStream line) {
+    String message = line.toString(StandardCharsets.UTF_8).trim();
+    line.reset();
+    if (!message.isEmpty()) {
+      onMessage.accept(message);
+    }
+  }
+
+  private void writeLoop() {
+    List<Outgoing> batch = new ArrayList<>(MAX_BATCH);
+    try {
+      while (!closed.get()) {
+        batch.add(queue.take());
+        queue.drainTo(batch, MAX_BATCH - 1);
+        int size = 0;
+        for (Outgoing outgoing : batch) {
+          size += outgoing.bytes.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (Outgoing outgoing : batch) {
+          buffer.put(outgoing.bytes);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+          out.write(buffer);
+        }
+        for (Outgoing outgoing : batch) {
+          outgoing.written.complete(null);
+        }
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      failAll(batch, new McpException("Connection closed"));
+    } catch (IOException | RuntimeException e) {
+      failAll(batch, e);
+      closeWith(e);
+    }
+  }
+
+  private void closeWith(Throwable cause) {
+    if (!closed.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      in.close();
+    } catch (IOException e) {
+      // Ignore, the channel is being discarded.
+    }
+    try {
+      out.close();
+    } catch (IOException e) {
+      // Ignore, the channel is being discarded.
+    }
+    writer.interrupt();
+    failQueued();
+    onClosed.accept(cause);
+  }
+
+  private void failQueued() {
+    List<Outgoing> stranded = new ArrayList<>();
+    queue.drainTo(stranded);
+    failAll(stranded, new McpException("Connection closed"));
+  }
+
+  private static void failAll(List<Outgoing> outgoing, Throwable cause) {
+    for (Outgoing message : outgoing) {
+      message.written.completeExceptionally(cause);
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values with buckets of logarithmically increasing width:
+ * every power of two is split into 8 buckets, so reported percentiles are within 12.5% of the
+ * recorded values across the whole {@code long} range, in a fixed 4 KB of memory. Recording is a
+ * few atomic increments. Reads while values are being recorded are approximate.
+ */
+public final class LogBucketHistogram {
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /** Constructs an empty histogram. */
+  public LogBucketHistogram() {}
+
+  /**
+   * Records a value. Negative values are recorded as 0.
+   *
+   * @param value The value.
+   */
+  public void record(long value) {
+    long clamped = Math.max(value, 0);
+    counts.incrementAndGet(bucket(clamped));
+    count.increment();
+    sum.add(clamped);
+    max.accumulate(clamped);
+  }
+
+  /**
+   * Returns the number of recorded values.
+   *
+   * @return The count.
+   */
+  public long count() {
+    return count.sum();
+  }
+
+  /**
+   * Returns the sum of the recorded values.
+   *
+   * @return The sum.
+   */
+  public long sum() {
+    return sum.sum();
+  }
+
+  /**
+   * Returns the largest recorded value, or 0 if none were recorded.
+   *
+   * @return The maximum.
+   */
+  public long max() {
+    return max.get();
+  }
+
+  /**
+   * Returns the mean of the recorded values, or 0 if none were recorded.
+   *
+   * @return The mean.
+   */
+  public double mean() {
+    long n = count();
+    return n == 0 ? 0 : (double) sum() / n;
+  }
+
+  /**
+   * Returns an upper bound of the given percentile of the recorded values: the highest value of the
+   * bucket holding it, but no more than the maximum.
+   *
+   * @param percentile The percentile, between 0 and 100.
+   * @return The value at the percentile, or 0 if none were recorded.
+   */
+  public long valueAtPercentile(double percentile) {
+    if (!(percentile >= 0 && percentile <= 100)) {
+      throw new IllegalArgumentException("Percentile must be between 0 and 100");
+    }
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      total += counts.get(i);
+    }
+    long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(upperBound(i), max());
+      }
+    }
+    return 0;
+  }
+
+  static int bucket(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+    return (shift + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long upperBound(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowerBound + ((1L << shift) - 1);
+  }
+}
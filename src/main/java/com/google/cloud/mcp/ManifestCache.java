@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches tool manifests per toolset. Entries live for the configured TTL. When caching is disabled
+ * (a zero TTL), a preloaded manifest is still served once, so a warmed-up client does not fetch the
+ * manifest again for its first request. Cached manifests are returned to every caller as they are,
+ * so only unmodifiable maps may be stored.
+ */
+final class ManifestCache {
+
+  private static final class Entry {
+    private final Map<String, ToolDefinition> tools;
+    private final long expiresAtNanos;
+    private final boolean singleUse;
+
+    private Entry(Map<String, ToolDefinition> tools, long expiresAtNanos, boolean singleUse) {
+      this.tools = tools;
+      this.expiresAtNanos = expiresAtNanos;
+      this.singleUse = singleUse;
+    }
+  }
+
+  private final long ttlNanos;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  ManifestCache(Duration ttl) {
+    this.ttlNanos = ttl != null ? ttl.toNanos() : 0L;
+  }
+
+  /**
+   * Returns the cached manifest of a toolset.
+   *
+   * @param toolsetName The toolset name, or null for the default toolset.
+   * @return The cached tools, or null on a miss.
+   */
+  Map<String, ToolDefinition> get(String toolsetName) {
+    String key = key(toolsetName);
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.singleUse) {
+      return entries.remove(key, entry) ? entry.tools : null;
+    }
+    if (System.nanoTime() - entry.expiresAtNanos >= 0) {
+      entries.remove(key, entry);
+      return null;
+    }
+    return entry.tools;
+  }
+
+  /**
+   * Stores a freshly fetched manifest if caching is enabled.
+   *
+   * @param toolsetName The toolset name, or null for the default toolset.
+   * @param tools The tools of the toolset, as an unmodifiable map.
+   */
+  void put(String toolsetName, Map<String, ToolDefinition> tools) {
+    if (ttlNanos > 0) {
+      entries.put(key(toolsetName), new Entry(tools, System.nanoTime() + ttlNanos, false));
+    }
+  }
+
+  /**
+   * Stores a preloaded manifest. It is served once if caching is disabled.
+   *
+   * @param toolsetName The toolset name, or null for the default toolset.
+   * @param tools The tools of the toolset, as an unmodifiable map.
+   */
+  void preload(String toolsetName, Map<String, ToolDefinition> tools) {
+    if (ttlNanos > 0) {
+      put(toolsetName, tools);
+    } else {
+      entries.put(key(toolsetName), new Entry(tools, 0L, true));
+    }
+  }
+
+  private static String key(String toolsetName) {
+    return toolsetName != null ? toolsetName : "";
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/** MCP message handling shared by all transports, independent of how messages are carried. */
+final class McpCodec {
+
+  private McpCodec() {}
+
+  /**
+   * Checks an {@code initialize} response and returns the protocol version to use.
+   *
+   * @param response The parsed JSON-RPC response.
+   * @param preferred The version the client asked for.
+   * @param allowDowngrade Whether an older supported version offered by the server is accepted.
+   * @return The negotiated version.
+   * @throws McpException If the server returned an error or an unacceptable version.
+   */
+  static ProtocolVersion negotiatedVersion(
+      JsonNode response, ProtocolVersion preferred, boolean allowDowngrade) {
+    if (response.has("error")) {
+      throw new McpException("MCP Error: " + response.get("error").toString());
+    }
+    JsonNode result = response.get("result");
+    String serverVersion;
+    if (result != null && result.has("protocolVersion")) {
+      serverVersion = result.get("protocolVersion").asText();
+    } else {
+      // Fallback to the client's preferred version for backward-compatible/mock servers
+      serverVersion = preferred.getValue();
+    }
+
+    // Verify strict compliance with Python/Go behavior, unless the caller opted into accepting
+    // an older version that the server offered instead.
+    ProtocolVersion serverProtocolVersion = ProtocolVersion.fromString(serverVersion);
+    if (!preferred.getValue().equals(serverVersion)
+        && !(allowDowngrade
+            && serverProtocolVersion != null
+            // Versions are declared newest first, so an older version has a larger ordinal.
+            && serverProtocolVersion.ordinal() > preferred.ordinal())) {
+      throw new McpException(
+          "MCP version mismatch: client ("
+              + preferred.getValue()
+              + ") != server ("
+              + serverVersion
+              + ")");
+    }
+    return serverProtocolVersion;
+  }
+
+  /**
+   * Parses a {@code tools/list} response into a manifest.
+   *
+   * @param objectMapper The mapper used to read the response.
+   * @param body The JSON-RPC response body.
+   * @return The tools manifest.
+   */
+  static TransportManifest parseToolsList(ObjectMapper objectMapper, String body) {
+    try {
+      JsonNode root = objectMapper.readTree(body);
+      if (root.has("error")) {
+        throw new RuntimeException("MCP Error: " + root.get("error").toString());
+      }
+      JsonNode result = root.get("result");
+      JsonNode toolsNode = result.get("tools");
+
+      Map<String, ToolDefinition> toolsMap = new HashMap<>();
+      if (toolsNode != null && toolsNode.isArray()) {
+        for (JsonNode toolNode : toolsNode) {
+          String name = toolNode.get("name").asText();
+          String description =
+              toolNode.has("description") ? toolNode.get("description").asText() : "";
+
+          List<String> authRequired = new ArrayList<>();
+          JsonNode metaNode = toolNode.get("_meta");
+          if (metaNode != null && metaNode.has("toolbox/authInvoke")) {
+            JsonNode invokeAuthNode = metaNode.get("toolbox/authInvoke");
+            if (invokeAuthNode != null && invokeAuthNode.isArray()) {
+              for (JsonNode src : invokeAuthNode) {
+                authRequired.add(src.asText());
+              }
+            }
+          }
+
+          List<ToolDefinition.Parameter> params = new ArrayList<>();
+          JsonNode inputSchema = toolNode.get("inputSchema");
+          JsonNode requiredNode = inputSchema != null ? inputSchema.get("required") : null;
+          Set<String> requiredSet = new HashSet<>();
+          if (requiredNode != null && requiredNode.isArray()) {
+            for (JsonNode req : requiredNode) {
+              requiredSet.add(req.asText());
+            }
+          }
+
+          JsonNode propertiesNode = inputSchema != null ? inputSchema.get("properties") : null;
+          if (propertiesNode != null && propertiesNode.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = propertiesNode.fields();
+            while (fields.hasNext()) {
+              Map.Entry<String, JsonNode> entry = fields.next();
+              String paramName = entry.getKey();
+              JsonNode propNode = entry.getValue();
+
+              String paramType = propNode.has("type") ? propNode.get("type").asText() : "string";
+              String paramDesc =
+                  propNode.has("description") ? propNode.get("description").asText() : "";
+
+              List<String> authSources = new ArrayList<>();
+              if (metaNode != null && metaNode.has("toolbox/authParam")) {
+                JsonNode paramAuthNode = metaNode.get("toolbox/authParam").get(paramName);
+                if (paramAuthNode != null && paramAuthNode.isArray()) {
+                  for (JsonNode src : paramAuthNode) {
+                    authSources.add(src.asText());
+                  }
+                }
+              }
+
+              Object defaultValue = null;
+              if (propNode.has("default")) {
+                JsonNode defNode = propNode.get("default");
+                defaultValue = objectMapper.treeToValue(defNode, Object.class);
+              }
+
+              params.add(
+                  new ToolDefinition.Parameter(
+                      paramName,
+                      paramType,
+                      requiredSet.contains(paramName),
+                      paramDesc,
+                      authSources,
+                      defaultValue));
+            }
+          }
+
+          Boolean readOnlyHint =
+              toolNode.has("readOnlyHint") ? toolNode.get("readOnlyHint").asBoolean() : null;
+          Boolean destructiveHint =
+              toolNode.has("destructiveHint") ? toolNode.get("destructiveHint").asBoolean() : null;
+
+          toolsMap.put(
+              name,
+              new ToolDefinition(
+                  description,
+                  params,
+                  authRequired,
+                  readOnlyHint,
+                  destructiveHint,
+                  inputSchema != null && inputSchema.isObject() ? inputSchema : null));
+        }
+      }
+      return new TransportManifest(toolsMap);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
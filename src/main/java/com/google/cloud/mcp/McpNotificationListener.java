@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.Map;
+
+/** A functional interface for receiving notifications pushed by the MCP server. */
+@FunctionalInterface
+public interface McpNotificationListener {
+
+  /**
+   * Called for every notification received from the server, on the thread that reads the
+   * connection. Implementations should return quickly.
+   *
+   * @param method The notification method, e.g. {@code notifications/tools/list_changed}.
+   * @param params The notification parameters; empty if the server sent none.
+   */
+  void onNotification(String method, Map<String, Object> params);
+}
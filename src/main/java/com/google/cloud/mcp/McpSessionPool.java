@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Keeps the MCP sessions of a transport and guarantees that each session is initialized at most
+ * once at a time. Failed initializations are retried with exponential backoff and are never cached,
+ * so a later call starts a fresh handshake.
+ */
+final class McpSessionPool {
+
+  private static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+
+  /** A single MCP session and its negotiated state. */
+  static final class Session {
+    private final int index;
+    // Guarded by this session's monitor.
+    CompletableFuture<Void> initFuture;
+    volatile ProtocolVersion negotiatedProtocolVersion;
+    volatile String sessionId;
+    // The call metadata of the last successful initialization, reused by keepalive pings.
+    volatile Map<String, String> initMetadata = Map.of();
+    final java.util.concurrent.atomic.AtomicBoolean pingInFlight =
+        new java.util.concurrent.atomic.AtomicBoolean();
+
+    Session(int index) {
+      this.index = index;
+    }
+
+    /**
+     * Returns the position of this session in its pool.
+     *
+     * @return The session index.
+     */
+    int index() {
+      return index;
+    }
+  }
+
+  /** Thrown by initializers for failures that are worth retrying. */
+  static final class RetryableException extends McpException {
+    RetryableException(String message) {
+      super(message);
+    }
+  }
+
+  private final List<Session> sessions;
+  private final AtomicInteger next = new AtomicInteger();
+  private final int maxInitAttempts;
+  private final long initRetryBackoffMillis;
+
+  McpSessionPool(int size, int maxInitAttempts, Duration initRetryBackoff) {
+    Session[] created = new Session[size];
+    for (int i = 0; i < size; i++) {
+      created[i] = new Session(i);
+    }
+    this.sessions = List.of(created);
+    this.maxInitAttempts = maxInitAttempts;
+    this.initRetryBackoffMillis = initRetryBackoff.toMillis();
+  }
+
+  /**
+   * Returns the next session in round-robin order.
+   *
+   * @return The session to use for the next request.
+   */
+  Session acquire() {
+    if (sessions.size() == 1) {
+      return sessions.get(0);
+    }
+    return sessions.get(Math.floorMod(next.getAndIncrement(), sessions.size()));
+  }
+
+  /**
+   * Returns all sessions of the pool.
+   *
+   * @return The sessions.
+   */
+  List<Session> sessions() {
+    return sessions;
+  }
+
+  /**
+   * Returns the initialization future of the session, starting a new handshake if the session has
+   * never been initialized or its last initialization failed. Concurrent callers share the same
+   * handshake.
+   *
+   * @param session The session to initialize.
+   * @param initializer Performs a single handshake attempt for the session.
+   * @return A future completing when the session is initialized.
+   */
+  CompletableFuture<Void> ensureInitialized(
+      Session session, Function<Session, CompletableFuture<Void>> initializer) {
+    synchronized (session) {
+      CompletableFuture<Void> current = session.initFuture;
+      if (current == null || current.isCompletedExceptionally()) {
+        current = initializeWithRetry(session, initializer, 1);
+        session.initFuture = current;
+      }
+      return current;
+    }
+  }
+
+  /**
+   * Returns the current initialization future of the session without starting a handshake.
+   *
+   * @param session The session.
+   * @return The current initialization future, or null if none was started.
+   */
+  CompletableFuture<Void> currentInit(Session session) {
+    synchronized (session) {
+      return session.initFuture;
+    }
+  }
+
+  /**
+   * Discards the session state established by the given initialization. Does nothing if the session
+   * has already been re-initialized by another caller, so only one new handshake is started.
+   *
+   * @param session The session whose server-side state has expired.
+   * @param staleInit The initialization future the caller observed.
+   */
+  void invalidate(Session session, CompletableFuture<Void> staleInit) {
+    synchronized (session) {
+      if (session.initFuture == staleInit) {
+        session.initFuture = null;
+        session.sessionId = null;
+      }
+    }
+  }
+
+  private CompletableFuture<Void> initializeWithRetry(
+      Session session, Function<Session, CompletableFuture<Void>> initializer, int attempt) {
+    CompletableFuture<Void> attemptFuture;
+    try {
+      attemptFuture = initializer.apply(session);
+    } catch (RuntimeException e) {
+      attemptFuture = CompletableFuture.failedFuture(e);
+    }
+    return attemptFuture
+        .handle(
+            (v, err) -> {
+              if (err == null) {
+                return CompletableFuture.<Void>completedFuture(null);
+              }
+              Throwable cause = unwrap(err);
+              if (attempt >= maxInitAttempts || !isRetryable(cause)) {
+                return CompletableFuture.<Void>failedFuture(cause);
+              }
+              long delay =
+                  Math.min(initRetryBackoffMillis << (attempt - 1), MAX_BACKOFF.toMillis());
+              return CompletableFuture.runAsync(
+                      () -> {}, CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                  .thenCompose(ignored -> initializeWithRetry(session, initializer, attempt + 1));
+            })
+        .thenCompose(Function.identity());
+  }
+
+  private static boolean isRetryable(Throwable t) {
+    return t instanceof RetryableException || t instanceof java.io.IOException;
+  }
+
+  private static Throwable unwrap(Throwable t) {
+    while ((t instanceof CompletionException || t instanceof ExecutionException)
+        && t.getCause() != null) {
+      t = t.getCause();
+    }
+    return t;
+  }
+}
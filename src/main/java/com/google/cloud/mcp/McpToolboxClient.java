@@ -20,12 +20,13 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /** The core client for interacting with an MCP Toolbox Server. */
-public interface McpToolboxClient {
+public interface McpToolboxClient extends AutoCloseable {
 
   /**
    * Connects to the MCP Server and retrieves the list of all available tools.
    *
-   * @return A CompletableFuture containing the map of Tool definitions (Key: Tool Name).
+   * @return A CompletableFuture containing the unmodifiable map of Tool definitions (Key: Tool
+   *     Name).
    */
   CompletableFuture<Map<String, ToolDefinition>> listTools();
 
@@ -42,7 +43,8 @@ public interface McpToolboxClient {
    * Loads a specific toolset by name (if supported by server).
    *
    * @param toolsetName The name of the toolset to load.
-   * @return A CompletableFuture containing the map of Tool definitions (Key: Tool Name).
+   * @return A CompletableFuture containing the unmodifiable map of Tool definitions (Key: Tool
+   *     Name).
    */
   CompletableFuture<Map<String, ToolDefinition>> loadToolset(String toolsetName);
 
@@ -100,6 +102,103 @@ public interface McpToolboxClient {
   CompletableFuture<ToolResult> invokeTool(
       String toolName, Map<String, Object> arguments, Map<String, String> extraHeaders);
 
+  /**
+   * Invokes a tool and waits for its result. Meant for callers on virtual threads, where waiting
+   * does not hold a platform thread; see {@link Builder#virtualThreads(boolean)}.
+   *
+   * @param toolName The name of the tool to invoke.
+   * @param arguments The arguments to pass to the tool.
+   * @return The result of the tool invocation.
+   * @throws McpException If the call failed with a checked exception or the wait was interrupted.
+   *     Unchecked failures are rethrown as they are.
+   */
+  default ToolResult invokeToolBlocking(String toolName, Map<String, Object> arguments) {
+    return Blocking.await(invokeTool(toolName, arguments));
+  }
+
+  /**
+   * Invokes a tool with explicit headers and waits for its result. See {@link
+   * #invokeToolBlocking(String, Map)}.
+   *
+   * @param toolName The name of the tool to invoke.
+   * @param arguments The arguments to pass to the tool.
+   * @param extraHeaders Additional HTTP headers to include in the request.
+   * @return The result of the tool invocation.
+   * @throws McpException If the call failed with a checked exception or the wait was interrupted.
+   *     Unchecked failures are rethrown as they are.
+   */
+  default ToolResult invokeToolBlocking(
+      String toolName, Map<String, Object> arguments, Map<String, String> extraHeaders) {
+    return Blocking.await(invokeTool(toolName, arguments, extraHeaders));
+  }
+
+  /**
+   * Invokes several tools concurrently, at most {@link FanOutOptions#maxConcurrency()} at a time.
+   *
+   * @param calls The calls to make, sent in iteration order.
+   * @param options The concurrency cap, per-call deadline and failure mode, or null for the
+   *     defaults.
+   * @return The running fan-out, whose outcomes are available in call order and in completion
+   *     order.
+   */
+  default FanOut invokeAll(java.util.Collection<ToolCall> calls, FanOutOptions options) {
+    return FanOut.start(this, calls, options);
+  }
+
+  /**
+   * Invokes several tools concurrently with the default options. See {@link
+   * #invokeAll(java.util.Collection, FanOutOptions)}.
+   *
+   * @param calls The calls to make, sent in iteration order.
+   * @return The running fan-out.
+   */
+  default FanOut invokeAll(java.util.Collection<ToolCall> calls) {
+    return invokeAll(calls, FanOutOptions.defaults());
+  }
+
+  /**
+   * Eagerly connects to the server, completes the MCP handshake and preloads the default toolset
+   * manifest, so that the first request after startup does not pay for them. The returned future
+   * can back a readiness probe.
+   *
+   * <p>Over HTTP, {@code connections} concurrent pings are sent. How many connections they open is
+   * up to the HTTP client: over HTTP/1.1 each ping in flight needs its own connection, but over
+   * HTTP/2 they may all be streams on a single connection.
+   *
+   * <p>The default implementation does no work and completes with an empty report, for clients that
+   * have nothing to warm up.
+   *
+   * @param connections The number of concurrent pings, an upper bound on the connections opened.
+   * @return A CompletableFuture containing the timing of each warm-up phase.
+   */
+  default CompletableFuture<WarmUpReport> warmUp(int connections) {
+    if (connections < 1) {
+      return CompletableFuture.failedFuture(
+          new IllegalArgumentException("Connections must be at least 1"));
+    }
+    return CompletableFuture.completedFuture(
+        new WarmUpReport(Map.of(), java.time.Duration.ZERO, 0));
+  }
+
+  /**
+   * Warms up the client over a single connection. See {@link #warmUp(int)}.
+   *
+   * @return A CompletableFuture containing the timing of each warm-up phase.
+   */
+  default CompletableFuture<WarmUpReport> warmUp() {
+    return warmUp(1);
+  }
+
+  /**
+   * Releases what the builder created for this client: the HTTP transport, which stops its
+   * keepalive pings, and the executor of {@link Builder#virtualThreads(boolean)}. Calls in flight
+   * still complete. A transport, executor or HTTP client passed to the builder is left open.
+   *
+   * <p>The default implementation does nothing.
+   */
+  @Override
+  default void close() {}
+
   /**
    * Builder pattern for creating client instances.
    *
@@ -109,7 +208,11 @@ public interface McpToolboxClient {
     return new McpToolboxClientBuilder();
   }
 
-  /** Builder for creating {@link McpToolboxClient} instances. */
+  /**
+   * Builder for creating {@link McpToolboxClient} instances. Options added after the first release
+   * have default implementations that throw {@link UnsupportedOperationException}, so that existing
+   * implementations of this interface keep compiling.
+   */
   interface Builder {
     /**
      * Sets the base URL of the MCP Toolbox Server.
@@ -183,11 +286,107 @@ public interface McpToolboxClient {
      */
     Builder executor(java.util.concurrent.Executor executor);
 
+    /**
+     * Runs the HTTP client, and so the completion of every call, on a new virtual thread per task
+     * instead of the HTTP client's default pool. Requires Java 21 or later; on older JVMs a warning
+     * is logged and the default pool is kept. Ignored if an {@link #executor} or {@link
+     * #httpClient} is set. The executor is shut down by {@link McpToolboxClient#close()}.
+     *
+     * @param enabled Whether to use virtual threads.
+     * @return The builder instance.
+     * @throws UnsupportedOperationException If the builder does not support this option.
+     */
+    default Builder virtualThreads(boolean enabled) {
+      throw unsupported("virtualThreads");
+    }
+
+    /**
+     * Sets tuning options for the underlying {@link HttpMcpTransport}, such as the session pool
+     * size and the initialization retry policy.
+     *
+     * @param transportOptions The transport options.
+     * @return The builder instance.
+     * @throws UnsupportedOperationException If the builder does not support this option.
+     */
+    default Builder transportOptions(HttpTransportOptions transportOptions) {
+      throw unsupported("transportOptions");
+    }
+
+    /**
+     * Uses the given transport instead of an {@link HttpMcpTransport}, for example a {@link
+     * UnixSocketMcpTransport}. The base URL, HTTP client, executor and transport options are then
+     * ignored. Close the transport once the client is no longer needed.
+     *
+     * @param transport The transport to use.
+     * @return The builder instance.
+     * @throws UnsupportedOperationException If the builder does not support this option.
+     */
+    default Builder transport(Transport transport) {
+      throw unsupported("transport");
+    }
+
+    /**
+     * Sets how long fetched tool manifests are cached by the client. Defaults to {@link
+     * java.time.Duration#ZERO}, which fetches the manifest on every load; a manifest preloaded by
+     * {@link McpToolboxClient#warmUp(int)} is then served once.
+     *
+     * @param ttl The manifest cache time-to-live.
+     * @return The builder instance.
+     * @throws UnsupportedOperationException If the builder does not support this option.
+     */
+    default Builder manifestCacheTtl(java.time.Duration ttl) {
+      throw unsupported("manifestCacheTtl");
+    }
+
+    /**
+     * Sets where to record tool invocation, auth and HTTP request measurements, such as an {@link
+     * InMemoryClientMetrics}. When the builder creates the HTTP transport, the transport records
+     * its requests there too, unless its {@link HttpTransportOptions} name other metrics. Defaults
+     * to {@link ClientMetrics#NOOP}.
+     *
+     * @param metrics The metrics to record to, or null to record nothing.
+     * @return The builder instance.
+     * @throws UnsupportedOperationException If the builder does not support this option.
+     */
+    default Builder metrics(ClientMetrics metrics) {
+      throw unsupported("metrics");
+    }
+
+    /**
+     * Sets a recorder that keeps the client's recent tool invocations, and optionally its slow ones
+     * with their headers, for dumping after a latency spike. Defaults to null, which records
+     * nothing.
+     *
+     * @param callRecorder The recorder, or null.
+     * @return The builder instance.
+     * @throws UnsupportedOperationException If the builder does not support this option.
+     */
+    default Builder callRecorder(CallRecorder callRecorder) {
+      throw unsupported("callRecorder");
+    }
+
+    /**
+     * Adds an interceptor around the client's transport calls. Interceptors see each call in the
+     * order they were added, so the first one added is outermost.
+     *
+     * @param interceptor The interceptor.
+     * @return The builder instance.
+     * @throws UnsupportedOperationException If the builder does not support this option.
+     */
+    default Builder interceptor(TransportInterceptor interceptor) {
+      throw unsupported("interceptor");
+    }
+
     /**
      * Builds and returns a new {@link McpToolboxClient} instance.
      *
      * @return The new client instance.
      */
     McpToolboxClient build();
+
+    private UnsupportedOperationException unsupported(String option) {
+      return new UnsupportedOperationException(
+          getClass().getName() + " does not support the " + option + " option");
+    }
   }
 }
@@ -24,6 +24,9 @@ import java.util.concurrent.CompletableFuture;
 
 /** Implementation of the {@link McpToolboxClient.Builder} interface. */
 public final class McpToolboxClientBuilder implements McpToolboxClient.Builder {
+  private static final java.util.logging.Logger LOGGER =
+      java.util.logging.Logger.getLogger(McpToolboxClientBuilder.class.getName());
+
   private String baseUrl;
   private String apiKey;
   private Map<String, String> headers = new HashMap<>();
@@ -33,6 +36,11 @@ public final class McpToolboxClientBuilder implements McpToolboxClient.Builder {
   private ProtocolVersion protocolVersion;
   private java.net.http.HttpClient httpClient;
   private java.util.concurrent.Executor executor;
+  private boolean virtualThreads;
+  private HttpTransportOptions transportOptions;
+  private Transport transport;
+  private ClientMetrics metrics;
+  private final ClientOptions.Builder clientOptions = ClientOptions.builder();
 
   /** Constructs a new McpToolboxClientBuilder. */
   public McpToolboxClientBuilder() {}
@@ -97,13 +105,61 @@ public final class McpToolboxClientBuilder implements McpToolboxClient.Builder {
     return this;
   }
 
+  @Override
+  public McpToolboxClient.Builder virtualThreads(boolean enabled) {
+    this.virtualThreads = enabled;
+    return this;
+  }
+
+  @Override
+  public McpToolboxClient.Builder transportOptions(HttpTransportOptions transportOptions) {
+    this.transportOptions = transportOptions;
+    return this;
+  }
+
+  @Override
+  public McpToolboxClient.Builder transport(Transport transport) {
+    this.transport = transport;
+    return this;
+  }
+
+  @Override
+  public McpToolboxClient.Builder manifestCacheTtl(java.time.Duration ttl) {
+    if (ttl != null && ttl.isNegative()) {
+      throw new IllegalArgumentException("Manifest cache TTL must not be negative");
+    }
+    this.clientOptions.manifestCacheTtl(ttl);
+    return this;
+  }
+
+  @Override
+  public McpToolboxClient.Builder metrics(ClientMetrics metrics) {
+    this.metrics = metrics;
+    this.clientOptions.metrics(metrics);
+    return this;
+  }
+
+  @Override
+  public McpToolboxClient.Builder callRecorder(CallRecorder callRecorder) {
+    this.clientOptions.callRecorder(callRecorder);
+    return this;
+  }
+
+  @Override
+  public McpToolboxClient.Builder interceptor(TransportInterceptor interceptor) {
+    if (interceptor != null) {
+      this.clientOptions.interceptor(interceptor);
+    }
+    return this;
+  }
+
   @Override
   public McpToolboxClient build() {
-    if (baseUrl == null || baseUrl.isEmpty()) {
+    if (transport == null && (baseUrl == null || baseUrl.isEmpty())) {
       throw new IllegalArgumentException("Base URL must be provided");
     }
     // Normalize URL: remove trailing slash if present
-    if (baseUrl.endsWith("/")) {
+    if (baseUrl != null && baseUrl.endsWith("/")) {
       baseUrl = baseUrl.substring(0, baseUrl.length() - 1);
     }
 
@@ -123,15 +179,56 @@ public final class McpToolboxClientBuilder implements McpToolboxClient.Builder {
       resolvedProvider = () -> CompletableFuture.completedFuture(bearerKey);
     }
 
-    Transport transport =
-        new HttpMcpTransport(
-            baseUrl,
-            this.headers,
-            resolvedProvider,
-            this.protocolVersion,
-            this.httpClient,
-            this.executor);
+    HttpTransportOptions resolvedTransportOptions = this.transportOptions;
+    if (this.metrics != null
+        && (resolvedTransportOptions == null
+            || resolvedTransportOptions.metrics() == ClientMetrics.NOOP)) {
+      resolvedTransportOptions =
+          (resolvedTransportOptions != null
+                  ? resolvedTransportOptions.toBuilder()
+                  : HttpTransportOptions.builder())
+              .metrics(this.metrics)
+              .build();
+    }
+    java.util.concurrent.Executor resolvedExecutor =
+        this.transport == null ? resolveExecutor() : null;
+    // Only an executor the builder created belongs to, and is shut down by, the client.
+    java.util.concurrent.ExecutorService ownedExecutor =
+        resolvedExecutor != this.executor
+            ? (java.util.concurrent.ExecutorService) resolvedExecutor
+            : null;
+    Transport resolvedTransport =
+        this.transport != null
+            ? this.transport
+            : new HttpMcpTransport(
+                baseUrl,
+                this.headers,
+                resolvedProvider,
+                this.protocolVersion,
+                this.httpClient,
+                resolvedExecutor,
+                resolvedTransportOptions);
     return new McpToolboxClientImpl(
-        transport, this.headers, resolvedProvider, preProcessors, postProcessors);
+        resolvedTransport,
+        this.headers,
+        resolvedProvider,
+        preProcessors,
+        postProcessors,
+        clientOptions.build(),
+        this.transport == null,
+        ownedExecutor);
+  }
+
+  /** Returns the executor for the HTTP client: the one set, or a virtual one if requested. */
+  java.util.concurrent.Executor resolveExecutor() {
+    if (this.executor != null || !this.virtualThreads || this.httpClient != null) {
+      return this.executor;
+    }
+    java.util.concurrent.Executor virtual = VirtualThreads.newExecutor();
+    if (virtual == null) {
+      LOGGER.warning(
+          "Virtual threads require Java 21 or later; using the HTTP client's default executor.");
+    }
+    return virtual;
   }
 }
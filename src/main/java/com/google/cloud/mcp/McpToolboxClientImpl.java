@@ -41,6 +41,9 @@ public final class McpToolboxClientImpl implements McpToolboxClient {
   /** The transport layer. */
   private final Transport transport;
 
+  /** The transport behind the client's interceptors, which every request goes through. */
+  private final Transport invoker;
+
   /** Client headers. */
   private final Map<String, String> headers;
 
@@ -50,8 +53,22 @@ public final class McpToolboxClientImpl implements McpToolboxClient {
   /** Jackson ObjectMapper for JSON parsing. */
   private final ObjectMapper objectMapper;
 
-  private final List<ToolPreProcessor> preProcessors;
-  private final List<ToolPostProcessor> postProcessors;
+  /** The client-level processors, shared by every tool the client loads. */
+  private final ToolProcessorChain processors;
+
+  /** Cached tool manifests. */
+  private final ManifestCache manifestCache;
+
+  /** Where invocations are recorded. */
+  private final ClientMetrics metrics;
+
+  private final CallRecorder callRecorder;
+
+  /** Whether the builder created the transport, so that {@link #close()} closes it. */
+  private final boolean ownsTransport;
+
+  /** The virtual-thread executor the builder created, or null. */
+  private final java.util.concurrent.ExecutorService ownedExecutor;
 
   /**
    * Constructs a new McpToolboxClientImpl.
@@ -163,19 +180,139 @@ public final class McpToolboxClientImpl implements McpToolboxClient {
       CredentialsProvider credentialsProvider,
       List<ToolPreProcessor> preProcessors,
       List<ToolPostProcessor> postProcessors) {
+    this(transport, headers, credentialsProvider, preProcessors, postProcessors, null);
+  }
+
+  McpToolboxClientImpl(
+      Transport transport,
+      Map<String, String> headers,
+      CredentialsProvider credentialsProvider,
+      List<ToolPreProcessor> preProcessors,
+      List<ToolPostProcessor> postProcessors,
+      ClientOptions options) {
+    this(
+        transport,
+        headers,
+        credentialsProvider,
+        preProcessors,
+        postProcessors,
+        options,
+        false,
+        null);
+  }
+
+  McpToolboxClientImpl(
+      Transport transport,
+      Map<String, String> headers,
+      CredentialsProvider credentialsProvider,
+      List<ToolPreProcessor> preProcessors,
+      List<ToolPostProcessor> postProcessors,
+      ClientOptions options,
+      boolean ownsTransport,
+      java.util.concurrent.ExecutorService ownedExecutor) {
+    ClientOptions resolvedOptions = options != null ? options : ClientOptions.DEFAULTS;
     this.transport = transport;
+    this.invoker = InterceptedTransport.chain(transport, resolvedOptions.interceptors());
     this.headers =
         headers != null
             ? java.util.Collections.unmodifiableMap(new java.util.HashMap<>(headers))
             : java.util.Collections.emptyMap();
     this.credentialsProvider = credentialsProvider;
-    this.preProcessors = preProcessors != null ? List.copyOf(preProcessors) : List.of();
-    this.postProcessors = postProcessors != null ? List.copyOf(postProcessors) : List.of();
+    this.processors =
+        ToolProcessorChain.of(
+            preProcessors != null ? preProcessors : List.of(),
+            postProcessors != null ? postProcessors : List.of());
     this.objectMapper = new ObjectMapper();
+    this.manifestCache = new ManifestCache(resolvedOptions.manifestCacheTtl());
+    this.metrics = resolvedOptions.metrics();
+    this.callRecorder = resolvedOptions.callRecorder();
+    this.ownsTransport = ownsTransport;
+    this.ownedExecutor = ownedExecutor;
+  }
+
+  @Override
+  public void close() {
+    if (ownsTransport) {
+      transport.close();
+    }
+    if (ownedExecutor != null) {
+      ownedExecutor.shutdown();
+    }
+  }
+
+  /**
+   * Returns where this client records its measurements.
+   *
+   * @return The metrics.
+   */
+  ClientMetrics metrics() {
+    return metrics;
+  }
+
+  /**
+   * Starts timing an invocation if its timing is going anywhere.
+   *
+   * @param toolName The name of the tool.
+   * @return A new timer, or null if neither metrics nor a call recorder are set.
+   */
+  InvocationTimer newTimer(String toolName) {
+    if (metrics == ClientMetrics.NOOP && callRecorder == null) {
+      return null;
+    }
+    return new InvocationTimer(toolName);
+  }
+
+  /** Hands a completed invocation's timer to the metrics and the call recorder. */
+  void invocationFinished(InvocationTimer timer, ToolResult result, Throwable error) {
+    if (callRecorder != null) {
+      callRecorder.record(timer, result, error);
+    }
+    if (metrics != ClientMetrics.NOOP) {
+      metrics.invocationTimed(timer.finish());
+    }
+  }
+
+  /**
+   * The work of a call that does not depend on its arguments. {@link Tool} starts it before running
+   * its pre-processors so that it overlaps with them instead of following them.
+   */
+  static final class Prefetch {
+    final HttpMcpTransport.Prefetch http;
+    final CompletableFuture<String> credentials;
+
+    private Prefetch(HttpMcpTransport.Prefetch http, CompletableFuture<String> credentials) {
+      this.http = http;
+      this.credentials = credentials;
+    }
+  }
+
+  /**
+   * Starts the credentials fetch for a call and, over HTTP without interceptors, picks its session
+   * and initializes it once the call's headers are known.
+   *
+   * @param extraHeaders The call's extra headers, once its auth tokens are resolved.
+   * @return The prefetch to pass to {@link #invokeTool(String, Map, Map, InvocationTimer,
+   *     Prefetch)}, or null if there is nothing to start early.
+   */
+  Prefetch prefetch(final CompletableFuture<Map<String, String>> extraHeaders) {
+    if (this.transport instanceof HttpMcpTransport) {
+      return invoker == transport
+          ? new Prefetch(((HttpMcpTransport) transport).prefetch(extraHeaders), null)
+          : null;
+    }
+    if (this.credentialsProvider == null) {
+      return null;
+    }
+    return new Prefetch(null, this.credentialsProvider.getAuthorizationHeader());
   }
 
   private CompletableFuture<Map<String, String>> getMergedMetadata(
       final Map<String, String> extraMetadata) {
+    return getMergedMetadata(extraMetadata, null);
+  }
+
+  private CompletableFuture<Map<String, String>> getMergedMetadata(
+      final Map<String, String> extraMetadata, final Prefetch prefetch) {
     if (this.transport instanceof HttpMcpTransport) {
       return CompletableFuture.completedFuture(
           extraMetadata != null ? extraMetadata : java.util.Collections.emptyMap());
@@ -184,35 +321,36 @@ public final class McpToolboxClientImpl implements McpToolboxClient {
       return CompletableFuture.completedFuture(
           extraMetadata != null ? extraMetadata : java.util.Collections.emptyMap());
     }
-    return getAuthorizationHeader()
-        .thenApply(
-            authHeader -> {
-              Map<String, String> merged = new HashMap<>(this.headers);
-              if (extraMetadata != null) {
-                extraMetadata.forEach(
-                    (k, v) -> {
-                      if (!"Authorization".equalsIgnoreCase(k)) {
-                        merged.put(k, v);
-                      }
-                    });
-              }
-              String finalAuthHeader = null;
-              if (extraMetadata != null) {
-                finalAuthHeader =
-                    extraMetadata.keySet().stream()
-                        .filter(k -> "Authorization".equalsIgnoreCase(k))
-                        .findFirst()
-                        .map(extraMetadata::get)
-                        .orElse(null);
-              }
-              if (finalAuthHeader == null) {
-                finalAuthHeader = authHeader;
-              }
-              if (finalAuthHeader != null) {
-                merged.put("Authorization", finalAuthHeader);
-              }
-              return merged;
-            });
+    CompletableFuture<String> authFuture =
+        prefetch != null ? prefetch.credentials : getAuthorizationHeader();
+    return authFuture.thenApply(
+        authHeader -> {
+          Map<String, String> merged = new HashMap<>(this.headers);
+          if (extraMetadata != null) {
+            extraMetadata.forEach(
+                (k, v) -> {
+                  if (!"Authorization".equalsIgnoreCase(k)) {
+                    merged.put(k, v);
+                  }
+                });
+          }
+          String finalAuthHeader = null;
+          if (extraMetadata != null) {
+            finalAuthHeader =
+                extraMetadata.keySet().stream()
+                    .filter(k -> "Authorization".equalsIgnoreCase(k))
+                    .findFirst()
+                    .map(extraMetadata::get)
+                    .orElse(null);
+          }
+          if (finalAuthHeader == null) {
+            finalAuthHeader = authHeader;
+          }
+          if (finalAuthHeader != null) {
+            merged.put("Authorization", finalAuthHeader);
+          }
+          return merged;
+        });
   }
 
   @Override
@@ -222,12 +360,76 @@ public final class McpToolboxClientImpl implements McpToolboxClient {
 
   @Override
   public CompletableFuture<Map<String, ToolDefinition>> loadToolset(final String toolsetName) {
+    Map<String, ToolDefinition> cached = manifestCache.get(toolsetName);
+    FlightRecorderEvents.ManifestCacheAccess cacheEvent =
+        new FlightRecorderEvents.ManifestCacheAccess();
+    if (cacheEvent.isEnabled()) {
+      cacheEvent.toolset = toolsetName;
+      cacheEvent.hit = cached != null;
+      cacheEvent.commit();
+    }
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached);
+    }
+    return getMergedMetadata(java.util.Collections.emptyMap())
+        .thenCompose(mergedMetadata -> fetchManifest(toolsetName, mergedMetadata))
+        .thenApply(
+            tools -> {
+              // Cached manifests are shared by every caller, so none of them may change it.
+              Map<String, ToolDefinition> manifest = Map.copyOf(tools);
+              manifestCache.put(toolsetName, manifest);
+              return manifest;
+            });
+  }
+
+  /** Fetches a toolset's manifest from the server, recording it as a flight recorder event. */
+  private CompletableFuture<Map<String, ToolDefinition>> fetchManifest(
+      final String toolsetName, final Map<String, String> mergedMetadata) {
+    FlightRecorderEvents.ManifestFetch event = new FlightRecorderEvents.ManifestFetch();
+    if (!event.isEnabled()) {
+      return invoker.listTools(toolsetName, mergedMetadata).thenApply(TransportManifest::getTools);
+    }
+    event.begin();
+    return invoker
+        .listTools(toolsetName, mergedMetadata)
+        .thenApply(TransportManifest::getTools)
+        .whenComplete(
+            (res, e) -> {
+              event.toolset = toolsetName;
+              event.url = transport.getBaseUrl();
+              event.success = e == null;
+              event.toolCount = res != null ? res.size() : 0;
+              event.commit();
+            });
+  }
+
+  @Override
+  public CompletableFuture<WarmUpReport> warmUp(final int connections) {
+    long start = System.nanoTime();
     return getMergedMetadata(java.util.Collections.emptyMap())
         .thenCompose(
             mergedMetadata ->
                 transport
-                    .listTools(toolsetName, mergedMetadata)
-                    .thenApply(TransportManifest::getTools));
+                    .warmUp(connections, mergedMetadata)
+                    .thenCompose(
+                        transportPhases -> {
+                          long manifestStart = System.nanoTime();
+                          return fetchManifest("", mergedMetadata)
+                              .thenApply(
+                                  tools -> {
+                                    Map<String, java.time.Duration> phases =
+                                        new java.util.LinkedHashMap<>(transportPhases);
+                                    phases.put(
+                                        WarmUpReport.PHASE_MANIFEST,
+                                        java.time.Duration.ofNanos(
+                                            System.nanoTime() - manifestStart));
+                                    manifestCache.preload("", Map.copyOf(tools));
+                                    return new WarmUpReport(
+                                        phases,
+                                        java.time.Duration.ofNanos(System.nanoTime() - start),
+                                        tools.size());
+                                  });
+                        }));
   }
 
   @Override
@@ -265,19 +467,13 @@ public final class McpToolboxClientImpl implements McpToolboxClient {
           Map<String, Tool> tools = new HashMap<>();
           for (Map.Entry<String, ToolDefinition> entry : defs.entrySet()) {
             String toolName = entry.getKey();
-            Tool tool = new Tool(toolName, entry.getValue(), this);
+            Tool tool = new Tool(toolName, entry.getValue(), this, processors);
             if (paramBinds != null && paramBinds.containsKey(toolName)) {
               paramBinds.get(toolName).forEach(tool::bindParam);
             }
             if (authBinds != null && authBinds.containsKey(toolName)) {
               authBinds.get(toolName).forEach(tool::addAuthTokenGetter);
             }
-            for (ToolPreProcessor preProcessor : this.preProcessors) {
-              tool.addPreProcessor(preProcessor);
-            }
-            for (ToolPostProcessor postProcessor : this.postProcessors) {
-              tool.addPostProcessor(postProcessor);
-            }
             tools.put(toolName, tool);
           }
           return tools;
@@ -303,16 +499,10 @@ public final class McpToolboxClientImpl implements McpToolboxClient {
               if (!tools.containsKey(toolName)) {
                 throw new RuntimeException("Tool not found: " + toolName);
               }
-              Tool tool = new Tool(toolName, tools.get(toolName), this);
+              Tool tool = new Tool(toolName, tools.get(toolName), this, processors);
               if (authTokenGetters != null) {
                 authTokenGetters.forEach(tool::addAuthTokenGetter);
               }
-              for (ToolPreProcessor preProcessor : this.preProcessors) {
-                tool.addPreProcessor(preProcessor);
-              }
-              for (ToolPostProcessor postProcessor : this.postProcessors) {
-                tool.addPostProcessor(postProcessor);
-              }
               return tool;
             });
   }
@@ -328,17 +518,142 @@ public final class McpToolboxClientImpl implements McpToolboxClient {
       final String toolName,
       final Map<String, Object> arguments,
       final Map<String, String> extraHeaders) {
+    InvocationTimer timer = newTimer(toolName);
+    if (timer == null) {
+      warnIfInsecure(extraHeaders);
+      return sendInvocation(toolName, arguments, extraHeaders, null, null);
+    }
+    return invokeTool(toolName, arguments, extraHeaders, timer)
+        .whenComplete((res, e) -> invocationFinished(timer, res, e));
+  }
+
+  /**
+   * Invokes a tool, recording it in the metrics and its stages in {@code timer}. {@link Tool} calls
+   * this with its own timer so that one timing covers the whole execution.
+   */
+  CompletableFuture<ToolResult> invokeTool(
+      final String toolName,
+      final Map<String, Object> arguments,
+      final Map<String, String> extraHeaders,
+      final InvocationTimer timer) {
+    return invokeTool(toolName, arguments, extraHeaders, timer, null);
+  }
+
+  /**
+   * Invokes a tool using the work started by {@link #prefetch} unless {@code prefetch} is null,
+   * recording it in the metrics and its stages in {@code timer} unless that is null.
+   */
+  CompletableFuture<ToolResult> invokeTool(
+      final String toolName,
+      final Map<String, Object> arguments,
+      final Map<String, String> extraHeaders,
+      final InvocationTimer timer,
+      final Prefetch prefetch) {
+    warnIfInsecure(extraHeaders);
+    if (timer == null) {
+      return sendInvocation(toolName, arguments, extraHeaders, null, prefetch);
+    }
+    long start = System.nanoTime();
+    metrics.invocationStarted(toolName);
+    return sendInvocation(toolName, arguments, extraHeaders, timer, prefetch)
+        .whenComplete(
+            (res, e) ->
+                metrics.invocationCompleted(
+                    toolName, System.nanoTime() - start, e != null || res.isError()));
+  }
+
+  private void warnIfInsecure(final Map<String, String> extraHeaders) {
     if (this.transport.getBaseUrl().toLowerCase(java.util.Locale.ROOT).startsWith("http://")
         && extraHeaders != null
         && !extraHeaders.isEmpty()) {
       LOGGER.warning(HTTP_WARNING);
     }
-    return getMergedMetadata(extraHeaders)
+  }
+
+  /**
+   * Sends the invocation, recording its stages in {@code timer} unless it is null, and as a flight
+   * recorder event if that is enabled.
+   */
+  private CompletableFuture<ToolResult> sendInvocation(
+      final String toolName,
+      final Map<String, Object> arguments,
+      final Map<String, String> extraHeaders,
+      final InvocationTimer timer,
+      final Prefetch prefetch) {
+    FlightRecorderEvents.ToolInvocation event = new FlightRecorderEvents.ToolInvocation();
+    if (!event.isEnabled()) {
+      return dispatchInvocation(toolName, arguments, extraHeaders, timer, prefetch, null);
+    }
+    event.begin();
+    return dispatchInvocation(toolName, arguments, extraHeaders, timer, prefetch, event)
+        .whenComplete(
+            (res, e) -> {
+              event.toolName = toolName;
+              event.url = transport.getBaseUrl();
+              event.status = e != null ? "failed" : res.isError() ? "error" : "success";
+              event.commit();
+            });
+  }
+
+  private CompletableFuture<ToolResult> dispatchInvocation(
+      final String toolName,
+      final Map<String, Object> arguments,
+      final Map<String, String> extraHeaders,
+      final InvocationTimer timer,
+      final Prefetch prefetch,
+      final FlightRecorderEvents.ToolInvocation event) {
+    HttpMcpTransport.Prefetch httpPrefetch = prefetch != null ? prefetch.http : null;
+    if (timer == null) {
+      return getMergedMetadata(extraHeaders, prefetch)
+          .thenCompose(
+              mergedMetadata ->
+                  (httpPrefetch != null
+                          ? ((HttpMcpTransport) invoker)
+                              .invokeTool(toolName, arguments, mergedMetadata, null, httpPrefetch)
+                          : invoker.invokeTool(toolName, arguments, mergedMetadata))
+                      .thenApply(res -> parseInvokeResponse(res, toolName, event)));
+    }
+    timer.argumentCount = arguments != null ? arguments.size() : 0;
+    timer.url = transport.getBaseUrl();
+    long headersStart = System.nanoTime();
+    return getMergedMetadata(extraHeaders, prefetch)
         .thenCompose(
-            mergedMetadata ->
-                transport
-                    .invokeTool(toolName, arguments, mergedMetadata)
-                    .thenApply(res -> handleInvokeResponse(res, toolName)));
+            mergedMetadata -> {
+              timer.record(InvocationTimer.HEADERS, headersStart);
+              CompletableFuture<TransportResponse> response;
+              if (invoker instanceof HttpMcpTransport) {
+                response =
+                    ((HttpMcpTransport) invoker)
+                        .invokeTool(toolName, arguments, mergedMetadata, timer, httpPrefetch);
+              } else {
+                long networkStart = System.nanoTime();
+                response =
+                    invoker
+                        .invokeTool(toolName, arguments, mergedMetadata)
+                        .whenComplete(
+                            (res, e) -> timer.record(InvocationTimer.NETWORK, networkStart));
+              }
+              return response.thenApply(
+                  res -> {
+                    timer.statusCode = res.getStatusCode();
+                    timer.responseLength = res.getBody() != null ? res.getBody().length() : 0;
+                    long parseStart = System.nanoTime();
+                    ToolResult result = parseInvokeResponse(res, toolName, event);
+                    timer.record(InvocationTimer.PARSE, parseStart);
+                    return result;
+                  });
+            });
+  }
+
+  private ToolResult parseInvokeResponse(
+      final TransportResponse response,
+      final String toolName,
+      final FlightRecorderEvents.ToolInvocation event) {
+    if (event != null) {
+      event.statusCode = response.getStatusCode();
+      event.responseLength = response.getBody() != null ? response.getBody().length() : 0;
+    }
+    return handleInvokeResponse(response, toolName);
   }
 
   private CompletableFuture<String> getAuthorizationHeader() {
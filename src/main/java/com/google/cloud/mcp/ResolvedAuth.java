@@ -48,6 +48,27 @@ public final class ResolvedAuth {
    */
   public void applyTo(
       Map<String, Object> finalArgs, Map<String, String> extraHeaders, ToolDefinition definition) {
+    apply(finalArgs, extraHeaders, definition, null);
+  }
+
+  /**
+   * Applies the resolved credentials, looking up the parameter each service fills in a compiled
+   * plan instead of scanning the definition.
+   *
+   * @param finalArgs The map of arguments for the tool execution.
+   * @param extraHeaders The map of extra headers for the tool execution.
+   * @param plan The tool's invocation plan.
+   */
+  void applyTo(
+      Map<String, Object> finalArgs, Map<String, String> extraHeaders, ToolInvocationPlan plan) {
+    apply(finalArgs, extraHeaders, null, plan);
+  }
+
+  private void apply(
+      Map<String, Object> finalArgs,
+      Map<String, String> extraHeaders,
+      ToolDefinition definition,
+      ToolInvocationPlan plan) {
 
     for (Map.Entry<String, String> entry : tokens.entrySet()) {
       String serviceName = entry.getKey();
@@ -57,20 +78,44 @@ public final class ResolvedAuth {
       }
 
       // A. Parameter mapping
-      String paramName = findParameterForService(definition, serviceName);
+      String paramName =
+          plan != null
+              ? plan.parameterForService(serviceName)
+              : findParameterForService(definition, serviceName);
       if (paramName != null) {
         finalArgs.put(paramName, token);
       }
 
       // B. Header mapping
-      // Normalize to prevent double-prefixing if the provider already prefixed the token
-      String authorizationHeaderValue =
-          token.regionMatches(true, 0, "Bearer ", 0, 7) ? token : "Bearer " + token;
-      extraHeaders.put("Authorization", authorizationHeaderValue);
-      extraHeaders.put(serviceName + "_token", token);
+      putHeaders(extraHeaders, serviceName, token);
     }
   }
 
+  /**
+   * Returns the headers {@link #applyTo} would add, so that they can be known before the arguments
+   * are.
+   *
+   * @return A new map of the headers.
+   */
+  Map<String, String> headers() {
+    Map<String, String> headers = new java.util.HashMap<>();
+    for (Map.Entry<String, String> entry : tokens.entrySet()) {
+      if (!entry.getValue().isEmpty()) {
+        putHeaders(headers, entry.getKey(), entry.getValue());
+      }
+    }
+    return headers;
+  }
+
+  private static void putHeaders(
+      Map<String, String> extraHeaders, String serviceName, String token) {
+    // Normalize to prevent double-prefixing if the provider already prefixed the token
+    String authorizationHeaderValue =
+        token.regionMatches(true, 0, "Bearer ", 0, 7) ? token : "Bearer " + token;
+    extraHeaders.put("Authorization", authorizationHeaderValue);
+    extraHeaders.put(serviceName + "_token", token);
+  }
+
   private static String findParameterForService(ToolDefinition definition, String serviceName) {
     if (definition.parameters() == null) return null;
     for (ToolDefinition.Parameter param : definition.parameters()) {
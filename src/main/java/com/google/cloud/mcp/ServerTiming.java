@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses the HTTP {@code Server-Timing} header, e.g. {@code db;dur=53.2, app;desc="x, y";dur=47},
+ * into the metrics that carry a duration. Malformed metrics and parameters are skipped rather than
+ * failing the invocation they arrived with.
+ */
+final class ServerTiming {
+
+  private ServerTiming() {}
+
+  static Map<String, Duration> parse(String header) {
+    Map<String, Duration> metrics = new LinkedHashMap<>();
+    for (String metric : split(header, ',')) {
+      java.util.List<String> parts = split(metric, ';');
+      String name = parts.get(0).trim();
+      if (name.isEmpty()) {
+        continue;
+      }
+      for (int i = 1; i < parts.size(); i++) {
+        String param = parts.get(i).trim();
+        int eq = param.indexOf('=');
+        if (eq < 0 || !param.substring(0, eq).trim().toLowerCase(Locale.ROOT).equals("dur")) {
+          continue;
+        }
+        Duration duration = millis(unquote(param.substring(eq + 1).trim()));
+        if (duration != null) {
+          metrics.putIfAbsent(name, duration);
+        }
+        break;
+      }
+    }
+    return metrics;
+  }
+
+  /** Splits on a separator outside of quoted strings. */
+  private static java.util.List<String> split(String value, char separator) {
+    java.util.List<String> parts = new java.util.ArrayList<>();
+    StringBuilder part = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (quoted && c == '\\' && i + 1 < value.length()) {
+        part.append(c).append(value.charAt(++i));
+        continue;
+      }
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == separator && !quoted) {
+        parts.add(part.toString());
+        part.setLength(0);
+        continue;
+      }
+      part.append(c);
+    }
+    parts.add(part.toString());
+    return parts;
+  }
+
+  private static String unquote(String value) {
+    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+      return value.substring(1, value.length() - 1);
+    }
+    return value;
+  }
+
+  private static Duration millis(String value) {
+    try {
+      double millis = Double.parseDouble(value);
+      if (millis < 0 || Double.isNaN(millis) || Double.isInfinite(millis)) {
+        return null;
+      }
+      return Duration.ofNanos(Math.round(millis * 1_000_000));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
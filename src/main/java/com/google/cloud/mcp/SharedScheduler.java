@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+/**
+ * A single daemon scheduler thread shared by all clients in the JVM for periodic background work.
+ * Scheduled tasks must only kick off asynchronous work and return immediately.
+ */
+final class SharedScheduler {
+
+  private SharedScheduler() {}
+
+  private static final class Holder {
+    private static final ScheduledExecutorService INSTANCE = create();
+  }
+
+  /**
+   * Returns the shared scheduler, starting its thread on first use.
+   *
+   * @return The shared scheduler.
+   */
+  static ScheduledExecutorService get() {
+    return Holder.INSTANCE;
+  }
+
+  private static ScheduledExecutorService create() {
+    ScheduledThreadPoolExecutor executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            runnable -> {
+              Thread thread = new Thread(runnable, "mcp-toolbox-scheduler");
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * A {@link Transport} that launches a local toolbox process and speaks MCP JSON-RPC over its
+ * standard input and output, one message per line. Concurrent requests share the pipe and are
+ * correlated by JSON-RPC id. The pipe is read and written by dedicated threads; callers only wait
+ * when too many messages are queued for writing, and fail if the queue stays full. If the process
+ * exits, pending requests fail and the next request starts a new process. Request metadata, such as
+ * auth headers, has no equivalent on the pipe and is ignored.
+ *
+ * <pre>{@code
+ * StdioMcpTransport transport =
+ *     new StdioMcpTransport(List.of("./toolbox", "--stdio", "--tools-file", "tools.yaml"));
+ * McpToolboxClient client = McpToolboxClient.builder().transport(transport).build();
+ * }</pre>
+ */
+public final class StdioMcpTransport extends StreamMcpTransport {
+  private static final Logger logger = Logger.getLogger(StdioMcpTransport.class.getName());
+
+  /** How long {@link #close()} waits for the process to exit after its input is closed. */
+  static final Duration SHUTDOWN_GRACE_PERIOD = Duration.ofSeconds(2);
+
+  private final ProcessBuilder processBuilder;
+  private Process process; // guarded by this
+  private LineDelimitedChannel channel; // guarded by this
+
+  /**
+   * Constructs a new StdioMcpTransport. The process is started by the first request.
+   *
+   * @param command The command that starts the MCP server, and its arguments.
+   */
+  public StdioMcpTransport(List<String> command) {
+    this(command != null ? new ProcessBuilder(command) : null, null);
+  }
+
+  /**
+   * Constructs a new StdioMcpTransport. The process is started by the first request. Standard error
+   * is logged at FINE level unless the process builder redirects it.
+   *
+   * @param processBuilder Starts the MCP server; its working directory and environment are used.
+   * @param preferredProtocolVersion Preferred MCP protocol version, or null for the latest.
+   */
+  public StdioMcpTransport(
+      ProcessBuilder processBuilder, ProtocolVersion preferredProtocolVersion) {
+    this(processBuilder, preferredProtocolVersion, null);
+  }
+
+  /**
+   * Constructs a new StdioMcpTransport. The process is started by the first request. Standard error
+   * is logged at FINE level unless the process builder redirects it.
+   *
+   * @param processBuilder Starts the MCP server; its working directory and environment are used.
+   * @param preferredProtocolVersion Preferred MCP protocol version, or null for the latest.
+   * @param executor Completes responses and runs the stages chained to them, or null for a shared
+   *     pool of daemon threads.
+   */
+  public StdioMcpTransport(
+      ProcessBuilder processBuilder,
+      ProtocolVersion preferredProtocolVersion,
+      java.util.concurrent.Executor executor) {
+    super(preferredProtocolVersion, executor);
+    if (processBuilder == null || processBuilder.command().isEmpty()) {
+      throw new IllegalArgumentException("Command must be provided");
+    }
+    this.processBuilder = processBuilder;
+  }
+
+  @Override
+  public String getBaseUrl() {
+    return "stdio:" + String.join(" ", processBuilder.command());
+  }
+
+  @Override
+  synchronized CompletableFuture<Void> connect() {
+    if (channel != null && channel.isOpen()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    if (process != null) {
+      // The pipe broke, but the old process may still be running; stop it before starting another.
+      terminate(process);
+      process = null;
+    }
+    Process started;
+    try {
+      started = processBuilder.start();
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(
+          new McpException("Failed to start MCP server: " + getBaseUrl(), e));
+    }
+    if (processBuilder.redirectError() == ProcessBuilder.Redirect.PIPE) {
+      drainStandardError(started);
+    }
+    LineDelimitedChannel[] created = new LineDelimitedChannel[1];
+    created[0] =
+        new LineDelimitedChannel(
+            "mcp-stdio-" + started.pid(),
+            Channels.newChannel(started.getInputStream()),
+            new FlushingChannel(started.getOutputStream()),
+            this::onMessage,
+            cause -> {
+              if (isCurrent(created[0])) {
+                onDisconnected(cause);
+              }
+            });
+    process = started;
+    channel = created[0];
+    channel.start();
+    return CompletableFuture.completedFuture(null);
+  }
+
+  private synchronized boolean isCurrent(LineDelimitedChannel candidate) {
+    return channel == candidate;
+  }
+
+  private static void drainStandardError(Process process) {
+    Thread drainer =
+        new Thread(
+            () -> {
+              try (BufferedReader err =
+                  new BufferedReader(
+                      new InputStreamReader(process.getErrorStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = err.readLine()) != null) {
+                  logger.fine("[mcp-server " + process.pid() + "] " + line);
+                }
+              } catch (IOException e) {
+                // The process exited.
+              }
+            },
+            "mcp-stdio-" + process.pid() + "-stderr");
+    drainer.setDaemon(true);
+    drainer.start();
+  }
+
+  @Override
+  CompletableFuture<Void> sendMessage(String message) {
+    LineDelimitedChannel current;
+    synchronized (this) {
+      current = channel;
+    }
+    if (current == null) {
+      return CompletableFuture.failedFuture(new McpException("MCP server process is not running"));
+    }
+    return current.send(message);
+  }
+
+  /** Closes the input of the process and waits briefly for it to exit before terminating it. */
+  @Override
+  void disconnect() {
+    LineDelimitedChannel currentChannel;
+    Process currentProcess;
+    synchronized (this) {
+      currentChannel = channel;
+      currentProcess = process;
+      channel = null;
+      process = null;
+    }
+    if (currentChannel != null) {
+      currentChannel.close();
+    }
+    if (currentProcess != null) {
+      try {
+        if (!currentProcess.waitFor(SHUTDOWN_GRACE_PERIOD.toMillis(), TimeUnit.MILLISECONDS)) {
+          terminate(currentProcess);
+        }
+      } catch (InterruptedException e) {
+        currentProcess.destroyForcibly();
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /** Asks a process to stop and kills it if it has not exited within the grace period. */
+  private static void terminate(Process process) {
+    process.destroy();
+    try {
+      if (!process.waitFor(SHUTDOWN_GRACE_PERIOD.toMillis(), TimeUnit.MILLISECONDS)) {
+        process.destroyForcibly();
+      }
+    } catch (InterruptedException e) {
+      process.destroyForcibly();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns the running server process.
+   *
+   * @return The process, or null if it has not been started.
+   */
+  synchronized Process process() {
+    return process;
+  }
+
+  /** Writes to a process pipe, flushing after every write so messages are not held back. */
+  private static final class FlushingChannel implements WritableByteChannel {
+    private final OutputStream out;
+    private final WritableByteChannel channel;
+
+    private FlushingChannel(OutputStream out) {
+      this.out = out;
+      this.channel = Channels.newChannel(out);
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      int written = 0;
+      while (src.hasRemaining()) {
+        written += channel.write(src);
+      }
+      out.flush();
+      return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return channel.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+      channel.close();
+    }
+  }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Base class for transports that exchange JSON-RPC messages over a single persistent connection
+ * instead of one HTTP request per message. Concurrent requests share the connection and are
+ * correlated with their responses by JSON-RPC id. The handshake follows {@link HttpMcpTransport}:
+ * {@code initialize} is sent once per connection, the protocol version is checked, and {@code
+ * notifications/initialized} is sent before any other request. When the connection drops, pending
+ * requests fail and the next request reconnects and repeats the handshake.
+ *
+ * <p>Responses are completed on an executor rather than on the thread reading the connection, as
+ * the JDK HttpClient does, so that a slow or blocking stage chained to one response cannot hold up
+ * the responses to every other request on the connection. Unless an executor is given, a shared
+ * pool of daemon threads is used.
+ *
+ * <p>Since protocol versions only differ in their HTTP headers, any supported version up to the
+ * preferred one is accepted from the server.
+ */
+abstract class StreamMcpTransport implements Transport {
+  private static final Logger logger = Logger.getLogger(StreamMcpTransport.class.getName());
+
+  final ObjectMapper objectMapper = new ObjectMapper();
+  private final ProtocolVersion preferredProtocolVersion;
+  private final Executor executor;
+  private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+  private final Object initLock = new Object();
+  private final AtomicBoolean metadataWarningLogged = new AtomicBoolean();
+  private CompletableFuture<Void> initFuture; // guarded by initLock
+  private volatile ProtocolVersion negotiatedProtocolVersion;
+  private volatile boolean closed;
+
+  StreamMcpTransport(ProtocolVersion preferredProtocolVersion) {
+    this(preferredProtocolVersion, null);
+  }
+
+  StreamMcpTransport(ProtocolVersion preferredProtocolVersion, Executor executor) {
+    this.preferredProtocolVersion =
+        preferredProtocolVersion != null
+            ? preferredProtocolVersion
+            : ProtocolVersion.VERSION_2025_11_25;
+    this.executor = executor != null ? executor : CallbackPool.INSTANCE;
+  }
+
+  /** The default executor for completing responses, started on first use. */
+  private static final class CallbackPool {
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    private static final ExecutorService INSTANCE =
+        Executors.newCachedThreadPool(
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "mcp-stream-callback-" + THREADS.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Opens the connection unless it is already open. Called before every handshake.
+   *
+   * @return A future completing once the connection is open.
+   */
+  abstract CompletableFuture<Void> connect();
+
+  /**
+   * Sends one complete JSON-RPC message over the open connection.
+   *
+   * @param message The serialized message.
+   * @return A future completing once the message has been handed to the connection.
+   */
+  abstract CompletableFuture<Void> sendMessage(String message);
+
+  /** Closes the connection, if open. */
+  abstract void disconnect();
+
+  /**
+   * Handles a notification sent by the server. The default implementation ignores it.
+   *
+   * @param method The notification method.
+   * @param params The notification parameters, or null.
+   */
+  void onNotification(String method, JsonNode params) {
+    logger.fine("Ignoring server notification " + method);
+  }
+
+  /**
+   * Dispatches a message received from the server. Must be called by subclasses for every message,
+   * in the order received.
+   *
+   * @param message The serialized message.
+   */
+  final void onMessage(String message) {
+    JsonNode node;
+    try {
+      node = objectMapper.readTree(message);
+    } catch (Exception e) {
+      logger.warning("Discarding malformed message from MCP server: " + e.getMessage());
+      return;
+    }
+    JsonNode id = node.get("id");
+    JsonNode method = node.get("method");
+    if (method != null) {
+      if (id != null && !id.isNull()) {
+        // Answering may block on a full write queue, which only the peer reading can drain.
+        runAsync(() -> answerServerRequest(id, method.asText()));
+      } else {
+        onNotification(method.asText(), node.get("params"));
+      }
+      return;
+    }
+    CompletableFuture<String> response = id != null ? pending.remove(id.asText()) : null;
+    if (response != null) {
+      runAsync(() -> response.complete(message));
+    } else {
+      logger.fine("Discarding response with unknown id " + id);
+    }
+  }
+
+  /**
+   * Fails all pending requests and forgets the handshake, so that the next request reconnects. Must
+   * be called by subclasses when the connection drops.
+   *
+   * @param cause Why the connection dropped.
+   */
+  final void onDisconnected(Throwable cause) {
+    synchronized (initLock) {
+      initFuture = null;
+      negotiatedProtocolVersion = null;
+    }
+    McpException failure = new McpException("Connection to MCP server lost", cause);
+    pending
+        .keySet()
+        .forEach(
+            id -> {
+              CompletableFuture<String> response = pending.remove(id);
+              if (response != null) {
+                runAsync(() -> response.completeExceptionally(failure));
+              }
+            });
+  }
+
+  /**
+   * Returns the protocol version agreed with the server.
+   *
+   * @return The negotiated version, or null before the handshake completes.
+   */
+  ProtocolVersion negotiatedProtocolVersion() {
+    return negotiatedProtocolVersion;
+  }
+
+  /** Runs a task on the executor, or on the calling thread if the executor rejects it. */
+  private void runAsync(Runnable task) {
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      task.run();
+    }
+  }
+
+  private void answerServerRequest(JsonNode id, String method) {
+    ObjectNode reply = objectMapper.createObjectNode();
+    reply.put("jsonrpc", "2.0");
+    reply.set("id", id);
+    if (method.equals("ping")) {
+      reply.putObject("result");
+    } else {
+      ObjectNode error = reply.putObject("error");
+      error.put("code", -32601);
+      error.put("message", "Method not found: " + method);
+    }
+    sendMessage(reply.toString())
+        .exceptionally(
+            e -> {
+              logger.fine("Failed to answer server request " + method + ": " + e);
+              return null;
+            });
+  }
+
+  private CompletableFuture<Void> ensureInitialized() {
+    synchronized (initLock) {
+      if (closed) {
+        return CompletableFuture.failedFuture(new McpException("Transport is closed"));
+      }
+      if (initFuture == null || initFuture.isCompletedExceptionally()) {
+        initFuture = connect().thenCompose(v -> handshake());
+      }
+      return initFuture;
+    }
+  }
+
+  private CompletableFuture<Void> handshake() {
+    FlightRecorderEvents.SessionInitialization event =
+        new FlightRecorderEvents.SessionInitialization();
+    if (!event.isEnabled()) {
+      return sendHandshake();
+    }
+    event.begin();
+    return sendHandshake()
+        .whenComplete(
+            (v, e) -> {
+              event.url = getBaseUrl();
+              // Read once: a dropped connection resets the version concurrently.
+              ProtocolVersion version = negotiatedProtocolVersion;
+              event.success = e == null;
+              event.protocolVersion = e == null && version != null ? version.getValue() : null;
+              event.commit();
+            });
+  }
+
+  private CompletableFuture<Void> sendHandshake() {
+    return call(
+            "initialize",
+            new JsonRpc.InitializeParams(
+                preferredProtocolVersion.getValue(), "mcp-toolbox-sdk-java"))
+        .thenCompose(
+            response -> {
+              try {
+                negotiatedProtocolVersion =
+                    McpCodec.negotiatedVersion(
+                        objectMapper.readTree(response), preferredProtocolVersion, true);
+                return sendMessage(
+                    objectMapper.writeValueAsString(
+                        new JsonRpc.Notification("notifications/initialized", Map.of())));
+              } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+              }
+            });
+  }
+
+  private CompletableFuture<String> call(String method, Object params) {
+    JsonRpc.Request request = new JsonRpc.Request(method, params);
+    CompletableFuture<String> response = new CompletableFuture<>();
+    pending.put(request.id, response);
+    try {
+      sendMessage(objectMapper.writeValueAsString(request))
+          .whenComplete(
+              (v, e) -> {
+                if (e != null && pending.remove(request.id, response)) {
+                  response.completeExceptionally(e);
+                }
+              });
+    } catch (Exception e) {
+      pending.remove(request.id, response);
+      response.completeExceptionally(e);
+    }
+    return response;
+  }
+
+  private CompletableFuture<String> request(
+      String method, Object params, Map<String, String> metadata) {
+    if (metadata != null
+        && !metadata.isEmpty()
+        && metadataWarningLogged.compareAndSet(false, true)) {
+      logger.warning(
+          "Request metadata such as auth headers cannot be carried over "
+              + getBaseUrl()
+              + " and is ignored.");
+    }
+    return ensureInitialized().thenCompose(v -> call(method, params));
+  }
+
+  @Override
+  public CompletableFuture<TransportManifest> listTools(
+      String toolsetName, Map<String, String> metadata) {
+    if (toolsetName != null && !toolsetName.isEmpty()) {
+      return CompletableFuture.failedFuture(
+          new McpException(
+              "Named toolsets are not supported over "
+                  + getBaseUrl()
+                  + "; the connection serves a single toolset."));
+    }
+    return request("tools/list", Map.of(), metadata)
+        .thenApply(body -> McpCodec.parseToolsList(objectMapper, body));
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> invokeTool(
+      String toolName, Map<String, Object> arguments, Map<String, String> metadata) {
+    return request("tools/call", new JsonRpc.CallToolParams(toolName, arguments), metadata)
+        .thenApply(body -> new TransportResponse(200, body));
+  }
+
+  /** Opens the connection and completes the handshake. All requests share one connection. */
+  @Override
+  public CompletableFuture<Map<String, Duration>> warmUp(
+      int connections, Map<String, String> metadata) {
+    if (connections < 1) {
+      return CompletableFuture.failedFuture(
+          new IllegalArgumentException("Connections must be at least 1"));
+    }
+    long start = System.nanoTime();
+    return ensureInitialized()
+        .thenApply(
+            v -> {
+              Map<String, Duration> phases = new LinkedHashMap<>();
+              phases.put(
+                  WarmUpReport.PHASE_INITIALIZE, Duration.ofNanos(System.nanoTime() - start));
+              return phases;
+            });
+  }
+
+  @Override
+  public void close() {
+    synchronized (initLock) {
+      closed = true;
+    }
+    disconnect();
+    onDisconnected(new McpException("Transport closed"));
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link ToolPostProcessor} that returns its result directly. Consecutive synchronous processors
+ * run inline in one step of {@link Tool#execute}, without a future per processor.
+ */
+@FunctionalInterface
+public interface SyncToolPostProcessor extends ToolPostProcessor {
+
+  /**
+   * Processes the result of a tool after it has been invoked. It runs on the thread that completes
+   * the invocation or the previous step, so it must not block.
+   *
+   * @param toolName The name of the tool that was invoked.
+   * @param result The original tool result.
+   * @return The processed tool result.
+   */
+  ToolResult apply(String toolName, ToolResult result);
+
+  @Override
+  default CompletableFuture<ToolResult> process(String toolName, ToolResult result) {
+    try {
+      return CompletableFuture.completedFuture(apply(toolName, result));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+}
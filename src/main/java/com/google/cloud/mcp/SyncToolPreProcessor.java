@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link ToolPreProcessor} that returns its result directly. Consecutive synchronous processors
+ * run inline in one step of {@link Tool#execute}, without a future per processor.
+ *
+ * <pre>{@code
+ * SyncToolPreProcessor trim = (toolName, args) -> {
+ *   args.replaceAll((k, v) -> v instanceof String ? ((String) v).trim() : v);
+ *   return args;
+ * };
+ * McpToolboxClient client = McpToolboxClient.builder().baseUrl(url).preProcessor(trim).build();
+ * }</pre>
+ */
+@FunctionalInterface
+public interface SyncToolPreProcessor extends ToolPreProcessor {
+
+  /**
+   * Processes the input arguments for a tool before it is invoked. It runs on the thread that
+   * executes the tool or completes the previous step, so it must not block.
+   *
+   * @param toolName The name of the tool being invoked.
+   * @param arguments The original arguments provided to the tool.
+   * @return The processed arguments.
+   */
+  Map<String, Object> apply(String toolName, Map<String, Object> arguments);
+
+  @Override
+  default CompletableFuture<Map<String, Object>> process(
+      String toolName, Map<String, Object> arguments) {
+    try {
+      return CompletableFuture.completedFuture(apply(toolName, arguments));
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+}
@@ -17,26 +17,38 @@
 package com.google.cloud.mcp;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
 /**
  * Represents a loaded tool ready to be invoked. Handles parameter binding, authentication token
  * resolution, and input validation.
+ *
+ * <p>A tool is safe to share between threads. Its bindings and processors are immutable snapshots
+ * that {@link #bindParam}, {@link #addAuthTokenGetter} and the other mutators replace under a lock,
+ * and each execution reads them without one. To derive per-request variants of a cached tool
+ * without changing it, use {@link #withParam}, {@link #withAuthTokenGetter}, {@link
+ * #withPreProcessor} and {@link #withPostProcessor}, which return a new tool sharing the
+ * definition, client and compiled validation of this one. They copy the snapshots under the same
+ * lock, so a variant never combines the bindings from before a concurrent mutation with the
+ * processors from after it.
  */
 public class Tool {
   private final String name;
   private final ToolDefinition definition;
   private final McpToolboxClient client;
+  private final ClientMetrics metrics;
+  private final ToolInvocationPlan plan;
 
-  private final Map<String, Object> boundParameters = new HashMap<>();
-  private final Map<String, AuthTokenGetter> authGetters = new HashMap<>();
-  private final List<ToolPreProcessor> preProcessors = new ArrayList<>();
-  private final List<ToolPostProcessor> postProcessors = new ArrayList<>();
+  private volatile Map<String, Object> boundParameters;
+  private volatile Map<String, AuthTokenGetter> authGetters;
+  private volatile List<ToolPreProcessor> preProcessors;
+  private volatile List<ToolPostProcessor> postProcessors;
+  private volatile ToolProcessorChain processors;
 
   /**
    * Constructs a new Tool.
@@ -46,9 +58,49 @@ public class Tool {
    * @param client The client used to invoke the tool.
    */
   public Tool(String name, ToolDefinition definition, McpToolboxClient client) {
+    this(name, definition, client, ToolProcessorChain.EMPTY);
+  }
+
+  /**
+   * Constructs a new Tool that starts with a client's processors.
+   *
+   * @param name The name of the tool.
+   * @param definition The definition of the tool.
+   * @param client The client used to invoke the tool.
+   * @param processors The client's processor chain, shared until processors are added to the tool.
+   */
+  Tool(
+      String name,
+      ToolDefinition definition,
+      McpToolboxClient client,
+      ToolProcessorChain processors) {
     this.name = name;
     this.definition = definition;
     this.client = client;
+    this.metrics =
+        client instanceof McpToolboxClientImpl
+            ? ((McpToolboxClientImpl) client).metrics()
+            : ClientMetrics.NOOP;
+    this.plan = ToolInvocationPlan.compile(definition);
+    this.boundParameters = Map.of();
+    this.authGetters = Map.of();
+    setProcessors(processors);
+  }
+
+  /** Constructs a variant of {@code base} with other bindings, sharing everything else. */
+  private Tool(
+      Tool base,
+      Map<String, Object> boundParameters,
+      Map<String, AuthTokenGetter> authGetters,
+      ToolProcessorChain processors) {
+    this.name = base.name;
+    this.definition = base.definition;
+    this.client = base.client;
+    this.metrics = base.metrics;
+    this.plan = base.plan;
+    this.boundParameters = boundParameters;
+    this.authGetters = authGetters;
+    setProcessors(processors);
   }
 
   /**
@@ -76,8 +128,8 @@ public class Tool {
    * @param value The value to bind.
    * @return The tool instance.
    */
-  public Tool bindParam(String key, Object value) {
-    this.boundParameters.put(key, value);
+  public synchronized Tool bindParam(String key, Object value) {
+    this.boundParameters = with(boundParameters, key, value);
     return this;
   }
 
@@ -88,8 +140,8 @@ public class Tool {
    * @param valueSupplier The supplier that provides the value at execution time.
    * @return The tool instance.
    */
-  public Tool bindParam(String key, Supplier<Object> valueSupplier) {
-    this.boundParameters.put(key, valueSupplier);
+  public synchronized Tool bindParam(String key, Supplier<Object> valueSupplier) {
+    this.boundParameters = with(boundParameters, key, valueSupplier);
     return this;
   }
 
@@ -100,8 +152,8 @@ public class Tool {
    * @param getter The token getter.
    * @return The tool instance.
    */
-  public Tool addAuthTokenGetter(String serviceName, AuthTokenGetter getter) {
-    this.authGetters.put(serviceName, getter);
+  public synchronized Tool addAuthTokenGetter(String serviceName, AuthTokenGetter getter) {
+    this.authGetters = with(authGetters, serviceName, getter);
     return this;
   }
 
@@ -111,8 +163,8 @@ public class Tool {
    * @param processor The pre-processor to add.
    * @return The tool instance.
    */
-  public Tool addPreProcessor(ToolPreProcessor processor) {
-    this.preProcessors.add(processor);
+  public synchronized Tool addPreProcessor(ToolPreProcessor processor) {
+    setProcessors(withPre(processors, processor));
     return this;
   }
 
@@ -122,11 +174,93 @@ public class Tool {
    * @param processor The post-processor to add.
    * @return The tool instance.
    */
-  public Tool addPostProcessor(ToolPostProcessor processor) {
-    this.postProcessors.add(processor);
+  public synchronized Tool addPostProcessor(ToolPostProcessor processor) {
+    setProcessors(withPost(processors, processor));
     return this;
   }
 
+  /**
+   * Returns a copy of this tool with a static value bound to a parameter, leaving this tool
+   * unchanged.
+   *
+   * @param key The parameter name.
+   * @param value The value to bind.
+   * @return The new tool.
+   */
+  public synchronized Tool withParam(String key, Object value) {
+    return new Tool(this, with(boundParameters, key, value), authGetters, processors);
+  }
+
+  /**
+   * Returns a copy of this tool with a dynamic value supplier bound to a parameter, leaving this
+   * tool unchanged.
+   *
+   * @param key The parameter name.
+   * @param valueSupplier The supplier that provides the value at execution time.
+   * @return The new tool.
+   */
+  public synchronized Tool withParam(String key, Supplier<Object> valueSupplier) {
+    return new Tool(this, with(boundParameters, key, valueSupplier), authGetters, processors);
+  }
+
+  /**
+   * Returns a copy of this tool with an authentication token getter registered for a service,
+   * leaving this tool unchanged.
+   *
+   * @param serviceName The name of the service.
+   * @param getter The token getter.
+   * @return The new tool.
+   */
+  public synchronized Tool withAuthTokenGetter(String serviceName, AuthTokenGetter getter) {
+    return new Tool(this, boundParameters, with(authGetters, serviceName, getter), processors);
+  }
+
+  /**
+   * Returns a copy of this tool with a pre-processor added, leaving this tool unchanged.
+   *
+   * @param processor The pre-processor to add.
+   * @return The new tool.
+   */
+  public synchronized Tool withPreProcessor(ToolPreProcessor processor) {
+    return new Tool(this, boundParameters, authGetters, withPre(processors, processor));
+  }
+
+  /**
+   * Returns a copy of this tool with a post-processor added, leaving this tool unchanged.
+   *
+   * @param processor The post-processor to add.
+   * @return The new tool.
+   */
+  public synchronized Tool withPostProcessor(ToolPostProcessor processor) {
+    return new Tool(this, boundParameters, authGetters, withPost(processors, processor));
+  }
+
+  private void setProcessors(ToolProcessorChain chain) {
+    this.preProcessors = chain.preProcessors();
+    this.postProcessors = chain.postProcessors();
+    this.processors = chain;
+  }
+
+  /** Returns an unmodifiable copy of {@code map} with {@code key} set, allowing null values. */
+  private static <V> Map<String, V> with(Map<String, V> map, String key, V value) {
+    Map<String, V> copy = new HashMap<>(map);
+    copy.put(key, value);
+    return Collections.unmodifiableMap(copy);
+  }
+
+  private static ToolProcessorChain withPre(ToolProcessorChain chain, ToolPreProcessor processor) {
+    List<ToolPreProcessor> pre = new ArrayList<>(chain.preProcessors());
+    pre.add(processor);
+    return ToolProcessorChain.of(pre, chain.postProcessors());
+  }
+
+  private static ToolProcessorChain withPost(
+      ToolProcessorChain chain, ToolPostProcessor processor) {
+    List<ToolPostProcessor> post = new ArrayList<>(chain.postProcessors());
+    post.add(processor);
+    return ToolProcessorChain.of(chain.preProcessors(), post);
+  }
+
   /**
    * Executes the tool with the provided arguments, applying any bound parameters and resolving
    * authentication tokens.
@@ -135,124 +269,157 @@ public class Tool {
    * @return A CompletableFuture containing the result of the tool execution.
    */
   public CompletableFuture<ToolResult> execute(Map<String, Object> args) {
-    CompletableFuture<Map<String, Object>> argsFuture =
-        CompletableFuture.completedFuture(new HashMap<>(args));
-
-    for (ToolPreProcessor preProcessor : preProcessors) {
-      argsFuture = argsFuture.thenCompose(currentArgs -> preProcessor.process(name, currentArgs));
+    if (!(client instanceof McpToolboxClientImpl)) {
+      return execute(args, null);
     }
-
-    CompletableFuture<ToolResult> resultFuture =
-        argsFuture.thenCompose(
-            processedArgs -> {
-              Map<String, Object> finalArgs =
-                  java.util.Collections.synchronizedMap(new HashMap<>(processedArgs));
-              Map<String, String> extraHeaders =
-                  java.util.Collections.synchronizedMap(new HashMap<>());
-
-              // 1. Apply Bound Parameters
-              for (Map.Entry<String, Object> entry : boundParameters.entrySet()) {
-                Object val = entry.getValue();
-                if (val instanceof Supplier) {
-                  finalArgs.put(entry.getKey(), ((Supplier<?>) val).get());
-                } else {
-                  finalArgs.put(entry.getKey(), val);
-                }
-              }
-
-              // 2. Resolve Auth & Execute
-              return AuthResolver.resolve(authGetters)
-                  .thenCompose(
-                      resolvedAuth -> {
-                        try {
-                          // Apply credential parameter bindings and extra headers
-                          resolvedAuth.applyTo(finalArgs, extraHeaders, definition);
-
-                          // Validation & Cleanup
-                          validateAndSanitizeArgs(finalArgs);
-                          return client.invokeTool(name, finalArgs, extraHeaders);
-                        } catch (Exception e) {
-                          return CompletableFuture.failedFuture(e);
-                        }
-                      });
-            });
-
-    for (ToolPostProcessor postProcessor : postProcessors) {
-      resultFuture = resultFuture.thenCompose(res -> postProcessor.process(name, res));
+    McpToolboxClientImpl impl = (McpToolboxClientImpl) client;
+    InvocationTimer timer = impl.newTimer(name);
+    if (timer == null) {
+      return execute(args, null);
     }
-
-    return resultFuture;
+    return execute(args, timer).whenComplete((res, e) -> impl.invocationFinished(timer, res, e));
   }
 
-  /** Validates arguments against the tool definition and removes null values. */
-  private void validateAndSanitizeArgs(Map<String, Object> args) {
-    // Remove nulls first (filtering none values)
-    args.values().removeIf(Objects::isNull);
-
-    if (definition.parameters() == null) return;
+  /**
+   * Executes the tool and waits for its result. Meant for callers on virtual threads, where waiting
+   * does not hold a platform thread.
+   *
+   * @param args The arguments for the tool invocation.
+   * @return The result of the tool execution.
+   * @throws McpException If the execution failed with a checked exception or the wait was
+   *     interrupted. Unchecked failures, such as an invalid argument, are rethrown as they are.
+   */
+  public ToolResult call(Map<String, Object> args) {
+    return Blocking.await(execute(args));
+  }
 
-    for (ToolDefinition.Parameter param : definition.parameters()) {
-      Object value = args.get(param.name());
+  /**
+   * Executes the tool, recording its stages in {@code timer} unless it is null.
+   *
+   * <p>The auth token getters, the client's credentials fetch and the session handshake do not
+   * depend on the arguments, so they are started before the pre-processors run and only joined when
+   * the call is sent. Each stage recorded in {@code timer} is then the time the call waited on it.
+   */
+  private CompletableFuture<ToolResult> execute(Map<String, Object> args, InvocationTimer timer) {
+    ToolProcessorChain chain = processors;
+    Map<String, Object> bound = boundParameters;
+    Map<String, AuthTokenGetter> getters = authGetters;
+    CompletableFuture<ResolvedAuth> authFuture = resolveAuth(getters, timer);
+    McpToolboxClientImpl.Prefetch prefetch = null;
+    if (client instanceof McpToolboxClientImpl) {
+      CompletableFuture<Map<String, String>> headersFuture =
+          getters.isEmpty()
+              ? CompletableFuture.completedFuture(Map.of())
+              : authFuture.thenApply(ResolvedAuth::headers);
+      prefetch = ((McpToolboxClientImpl) client).prefetch(headersFuture);
+    }
+    McpToolboxClientImpl.Prefetch started = prefetch;
 
-      if (value == null && param.defaultValue() != null) {
-        value = deepCopy(param.defaultValue());
-        args.put(param.name(), value);
+    CompletableFuture<ToolResult> resultFuture;
+    if (!chain.hasPreProcessors()) {
+      resultFuture = invoke(args, bound, !getters.isEmpty(), authFuture, started, timer);
+    } else {
+      long preProcessStart = timer != null ? System.nanoTime() : 0;
+      CompletableFuture<Map<String, Object>> argsFuture =
+          chain.preProcess(name, new HashMap<>(args));
+      if (timer != null) {
+        argsFuture =
+            argsFuture.whenComplete(
+                (a, e) -> timer.record(InvocationTimer.PRE_PROCESS, preProcessStart));
       }
+      resultFuture =
+          argsFuture.isDone() && !argsFuture.isCompletedExceptionally()
+              ? invoke(argsFuture.join(), bound, !getters.isEmpty(), authFuture, started, timer)
+              : argsFuture.thenCompose(
+                  processedArgs ->
+                      invoke(processedArgs, bound, !getters.isEmpty(), authFuture, started, timer));
+    }
+    if (!chain.hasPostProcessors()) {
+      return resultFuture;
+    }
+    if (timer == null) {
+      return resultFuture.thenCompose(result -> chain.postProcess(name, result));
+    }
+    return resultFuture.thenCompose(
+        result -> {
+          long postProcessStart = System.nanoTime();
+          return chain
+              .postProcess(name, result)
+              .whenComplete(
+                  (res, e) -> timer.record(InvocationTimer.POST_PROCESS, postProcessStart));
+        });
+  }
 
-      // A. Check Required Parameters
-      if (param.required() && value == null) {
-        throw new IllegalArgumentException(
-            String.format(
-                "Missing required parameter '%s' for tool '%s'.", param.name(), this.name));
-      }
+  /**
+   * Applies bound parameters and auth tokens to a copy of the arguments, validates them and sends
+   * the call. The copy is only touched by one stage at a time, so it needs no synchronization.
+   */
+  private CompletableFuture<ToolResult> invoke(
+      Map<String, Object> args,
+      Map<String, Object> bound,
+      boolean authenticated,
+      CompletableFuture<ResolvedAuth> authFuture,
+      McpToolboxClientImpl.Prefetch prefetch,
+      InvocationTimer timer) {
+    Map<String, Object> finalArgs =
+        new HashMap<>(
+            (int) ((Math.max(args.size(), plan.parameterCount()) + bound.size()) / 0.75f) + 1);
+    finalArgs.putAll(args);
+    Map<String, String> extraHeaders = new HashMap<>();
 
-      // B. Check Parameter Types (only if value is present)
-      if (value != null && param.type() != null) {
-        if (!isTypeMatch(value, param.type())) {
-          throw new IllegalArgumentException(
-              String.format(
-                  "Parameter '%s' expected type '%s' but got '%s'.",
-                  param.name(), param.type(), value.getClass().getSimpleName()));
+    // 1. Apply Bound Parameters
+    try {
+      for (Map.Entry<String, Object> entry : bound.entrySet()) {
+        Object val = entry.getValue();
+        if (val instanceof Supplier) {
+          finalArgs.put(entry.getKey(), ((Supplier<?>) val).get());
+        } else {
+          finalArgs.put(entry.getKey(), val);
         }
       }
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
     }
-  }
 
-  private Object deepCopy(Object value) {
-    if (value instanceof Map) {
-      Map<?, ?> map = (Map<?, ?>) value;
-      Map<Object, Object> copy = new HashMap<>();
-      for (Map.Entry<?, ?> entry : map.entrySet()) {
-        copy.put(deepCopy(entry.getKey()), deepCopy(entry.getValue()));
-      }
-      return copy;
-    } else if (value instanceof List) {
-      List<?> list = (List<?>) value;
-      List<Object> copy = new ArrayList<>();
-      for (Object item : list) {
-        copy.add(deepCopy(item));
-      }
-      return copy;
+    // 2. Join Auth & Execute
+    CompletableFuture<ResolvedAuth> joined = authFuture;
+    if (timer != null && authenticated) {
+      long authWaitStart = System.nanoTime();
+      joined = authFuture.whenComplete((a, e) -> timer.record(InvocationTimer.AUTH, authWaitStart));
     }
-    return value;
+    return joined.thenCompose(
+        resolvedAuth -> {
+          try {
+            // Apply credential parameter bindings and extra headers
+            resolvedAuth.applyTo(finalArgs, extraHeaders, plan);
+
+            // Validation & Cleanup
+            plan.validateAndSanitize(finalArgs, name);
+            if (client instanceof McpToolboxClientImpl) {
+              return ((McpToolboxClientImpl) client)
+                  .invokeTool(name, finalArgs, extraHeaders, timer, prefetch);
+            }
+            return client.invokeTool(name, finalArgs, extraHeaders);
+          } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+          }
+        });
   }
 
-  private boolean isTypeMatch(Object value, String type) {
-    switch (type.toLowerCase()) {
-      case "string":
-        return value instanceof String;
-      case "integer":
-        return value instanceof Integer || value instanceof Long;
-      case "number":
-        return value instanceof Number; // Covers Integer, Long, Float, Double
-      case "boolean":
-        return value instanceof Boolean;
-      case "array":
-        return value instanceof java.util.List || value.getClass().isArray();
-      case "object":
-        return value instanceof Map;
-      default:
-        return true;
+  /**
+   * Starts resolving the auth tokens, recording how long the getters took if there are any and the
+   * execution is being timed. The time the call waits for them is recorded separately, as its
+   * {@link InvocationTimer#AUTH} stage, since the timer is not safe to touch from the getters'
+   * threads while pre-processing.
+   */
+  private CompletableFuture<ResolvedAuth> resolveAuth(
+      Map<String, AuthTokenGetter> getters, InvocationTimer timer) {
+    if (timer == null || getters.isEmpty()) {
+      return AuthResolver.resolve(getters);
     }
+    long start = System.nanoTime();
+    return AuthResolver.resolve(getters)
+        .whenComplete(
+            (auth, e) -> metrics.authResolved(name, System.nanoTime() - start, e != null));
   }
 }
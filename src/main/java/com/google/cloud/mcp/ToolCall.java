@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.Map;
+
+/**
+ * One call in a {@link McpToolboxClient#invokeAll(java.util.Collection, FanOutOptions)} fan-out.
+ *
+ * @param toolName The name of the tool to invoke.
+ * @param arguments The arguments to pass to the tool.
+ * @param extraHeaders Additional HTTP headers to include in the request.
+ */
+public record ToolCall(
+    String toolName, Map<String, Object> arguments, Map<String, String> extraHeaders) {
+
+  /** Validates the tool name and replaces null maps with empty ones. */
+  public ToolCall {
+    if (toolName == null || toolName.isEmpty()) {
+      throw new IllegalArgumentException("Tool name must be provided");
+    }
+    arguments = arguments != null ? arguments : Map.of();
+    extraHeaders = extraHeaders != null ? extraHeaders : Map.of();
+  }
+
+  /**
+   * Creates a call without extra headers.
+   *
+   * @param toolName The name of the tool to invoke.
+   * @param arguments The arguments to pass to the tool.
+   */
+  public ToolCall(String toolName, Map<String, Object> arguments) {
+    this(toolName, arguments, Map.of());
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+/**
+ * How one call of a {@link FanOut} ended: with a result, or with an error if the call failed, timed
+ * out or was cancelled.
+ *
+ * @param index The position of the call in the collection passed to {@code invokeAll}.
+ * @param call The call.
+ * @param result The result, or null if the call failed.
+ * @param error The failure, or null if the call returned a result. Timeouts are {@link
+ *     java.util.concurrent.TimeoutException}s and calls stopped by fail-fast or {@link
+ *     FanOut#cancel()} are {@link java.util.concurrent.CancellationException}s.
+ */
+public record ToolCallOutcome(int index, ToolCall call, ToolResult result, Throwable error) {
+
+  /**
+   * Returns whether the call returned a result. The result may still be a tool error; see {@link
+   * ToolResult#isError()}.
+   *
+   * @return True if the call did not fail.
+   */
+  public boolean isSuccess() {
+    return error == null;
+  }
+}
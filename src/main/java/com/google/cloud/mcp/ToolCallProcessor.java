@@ -0,0 +1,294 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A {@link Flow.Processor} that calls one tool for each argument map it receives and publishes the
+ * results, for connecting the SDK to reactive pipelines:
+ *
+ * <pre>{@code
+ * ToolCallProcessor enrich = ToolCallProcessor.of(tool, 64, true);
+ * rows.subscribe(enrich);
+ * enrich.subscribe(sink);
+ * }</pre>
+ *
+ * <p>At most {@code window} argument maps are requested from upstream, in flight or waiting for
+ * downstream demand at any time. A slot is freed, and one more map requested, each time a result is
+ * delivered, so a slow subscriber throttles the calls instead of results piling up. A larger window
+ * gives more throughput against a slow server at the cost of more concurrent calls.
+ *
+ * <p>Results are published in the order of their arguments if {@code ordered}, or as calls finish
+ * otherwise, which keeps the window full when call latencies vary. A result with {@link
+ * ToolResult#isError()} set is published like any other; a call that fails terminates the stream
+ * with {@code onError} and cancels the upstream subscription. An upstream error is passed on as
+ * soon as it arrives, dropping results not yet delivered. The processor supports one subscriber on
+ * each side.
+ */
+public final class ToolCallProcessor implements Flow.Processor<Map<String, Object>, ToolResult> {
+
+  private final Function<Map<String, Object>, CompletableFuture<ToolResult>> call;
+  private final int window;
+  private final boolean ordered;
+
+  /** Calls in argument order if ordered, otherwise finished calls in completion order. */
+  private final Queue<CompletableFuture<ToolResult>> queue = new ConcurrentLinkedQueue<>();
+
+  /** Argument maps received whose results have not been delivered yet. */
+  private final AtomicInteger active = new AtomicInteger();
+
+  private final AtomicLong demand = new AtomicLong();
+  private final AtomicInteger wip = new AtomicInteger();
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+  private volatile Flow.Subscription upstream;
+  private volatile Flow.Subscriber<? super ToolResult> downstream;
+  private volatile boolean upstreamDone;
+
+  /** An error to terminate with: the upstream's, or a demand violation by the subscriber. */
+  private volatile Throwable error;
+
+  private volatile boolean cancelled;
+
+  // Only touched by the thread running drain().
+  private boolean started;
+  private boolean terminated;
+
+  private ToolCallProcessor(
+      Function<Map<String, Object>, CompletableFuture<ToolResult>> call,
+      int window,
+      boolean ordered) {
+    if (window < 1) {
+      throw new IllegalArgumentException("Window must be at least 1");
+    }
+    this.call = call;
+    this.window = window;
+    this.ordered = ordered;
+  }
+
+  /**
+   * Creates a processor that executes a tool, with its bound parameters, auth token getters and
+   * processors.
+   *
+   * @param tool The tool to execute.
+   * @param window The maximum number of argument maps outstanding at once.
+   * @param ordered Whether to publish results in the order of their arguments.
+   * @return A new processor.
+   */
+  public static ToolCallProcessor of(Tool tool, int window, boolean ordered) {
+    if (tool == null) {
+      throw new IllegalArgumentException("Tool must be provided");
+    }
+    return new ToolCallProcessor(tool::execute, window, ordered);
+  }
+
+  /**
+   * Creates a processor that invokes a tool by name through a client.
+   *
+   * @param client The client to invoke the tool with.
+   * @param toolName The name of the tool to invoke.
+   * @param window The maximum number of argument maps outstanding at once.
+   * @param ordered Whether to publish results in the order of their arguments.
+   * @return A new processor.
+   */
+  public static ToolCallProcessor of(
+      McpToolboxClient client, String toolName, int window, boolean ordered) {
+    if (client == null || toolName == null || toolName.isEmpty()) {
+      throw new IllegalArgumentException("Client and tool name must be provided");
+    }
+    return new ToolCallProcessor(args -> client.invokeTool(toolName, args), window, ordered);
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super ToolResult> subscriber) {
+    if (subscriber == null) {
+      throw new NullPointerException("Subscriber must not be null");
+    }
+    if (!subscribed.compareAndSet(false, true)) {
+      subscriber.onSubscribe(
+          new Flow.Subscription() {
+            @Override
+            public void request(long n) {}
+
+            @Override
+            public void cancel() {}
+          });
+      subscriber.onError(new IllegalStateException("ToolCallProcessor allows one subscriber"));
+      return;
+    }
+    subscriber.onSubscribe(new Downstream());
+    downstream = subscriber;
+    drain();
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    if (upstream != null || cancelled) {
+      subscription.cancel();
+      return;
+    }
+    upstream = subscription;
+    drain();
+  }
+
+  @Override
+  public void onNext(Map<String, Object> arguments) {
+    if (cancelled) {
+      return;
+    }
+    CompletableFuture<ToolResult> future;
+    try {
+      future = call.apply(arguments);
+    } catch (RuntimeException e) {
+      future = CompletableFuture.failedFuture(e);
+    }
+    active.incrementAndGet();
+    if (ordered) {
+      queue.offer(future);
+      future.whenComplete((result, error) -> drain());
+    } else {
+      CompletableFuture<ToolResult> finished = future;
+      future.whenComplete(
+          (result, error) -> {
+            queue.offer(finished);
+            drain();
+          });
+    }
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    error = throwable;
+    upstreamDone = true;
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    upstreamDone = true;
+    drain();
+  }
+
+  /**
+   * Delivers what downstream demand allows and requests more from upstream. Only one thread runs it
+   * at a time; signals arriving meanwhile make that thread loop again instead of running it
+   * concurrently.
+   */
+  private void drain() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      Flow.Subscriber<? super ToolResult> subscriber = downstream;
+      Flow.Subscription subscription = upstream;
+      if (!terminated && cancelled) {
+        terminated = true;
+        queue.clear();
+      }
+      if (!terminated && subscriber != null && subscription != null) {
+        if (!started) {
+          started = true;
+          subscription.request(window);
+        }
+        int delivered = deliver(subscriber);
+        if (!terminated) {
+          if (error != null) {
+            terminate(subscriber, error);
+          } else if (upstreamDone && active.get() == 0) {
+            terminated = true;
+            subscriber.onComplete();
+          } else if (delivered > 0 && !upstreamDone) {
+            subscription.request(delivered);
+          }
+        }
+      }
+      missed = wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  /** Publishes finished calls up to the demand, returning how many results were delivered. */
+  private int deliver(Flow.Subscriber<? super ToolResult> subscriber) {
+    long requested = demand.get();
+    int delivered = 0;
+    CompletableFuture<ToolResult> head;
+    while ((head = queue.peek()) != null && head.isDone()) {
+      if (head.isCompletedExceptionally()) {
+        terminate(subscriber, failure(head));
+        break;
+      }
+      if (delivered == requested || cancelled) {
+        break;
+      }
+      queue.poll();
+      active.decrementAndGet();
+      delivered++;
+      subscriber.onNext(head.join());
+    }
+    if (delivered > 0 && requested != Long.MAX_VALUE) {
+      demand.addAndGet(-delivered);
+    }
+    return delivered;
+  }
+
+  private void terminate(Flow.Subscriber<? super ToolResult> subscriber, Throwable cause) {
+    terminated = true;
+    cancelled = true;
+    queue.clear();
+    upstream.cancel();
+    subscriber.onError(cause);
+  }
+
+  private static Throwable failure(CompletableFuture<ToolResult> future) {
+    Throwable error = future.handle((result, e) -> e).join();
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+
+  /** The downstream subscriber's view of the processor. */
+  private final class Downstream implements Flow.Subscription {
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        error = new IllegalArgumentException("Demand must be positive, was " + n + " (rule 3.9)");
+      } else {
+        demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      Flow.Subscription subscription = upstream;
+      if (subscription != null) {
+        subscription.cancel();
+      }
+      drain();
+    }
+  }
+}
@@ -18,6 +18,7 @@ package com.google.cloud.mcp;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
 import java.util.List;
 
 /**
@@ -28,6 +29,9 @@ import java.util.List;
  * @param authRequired List of auth services required by the tool.
  * @param readOnlyHint Hint indicating whether the tool is read-only.
  * @param destructiveHint Hint indicating whether the tool is destructive.
+ * @param inputSchema The full JSON Schema of the tool's arguments as sent by the server, or null.
+ *     {@link Tool#execute} validates arguments against it, including nested objects and arrays. The
+ *     record keeps a deep copy of the node it is given; do not modify the node it returns.
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record ToolDefinition(
@@ -35,7 +39,13 @@ public record ToolDefinition(
     List<Parameter> parameters,
     List<String> authRequired,
     Boolean readOnlyHint,
-    Boolean destructiveHint) {
+    Boolean destructiveHint,
+    JsonNode inputSchema) {
+
+  /** Copies the input schema, so that changes to the caller's node do not reach the record. */
+  public ToolDefinition {
+    inputSchema = inputSchema != null ? inputSchema.deepCopy() : null;
+  }
 
   /**
    * Backward-compatible constructor.
@@ -45,7 +55,25 @@ public record ToolDefinition(
    * @param authRequired List of auth services required.
    */
   public ToolDefinition(String description, List<Parameter> parameters, List<String> authRequired) {
-    this(description, parameters, authRequired, null, null);
+    this(description, parameters, authRequired, null, null, null);
+  }
+
+  /**
+   * Backward-compatible constructor.
+   *
+   * @param description A description of what the tool does.
+   * @param parameters A list of parameters the tool accepts.
+   * @param authRequired List of auth services required.
+   * @param readOnlyHint Hint indicating whether the tool is read-only.
+   * @param destructiveHint Hint indicating whether the tool is destructive.
+   */
+  public ToolDefinition(
+      String description,
+      List<Parameter> parameters,
+      List<String> authRequired,
+      Boolean readOnlyHint,
+      Boolean destructiveHint) {
+    this(description, parameters, authRequired, readOnlyHint, destructiveHint, null);
   }
 
   /**
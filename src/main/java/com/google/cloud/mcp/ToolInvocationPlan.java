@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * What {@link Tool#execute} needs from a {@link ToolDefinition}, compiled once when the tool is
+ * created: the parameters with their type checks resolved, their defaults, and which parameter each
+ * auth service fills.
+ */
+final class ToolInvocationPlan {
+
+  private static final ToolInvocationPlan EMPTY =
+      new ToolInvocationPlan(new ParameterPlan[0], Map.of(), null);
+
+  private final ParameterPlan[] parameters;
+  private final Map<String, String> authParameters;
+  private final JsonSchemaValidator schema;
+
+  private ToolInvocationPlan(
+      ParameterPlan[] parameters, Map<String, String> authParameters, JsonSchemaValidator schema) {
+    this.parameters = parameters;
+    this.authParameters = authParameters;
+    this.schema = schema;
+  }
+
+  /**
+   * Compiles the plan for a tool definition.
+   *
+   * @param definition The tool definition, or null.
+   * @return The plan.
+   */
+  static ToolInvocationPlan compile(ToolDefinition definition) {
+    if (definition == null
+        || (definition.parameters() == null && definition.inputSchema() == null)) {
+      return EMPTY;
+    }
+    List<ToolDefinition.Parameter> params =
+        definition.parameters() != null ? definition.parameters() : List.of();
+    ParameterPlan[] parameters = new ParameterPlan[params.size()];
+    Map<String, String> authParameters = new HashMap<>();
+    for (int i = 0; i < parameters.length; i++) {
+      ToolDefinition.Parameter param = params.get(i);
+      parameters[i] = new ParameterPlan(param);
+      if (param.authSources() != null) {
+        for (String service : param.authSources()) {
+          authParameters.putIfAbsent(service, param.name());
+        }
+      }
+    }
+    return new ToolInvocationPlan(
+        parameters,
+        Map.copyOf(authParameters),
+        JsonSchemaValidator.compile(definition.inputSchema()));
+  }
+
+  /** Returns how many parameters the tool declares. */
+  int parameterCount() {
+    return parameters.length;
+  }
+
+  /**
+   * Returns the parameter filled by an auth service's token.
+   *
+   * @param serviceName The auth service.
+   * @return The parameter name, or null if no parameter takes the service's token.
+   */
+  String parameterForService(String serviceName) {
+    return authParameters.get(serviceName);
+  }
+
+  /**
+   * Removes null arguments, fills in defaults, checks required parameters and types, and then
+   * validates the arguments against the input schema.
+   *
+   * @param args The arguments, which are modified in place.
+   * @param toolName The tool name, for error messages.
+   * @throws IllegalArgumentException If a required parameter is missing, has the wrong type or does
+   *     not match the schema.
+   */
+  void validateAndSanitize(Map<String, Object> args, String toolName) {
+    args.values().removeIf(Objects::isNull);
+    for (ParameterPlan param : parameters) {
+      Object value = args.get(param.name);
+      if (value == null && param.defaultValue != null) {
+        value = param.defaultValue();
+        args.put(param.name, value);
+      }
+      if (value == null) {
+        if (param.required) {
+          throw new IllegalArgumentException(
+              String.format(
+                  "Missing required parameter '%s' for tool '%s'.", param.name, toolName));
+        }
+      } else if (!param.type.matches(value)) {
+        throw new IllegalArgumentException(
+            String.format(
+                "Parameter '%s' expected type '%s' but got '%s'.",
+                param.name, param.declaredType, value.getClass().getSimpleName()));
+      }
+    }
+    if (schema != null) {
+      schema.validate(args, toolName);
+    }
+  }
+
+  /** A parameter with its type check and default resolved. */
+  private static final class ParameterPlan {
+    final String name;
+    final boolean required;
+    final String declaredType;
+    final ParameterType type;
+    final Object defaultValue;
+    final boolean mutableDefault;
+
+    ParameterPlan(ToolDefinition.Parameter param) {
+      this.name = param.name();
+      this.required = param.required();
+      this.declaredType = param.type();
+      this.type = ParameterType.of(param.type());
+      this.defaultValue = snapshot(param.defaultValue());
+      this.mutableDefault = defaultValue instanceof Map || defaultValue instanceof List;
+    }
+
+    /**
+     * Returns the default to inject. Scalars are shared; maps and lists are copied, since the
+     * caller receives them in its arguments and may change them.
+     */
+    Object defaultValue() {
+      return mutableDefault ? copy(defaultValue) : defaultValue;
+    }
+
+    /** Copies a default into a read-only form, so that the definition can change later. */
+    private static Object snapshot(Object value) {
+      if (value instanceof Map) {
+        Map<Object, Object> copy = new LinkedHashMap<>();
+        ((Map<?, ?>) value).forEach((k, v) -> copy.put(snapshot(k), snapshot(v)));
+        return Collections.unmodifiableMap(copy);
+      } else if (value instanceof List) {
+        List<Object> copy = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+          copy.add(snapshot(item));
+        }
+        return Collections.unmodifiableList(copy);
+      }
+      return value;
+    }
+
+    private static Object copy(Object value) {
+      if (value instanceof Map) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        Map<Object, Object> copy = new HashMap<>();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          copy.put(entry.getKey(), copy(entry.getValue()));
+        }
+        return copy;
+      } else if (value instanceof List) {
+        List<?> list = (List<?>) value;
+        List<Object> copy = new ArrayList<>(list.size());
+        for (Object item : list) {
+          copy.add(copy(item));
+        }
+        return copy;
+      }
+      return value;
+    }
+  }
+
+  /** The JSON Schema types a parameter can declare. */
+  private enum ParameterType {
+    STRING {
+      @Override
+      boolean matches(Object value) {
+        return value instanceof String;
+      }
+    },
+    INTEGER {
+      @Override
+      boolean matches(Object value) {
+        return value instanceof Integer || value instanceof Long;
+      }
+    },
+    NUMBER {
+      @Override
+      boolean matches(Object value) {
+        return value instanceof Number;
+      }
+    },
+    BOOLEAN {
+      @Override
+      boolean matches(Object value) {
+        return value instanceof Boolean;
+      }
+    },
+    ARRAY {
+      @Override
+      boolean matches(Object value) {
+        return value instanceof List || value.getClass().isArray();
+      }
+    },
+    OBJECT {
+      @Override
+      boolean matches(Object value) {
+        return value instanceof Map;
+      }
+    },
+    ANY {
+      @Override
+      boolean matches(Object value) {
+        return true;
+      }
+    };
+
+    abstract boolean matches(Object value);
+
+    static ParameterType of(String type) {
+      if (type == null) {
+        return ANY;
+      }
+      switch (type.toLowerCase(Locale.ROOT)) {
+        case "string":
+          return STRING;
+        case "integer":
+          return INTEGER;
+        case "number":
+          return NUMBER;
+        case "boolean":
+          return BOOLEAN;
+        case "array":
+          return ARRAY;
+        case "object":
+          return OBJECT;
+        default:
+          return ANY;
+      }
+    }
+  }
+}
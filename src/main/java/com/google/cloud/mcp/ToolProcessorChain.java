@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The pre-processors and post-processors of a tool, run as few future stages as possible.
+ * Synchronous processors are called inline, and so are asynchronous ones whose futures are already
+ * complete when they return; a stage is added only where a processor's future is still pending. A
+ * client builds its chain once and shares it with every tool it loads.
+ */
+final class ToolProcessorChain {
+
+  static final ToolProcessorChain EMPTY = new ToolProcessorChain(List.of(), List.of());
+
+  private final List<ToolPreProcessor> preProcessors;
+  private final List<ToolPostProcessor> postProcessors;
+  private final ToolPreProcessor[] pre;
+  private final ToolPostProcessor[] post;
+
+  private ToolProcessorChain(
+      List<ToolPreProcessor> preProcessors, List<ToolPostProcessor> postProcessors) {
+    this.preProcessors = preProcessors;
+    this.postProcessors = postProcessors;
+    this.pre = preProcessors.toArray(new ToolPreProcessor[0]);
+    this.post = postProcessors.toArray(new ToolPostProcessor[0]);
+  }
+
+  /**
+   * Builds a chain.
+   *
+   * @param preProcessors The pre-processors, in the order they run.
+   * @param postProcessors The post-processors, in the order they run.
+   * @return The chain.
+   */
+  static ToolProcessorChain of(
+      List<ToolPreProcessor> preProcessors, List<ToolPostProcessor> postProcessors) {
+    if (preProcessors.isEmpty() && postProcessors.isEmpty()) {
+      return EMPTY;
+    }
+    return new ToolProcessorChain(List.copyOf(preProcessors), List.copyOf(postProcessors));
+  }
+
+  /** Returns the pre-processors as an unmodifiable list. */
+  List<ToolPreProcessor> preProcessors() {
+    return preProcessors;
+  }
+
+  /** Returns the post-processors as an unmodifiable list. */
+  List<ToolPostProcessor> postProcessors() {
+    return postProcessors;
+  }
+
+  boolean hasPreProcessors() {
+    return pre.length > 0;
+  }
+
+  boolean hasPostProcessors() {
+    return post.length > 0;
+  }
+
+  /**
+   * Runs the pre-processors.
+   *
+   * @param toolName The tool name.
+   * @param arguments The arguments given to the first pre-processor.
+   * @return The arguments returned by the last pre-processor.
+   */
+  CompletableFuture<Map<String, Object>> preProcess(
+      String toolName, Map<String, Object> arguments) {
+    return preProcess(toolName, arguments, 0);
+  }
+
+  private CompletableFuture<Map<String, Object>> preProcess(
+      String toolName, Map<String, Object> arguments, int from) {
+    Map<String, Object> current = arguments;
+    try {
+      for (int i = from; i < pre.length; i++) {
+        ToolPreProcessor processor = pre[i];
+        if (processor instanceof SyncToolPreProcessor) {
+          current = ((SyncToolPreProcessor) processor).apply(toolName, current);
+          continue;
+        }
+        CompletableFuture<Map<String, Object>> next = processor.process(toolName, current);
+        if (next.isDone() && !next.isCompletedExceptionally()) {
+          current = next.join();
+          continue;
+        }
+        int resume = i + 1;
+        return resume == pre.length
+            ? next
+            : next.thenCompose(args -> preProcess(toolName, args, resume));
+      }
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return CompletableFuture.completedFuture(current);
+  }
+
+  /**
+   * Runs the post-processors.
+   *
+   * @param toolName The tool name.
+   * @param result The result given to the first post-processor.
+   * @return The result returned by the last post-processor.
+   */
+  CompletableFuture<ToolResult> postProcess(String toolName, ToolResult result) {
+    return postProcess(toolName, result, 0);
+  }
+
+  private CompletableFuture<ToolResult> postProcess(String toolName, ToolResult result, int from) {
+    ToolResult current = result;
+    try {
+      for (int i = from; i < post.length; i++) {
+        ToolPostProcessor processor = post[i];
+        if (processor instanceof SyncToolPostProcessor) {
+          current = ((SyncToolPostProcessor) processor).apply(toolName, current);
+          continue;
+        }
+        CompletableFuture<ToolResult> next = processor.process(toolName, current);
+        if (next.isDone() && !next.isCompletedExceptionally()) {
+          current = next.join();
+          continue;
+        }
+        int resume = i + 1;
+        return resume == post.length
+            ? next
+            : next.thenCompose(res -> postProcess(toolName, res, resume));
+      }
+    } catch (RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return CompletableFuture.completedFuture(current);
+  }
+}
@@ -16,6 +16,7 @@
 
 package com.google.cloud.mcp;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -51,6 +52,20 @@ public interface Transport {
   CompletableFuture<TransportResponse> invokeTool(
       String toolName, Map<String, Object> arguments, Map<String, String> metadata);
 
+  /**
+   * Eagerly establishes connections and completes any protocol handshake so that the first real
+   * request does not pay for them. Transports without such setup complete immediately.
+   *
+   * @param connections The number of concurrent requests to warm up with, an upper bound on the
+   *     connections opened.
+   * @param metadata Request metadata or extra options to include.
+   * @return A CompletableFuture containing the duration of each warm-up phase, in execution order.
+   */
+  default CompletableFuture<Map<String, Duration>> warmUp(
+      int connections, Map<String, String> metadata) {
+    return CompletableFuture.completedFuture(Map.of());
+  }
+
   /** Closes any underlying network connections/resources. */
   void close();
 }
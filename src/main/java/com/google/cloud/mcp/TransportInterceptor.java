@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Intercepts the requests a client sends through its {@link Transport}, for cross-cutting behavior
+ * such as caching, retries, rate limiting or logging. An interceptor sees the arguments and request
+ * metadata and can change them, answer the call itself, or inspect and replace the raw {@link
+ * TransportResponse}. It applies to both {@link McpToolboxClient#invokeTool} and {@link
+ * Tool#execute}, after the tool's pre-processors and before its post-processors.
+ *
+ * <p>Over HTTP the metadata holds the call's extra headers only. The transport adds the client's
+ * headers and {@code Authorization} header after the chain, letting metadata entries take
+ * precedence, so an interceptor can add or override headers but does not see the client's own
+ * headers or its credentials. Other transports receive them already merged into the metadata. Over
+ * HTTP, {@link TransportResponse#getHeaders()} carries the response headers.
+ *
+ * <pre>{@code
+ * TransportInterceptor tracing =
+ *     new TransportInterceptor() {
+ *       @Override
+ *       public CompletableFuture<TransportResponse> invokeTool(
+ *           String toolName,
+ *           Map<String, Object> arguments,
+ *           Map<String, String> metadata,
+ *           Transport next) {
+ *         Map<String, String> headers = new HashMap<>(metadata);
+ *         headers.put("traceparent", currentTraceParent());
+ *         return next.invokeTool(toolName, arguments, headers);
+ *       }
+ *     };
+ * McpToolboxClient client =
+ *     McpToolboxClient.builder().baseUrl(url).interceptor(tracing).build();
+ * }</pre>
+ *
+ * <p>The client composes its interceptors once, when it is built, into a chain of transports, so
+ * calls go straight through without iterating over a list or allocating. Each method passes the
+ * call on to {@code next} by default. Interceptors must be thread-safe.
+ *
+ * <p>With interceptors, the {@link InvocationTiming#STAGE_NETWORK} stage covers the whole chain,
+ * and the HTTP transport's session, header and encoding stages are not reported separately.
+ */
+public interface TransportInterceptor {
+
+  /**
+   * Intercepts the fetch of a toolset's manifest.
+   *
+   * @param toolsetName The name of the toolset, or an empty string for all tools.
+   * @param metadata The request metadata.
+   * @param next The rest of the chain, ending with the client's transport.
+   * @return A CompletableFuture containing the manifest.
+   */
+  default CompletableFuture<TransportManifest> listTools(
+      String toolsetName, Map<String, String> metadata, Transport next) {
+    return next.listTools(toolsetName, metadata);
+  }
+
+  /**
+   * Intercepts a tool invocation.
+   *
+   * @param toolName The name of the tool.
+   * @param arguments The arguments, after bound parameters and auth tokens were applied.
+   * @param metadata The request metadata.
+   * @param next The rest of the chain, ending with the client's transport.
+   * @return A CompletableFuture containing the raw response.
+   */
+  default CompletableFuture<TransportResponse> invokeTool(
+      String toolName,
+      Map<String, Object> arguments,
+      Map<String, String> metadata,
+      Transport next) {
+    return next.invokeTool(toolName, arguments, metadata);
+  }
+}
@@ -16,10 +16,14 @@
 
 package com.google.cloud.mcp;
 
-/** Represents a raw transport response containing status code and response body. */
+import java.util.List;
+import java.util.Map;
+
+/** Represents a raw transport response containing status code, response body and headers. */
 public final class TransportResponse {
   private final int statusCode;
   private final String body;
+  private final Map<String, List<String>> headers;
 
   /**
    * Constructs a new TransportResponse.
@@ -28,8 +32,20 @@ public final class TransportResponse {
    * @param body The response body.
    */
   public TransportResponse(int statusCode, String body) {
+    this(statusCode, body, Map.of());
+  }
+
+  /**
+   * Constructs a new TransportResponse with response headers.
+   *
+   * @param statusCode The HTTP status code.
+   * @param body The response body.
+   * @param headers The response headers, keyed by header name.
+   */
+  public TransportResponse(int statusCode, String body, Map<String, List<String>> headers) {
     this.statusCode = statusCode;
     this.body = body;
+    this.headers = headers != null ? headers : Map.of();
   }
 
   /**
@@ -49,4 +65,14 @@ public final class TransportResponse {
   public String getBody() {
     return body;
   }
+
+  /**
+   * Returns the response headers. Only the HTTP transport reports them, and only if its {@link
+   * HttpEngine} can list them; other transports return an empty map.
+   *
+   * @return The header values keyed by header name.
+   */
+  public Map<String, List<String>> getHeaders() {
+    return headers;
+  }
 }
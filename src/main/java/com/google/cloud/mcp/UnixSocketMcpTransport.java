@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link Transport} that speaks MCP JSON-RPC over a Unix domain socket, one message per line. It
+ * is meant for a toolbox server running as a sidecar on the same host, where TCP loopback and HTTP
+ * connection management are pure overhead. Request metadata, such as auth headers, has no
+ * equivalent on the socket and is ignored.
+ *
+ * <pre>{@code
+ * McpToolboxClient client =
+ *     McpToolboxClient.builder()
+ *         .transport(new UnixSocketMcpTransport(Path.of("/var/run/toolbox/mcp.sock")))
+ *         .build();
+ * }</pre>
+ */
+public final class UnixSocketMcpTransport extends StreamMcpTransport {
+
+  private final Path socketPath;
+  private LineDelimitedChannel channel; // guarded by this
+
+  /**
+   * Constructs a new UnixSocketMcpTransport.
+   *
+   * @param socketPath The path of the server socket.
+   */
+  public UnixSocketMcpTransport(Path socketPath) {
+    this(socketPath, null);
+  }
+
+  /**
+   * Constructs a new UnixSocketMcpTransport.
+   *
+   * @param socketPath The path of the server socket.
+   * @param preferredProtocolVersion Preferred MCP protocol version, or null for the latest.
+   */
+  public UnixSocketMcpTransport(Path socketPath, ProtocolVersion preferredProtocolVersion) {
+    this(socketPath, preferredProtocolVersion, null);
+  }
+
+  /**
+   * Constructs a new UnixSocketMcpTransport.
+   *
+   * @param socketPath The path of the server socket.
+   * @param preferredProtocolVersion Preferred MCP protocol version, or null for the latest.
+   * @param executor Completes responses and runs the stages chained to them, or null for a shared
+   *     pool of daemon threads.
+   */
+  public UnixSocketMcpTransport(
+      Path socketPath,
+      ProtocolVersion preferredProtocolVersion,
+      java.util.concurrent.Executor executor) {
+    super(preferredProtocolVersion, executor);
+    if (socketPath == null) {
+      throw new IllegalArgumentException("Socket path must be provided");
+    }
+    this.socketPath = socketPath;
+  }
+
+  @Override
+  public String getBaseUrl() {
+    return "unix:" + socketPath;
+  }
+
+  @Override
+  synchronized CompletableFuture<Void> connect() {
+    if (channel != null && channel.isOpen()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    try {
+      SocketChannel socket = SocketChannel.open(StandardProtocolFamily.UNIX);
+      try {
+        socket.connect(UnixDomainSocketAddress.of(socketPath));
+      } catch (IOException e) {
+        socket.close();
+        throw e;
+      }
+      LineDelimitedChannel[] created = new LineDelimitedChannel[1];
+      created[0] =
+          new LineDelimitedChannel(
+              "mcp-unix-socket",
+              socket,
+              socket,
+              this::onMessage,
+              cause -> {
+                if (isCurrent(created[0])) {
+                  onDisconnected(cause);
+                }
+              });
+      channel = created[0];
+      channel.start();
+      return CompletableFuture.completedFuture(null);
+    } catch (IOException e) {
+      return CompletableFuture.failedFuture(
+          new McpException("Failed to connect to MCP server at " + getBaseUrl(), e));
+    }
+  }
+
+  private synchronized boolean isCurrent(LineDelimitedChannel candidate) {
+    return channel == candidate;
+  }
+
+  @Override
+  CompletableFuture<Void> sendMessage(String message) {
+    LineDelimitedChannel current;
+    synchronized (this) {
+      current = channel;
+    }
+    if (current == null) {
+      return CompletableFuture.failedFuture(new McpException("Not connected to " + getBaseUrl()));
+    }
+    return current.send(message);
+  }
+
+  @Override
+  void disconnect() {
+    LineDelimitedChannel current;
+    synchronized (this) {
+      current = channel;
+      channel = null;
+    }
+    if (current != null) {
+      current.close();
+    }
+  }
+}
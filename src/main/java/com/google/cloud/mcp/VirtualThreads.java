@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates virtual-thread-per-task executors on Java 21 and later. The SDK is compiled for Java 17,
+ * so the factory method is looked up once at class initialization instead of being linked.
+ */
+final class VirtualThreads {
+
+  private static final MethodHandle NEW_EXECUTOR = lookup();
+
+  private VirtualThreads() {}
+
+  private static MethodHandle lookup() {
+    try {
+      return MethodHandles.publicLookup()
+          .findStatic(
+              Executors.class,
+              "newVirtualThreadPerTaskExecutor",
+              MethodType.methodType(ExecutorService.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns whether this JVM supports virtual threads.
+   *
+   * @return True on Java 21 and later.
+   */
+  static boolean isAvailable() {
+    return NEW_EXECUTOR != null;
+  }
+
+  /**
+   * Creates an executor that starts a new virtual thread for each task.
+   *
+   * @return The executor, or null if this JVM does not support virtual threads.
+   */
+  static ExecutorService newExecutor() {
+    if (NEW_EXECUTOR == null) {
+      return null;
+    }
+    try {
+      return (ExecutorService) NEW_EXECUTOR.invokeExact();
+    } catch (Throwable t) {
+      throw new IllegalStateException("Could not create a virtual thread executor", t);
+    }
+  }
+}
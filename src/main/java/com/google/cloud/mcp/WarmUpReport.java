@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Timing of the phases of a {@link McpToolboxClient#warmUp(int)} call. */
+public final class WarmUpReport {
+
+  /** Phase in which every session completes the MCP initialization handshake. */
+  public static final String PHASE_INITIALIZE = "initialize";
+
+  /**
+   * Phase in which the requested number of concurrent pings is sent, opening connections as the
+   * HTTP client needs them. Over HTTP/2 the pings may share a single connection.
+   */
+  public static final String PHASE_CONNECT = "connect";
+
+  /** Phase in which the tool manifest is fetched and cached. */
+  public static final String PHASE_MANIFEST = "manifest";
+
+  private final Map<String, Duration> phases;
+  private final Duration total;
+  private final int toolCount;
+
+  /**
+   * Constructs a new WarmUpReport.
+   *
+   * @param phases The duration of each phase, in execution order.
+   * @param total The total duration of the warm-up.
+   * @param toolCount The number of tools in the preloaded manifest.
+   */
+  public WarmUpReport(Map<String, Duration> phases, Duration total, int toolCount) {
+    this.phases = Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+    this.total = total;
+    this.toolCount = toolCount;
+  }
+
+  /**
+   * Returns the duration of each phase, in execution order.
+   *
+   * @return The phase durations keyed by phase name.
+   */
+  public Map<String, Duration> phases() {
+    return phases;
+  }
+
+  /**
+   * Returns the duration of a single phase.
+   *
+   * @param phase The phase name, e.g. {@link #PHASE_INITIALIZE}.
+   * @return The duration, or {@link Duration#ZERO} if the phase did not run.
+   */
+  public Duration phase(String phase) {
+    return phases.getOrDefault(phase, Duration.ZERO);
+  }
+
+  /**
+   * Returns the total duration of the warm-up.
+   *
+   * @return The total duration.
+   */
+  public Duration total() {
+    return total;
+  }
+
+  /**
+   * Returns the number of tools in the preloaded manifest.
+   *
+   * @return The tool count.
+   */
+  public int toolCount() {
+    return toolCount;
+  }
+
+  @Override
+  public String toString() {
+    return "WarmUpReport{phases=" + phases + ", total=" + total + ", toolCount=" + toolCount + "}";
+  }
+}
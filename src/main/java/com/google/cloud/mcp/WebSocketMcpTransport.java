@@ -0,0 +1,275 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Logger;
+
+/**
+ * A {@link Transport} that exchanges MCP JSON-RPC messages over one long-lived WebSocket, one
+ * message per text frame. Concurrent requests share the socket and are correlated by JSON-RPC id,
+ * and notifications pushed by the server are delivered to an optional {@link
+ * McpNotificationListener}. If the socket drops, pending requests fail and the next request opens a
+ * new socket. Every handshake carries the same {@code Mcp-Session-Id} header, so the server can
+ * resume the session, along with the transport's headers and the {@code Authorization} header of
+ * its {@link CredentialsProvider}, which is asked again for every new socket. Request metadata
+ * cannot be sent per message and is ignored.
+ *
+ * <pre>{@code
+ * WebSocketMcpTransport transport =
+ *     new WebSocketMcpTransport(
+ *         "wss://toolbox.example.com/mcp/ws",
+ *         Map.of("X-Tenant", "acme"),
+ *         () -> CompletableFuture.completedFuture("Bearer " + token),
+ *         null,
+ *         null);
+ * McpToolboxClient client = McpToolboxClient.builder().transport(transport).build();
+ * }</pre>
+ */
+public final class WebSocketMcpTransport extends StreamMcpTransport {
+  private static final Logger logger = Logger.getLogger(WebSocketMcpTransport.class.getName());
+  private static final TypeReference<Map<String, Object>> PARAMS_TYPE = new TypeReference<>() {};
+
+  private final URI uri;
+  private final Map<String, String> headers;
+  private final CredentialsProvider credentialsProvider;
+  private final HttpClient httpClient;
+  private final String sessionId = UUID.randomUUID().toString();
+  private volatile McpNotificationListener notificationListener;
+  private CompletableFuture<WebSocket> socket; // guarded by this
+  private CompletableFuture<Void> lastSend = CompletableFuture.completedFuture(null); // this
+
+  /**
+   * Constructs a new WebSocketMcpTransport. The socket is opened by the first request.
+   *
+   * @param url The {@code ws://} or {@code wss://} URL of the MCP endpoint.
+   */
+  public WebSocketMcpTransport(String url) {
+    this(url, null);
+  }
+
+  /**
+   * Constructs a new WebSocketMcpTransport. The socket is opened by the first request.
+   *
+   * @param url The {@code ws://} or {@code wss://} URL of the MCP endpoint.
+   * @param preferredProtocolVersion Preferred MCP protocol version, or null for the latest.
+   */
+  public WebSocketMcpTransport(String url, ProtocolVersion preferredProtocolVersion) {
+    this(url, Map.of(), null, preferredProtocolVersion, null);
+  }
+
+  /**
+   * Constructs a new WebSocketMcpTransport. The socket is opened by the first request.
+   *
+   * @param url The {@code ws://} or {@code wss://} URL of the MCP endpoint.
+   * @param headers HTTP headers to send with every handshake, or null for none.
+   * @param credentialsProvider Provider of the handshake's {@code Authorization} header, or null.
+   *     It takes precedence over an {@code Authorization} entry in {@code headers}.
+   * @param preferredProtocolVersion Preferred MCP protocol version, or null for the latest.
+   * @param httpClient The client that opens the sockets, or null for a new default client. Its
+   *     proxy, SSL and executor settings apply to the socket, and its executor, if set, also
+   *     completes responses.
+   */
+  public WebSocketMcpTransport(
+      String url,
+      Map<String, String> headers,
+      CredentialsProvider credentialsProvider,
+      ProtocolVersion preferredProtocolVersion,
+      HttpClient httpClient) {
+    super(preferredProtocolVersion, httpClient != null ? httpClient.executor().orElse(null) : null);
+    if (url == null || !(url.startsWith("ws://") || url.startsWith("wss://"))) {
+      throw new IllegalArgumentException("URL must start with ws:// or wss://");
+    }
+    this.uri = URI.create(url);
+    this.headers = headers != null ? Map.copyOf(headers) : Map.of();
+    this.credentialsProvider = credentialsProvider;
+    this.httpClient = httpClient != null ? httpClient : HttpClient.newHttpClient();
+  }
+
+  /**
+   * Sets the listener for notifications pushed by the server, replacing any previous one.
+   *
+   * @param listener The listener, or null to ignore notifications.
+   */
+  public void setNotificationListener(McpNotificationListener listener) {
+    this.notificationListener = listener;
+  }
+
+  @Override
+  public String getBaseUrl() {
+    return uri.toString();
+  }
+
+  /**
+   * Returns the session id sent with every handshake.
+   *
+   * @return The session id.
+   */
+  String sessionId() {
+    return sessionId;
+  }
+
+  @Override
+  synchronized CompletableFuture<Void> connect() {
+    if (socket == null || socket.isCompletedExceptionally()) {
+      Listener listener = new Listener();
+      socket =
+          authorization()
+              .thenCompose(
+                  auth -> {
+                    WebSocket.Builder builder = httpClient.newWebSocketBuilder();
+                    headers.forEach(
+                        (name, value) -> {
+                          if (auth == null || !"Authorization".equalsIgnoreCase(name)) {
+                            builder.header(name, value);
+                          }
+                        });
+                    if (auth != null) {
+                      builder.header("Authorization", auth);
+                    }
+                    return builder.header("Mcp-Session-Id", sessionId).buildAsync(uri, listener);
+                  })
+              .exceptionally(
+                  e -> {
+                    throw new McpException("Failed to connect to " + uri, e);
+                  });
+      listener.socket = socket;
+      lastSend = CompletableFuture.completedFuture(null);
+    }
+    return socket.thenApply(ws -> null);
+  }
+
+  private CompletableFuture<String> authorization() {
+    if (credentialsProvider == null) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return credentialsProvider
+        .getAuthorizationHeader()
+        .thenApply(
+            auth -> {
+              if (auth != null && uri.getScheme().equals("ws")) {
+                logger.warning(
+                    "This connection is using ws://. To prevent credential exposure, please ensure"
+                        + " all communication is sent over wss://.");
+              }
+              return auth;
+            });
+  }
+
+  /** Messages are queued behind the previous one, since a WebSocket sends one frame at a time. */
+  @Override
+  synchronized CompletableFuture<Void> sendMessage(String message) {
+    if (socket == null) {
+      return CompletableFuture.failedFuture(new McpException("WebSocket is not connected"));
+    }
+    CompletableFuture<WebSocket> current = socket;
+    lastSend =
+        lastSend
+            .handle((v, e) -> null)
+            .thenCompose(v -> current)
+            .thenCompose(ws -> ws.sendText(message, true))
+            .thenApply(ws -> null);
+    return lastSend;
+  }
+
+  @Override
+  void disconnect() {
+    CompletableFuture<WebSocket> current;
+    synchronized (this) {
+      current = socket;
+      socket = null;
+    }
+    if (current != null && current.isDone() && !current.isCompletedExceptionally()) {
+      WebSocket ws = current.join();
+      ws.sendClose(WebSocket.NORMAL_CLOSURE, "")
+          .exceptionally(
+              e -> {
+                ws.abort();
+                return null;
+              });
+    }
+  }
+
+  @Override
+  void onNotification(String method, JsonNode params) {
+    McpNotificationListener listener = notificationListener;
+    if (listener == null) {
+      super.onNotification(method, params);
+      return;
+    }
+    try {
+      listener.onNotification(
+          method,
+          params != null && params.isObject()
+              ? objectMapper.convertValue(params, PARAMS_TYPE)
+              : Map.of());
+    } catch (RuntimeException e) {
+      logger.warning("Notification listener failed for " + method + ": " + e);
+    }
+  }
+
+  private synchronized boolean forget(CompletableFuture<WebSocket> candidate) {
+    if (socket != candidate) {
+      return false;
+    }
+    socket = null;
+    return true;
+  }
+
+  /** Reassembles text frames into messages and reports when the socket goes away. */
+  private final class Listener implements WebSocket.Listener {
+    private final StringBuilder partial = new StringBuilder();
+    private volatile CompletableFuture<WebSocket> socket;
+
+    @Override
+    public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+      partial.append(data);
+      if (last) {
+        String message = partial.toString();
+        partial.setLength(0);
+        onMessage(message);
+      }
+      webSocket.request(1);
+      return null;
+    }
+
+    @Override
+    public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+      disconnected(new McpException("WebSocket closed: " + statusCode + " " + reason));
+      return null;
+    }
+
+    @Override
+    public void onError(WebSocket webSocket, Throwable error) {
+      disconnected(error);
+    }
+
+    private void disconnected(Throwable cause) {
+      if (forget(socket)) {
+        onDisconnected(cause);
+      }
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.cloud.mcp.testing.FakeMcpServer;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class BlockingApiTest {
+
+  private static final ToolDefinition ECHO =
+      new ToolDefinition(
+          "Echoes",
+          List.of(new ToolDefinition.Parameter("text", "string", true, "Text", List.of())),
+          List.of());
+
+  private static FakeToolbox toolbox() {
+    return FakeToolbox.builder().tool("echo", ECHO, args -> args.get("text")).build();
+  }
+
+  @Test
+  void testInvokeToolBlocking() {
+    McpToolboxClient client = McpToolboxClient.builder().transport(toolbox().transport()).build();
+    assertEquals(
+        "hi", client.invokeToolBlocking("echo", Map.of("text", "hi")).content().get(0).text());
+    assertEquals(
+        "there",
+        client
+            .invokeToolBlocking("echo", Map.of("text", "there"), Map.of("X-Trace", "1"))
+            .content()
+            .get(0)
+            .text());
+  }
+
+  @Test
+  void testToolCall() throws Exception {
+    McpToolboxClient client = McpToolboxClient.builder().transport(toolbox().transport()).build();
+    Tool tool = client.loadTool("echo").get();
+    assertEquals("hi", tool.call(Map.of("text", "hi")).content().get(0).text());
+
+    IllegalArgumentException invalid =
+        assertThrows(IllegalArgumentException.class, () -> tool.call(Map.of()));
+    assertTrue(invalid.getMessage().contains("text"));
+
+    Tool failing =
+        tool.withPreProcessor(
+            (name, args) -> CompletableFuture.failedFuture(new IOException("unreachable")));
+    McpException wrapped = assertThrows(McpException.class, () -> failing.call(Map.of()));
+    assertInstanceOf(IOException.class, wrapped.getCause());
+    assertEquals("unreachable", wrapped.getMessage());
+  }
+
+  @Test
+  void testAwaitUnwrapsFailures() {
+    IllegalStateException state = new IllegalStateException("state");
+    assertSame(
+        state,
+        assertThrows(
+            IllegalStateException.class,
+            () -> Blocking.await(CompletableFuture.failedFuture(new CompletionException(state)))));
+    Error error = new Error("fatal");
+    assertSame(
+        error,
+        assertThrows(Error.class, () -> Blocking.await(CompletableFuture.failedFuture(error))));
+  }
+
+  @Test
+  void testAwaitRestoresInterrupt() {
+    Thread.currentThread().interrupt();
+    try {
+      McpException e =
+          assertThrows(McpException.class, () -> Blocking.await(new CompletableFuture<>()));
+      assertInstanceOf(InterruptedException.class, e.getCause());
+      assertTrue(Thread.currentThread().isInterrupted());
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  @Test
+  void testVirtualThreadsOption() throws Exception {
+    assertEquals(Runtime.version().feature() >= 21, VirtualThreads.isAvailable());
+    McpToolboxClientBuilder builder = new McpToolboxClientBuilder();
+    assertNull(builder.resolveExecutor());
+    builder.virtualThreads(true);
+    Executor virtual = builder.resolveExecutor();
+    assertEquals(VirtualThreads.isAvailable(), virtual != null);
+    if (virtual != null) {
+      CompletableFuture<Boolean> isVirtual = new CompletableFuture<>();
+      virtual.execute(
+          () -> isVirtual.complete(!Thread.currentThread().getClass().equals(Thread.class)));
+      assertTrue(isVirtual.get());
+    }
+    Executor custom = Runnable::run;
+    builder.executor(custom);
+    assertSame(custom, builder.resolveExecutor());
+    builder.executor(null).httpClient(java.net.http.HttpClient.newHttpClient());
+    assertNull(builder.resolveExecutor());
+
+    try (FakeMcpServer server = toolbox().startServer()) {
+      McpToolboxClient client =
+          McpToolboxClient.builder().baseUrl(server.url()).virtualThreads(true).build();
+      assertFalse(client.invokeToolBlocking("echo", Map.of("text", "hi")).isError());
+    }
+  }
+
+  @Test
+  void testClose_ReleasesOnlyWhatTheBuilderCreated() throws Exception {
+    Transport transport = org.mockito.Mockito.mock(Transport.class);
+    ExecutorService owned = Executors.newSingleThreadExecutor();
+    new McpToolboxClientImpl(transport, Map.of(), null, null, null, null, true, owned).close();
+    assertTrue(owned.isShutdown());
+    org.mockito.Mockito.verify(transport).close();
+
+    Transport supplied = org.mockito.Mockito.mock(Transport.class);
+    McpToolboxClient.builder().transport(supplied).virtualThreads(true).build().close();
+    org.mockito.Mockito.verify(supplied, org.mockito.Mockito.never()).close();
+
+    ExecutorService custom = Executors.newSingleThreadExecutor();
+    try (FakeMcpServer server = toolbox().startServer()) {
+      McpToolboxClient client =
+          McpToolboxClient.builder()
+              .baseUrl(server.url())
+              .executor(custom)
+              .virtualThreads(true)
+              .build();
+      assertFalse(client.invokeToolBlocking("echo", Map.of("text", "hi")).isError());
+      client.close();
+      assertFalse(custom.isShutdown());
+    } finally {
+      custom.shutdown();
+    }
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.cloud.mcp.testing.FakeMcpServer;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class CallRecorderTest {
+
+  private static final ToolDefinition ECHO =
+      new ToolDefinition(
+          "Echoes",
+          List.of(
+              new ToolDefinition.Parameter("text", "string", true, "Text", List.of()),
+              new ToolDefinition.Parameter("user", "string", false, "User", List.of("google"))),
+          List.of());
+
+  private static FakeToolbox toolbox() {
+    return FakeToolbox.builder()
+        .tool("echo", ECHO, args -> args.get("text"))
+        .tool(
+            "fail",
+            new ToolDefinition("Fails", List.of(), List.of()),
+            args -> {
+              throw new IllegalStateException("failed");
+            })
+        .build();
+  }
+
+  @Test
+  void testRecordsRecentCallsNewestFirst() throws Exception {
+    CallRecorder recorder = CallRecorder.builder().capacity(3).build();
+    McpToolboxClient client =
+        McpToolboxClient.builder().transport(toolbox().transport()).callRecorder(recorder).build();
+
+    client.invokeTool("fail", Map.of()).get();
+    Tool echo = client.loadTool("echo").get();
+    echo.addAuthTokenGetter("google", () -> CompletableFuture.completedFuture("token"));
+    echo.execute(Map.of("text", "hi")).get();
+    echo.addPreProcessor(
+        (name, args) -> CompletableFuture.failedFuture(new IllegalStateException("rejected")));
+    assertThrows(ExecutionException.class, () -> echo.execute(Map.of("text", "hi")).get());
+    client.invokeTool("echo", Map.of("text", "last")).get();
+
+    List<CallRecord> calls = recorder.recentCalls();
+    assertEquals(3, calls.size());
+    assertEquals(4, recorder.getRecordedCalls());
+    assertEquals(0, recorder.getDroppedCalls());
+    assertEquals(List.of(3L, 2L, 1L), calls.stream().map(CallRecord::id).toList());
+
+    CallRecord last = calls.get(0);
+    assertEquals("echo", last.toolName());
+    assertEquals(CallRecord.STATUS_SUCCESS, last.status());
+    assertEquals(200, last.statusCode());
+    assertEquals(1, last.argumentCount());
+    assertEquals(-1, last.requestBytes());
+    assertTrue(last.responseLength() > 0);
+    assertEquals("in-process:", last.url());
+    assertNull(last.sessionId());
+    assertTrue(last.timing().stages().containsKey(InvocationTiming.STAGE_NETWORK));
+    assertTrue(last.requestHeaders().isEmpty());
+    assertTrue(last.toString().contains("toolName=echo"));
+    assertTrue(!last.completedAt().isAfter(java.time.Instant.now()));
+
+    CallRecord rejected = calls.get(1);
+    assertEquals(CallRecord.STATUS_FAILED, rejected.status());
+    assertEquals(-1, rejected.statusCode());
+    assertEquals(
+        List.of(InvocationTiming.STAGE_PRE_PROCESS),
+        List.copyOf(rejected.timing().stages().keySet()));
+
+    CallRecord executed = calls.get(2);
+    assertEquals(2, executed.argumentCount());
+    assertTrue(executed.timing().stages().containsKey(InvocationTiming.STAGE_AUTH));
+    assertTrue(recorder.slowCalls().isEmpty());
+  }
+
+  @Test
+  void testCapturesSlowCallsWithRedactedHeaders() throws Exception {
+    CallRecorder recorder =
+        CallRecorder.builder().slowCallThreshold(Duration.ZERO).slowCallCapacity(1).build();
+    InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+    try (FakeMcpServer server = toolbox().startServer()) {
+      McpToolboxClient client =
+          McpToolboxClient.builder()
+              .baseUrl(server.url())
+              .headers(Map.of("Authorization", "Bearer secret", "X-Trace", "abc"))
+              .metrics(metrics)
+              .callRecorder(recorder)
+              .build();
+
+      client.invokeTool("fail", Map.of()).get();
+      client
+          .invokeTool("echo", Map.of("text", "hi"), Map.of("google_token", "t", "X-Api-Key", "k"))
+          .get();
+    }
+
+    List<CallRecord> slow = recorder.slowCalls();
+    assertEquals(1, slow.size());
+    CallRecord call = slow.get(0);
+    assertEquals(1, call.id());
+    assertEquals(CallRecord.STATUS_SUCCESS, call.status());
+    assertTrue(call.requestBytes() > 0);
+    assertTrue(call.url().startsWith("http://"));
+    assertEquals("REDACTED", call.requestHeaders().get("Authorization"));
+    assertEquals("REDACTED", call.requestHeaders().get("google_token"));
+    assertEquals("REDACTED", call.requestHeaders().get("X-Api-Key"));
+    assertEquals("abc", call.requestHeaders().get("X-Trace"));
+    assertTrue(
+        call.responseHeaders().keySet().stream().anyMatch("server-timing"::equalsIgnoreCase));
+    assertTrue(call.timing().serverTime().compareTo(Duration.ZERO) > 0);
+    assertTrue(call.toString().contains("responseHeaders="));
+    assertEquals(CallRecord.STATUS_ERROR, recorder.recentCalls().get(1).status());
+    assertEquals(
+        2, metrics.tools().get("echo").invocations() + metrics.tools().get("fail").invocations());
+  }
+
+  @Test
+  void testSampleRateZeroCapturesNothing() throws Exception {
+    CallRecorder recorder =
+        CallRecorder.builder().slowCallThreshold(Duration.ZERO).slowCallSampleRate(0).build();
+    McpToolboxClient client =
+        McpToolboxClient.builder().transport(toolbox().transport()).callRecorder(recorder).build();
+    client.invokeTool("echo", Map.of("text", "hi")).get();
+    assertEquals(1, recorder.recentCalls().size());
+    assertTrue(recorder.slowCalls().isEmpty());
+  }
+
+  @Test
+  void testMBean() throws Exception {
+    CallRecorder recorder =
+        CallRecorder.builder().capacity(4).slowCallThreshold(Duration.ZERO).build();
+    McpToolboxClient client =
+        McpToolboxClient.builder().transport(toolbox().transport()).callRecorder(recorder).build();
+    client.invokeTool("echo", Map.of("text", "hi")).get();
+
+    ObjectName name = recorder.registerMBean("test, with \"quotes\"");
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      assertEquals(4, server.getAttribute(name, "Capacity"));
+      assertEquals(1L, server.getAttribute(name, "RecordedCalls"));
+      assertEquals(0L, server.getAttribute(name, "DroppedCalls"));
+      String[] recent = (String[]) server.invoke(name, "dumpRecentCalls", null, null);
+      assertEquals(1, recent.length);
+      assertTrue(recent[0].contains("toolName=echo"));
+      String[] slow = (String[]) server.invoke(name, "dumpSlowCalls", null, null);
+      assertEquals(1, slow.length);
+      assertThrows(IllegalStateException.class, () -> recorder.registerMBean("other"));
+      assertThrows(
+          IllegalStateException.class,
+          () -> CallRecorder.builder().build().registerMBean("test, with \"quotes\""));
+    } finally {
+      recorder.unregisterMBean();
+    }
+    recorder.unregisterMBean();
+    assertTrue(ManagementFactory.getPlatformMBeanServer().queryNames(name, null).isEmpty());
+  }
+
+  @Test
+  void testBuilderValidation() {
+    CallRecorder.Builder builder = CallRecorder.builder();
+    assertThrows(IllegalArgumentException.class, () -> builder.capacity(0));
+    assertThrows(IllegalArgumentException.class, () -> builder.slowCallCapacity(0));
+    assertThrows(
+        IllegalArgumentException.class, () -> builder.slowCallThreshold(Duration.ofMillis(-1)));
+    assertThrows(IllegalArgumentException.class, () -> builder.slowCallSampleRate(1.5));
+    assertThrows(IllegalArgumentException.class, () -> builder.slowCallSampleRate(Double.NaN));
+    CallRecorder recorder = builder.slowCallThreshold(null).build();
+    assertEquals(256, recorder.getCapacity());
+    assertEquals(0, recorder.dumpRecentCalls().length);
+    assertEquals(0, recorder.dumpSlowCalls().length);
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.cloud.mcp.testing.FakeMcpServer;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class ClientMetricsTest {
+
+  private static final ToolDefinition ECHO =
+      new ToolDefinition(
+          "Echoes",
+          List.of(
+              new ToolDefinition.Parameter("text", "string", true, "Text", List.of()),
+              new ToolDefinition.Parameter("user", "string", false, "User", List.of("google"))),
+          List.of());
+
+  private static FakeToolbox.Builder toolbox() {
+    return FakeToolbox.builder()
+        .tool("echo", ECHO, args -> args.get("text"))
+        .tool(
+            "fail",
+            new ToolDefinition("Fails", List.of(), List.of()),
+            args -> {
+              throw new IllegalStateException("failed");
+            });
+  }
+
+  @Test
+  void testHistogram_BucketsCoverEveryValue() {
+    for (int i = 0; i < 10_000; i++) {
+      long value =
+          (ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE)
+              >>> ThreadLocalRandom.current().nextInt(63);
+      int bucket = LogBucketHistogram.bucket(value);
+      assertTrue(value <= LogBucketHistogram.upperBound(bucket), "value " + value);
+      assertTrue(
+          bucket == 0 || value > LogBucketHistogram.upperBound(bucket - 1), "value " + value);
+      assertTrue(LogBucketHistogram.upperBound(bucket) - value <= value / 8, "value " + value);
+    }
+    assertEquals(
+        Long.MAX_VALUE, LogBucketHistogram.upperBound(LogBucketHistogram.bucket(Long.MAX_VALUE)));
+  }
+
+  @Test
+  void testHistogram_Percentiles() {
+    LogBucketHistogram histogram = new LogBucketHistogram();
+    assertEquals(0, histogram.valueAtPercentile(99));
+    assertEquals(0, histogram.mean());
+
+    for (long value = 1; value <= 1000; value++) {
+      histogram.record(value * 1000);
+    }
+    histogram.record(-5);
+
+    assertEquals(1001, histogram.count());
+    assertEquals(500_500_000L, histogram.sum());
+    assertEquals(1_000_000L, histogram.max());
+    assertEquals(500_500_000.0 / 1001, histogram.mean(), 0.001);
+    assertEquals(0, histogram.valueAtPercentile(0));
+    long median = histogram.valueAtPercentile(50);
+    assertTrue(median >= 500_000 && median <= 500_000 * 1.125, "median " + median);
+    assertEquals(1_000_000L, histogram.valueAtPercentile(100));
+    assertThrows(IllegalArgumentException.class, () -> histogram.valueAtPercentile(101));
+    assertThrows(IllegalArgumentException.class, () -> histogram.valueAtPercentile(Double.NaN));
+  }
+
+  @Test
+  void testClientRecordsInvocationsAndAuth() throws Exception {
+    InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+    McpToolboxClient client =
+        McpToolboxClient.builder()
+            .transport(toolbox().build().transport())
+            .metrics(metrics)
+            .build();
+
+    client.invokeTool("echo", Map.of("text", "hi")).get();
+    client.invokeTool("fail", Map.of()).get();
+    Tool tool = client.loadTool("echo").get();
+    tool.addAuthTokenGetter("google", () -> CompletableFuture.completedFuture("token"));
+    tool.execute(Map.of("text", "hi")).get();
+    tool.addAuthTokenGetter(
+        "other", () -> CompletableFuture.failedFuture(new IllegalStateException("no token")));
+    assertThrows(ExecutionException.class, () -> tool.execute(Map.of("text", "hi")).get());
+
+    InMemoryClientMetrics.ToolMetrics echo = metrics.tools().get("echo");
+    assertEquals(2, echo.invocations());
+    assertEquals(0, echo.errors());
+    assertEquals(0, echo.inFlight());
+    assertEquals(2, echo.latency().count());
+    assertEquals(2, echo.authLatency().count());
+    assertEquals(1, echo.authFailures());
+    InMemoryClientMetrics.ToolMetrics fail = metrics.tools().get("fail");
+    assertEquals(1, fail.errors());
+    assertEquals(0, fail.authLatency().count());
+    assertTrue(metrics.requests().isEmpty());
+    assertThrows(UnsupportedOperationException.class, () -> metrics.tools().clear());
+  }
+
+  @Test
+  void testHttpTransportRecordsRequests() throws Exception {
+    InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+    try (FakeMcpServer server = toolbox().build().startServer()) {
+      McpToolboxClient client =
+          McpToolboxClient.builder()
+              .baseUrl(server.url())
+              .transportOptions(HttpTransportOptions.builder().sessionPoolSize(2).build())
+              .metrics(metrics)
+              .build();
+
+      client.listTools().get();
+      client.invokeTool("echo", Map.of("text", "over http")).get();
+    }
+
+    InMemoryClientMetrics.RequestMetrics call = metrics.requests().get("tools/call");
+    assertEquals(1, call.requests());
+    assertEquals(0, call.failures());
+    assertEquals(1, call.latency().count());
+    assertTrue(call.requestBytes().max() > "over http".length());
+    assertTrue(call.responseChars().max() > "over http".length());
+    assertEquals(1, metrics.requests().get("tools/list").requests());
+    assertTrue(metrics.requests().get("initialize").requests() >= 1);
+    assertEquals(1, metrics.tools().get("echo").invocations());
+  }
+
+  @Test
+  void testHttpTransportRecordsFailures() throws Exception {
+    InMemoryClientMetrics transportMetrics = new InMemoryClientMetrics();
+    InMemoryClientMetrics clientMetrics = new InMemoryClientMetrics();
+    try (FakeMcpServer server = toolbox().errorRate(1).build().startServer()) {
+      McpToolboxClient client =
+          McpToolboxClient.builder()
+              .baseUrl(server.url())
+              .transportOptions(HttpTransportOptions.builder().metrics(transportMetrics).build())
+              .metrics(clientMetrics)
+              .build();
+
+      assertTrue(client.invokeTool("echo", Map.of("text", "hi")).get().isError());
+    }
+    assertEquals(1, transportMetrics.requests().get("tools/call").failures());
+    assertTrue(clientMetrics.requests().isEmpty());
+    assertEquals(1, clientMetrics.tools().get("echo").errors());
+
+    InMemoryClientMetrics refusedMetrics = new InMemoryClientMetrics();
+    int closedPort;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      closedPort = socket.getLocalPort();
+    }
+    HttpMcpTransport transport =
+        new HttpMcpTransport(
+            "http://127.0.0.1:" + closedPort + "/mcp",
+            Map.of(),
+            null,
+            null,
+            null,
+            null,
+            HttpTransportOptions.builder().maxInitAttempts(1).metrics(refusedMetrics).build());
+    assertThrows(ExecutionException.class, () -> transport.listTools("", Map.of()).get());
+    transport.close();
+    InMemoryClientMetrics.RequestMetrics initialize = refusedMetrics.requests().get("initialize");
+    assertEquals(1, initialize.requests());
+    assertEquals(1, initialize.failures());
+    assertNull(refusedMetrics.requests().get("tools/list"));
+  }
+
+  @Test
+  void testDefaults() {
+    assertSame(ClientMetrics.NOOP, HttpTransportOptions.defaults().metrics());
+    assertSame(ClientMetrics.NOOP, HttpTransportOptions.builder().metrics(null).build().metrics());
+    ClientMetrics.NOOP.invocationStarted("tool");
+    ClientMetrics.NOOP.invocationCompleted("tool", 1, false);
+    ClientMetrics.NOOP.authResolved("tool", 1, false);
+    ClientMetrics.NOOP.requestCompleted("ping", 200, 1, 1, 1);
+    McpToolboxClientImpl client =
+        (McpToolboxClientImpl)
+            McpToolboxClient.builder().baseUrl("http://localhost").metrics(null).build();
+    assertSame(ClientMetrics.NOOP, client.metrics());
+  }
+}
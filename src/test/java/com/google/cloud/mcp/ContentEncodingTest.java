@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.zip.Deflater;
+import java.util.zip.ZipException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class ContentEncodingTest {
+
+  private static final String PAYLOAD =
+      "{\"jsonrpc\":\"2.0\",\"result\":{\"tools\":[" + "{\"name\":\"tool\"},".repeat(500) + "]}}";
+
+  @Test
+  void testGzip_DecodesWhenSplitIntoSingleBytes() throws Exception {
+    byte[] compressed = ContentEncoding.gzip(PAYLOAD.getBytes(StandardCharsets.UTF_8));
+    assertTrue(compressed.length < PAYLOAD.length());
+
+    assertEquals(PAYLOAD, decode(true, compressed, 1));
+    assertEquals(PAYLOAD, decode(true, compressed, compressed.length));
+  }
+
+  @Test
+  void testDeflate_DecodesZlibWrappedAndRawStreams() throws Exception {
+    assertEquals(PAYLOAD, decode(false, deflate(false), 7));
+    assertEquals(PAYLOAD, decode(false, deflate(true), 7));
+  }
+
+  @Test
+  void testGzip_RejectsCorruptTrailer() {
+    byte[] compressed = ContentEncoding.gzip(PAYLOAD.getBytes(StandardCharsets.UTF_8));
+    compressed[compressed.length - 5] ^= 1;
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> decode(true, compressed, 64));
+    assertTrue(e.getCause() instanceof ZipException);
+  }
+
+  @Test
+  void testGzip_RejectsTruncatedBody() {
+    byte[] compressed = ContentEncoding.gzip(PAYLOAD.getBytes(StandardCharsets.UTF_8));
+    byte[] truncated = java.util.Arrays.copyOf(compressed, compressed.length / 2);
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> decode(true, truncated, 64));
+    assertTrue(e.getCause() instanceof ZipException);
+  }
+
+  @Test
+  void testEmptyCompressedBodyDecodesToEmptyString() throws Exception {
+    assertEquals("", decode(true, new byte[0], 1));
+    assertEquals("", decode(false, new byte[0], 1));
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> decode(true, new byte[] {0x1f}, 1));
+    assertTrue(e.getCause() instanceof ZipException);
+  }
+
+  @Test
+  void testGzip_SkipsOptionalHeaderFields() throws Exception {
+    byte[] compressed = ContentEncoding.gzip(PAYLOAD.getBytes(StandardCharsets.UTF_8));
+    ByteArrayOutputStream withFields = new ByteArrayOutputStream();
+    withFields.write(compressed, 0, 3);
+    // FHCRC | FEXTRA | FNAME | FCOMMENT
+    withFields.write(2 | 4 | 8 | 16);
+    withFields.write(compressed, 4, 6);
+    withFields.write(new byte[] {3, 0, 'a', 'b', 'c'});
+    withFields.write(new byte[] {'n', 'a', 'm', 'e', 0});
+    withFields.write(new byte[] {'c', 0});
+    withFields.write(new byte[] {0, 0});
+    withFields.write(compressed, 10, compressed.length - 10);
+    byte[] data = withFields.toByteArray();
+
+    assertEquals(PAYLOAD, decode(true, data, 1));
+    assertEquals(PAYLOAD, decode(true, data, 3));
+  }
+
+  @Test
+  void testGzip_RejectsNonGzipBody() {
+    byte[] plain = PAYLOAD.getBytes(StandardCharsets.UTF_8);
+
+    ExecutionException e = assertThrows(ExecutionException.class, () -> decode(true, plain, 64));
+    assertTrue(e.getCause() instanceof ZipException);
+  }
+
+  @Test
+  void testDeflate_RejectsPresetDictionary() {
+    Deflater deflater = new Deflater();
+    deflater.setDictionary("tool".getBytes(StandardCharsets.UTF_8));
+    deflater.setInput(PAYLOAD.getBytes(StandardCharsets.UTF_8));
+    deflater.finish();
+    byte[] buffer = new byte[PAYLOAD.length()];
+    int length = deflater.deflate(buffer);
+    deflater.end();
+    byte[] data = java.util.Arrays.copyOf(buffer, length);
+
+    ExecutionException e = assertThrows(ExecutionException.class, () -> decode(false, data, 64));
+    assertTrue(e.getCause() instanceof ZipException);
+  }
+
+  @Test
+  void testInflatingSubscriber_PropagatesUpstreamError() {
+    ContentEncoding.InflatingSubscriber subscriber =
+        new ContentEncoding.InflatingSubscriber(true, StandardCharsets.UTF_8);
+    subscriber.onError(new java.io.IOException("reset"));
+
+    ExecutionException e =
+        assertThrows(
+            ExecutionException.class, () -> subscriber.getBody().toCompletableFuture().get());
+    assertEquals("reset", e.getCause().getMessage());
+  }
+
+  @Test
+  void testDecodingBodyHandler_SelectsSubscriberByContentEncoding() throws Exception {
+    assertTrue(
+        bodySubscriber("gzip", "application/json") instanceof ContentEncoding.InflatingSubscriber);
+    assertTrue(
+        bodySubscriber("deflate", "application/json")
+            instanceof ContentEncoding.InflatingSubscriber);
+
+    java.net.http.HttpResponse.BodySubscriber<String> identity =
+        bodySubscriber(null, "application/json; charset=ISO-8859-1");
+    identity.onSubscribe(
+        new Flow.Subscription() {
+          @Override
+          public void request(long n) {}
+
+          @Override
+          public void cancel() {}
+        });
+    identity.onNext(List.of(ByteBuffer.wrap(new byte[] {(byte) 0xe9})));
+    identity.onComplete();
+    assertEquals("\u00e9", identity.getBody().toCompletableFuture().get());
+
+    assertTrue(bodySubscriber(null, "text/plain; charset=bogus-charset") != null);
+  }
+
+  private static java.net.http.HttpResponse.BodySubscriber<String> bodySubscriber(
+      String contentEncoding, String contentType) {
+    java.util.Map<String, List<String>> headers = new java.util.HashMap<>();
+    headers.put("Content-Type", List.of(contentType));
+    if (contentEncoding != null) {
+      headers.put("Content-Encoding", List.of(contentEncoding));
+    }
+    java.net.http.HttpHeaders httpHeaders = java.net.http.HttpHeaders.of(headers, (k, v) -> true);
+    return ContentEncoding.decodingBodyHandler()
+        .apply(
+            new java.net.http.HttpResponse.ResponseInfo() {
+              @Override
+              public int statusCode() {
+                return 200;
+              }
+
+              @Override
+              public java.net.http.HttpHeaders headers() {
+                return httpHeaders;
+              }
+
+              @Override
+              public java.net.http.HttpClient.Version version() {
+                return java.net.http.HttpClient.Version.HTTP_1_1;
+              }
+            });
+  }
+
+  private static String decode(boolean gzip, byte[] data, int chunkSize) throws Exception {
+    ContentEncoding.InflatingSubscriber subscriber =
+        new ContentEncoding.InflatingSubscriber(gzip, StandardCharsets.UTF_8);
+    subscriber.onSubscribe(
+        new Flow.Subscription() {
+          @Override
+          public void request(long n) {}
+
+          @Override
+          public void cancel() {}
+        });
+    for (int i = 0; i < data.length; i += chunkSize) {
+      int end = Math.min(data.length, i + chunkSize);
+      subscriber.onNext(List.of(ByteBuffer.wrap(data, i, end - i)));
+    }
+    subscriber.onComplete();
+    return subscriber.getBody().toCompletableFuture().get();
+  }
+
+  private static byte[] deflate(boolean raw) {
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+    deflater.setInput(PAYLOAD.getBytes(StandardCharsets.UTF_8));
+    deflater.finish();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[1024];
+    while (!deflater.finished()) {
+      out.write(buffer, 0, deflater.deflate(buffer));
+    }
+    deflater.end();
+    return out.toByteArray();
+  }
+}
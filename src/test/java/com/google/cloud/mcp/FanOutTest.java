@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class FanOutTest {
+
+  private McpToolboxClient client;
+  private final Map<String, CompletableFuture<ToolResult>> pending = new ConcurrentHashMap<>();
+  private final List<String> sent = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    client = mock(McpToolboxClient.class);
+    when(client.invokeTool(anyString(), anyMap(), anyMap()))
+        .thenAnswer(
+            inv -> {
+              String name = inv.getArgument(0);
+              sent.add(name);
+              return pending.computeIfAbsent(name, n -> new CompletableFuture<>());
+            });
+  }
+
+  private static ToolResult text(String text) {
+    return new ToolResult(List.of(new ToolResult.Content("text", text)), false);
+  }
+
+  private static List<ToolCall> calls(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> new ToolCall("t" + i, Map.of("i", i)))
+        .collect(Collectors.toList());
+  }
+
+  private CompletableFuture<ToolResult> call(String name) {
+    return pending.computeIfAbsent(name, n -> new CompletableFuture<>());
+  }
+
+  @Test
+  void testResultsInCallOrderAndCompletionOrder() throws Exception {
+    FanOut fanOut = FanOut.start(client, calls(3), null);
+    assertEquals(List.of("t0", "t1", "t2"), sent);
+
+    call("t2").complete(text("two"));
+    call("t0").complete(text("zero"));
+    assertFalse(fanOut.results().isDone());
+    call("t1").complete(text("one"));
+
+    assertEquals(
+        List.of("zero", "one", "two"),
+        fanOut.results().get().stream()
+            .map(o -> o.result().content().get(0).text())
+            .collect(Collectors.toList()));
+    assertEquals(
+        List.of(2, 0, 1),
+        fanOut.completionOrder().stream().map(f -> f.join().index()).collect(Collectors.toList()));
+    ToolCallOutcome first = fanOut.completionOrder().get(0).join();
+    assertTrue(first.isSuccess());
+    assertEquals("t2", first.call().toolName());
+    assertNull(first.error());
+  }
+
+  @Test
+  void testConcurrencyCap() throws Exception {
+    FanOut fanOut =
+        FanOut.start(client, calls(5), FanOutOptions.builder().maxConcurrency(2).build());
+    assertEquals(List.of("t0", "t1"), sent);
+    call("t1").complete(text("1"));
+    assertEquals(List.of("t0", "t1", "t2"), sent);
+    call("t0").complete(text("0"));
+    call("t2").complete(text("2"));
+    assertEquals(List.of("t0", "t1", "t2", "t3", "t4"), sent);
+    call("t3").complete(text("3"));
+    call("t4").complete(text("4"));
+    assertEquals(5, fanOut.results().get().size());
+  }
+
+  @Test
+  void testCallTimeout() throws Exception {
+    FanOut fanOut =
+        FanOut.start(
+            client,
+            calls(2),
+            FanOutOptions.builder().callTimeout(Duration.ofMillis(50)).maxConcurrency(1).build());
+    call("t0").complete(text("fast"));
+
+    List<ToolCallOutcome> outcomes = fanOut.results().get();
+    assertTrue(outcomes.get(0).isSuccess());
+    assertInstanceOf(TimeoutException.class, outcomes.get(1).error());
+    assertNull(outcomes.get(1).result());
+    assertTrue(call("t1").isCancelled());
+  }
+
+  @Test
+  void testCollectAllKeepsFailures() throws Exception {
+    FanOut fanOut = FanOut.start(client, calls(3), null);
+    IllegalStateException failure = new IllegalStateException("down");
+    call("t1").completeExceptionally(failure);
+    call("t0").complete(text("0"));
+    call("t2").complete(text("2"));
+
+    List<ToolCallOutcome> outcomes = fanOut.results().get();
+    assertSame(failure, outcomes.get(1).error());
+    assertFalse(outcomes.get(1).isSuccess());
+    assertTrue(outcomes.get(0).isSuccess() && outcomes.get(2).isSuccess());
+  }
+
+  @Test
+  void testFailFastSkipsAndCancels() throws Exception {
+    FanOut fanOut =
+        FanOut.start(
+            client, calls(4), FanOutOptions.builder().maxConcurrency(2).failFast(true).build());
+    IllegalStateException failure = new IllegalStateException("down");
+    call("t0").completeExceptionally(new java.util.concurrent.CompletionException(failure));
+
+    ExecutionException e = assertThrows(ExecutionException.class, () -> fanOut.results().get());
+    assertSame(failure, e.getCause());
+    assertEquals(List.of("t0", "t1"), sent);
+    assertTrue(call("t1").isCancelled());
+
+    List<ToolCallOutcome> outcomes =
+        fanOut.completionOrder().stream().map(CompletableFuture::join).collect(Collectors.toList());
+    assertEquals(4, outcomes.size());
+    assertSame(failure, outcomes.get(0).error());
+    for (ToolCallOutcome outcome : outcomes.subList(1, 4)) {
+      assertInstanceOf(CancellationException.class, outcome.error());
+    }
+    ToolCallOutcome skipped =
+        outcomes.stream().filter(o -> o.index() == 3).findFirst().orElseThrow();
+    assertSame(failure, skipped.error().getCause());
+  }
+
+  @Test
+  void testCancel() {
+    FanOut fanOut =
+        FanOut.start(client, calls(3), FanOutOptions.builder().maxConcurrency(1).build());
+    fanOut.cancel();
+    fanOut.cancel();
+
+    assertTrue(fanOut.results().isCompletedExceptionally());
+    assertTrue(call("t0").isCancelled());
+    assertEquals(List.of("t0"), sent);
+    for (CompletableFuture<ToolCallOutcome> outcome : fanOut.completionOrder()) {
+      assertEquals("Fan-out cancelled", outcome.join().error().getMessage());
+    }
+  }
+
+  @Test
+  void testSynchronousCallsDoNotRecurse() throws Exception {
+    McpToolboxClient immediate = mock(McpToolboxClient.class);
+    when(immediate.invokeTool(anyString(), anyMap(), anyMap()))
+        .thenReturn(CompletableFuture.completedFuture(text("ok")))
+        .thenThrow(new IllegalArgumentException("bad"))
+        .thenReturn(CompletableFuture.completedFuture(text("ok")));
+    List<ToolCallOutcome> outcomes =
+        FanOut.start(immediate, calls(20_000), FanOutOptions.builder().maxConcurrency(1).build())
+            .results()
+            .get();
+    assertEquals(20_000, outcomes.size());
+    assertInstanceOf(IllegalArgumentException.class, outcomes.get(1).error());
+    assertTrue(outcomes.get(19_999).isSuccess());
+  }
+
+  @Test
+  void testInvokeAllThroughClient() throws Exception {
+    ToolDefinition echo =
+        new ToolDefinition(
+            "Echoes",
+            List.of(new ToolDefinition.Parameter("text", "string", true, "Text", List.of())),
+            List.of());
+    McpToolboxClient real =
+        McpToolboxClient.builder()
+            .transport(
+                FakeToolbox.builder()
+                    .tool("echo", echo, args -> args.get("text"))
+                    .build()
+                    .transport())
+            .build();
+    List<ToolCall> calls = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      calls.add(new ToolCall("echo", Map.of("text", "m" + i), null));
+    }
+    List<ToolCallOutcome> outcomes = real.invokeAll(calls).results().get();
+    for (int i = 0; i < 10; i++) {
+      assertEquals("m" + i, outcomes.get(i).result().content().get(0).text());
+    }
+    assertTrue(real.invokeAll(List.of()).results().get().isEmpty());
+  }
+
+  @Test
+  void testValidation() {
+    assertThrows(IllegalArgumentException.class, () -> FanOut.start(client, null, null));
+    assertThrows(IllegalArgumentException.class, () -> new ToolCall(null, Map.of()));
+    assertThrows(IllegalArgumentException.class, () -> new ToolCall("", Map.of()));
+    ToolCall call = new ToolCall("t", null, null);
+    assertEquals(Map.of(), call.arguments());
+    assertEquals(Map.of(), call.extraHeaders());
+    assertThrows(IllegalArgumentException.class, () -> FanOutOptions.builder().maxConcurrency(0));
+    assertThrows(
+        IllegalArgumentException.class, () -> FanOutOptions.builder().callTimeout(Duration.ZERO));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> FanOutOptions.builder().callTimeout(Duration.ofMillis(-1)));
+    FanOutOptions defaults = FanOutOptions.defaults();
+    assertEquals(8, defaults.maxConcurrency());
+    assertNull(defaults.callTimeout());
+    assertFalse(defaults.failFast());
+    assertNull(FanOutOptions.builder().callTimeout(null).build().callTimeout());
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.cloud.mcp.testing.FakeMcpServer;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import com.google.cloud.mcp.testing.FakeUnixSocketServer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+@Timeout(value = 10, unit = java.util.concurrent.TimeUnit.SECONDS)
+class FlightRecorderEventsTest {
+
+  private static final String PREFIX = "com.google.cloud.mcp.";
+
+  private static final ToolDefinition ECHO =
+      new ToolDefinition(
+          "Echoes",
+          List.of(new ToolDefinition.Parameter("text", "string", true, "Text", List.of())),
+          List.of());
+
+  private static FakeToolbox toolbox() {
+    return FakeToolbox.builder()
+        .tool("echo", ECHO, args -> args.get("text"))
+        .tool(
+            "fail",
+            new ToolDefinition("Fails", List.of(), List.of()),
+            args -> {
+              throw new IllegalStateException("failed");
+            })
+        .build();
+  }
+
+  private static Recording start() {
+    Recording recording = new Recording();
+    for (String event :
+        List.of(
+            "ToolInvocation",
+            "HttpRequest",
+            "ManifestFetch",
+            "ManifestCacheAccess",
+            "SessionInitialization",
+            "CredentialRefresh")) {
+      recording.enable(PREFIX + event).withoutThreshold();
+    }
+    recording.start();
+    return recording;
+  }
+
+  private static Map<String, List<RecordedEvent>> stop(Recording recording, Path dir)
+      throws Exception {
+    recording.stop();
+    Path file = dir.resolve("events.jfr");
+    recording.dump(file);
+    recording.close();
+    return RecordingFile.readAllEvents(file).stream()
+        .filter(e -> e.getEventType().getName().startsWith(PREFIX))
+        .collect(Collectors.groupingBy(e -> e.getEventType().getName().substring(PREFIX.length())));
+  }
+
+  @Test
+  void testHttpClientEmitsEvents(@TempDir Path dir) throws Exception {
+    Map<String, List<RecordedEvent>> events;
+    String url;
+    try (FakeMcpServer server = toolbox().startServer()) {
+      url = server.url();
+      Recording recording = start();
+      McpToolboxClient client =
+          McpToolboxClient.builder()
+              .baseUrl(server.url())
+              .manifestCacheTtl(java.time.Duration.ofMinutes(1))
+              .build();
+      client.listTools().get();
+      client.listTools().get();
+      client.invokeTool("echo", Map.of("text", "hello")).get();
+      client.invokeTool("fail", Map.of()).get();
+      client.warmUp(1).get();
+      events = stop(recording, dir);
+    }
+
+    List<RecordedEvent> invocations = events.get("ToolInvocation");
+    assertEquals(2, invocations.size());
+    RecordedEvent echo = find(invocations, "toolName", "echo");
+    assertEquals("success", echo.getString("status"));
+    assertEquals(200, echo.getInt("statusCode"));
+    assertTrue(echo.getLong("responseLength") > "hello".length());
+    assertTrue(echo.getString("url").startsWith("http://"));
+    assertFalse(echo.getDuration().isNegative());
+    assertEquals("error", find(invocations, "toolName", "fail").getString("status"));
+
+    RecordedEvent call = find(events.get("HttpRequest"), "method", "tools/call");
+    assertEquals(200, call.getInt("statusCode"));
+    assertTrue(call.getLong("requestSize") > 0);
+
+    List<RecordedEvent> cache = events.get("ManifestCacheAccess");
+    assertEquals(List.of(false, true), cache.stream().map(e -> e.getBoolean("hit")).toList());
+    assertEquals(2, events.get("ManifestFetch").size());
+    RecordedEvent fetch = events.get("ManifestFetch").get(0);
+    assertTrue(fetch.getBoolean("success"));
+    assertEquals(2, fetch.getInt("toolCount"));
+    RecordedEvent init = events.get("SessionInitialization").get(0);
+    assertTrue(init.getBoolean("success"));
+    assertEquals(url, init.getString("url"));
+    assertTrue(init.getString("protocolVersion").startsWith("20"));
+  }
+
+  @Test
+  void testFailuresAreRecorded(@TempDir Path dir) throws Exception {
+    Recording recording = start();
+    McpToolboxClient client =
+        McpToolboxClient.builder()
+            .baseUrl("http://127.0.0.1:1/mcp")
+            .transportOptions(HttpTransportOptions.builder().maxInitAttempts(1).build())
+            .build();
+    assertTrue(client.invokeTool("echo", Map.of()).handle((r, e) -> e != null).get());
+    assertTrue(client.listTools().handle((r, e) -> e != null).get());
+    GoogleCredentialsProvider provider = new GoogleCredentialsProvider("aud", () -> null);
+    assertNull(provider.getAuthorizationHeader().get());
+    Map<String, List<RecordedEvent>> events = stop(recording, dir);
+
+    assertEquals("failed", events.get("ToolInvocation").get(0).getString("status"));
+    assertEquals(-1, events.get("ToolInvocation").get(0).getInt("statusCode"));
+    assertEquals(-1, events.get("HttpRequest").get(0).getInt("statusCode"));
+    assertFalse(events.get("ManifestFetch").get(0).getBoolean("success"));
+    RecordedEvent init = events.get("SessionInitialization").get(0);
+    assertFalse(init.getBoolean("success"));
+    assertNull(init.getString("protocolVersion"));
+    RecordedEvent refresh = events.get("CredentialRefresh").get(0);
+    assertEquals("aud", refresh.getString("audience"));
+    assertFalse(refresh.getBoolean("success"));
+  }
+
+  @Test
+  void testStreamTransportRecordsHandshake(@TempDir Path dir) throws Exception {
+    Map<String, List<RecordedEvent>> events;
+    try (FakeUnixSocketServer server = toolbox().startUnixSocketServer(dir.resolve("mcp.sock"))) {
+      Recording recording = start();
+      UnixSocketMcpTransport transport = new UnixSocketMcpTransport(server.path());
+      McpToolboxClient client = McpToolboxClient.builder().transport(transport).build();
+      client.invokeTool("echo", Map.of("text", "hi")).get();
+      transport.close();
+      events = stop(recording, dir);
+    }
+
+    RecordedEvent init = events.get("SessionInitialization").get(0);
+    assertTrue(init.getBoolean("success"));
+    assertTrue(init.getString("url").startsWith("unix:"));
+    assertEquals(200, events.get("ToolInvocation").get(0).getInt("statusCode"));
+  }
+
+  private static RecordedEvent find(List<RecordedEvent> events, String field, String value) {
+    return events.stream().filter(e -> value.equals(e.getString(field))).findFirst().get();
+  }
+}
@@ -253,23 +253,9 @@ class HttpMcpTransportTest {
             null,
             customExecutor);
 
-    java.lang.reflect.Field httpClientField = HttpMcpTransport.class.getDeclaredField("httpClient");
-    httpClientField.setAccessible(true);
-    java.net.http.HttpClient httpClient = (java.net.http.HttpClient) httpClientField.get(transport);
+    java.net.http.HttpClient httpClient = ((JdkHttpEngine) transport.engine()).httpClient();
 
-    assertNotNull(httpClient);
-    Object internalExecutor = null;
-    try {
-      java.lang.reflect.Field executorField = httpClient.getClass().getDeclaredField("executor");
-      executorField.setAccessible(true);
-      internalExecutor = executorField.get(httpClient);
-    } catch (NoSuchFieldException e) {
-      // Fallback
-    }
-
-    if (internalExecutor != null) {
-      org.junit.jupiter.api.Assertions.assertSame(customExecutor, internalExecutor);
-    }
+    assertEquals(java.util.Optional.of(customExecutor), httpClient.executor());
   }
 
   @Test
@@ -466,4 +452,656 @@ class HttpMcpTransportTest {
     assertFalse(p2.required());
     assertEquals("string", p2.type());
   }
+
+  @SuppressWarnings("unchecked")
+  private static HttpResponse<String> mockResponse(
+      int statusCode, String body, Map<String, List<String>> headers) {
+    HttpResponse<String> response = mock(HttpResponse.class);
+    when(response.statusCode()).thenReturn(statusCode);
+    when(response.body()).thenReturn(body);
+    when(response.headers()).thenReturn(java.net.http.HttpHeaders.of(headers, (k, v) -> true));
+    return response;
+  }
+
+  private static HttpResponse<String> mockResponse(int statusCode, String body) {
+    return mockResponse(statusCode, body, Map.of());
+  }
+
+  @SafeVarargs
+  @SuppressWarnings("unchecked")
+  private void stubSendAsync(HttpResponse<String>... responses) {
+    org.mockito.stubbing.OngoingStubbing<CompletableFuture<HttpResponse<String>>> stubbing =
+        when(
+            mockClient.<String>sendAsync(
+                any(HttpRequest.class), any(HttpResponse.BodyHandler.class)));
+    for (HttpResponse<String> response : responses) {
+      stubbing = stubbing.thenReturn(CompletableFuture.completedFuture(response));
+    }
+  }
+
+  private static HttpMcpTransport transportWithOptions(
+      HttpClient client, ProtocolVersion version, HttpTransportOptions options) {
+    return new HttpMcpTransport(
+        "https://test-mcp-service.com", Map.of(), null, version, client, null, options);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testInitialize_TransientFailureIsRetriedWithBackoff() throws Exception {
+    HttpMcpTransport retrying =
+        transportWithOptions(
+            mockClient,
+            null,
+            HttpTransportOptions.builder()
+                .maxInitAttempts(2)
+                .initRetryBackoff(java.time.Duration.ZERO)
+                .build());
+
+    stubSendAsync(
+        mockResponse(503, "Unavailable"),
+        mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}"),
+        mockResponse(200, ""),
+        mockResponse(200, "{\"result\":{\"tools\":[]}}"));
+
+    TransportManifest manifest = retrying.listTools("", Collections.emptyMap()).get();
+
+    assertTrue(manifest.getTools().isEmpty());
+    verify(mockClient, times(4))
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testInitialize_FailureIsNotCachedForLaterCalls() throws Exception {
+    stubSendAsync(
+        mockResponse(401, "Unauthorized"),
+        mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}"),
+        mockResponse(200, ""),
+        mockResponse(200, "{\"result\":{\"tools\":[]}}"));
+
+    java.util.concurrent.ExecutionException ex =
+        org.junit.jupiter.api.Assertions.assertThrows(
+            java.util.concurrent.ExecutionException.class,
+            () -> transport.listTools("", Collections.emptyMap()).get());
+    assertTrue(ex.getCause().getMessage().contains("Init failed: 401"));
+
+    assertNotNull(transport.listTools("", Collections.emptyMap()).get());
+    verify(mockClient, times(4))
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testInvokeTool_ExpiredSessionIsReinitializedOnce() throws Exception {
+    HttpMcpTransport stateful =
+        transportWithOptions(mockClient, ProtocolVersion.VERSION_2025_03_26, null);
+    String initBody = "{\"result\":{\"protocolVersion\":\"2025-03-26\"}}";
+
+    stubSendAsync(
+        mockResponse(200, initBody, Map.of("Mcp-Session-Id", List.of("session-1"))),
+        mockResponse(200, ""),
+        mockResponse(404, "Session not found"),
+        mockResponse(200, initBody, Map.of("Mcp-Session-Id", List.of("session-2"))),
+        mockResponse(200, ""),
+        mockResponse(200, "{\"result\":{}}"));
+
+    TransportResponse response =
+        stateful.invokeTool("test-tool", Map.of(), Collections.emptyMap()).get();
+
+    assertEquals(200, response.getStatusCode());
+    org.mockito.ArgumentCaptor<HttpRequest> captor =
+        org.mockito.ArgumentCaptor.forClass(HttpRequest.class);
+    verify(mockClient, times(6)).sendAsync(captor.capture(), any());
+    List<HttpRequest> requests = captor.getAllValues();
+    assertEquals("session-1", requests.get(2).headers().firstValue("Mcp-Session-Id").orElse(null));
+    assertFalse(requests.get(3).headers().firstValue("Mcp-Session-Id").isPresent());
+    assertEquals("session-2", requests.get(5).headers().firstValue("Mcp-Session-Id").orElse(null));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testInvokeTool_ExpiredSessionRetryKeepsPrefetchedCredentials() throws Exception {
+    java.util.concurrent.atomic.AtomicInteger fetches =
+        new java.util.concurrent.atomic.AtomicInteger();
+    CredentialsProvider provider =
+        () -> CompletableFuture.completedFuture("Bearer " + fetches.incrementAndGet());
+    HttpMcpTransport stateful =
+        new HttpMcpTransport(
+            "https://test-mcp-service.com",
+            Map.of(),
+            provider,
+            ProtocolVersion.VERSION_2025_03_26,
+            mockClient,
+            null,
+            null);
+    String initBody = "{\"result\":{\"protocolVersion\":\"2025-03-26\"}}";
+    stubSendAsync(
+        mockResponse(200, initBody, Map.of("Mcp-Session-Id", List.of("session-1"))),
+        mockResponse(200, ""),
+        mockResponse(404, "Session not found"),
+        mockResponse(200, initBody, Map.of("Mcp-Session-Id", List.of("session-2"))),
+        mockResponse(200, ""),
+        mockResponse(200, "{\"result\":{}}"));
+
+    HttpMcpTransport.Prefetch prefetch =
+        stateful.prefetch(CompletableFuture.completedFuture(Map.of()));
+    TransportResponse response =
+        stateful.invokeTool("test-tool", Map.of(), Map.of(), null, prefetch).get();
+
+    assertEquals(200, response.getStatusCode());
+    org.mockito.ArgumentCaptor<HttpRequest> captor =
+        org.mockito.ArgumentCaptor.forClass(HttpRequest.class);
+    verify(mockClient, times(6)).sendAsync(captor.capture(), any());
+    List<HttpRequest> requests = captor.getAllValues();
+    assertEquals("Bearer 1", requests.get(2).headers().firstValue("Authorization").orElse(null));
+    assertEquals("Bearer 1", requests.get(5).headers().firstValue("Authorization").orElse(null));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testListTools_UnknownToolsetKeepsSession() throws Exception {
+    HttpMcpTransport stateful =
+        transportWithOptions(mockClient, ProtocolVersion.VERSION_2025_03_26, null);
+    String initBody = "{\"result\":{\"protocolVersion\":\"2025-03-26\"}}";
+
+    stubSendAsync(
+        mockResponse(200, initBody, Map.of("Mcp-Session-Id", List.of("session-1"))),
+        mockResponse(200, ""),
+        mockResponse(404, "Toolset missing-toolset not found"),
+        mockResponse(200, "{\"result\":{\"tools\":[]}}"));
+
+    java.util.concurrent.ExecutionException ex =
+        org.junit.jupiter.api.Assertions.assertThrows(
+            java.util.concurrent.ExecutionException.class,
+            () -> stateful.listTools("missing-toolset", Collections.emptyMap()).get());
+    assertTrue(ex.getCause().getMessage().contains("404"));
+    McpSessionPool.Session session = stateful.sessionPool().sessions().get(0);
+    assertEquals("session-1", session.sessionId);
+
+    stateful.listTools("", Collections.emptyMap()).get();
+    org.mockito.ArgumentCaptor<HttpRequest> captor =
+        org.mockito.ArgumentCaptor.forClass(HttpRequest.class);
+    verify(mockClient, times(4)).sendAsync(captor.capture(), any());
+    assertEquals(
+        "session-1",
+        captor.getAllValues().get(3).headers().firstValue("Mcp-Session-Id").orElse(null));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testInvokeTool_StatelessNotFoundIsNotRetried() throws Exception {
+    stubSendAsync(
+        mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}"),
+        mockResponse(200, ""),
+        mockResponse(404, "Not found"));
+
+    TransportResponse response =
+        transport.invokeTool("test-tool", Map.of(), Collections.emptyMap()).get();
+
+    assertEquals(404, response.getStatusCode());
+    verify(mockClient, times(3))
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testSessionPool_SpreadsRequestsAcrossSessions() throws Exception {
+    HttpMcpTransport pooled =
+        transportWithOptions(
+            mockClient,
+            ProtocolVersion.VERSION_2025_03_26,
+            HttpTransportOptions.builder().sessionPoolSize(2).build());
+    String initBody = "{\"result\":{\"protocolVersion\":\"2025-03-26\"}}";
+    String listBody = "{\"result\":{\"tools\":[]}}";
+
+    stubSendAsync(
+        mockResponse(200, initBody, Map.of("Mcp-Session-Id", List.of("session-a"))),
+        mockResponse(200, ""),
+        mockResponse(200, listBody),
+        mockResponse(200, initBody, Map.of("Mcp-Session-Id", List.of("session-b"))),
+        mockResponse(200, ""),
+        mockResponse(200, listBody),
+        mockResponse(200, listBody));
+
+    pooled.listTools("", Collections.emptyMap()).get();
+    pooled.listTools("", Collections.emptyMap()).get();
+    pooled.listTools("", Collections.emptyMap()).get();
+
+    assertEquals("session-a", pooled.sessionPool().sessions().get(0).sessionId);
+    assertEquals("session-b", pooled.sessionPool().sessions().get(1).sessionId);
+    verify(mockClient, times(7))
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+  }
+
+  @Test
+  void testTransportOptions_RejectInvalidValues() {
+    org.junit.jupiter.api.Assertions.assertThrows(
+        IllegalArgumentException.class, () -> HttpTransportOptions.builder().sessionPoolSize(0));
+    org.junit.jupiter.api.Assertions.assertThrows(
+        IllegalArgumentException.class, () -> HttpTransportOptions.builder().maxInitAttempts(0));
+    org.junit.jupiter.api.Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> HttpTransportOptions.builder().initRetryBackoff(java.time.Duration.ofMillis(-1)));
+    assertEquals(1, HttpTransportOptions.defaults().sessionPoolSize());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testOptimisticHandshake_DispatchesBeforeInitializeCompletes() throws Exception {
+    HttpMcpTransport optimistic =
+        new HttpMcpTransport(
+            "https://optimistic.test-mcp-service.com",
+            Map.of(),
+            null,
+            null,
+            mockClient,
+            null,
+            HttpTransportOptions.builder().optimisticHandshake(true).build());
+    CompletableFuture<HttpResponse<String>> pendingInit = new CompletableFuture<>();
+    HttpResponse<String> listResponse = mockResponse(200, "{\"result\":{\"tools\":[]}}");
+    when(mockClient.<String>sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenReturn(pendingInit)
+        .thenReturn(CompletableFuture.completedFuture(listResponse))
+        .thenReturn(new CompletableFuture<>());
+
+    TransportManifest manifest = optimistic.listTools("", Collections.emptyMap()).get();
+    assertTrue(manifest.getTools().isEmpty());
+
+    org.mockito.ArgumentCaptor<HttpRequest> captor =
+        org.mockito.ArgumentCaptor.forClass(HttpRequest.class);
+    verify(mockClient, times(2)).sendAsync(captor.capture(), any());
+    assertEquals(
+        "2025-11-25",
+        captor.getAllValues().get(1).headers().firstValue("MCP-Protocol-Version").orElse(null));
+
+    // The handshake completes without waiting for the notification response.
+    pendingInit.complete(mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}"));
+    assertTrue(optimistic.sessionPool().sessions().get(0).initFuture.isDone());
+    verify(mockClient, times(3))
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testOptimisticHandshake_StatefulVersionWaitsForInitialize() throws Exception {
+    HttpMcpTransport optimistic =
+        new HttpMcpTransport(
+            "https://stateful.test-mcp-service.com",
+            Map.of(),
+            null,
+            ProtocolVersion.VERSION_2025_03_26,
+            mockClient,
+            null,
+            HttpTransportOptions.builder().optimisticHandshake(true).build());
+    CompletableFuture<HttpResponse<String>> pendingInit = new CompletableFuture<>();
+    when(mockClient.<String>sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenReturn(pendingInit);
+
+    CompletableFuture<TransportManifest> future = optimistic.listTools("", Collections.emptyMap());
+
+    assertFalse(future.isDone());
+    verify(mockClient, times(1))
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testVersionMismatch_FailsByDefault() {
+    stubSendAsync(mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-06-18\"}}"));
+
+    java.util.concurrent.ExecutionException ex =
+        org.junit.jupiter.api.Assertions.assertThrows(
+            java.util.concurrent.ExecutionException.class,
+            () -> transport.listTools("", Collections.emptyMap()).get());
+    assertTrue(ex.getCause().getMessage().contains("MCP version mismatch"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testNegotiateProtocolVersion_AcceptsOlderServerVersionAndReusesIt() throws Exception {
+    String baseUrl = "https://negotiating.test-mcp-service.com";
+    HttpTransportOptions options =
+        HttpTransportOptions.builder()
+            .negotiateProtocolVersion(true)
+            .optimisticHandshake(true)
+            .sessionPoolSize(2)
+            .build();
+    HttpMcpTransport negotiating =
+        new HttpMcpTransport(baseUrl, Map.of(), null, null, mockClient, null, options);
+    HttpResponse<String> initResponse =
+        mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-06-18\"}}");
+    HttpResponse<String> notifiedResponse = mockResponse(200, "");
+    HttpResponse<String> toolsResponse = mockResponse(200, "{\"result\":{\"tools\":[]}}");
+    when(mockClient.<String>sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenReturn(CompletableFuture.completedFuture(initResponse))
+        .thenReturn(CompletableFuture.completedFuture(notifiedResponse))
+        .thenReturn(CompletableFuture.completedFuture(toolsResponse))
+        .thenReturn(new CompletableFuture<>())
+        .thenReturn(CompletableFuture.completedFuture(toolsResponse));
+
+    negotiating.listTools("", Collections.emptyMap()).get();
+    assertEquals(
+        ProtocolVersion.VERSION_2025_06_18,
+        negotiating.sessionPool().sessions().get(0).negotiatedProtocolVersion);
+
+    // The transport's second session starts with the negotiated version.
+    negotiating.listTools("", Collections.emptyMap()).get();
+    org.mockito.ArgumentCaptor<HttpRequest> captor =
+        org.mockito.ArgumentCaptor.forClass(HttpRequest.class);
+    verify(mockClient, times(5)).sendAsync(captor.capture(), any());
+    assertEquals(
+        "2025-06-18",
+        captor.getAllValues().get(4).headers().firstValue("MCP-Protocol-Version").orElse(null));
+
+    // Another transport for the same server, which may use other credentials, does not.
+    HttpClient secondClient = mock(HttpClient.class);
+    HttpResponse<String> listResponse = mockResponse(200, "{\"result\":{\"tools\":[]}}");
+    when(secondClient.<String>sendAsync(
+            any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenReturn(new CompletableFuture<>())
+        .thenReturn(CompletableFuture.completedFuture(listResponse));
+    HttpMcpTransport other =
+        new HttpMcpTransport(baseUrl, Map.of(), null, null, secondClient, null, options);
+    other.listTools("", Collections.emptyMap()).get();
+
+    org.mockito.ArgumentCaptor<HttpRequest> otherCaptor =
+        org.mockito.ArgumentCaptor.forClass(HttpRequest.class);
+    verify(secondClient, times(2)).sendAsync(otherCaptor.capture(), any());
+    assertEquals(
+        "2025-11-25",
+        otherCaptor
+            .getAllValues()
+            .get(1)
+            .headers()
+            .firstValue("MCP-Protocol-Version")
+            .orElse(null));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testNegotiateProtocolVersion_RejectsNewerOrUnknownVersions() {
+    HttpMcpTransport negotiating =
+        transportWithOptions(
+            mockClient,
+            ProtocolVersion.VERSION_2025_06_18,
+            HttpTransportOptions.builder().negotiateProtocolVersion(true).build());
+    stubSendAsync(mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}"));
+
+    java.util.concurrent.ExecutionException ex =
+        org.junit.jupiter.api.Assertions.assertThrows(
+            java.util.concurrent.ExecutionException.class,
+            () -> negotiating.listTools("", Collections.emptyMap()).get());
+    assertTrue(ex.getCause().getMessage().contains("MCP version mismatch"));
+  }
+
+  @Test
+  void testWarmUp_InitializesSessionsAndOpensConnections() throws Exception {
+    stubSendAsync(
+        mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}"),
+        mockResponse(200, ""),
+        mockResponse(200, "{\"result\":{}}"),
+        mockResponse(200, "{\"result\":{}}"));
+
+    Map<String, java.time.Duration> phases = transport.warmUp(2, Collections.emptyMap()).get();
+
+    assertEquals(
+        List.of(WarmUpReport.PHASE_INITIALIZE, WarmUpReport.PHASE_CONNECT),
+        List.copyOf(phases.keySet()));
+    org.mockito.ArgumentCaptor<HttpRequest> captor =
+        org.mockito.ArgumentCaptor.forClass(HttpRequest.class);
+    verify(mockClient, times(4)).sendAsync(captor.capture(), any());
+    assertEquals(
+        "2025-11-25",
+        captor.getAllValues().get(3).headers().firstValue("MCP-Protocol-Version").orElse(null));
+  }
+
+  @Test
+  void testWarmUp_RejectsNonPositiveConnections() {
+    java.util.concurrent.ExecutionException ex =
+        org.junit.jupiter.api.Assertions.assertThrows(
+            java.util.concurrent.ExecutionException.class,
+            () -> transport.warmUp(0, Collections.emptyMap()).get());
+    assertTrue(ex.getCause() instanceof IllegalArgumentException);
+  }
+
+  @Test
+  void testKeepAlive_PingsInitializedSessionsAndRecordsRtt() throws Exception {
+    HttpMcpTransport keepAlive =
+        transportWithOptions(
+            mockClient,
+            null,
+            HttpTransportOptions.builder()
+                .keepAliveInterval(java.time.Duration.ofMillis(10))
+                .build());
+    stubSendAsync(
+        mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}"),
+        mockResponse(200, ""),
+        mockResponse(200, "{\"result\":{\"tools\":[]}}"),
+        mockResponse(200, "{\"result\":{}}"));
+    try {
+      assertFalse(keepAlive.lastPingRtt().isPresent());
+      keepAlive.listTools("", Collections.emptyMap()).get();
+
+      verify(mockClient, org.mockito.Mockito.timeout(2000).atLeast(4))
+          .sendAsync(any(HttpRequest.class), any());
+      while (keepAlive.lastPingRtt().isEmpty()) {
+        Thread.sleep(5);
+      }
+      assertFalse(keepAlive.lastPingRtt().get().isNegative());
+    } finally {
+      keepAlive.close();
+    }
+  }
+
+  @Test
+  void testKeepAlive_FailedPingReinitializesSession() throws Exception {
+    stubSendAsync(
+        mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}"),
+        mockResponse(200, ""),
+        mockResponse(200, "{\"result\":{\"tools\":[]}}"),
+        mockResponse(502, "Bad Gateway"),
+        mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}"),
+        mockResponse(200, ""));
+    transport.listTools("", Collections.emptyMap()).get();
+    CompletableFuture<Void> firstInit = transport.sessionPool().sessions().get(0).initFuture;
+
+    transport.sendKeepAlivePings();
+
+    CompletableFuture<Void> secondInit = transport.sessionPool().sessions().get(0).initFuture;
+    assertNotNull(secondInit);
+    assertFalse(firstInit == secondInit);
+    secondInit.get();
+    assertFalse(transport.lastPingRtt().isPresent());
+    verify(mockClient, times(6))
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+  }
+
+  @Test
+  void testKeepAlive_PingsWithInitMetadataAndRecordsRtt() throws Exception {
+    InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+    HttpMcpTransport keepAlive =
+        transportWithOptions(
+            mockClient, null, HttpTransportOptions.builder().metrics(metrics).build());
+    stubSendAsync(
+        mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}"),
+        mockResponse(200, ""),
+        mockResponse(200, "{\"result\":{\"tools\":[]}}"),
+        mockResponse(200, "{\"result\":{}}"));
+    keepAlive.listTools("", Map.of("Authorization", "Bearer call-token")).get();
+
+    keepAlive.sendKeepAlivePings();
+
+    org.mockito.ArgumentCaptor<HttpRequest> captor =
+        org.mockito.ArgumentCaptor.forClass(HttpRequest.class);
+    verify(mockClient, times(4)).sendAsync(captor.capture(), any());
+    assertEquals(
+        "Bearer call-token",
+        captor.getAllValues().get(3).headers().firstValue("Authorization").orElse(null));
+    assertEquals(1, metrics.keepAlivePingRtt().count());
+    assertEquals(0, metrics.keepAlivePingFailures());
+  }
+
+  @Test
+  void testKeepAlive_UnauthorizedPingKeepsSession() throws Exception {
+    InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+    HttpMcpTransport keepAlive =
+        transportWithOptions(
+            mockClient, null, HttpTransportOptions.builder().metrics(metrics).build());
+    stubSendAsync(
+        mockResponse(200, "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}"),
+        mockResponse(200, ""),
+        mockResponse(200, "{\"result\":{\"tools\":[]}}"),
+        mockResponse(401, "Unauthorized"));
+    keepAlive.listTools("", Collections.emptyMap()).get();
+    CompletableFuture<Void> init = keepAlive.sessionPool().sessions().get(0).initFuture;
+
+    keepAlive.sendKeepAlivePings();
+
+    assertTrue(init == keepAlive.sessionPool().sessions().get(0).initFuture);
+    assertEquals(1, metrics.keepAlivePingFailures());
+    assertEquals(0, metrics.keepAlivePingRtt().count());
+    verify(mockClient, times(4))
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+  }
+
+  @Test
+  void testKeepAlive_SkipsSessionsThatAreNotInitialized() {
+    transport.sendKeepAlivePings();
+
+    verify(mockClient, times(0))
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    org.junit.jupiter.api.Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> HttpTransportOptions.builder().keepAliveInterval(java.time.Duration.ZERO));
+  }
+
+  @Test
+  void testCompression_GzipsLargeRequestsAndDecodesGzipResponses() throws Exception {
+    List<String> requestEncodings = new java.util.concurrent.CopyOnWriteArrayList<>();
+    List<String> acceptEncodings = new java.util.concurrent.CopyOnWriteArrayList<>();
+    List<String> methods = new java.util.concurrent.CopyOnWriteArrayList<>();
+    com.sun.net.httpserver.HttpServer server =
+        com.sun.net.httpserver.HttpServer.create(
+            new java.net.InetSocketAddress(java.net.InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+          requestEncodings.add(String.valueOf(encoding));
+          acceptEncodings.add(
+              String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding")));
+          java.io.InputStream in = exchange.getRequestBody();
+          if ("gzip".equals(encoding)) {
+            in = new java.util.zip.GZIPInputStream(in);
+          }
+          String request = new String(in.readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+          String method =
+              new com.fasterxml.jackson.databind.ObjectMapper()
+                  .readTree(request)
+                  .get("method")
+                  .asText();
+          methods.add(method);
+          String response;
+          if (method.equals("initialize")) {
+            response = "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}";
+          } else if (method.equals("tools/list")) {
+            response =
+                "{\"result\":{\"tools\":[{\"name\":\"tool\",\"description\":\""
+                    + "x".repeat(4096)
+                    + "\",\"inputSchema\":{\"type\":\"object\"}}]}}";
+          } else {
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+            return;
+          }
+          byte[] body =
+              ContentEncoding.gzip(response.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+          exchange.getResponseHeaders().set("Content-Type", "application/json");
+          exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+          exchange.sendResponseHeaders(200, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+    server.start();
+    try {
+      HttpMcpTransport compressing =
+          new HttpMcpTransport(
+              "http://127.0.0.1:" + server.getAddress().getPort(),
+              Map.of(),
+              null,
+              null,
+              null,
+              null,
+              HttpTransportOptions.builder()
+                  .compressResponses(true)
+                  .requestCompressionThreshold(100)
+                  .build());
+
+      TransportManifest manifest = compressing.listTools("", Collections.emptyMap()).get();
+
+      assertEquals(4096, manifest.getTools().get("tool").description().length());
+      assertEquals(List.of("initialize", "notifications/initialized", "tools/list"), methods);
+      // Only the initialize request body reaches the 100 byte threshold.
+      assertEquals(List.of("gzip", "null", "null"), requestEncodings);
+      assertEquals("gzip, deflate", acceptEncodings.get(2));
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  @Test
+  void testCompression_RejectsInvalidThreshold() {
+    org.junit.jupiter.api.Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> HttpTransportOptions.builder().requestCompressionThreshold(-2));
+    assertEquals(-1, HttpTransportOptions.defaults().requestCompressionThreshold());
+    assertFalse(HttpTransportOptions.defaults().compressResponses());
+  }
+
+  @Test
+  void testHttpEngine_CustomEngineReceivesPreparedRequests() throws Exception {
+    List<HttpEngine.Request> requests = new java.util.concurrent.CopyOnWriteArrayList<>();
+    List<String> bodies =
+        List.of(
+            "{\"result\":{\"protocolVersion\":\"2025-11-25\"}}", "", "{\"result\":{\"tools\":[]}}");
+    HttpEngine engine =
+        request -> {
+          String body = bodies.get(requests.size());
+          requests.add(request);
+          return CompletableFuture.completedFuture(
+              new HttpEngine.Response() {
+                @Override
+                public int statusCode() {
+                  return 200;
+                }
+
+                @Override
+                public String body() {
+                  return body;
+                }
+
+                @Override
+                public java.util.Optional<String> header(String name) {
+                  return java.util.Optional.empty();
+                }
+              });
+        };
+    HttpMcpTransport engineTransport =
+        transportWithOptions(
+            mockClient, null, HttpTransportOptions.builder().httpEngine(engine).build());
+
+    engineTransport.listTools("", Map.of("X-Custom", "value")).get();
+
+    assertEquals(3, requests.size());
+    HttpEngine.Request listRequest = requests.get(2);
+    assertEquals("https://test-mcp-service.com", listRequest.uri().toString());
+    assertEquals("value", listRequest.headers().get("x-custom"));
+    assertEquals("2025-11-25", listRequest.headers().get("MCP-Protocol-Version"));
+    assertTrue(
+        new String(listRequest.body(), java.nio.charset.StandardCharsets.UTF_8)
+            .contains("\"tools/list\""));
+    verify(mockClient, times(0))
+        .sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class));
+    engine.close();
+  }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.cloud.mcp.testing.FakeMcpServer;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class InvocationTimingTest {
+
+  private static final ToolDefinition ECHO =
+      new ToolDefinition(
+          "Echoes",
+          List.of(
+              new ToolDefinition.Parameter("text", "string", true, "Text", List.of()),
+              new ToolDefinition.Parameter("user", "string", false, "User", List.of("google"))),
+          List.of());
+
+  /** Keeps every timing it receives. */
+  private static final class TimingRecorder implements ClientMetrics {
+    final List<InvocationTiming> timings = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void invocationTimed(InvocationTiming timing) {
+      timings.add(timing);
+    }
+  }
+
+  private static FakeToolbox toolbox() {
+    return FakeToolbox.builder()
+        .tool("echo", ECHO, args -> args.get("text"))
+        .serviceTime(random -> Duration.ofMillis(5))
+        .build();
+  }
+
+  @Test
+  void testParseServerTiming() {
+    assertEquals(
+        Map.of("db", Duration.ofNanos(53_200_000), "app", Duration.ofMillis(47)),
+        ServerTiming.parse("db;dur=53.2, app;desc=\"a, \\\"b\\\"; c\";DUR=\"47\""));
+    assertEquals(
+        Map.of("total", Duration.ofMillis(2)),
+        ServerTiming.parse("miss, ;dur=1, total;dur=2;dur=3, total;dur=9, x;dur=abc, y;dur=-1, z"));
+    assertEquals(List.of("b", "a"), List.copyOf(ServerTiming.parse("b;dur=1,a;dur=2").keySet()));
+    assertTrue(ServerTiming.parse("").isEmpty());
+    assertTrue(ServerTiming.parse("cache;desc=hit").isEmpty());
+  }
+
+  @Test
+  void testServerAndNetworkTime() {
+    InvocationTiming nested =
+        new InvocationTiming(
+            "t",
+            Map.of(InvocationTiming.STAGE_NETWORK, Duration.ofMillis(10)),
+            Duration.ofMillis(12),
+            Map.of("db", Duration.ofMillis(3), "app", Duration.ofMillis(6)));
+    assertEquals(Duration.ofMillis(6), nested.serverTime());
+    assertEquals(Duration.ofMillis(4), nested.networkTime());
+
+    InvocationTiming total =
+        new InvocationTiming(
+            "t",
+            Map.of(InvocationTiming.STAGE_NETWORK, Duration.ofMillis(1)),
+            Duration.ofMillis(2),
+            Map.of("app", Duration.ofMillis(6), "total", Duration.ofMillis(5)));
+    assertEquals(Duration.ofMillis(5), total.serverTime());
+    assertEquals(Duration.ZERO, total.networkTime());
+
+    InvocationTiming none = new InvocationTiming("t", Map.of(), Duration.ofMillis(1), Map.of());
+    assertEquals(Duration.ZERO, none.serverTime());
+    assertEquals(Duration.ZERO, none.stage(InvocationTiming.STAGE_PARSE));
+    assertTrue(none.toString().contains("toolName=t"));
+  }
+
+  @Test
+  void testToolExecuteTimesEveryStage() throws Exception {
+    TimingRecorder recorder = new TimingRecorder();
+    McpToolboxClient client =
+        McpToolboxClient.builder().transport(toolbox().transport()).metrics(recorder).build();
+    Tool tool = client.loadTool("echo").get();
+    tool.addPreProcessor(
+        (name, args) ->
+            CompletableFuture.supplyAsync(
+                () -> args,
+                CompletableFuture.delayedExecutor(10, java.util.concurrent.TimeUnit.MILLISECONDS)));
+    tool.addPostProcessor((name, result) -> CompletableFuture.completedFuture(result));
+    tool.addAuthTokenGetter("google", () -> CompletableFuture.completedFuture("token"));
+
+    assertEquals("hi", tool.execute(Map.of("text", "hi")).get().content().get(0).text());
+
+    assertEquals(1, recorder.timings.size());
+    InvocationTiming timing = recorder.timings.get(0);
+    assertEquals("echo", timing.toolName());
+    assertEquals(
+        List.of(
+            InvocationTiming.STAGE_PRE_PROCESS,
+            InvocationTiming.STAGE_AUTH,
+            InvocationTiming.STAGE_HEADERS,
+            InvocationTiming.STAGE_NETWORK,
+            InvocationTiming.STAGE_PARSE,
+            InvocationTiming.STAGE_POST_PROCESS),
+        List.copyOf(timing.stages().keySet()));
+    assertTrue(timing.stage(InvocationTiming.STAGE_PRE_PROCESS).toMillis() >= 10);
+    assertTrue(timing.stage(InvocationTiming.STAGE_NETWORK).toMillis() >= 5);
+    Duration sum = timing.stages().values().stream().reduce(Duration.ZERO, Duration::plus);
+    assertTrue(timing.total().compareTo(sum) >= 0);
+    assertTrue(timing.serverTiming().isEmpty());
+  }
+
+  @Test
+  void testHttpInvocationSeparatesServerTime() throws Exception {
+    InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+    TimingRecorder recorder = new TimingRecorder();
+    try (FakeMcpServer server = toolbox().startServer()) {
+      McpToolboxClient client =
+          McpToolboxClient.builder()
+              .baseUrl(server.url())
+              .metrics(
+                  new ClientMetrics() {
+                    @Override
+                    public void invocationTimed(InvocationTiming timing) {
+                      metrics.invocationTimed(timing);
+                      recorder.invocationTimed(timing);
+                    }
+                  })
+              .build();
+
+      client.invokeTool("echo", Map.of("text", "over http")).get();
+      client.invokeTool("echo", Map.of("text", "again")).get();
+    }
+
+    InvocationTiming first = recorder.timings.get(0);
+    assertEquals(
+        List.of(
+            InvocationTiming.STAGE_HEADERS,
+            InvocationTiming.STAGE_ENCODE,
+            InvocationTiming.STAGE_SESSION,
+            InvocationTiming.STAGE_NETWORK,
+            InvocationTiming.STAGE_PARSE),
+        List.copyOf(first.stages().keySet()));
+    assertTrue(first.serverTime().toMillis() >= 5);
+    assertTrue(first.stage(InvocationTiming.STAGE_NETWORK).compareTo(first.serverTime()) >= 0);
+    assertEquals(
+        first.stage(InvocationTiming.STAGE_NETWORK).minus(first.serverTime()), first.networkTime());
+
+    InMemoryClientMetrics.ToolMetrics echo = metrics.tools().get("echo");
+    assertEquals(2, echo.serverLatency().count());
+    assertEquals(2, echo.stageLatency().get(InvocationTiming.STAGE_NETWORK).count());
+    assertNull(echo.stageLatency().get(InvocationTiming.STAGE_AUTH));
+  }
+
+  @Test
+  void testNoTimingWithoutMetrics() throws Exception {
+    McpToolboxClient client = McpToolboxClient.builder().transport(toolbox().transport()).build();
+    Tool tool = client.loadTool("echo").get();
+    tool.addPostProcessor((name, result) -> CompletableFuture.completedFuture(result));
+    assertFalse(tool.execute(Map.of("text", "hi")).get().isError());
+    ClientMetrics.NOOP.invocationTimed(
+        new InvocationTiming("echo", Map.of(), Duration.ZERO, Map.of()));
+  }
+}
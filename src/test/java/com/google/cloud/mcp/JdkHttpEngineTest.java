@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.ArgumentCaptor;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class JdkHttpEngineTest {
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testExecute_SendsPostAndExposesResponse() throws Exception {
+    HttpClient client = mock(HttpClient.class);
+    HttpResponse<String> response = mock(HttpResponse.class);
+    when(response.statusCode()).thenReturn(200);
+    when(response.body()).thenReturn("{}");
+    when(response.headers())
+        .thenReturn(HttpHeaders.of(Map.of("Mcp-Session-Id", List.of("abc")), (k, v) -> true));
+    when(client.<String>sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenReturn(CompletableFuture.completedFuture(response));
+
+    HttpEngine.Response result =
+        new JdkHttpEngine(client)
+            .execute(
+                new HttpEngine.Request(
+                    URI.create("https://example.com/mcp"),
+                    Map.of("X-Test", "1"),
+                    "{\"id\":1}".getBytes(StandardCharsets.UTF_8)))
+            .get();
+
+    assertEquals(200, result.statusCode());
+    assertEquals("{}", result.body());
+    assertEquals("abc", result.header("mcp-session-id").orElseThrow());
+    ArgumentCaptor<HttpRequest> captor = ArgumentCaptor.forClass(HttpRequest.class);
+    verify(client).sendAsync(captor.capture(), any(HttpResponse.BodyHandler.class));
+    assertEquals("POST", captor.getValue().method());
+    assertEquals("1", captor.getValue().headers().firstValue("X-Test").orElseThrow());
+    assertEquals(8L, captor.getValue().bodyPublisher().orElseThrow().contentLength());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testExecute_ToleratesMissingResponseHeaders() throws Exception {
+    HttpClient client = mock(HttpClient.class);
+    HttpResponse<String> response = mock(HttpResponse.class);
+    when(client.<String>sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+        .thenReturn(CompletableFuture.completedFuture(response));
+
+    HttpEngine.Response result =
+        new JdkHttpEngine(client)
+            .execute(
+                new HttpEngine.Request(URI.create("https://example.com"), Map.of(), new byte[0]))
+            .get();
+
+    assertFalse(result.header("Mcp-Session-Id").isPresent());
+  }
+
+  @Test
+  void testConstructor_RejectsNullClient() {
+    assertThrows(IllegalArgumentException.class, () -> new JdkHttpEngine((HttpClient) null));
+  }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class JsonSchemaValidatorTest {
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private static final String SEARCH_SCHEMA =
+      "{\"type\":\"object\",\"properties\":{"
+          + "\"query\":{\"type\":\"string\",\"minLength\":1,\"maxLength\":5},"
+          + "\"limit\":{\"type\":\"integer\",\"minimum\":1,\"maximum\":100},"
+          + "\"filter\":{\"type\":\"object\",\"required\":[\"field\"],"
+          + "\"additionalProperties\":false,\"properties\":{"
+          + "\"field\":{\"enum\":[\"name\",\"date\"]},"
+          + "\"tags\":{\"type\":\"array\",\"maxItems\":3,"
+          + "\"items\":{\"type\":\"string\",\"pattern\":\"^[a-z]+$\"}}}}},"
+          + "\"required\":[\"query\"]}";
+
+  private static JsonNode json(String text) throws Exception {
+    return objectMapper.readTree(text);
+  }
+
+  private static JsonSchemaValidator compile(String schema) throws Exception {
+    return JsonSchemaValidator.compile(json(schema));
+  }
+
+  private static String error(JsonSchemaValidator validator, Map<String, Object> args) {
+    return assertThrows(IllegalArgumentException.class, () -> validator.validate(args, "search"))
+        .getMessage();
+  }
+
+  private static Map<String, Object> args(Object... keysAndValues) {
+    Map<String, Object> args = new HashMap<>();
+    for (int i = 0; i < keysAndValues.length; i += 2) {
+      args.put((String) keysAndValues[i], keysAndValues[i + 1]);
+    }
+    return args;
+  }
+
+  @Test
+  void testAcceptsValidNestedArguments() throws Exception {
+    JsonSchemaValidator validator = compile(SEARCH_SCHEMA);
+    validator.validate(
+        args(
+            "query",
+            "cats",
+            "limit",
+            10L,
+            "filter",
+            Map.of("field", "name", "tags", List.of("a", "b")),
+            "extra",
+            true),
+        "search");
+    validator.validate(
+        args("query", "cats", "filter", Map.of("field", "date", "tags", new String[] {"x"})),
+        "search");
+  }
+
+  @Test
+  void testReportsThePathToTheInvalidArgument() throws Exception {
+    JsonSchemaValidator validator = compile(SEARCH_SCHEMA);
+
+    assertEquals(
+        "Invalid argument 'filter.tags[1]' for tool 'search': must match pattern '^[a-z]+$'.",
+        error(
+            validator,
+            args("query", "q", "filter", Map.of("field", "name", "tags", List.of("a", "B1")))));
+    assertEquals(
+        "Invalid argument 'filter.tags[0]' for tool 'search': expected type 'string' but got"
+            + " 'Integer'.",
+        error(
+            validator, args("query", "q", "filter", Map.of("field", "name", "tags", List.of(1)))));
+    assertEquals(
+        "Invalid argument 'filter.field' for tool 'search': must be one of [\"name\",\"date\"].",
+        error(validator, args("query", "q", "filter", Map.of("field", "size"))));
+    assertEquals(
+        "Invalid argument 'filter.field' for tool 'search': is required.",
+        error(validator, args("query", "q", "filter", Map.of())));
+    assertEquals(
+        "Invalid argument 'filter.other' for tool 'search': is not allowed.",
+        error(validator, args("query", "q", "filter", Map.of("field", "name", "other", 1))));
+    assertEquals(
+        "Invalid argument 'filter.tags' for tool 'search': must have at most 3 items.",
+        error(
+            validator,
+            args(
+                "query",
+                "q",
+                "filter",
+                Map.of("field", "name", "tags", List.of("a", "b", "c", "d")))));
+    assertEquals(
+        "Invalid argument 'query' for tool 'search': is required.", error(validator, args()));
+    assertEquals(
+        "Invalid argument 'query' for tool 'search': must be at least 1 characters long.",
+        error(validator, args("query", "")));
+    assertEquals(
+        "Invalid argument 'query' for tool 'search': must be at most 5 characters long.",
+        error(validator, args("query", "kittens")));
+    assertEquals(
+        "Invalid argument 'limit' for tool 'search': must be at least 1.",
+        error(validator, args("query", "q", "limit", 0)));
+    assertEquals(
+        "Invalid argument 'limit' for tool 'search': must be at most 100.",
+        error(validator, args("query", "q", "limit", 101)));
+    assertEquals(
+        "Invalid argument 'limit' for tool 'search': expected type 'integer' but got 'Double'.",
+        error(validator, args("query", "q", "limit", 1.5)));
+  }
+
+  @Test
+  void testChecksTypes() throws Exception {
+    JsonSchemaValidator validator =
+        compile(
+            "{\"properties\":{\"n\":{\"type\":\"number\"},\"i\":{\"type\":\"integer\"},"
+                + "\"b\":{\"type\":\"boolean\"},\"o\":{\"type\":\"object\"},"
+                + "\"a\":{\"type\":\"array\",\"minItems\":1},"
+                + "\"u\":{\"type\":[\"string\",\"null\"]},\"x\":{\"type\":\"uuid\"}}}");
+    Map<String, Object> valid =
+        args(
+            "n",
+            1.5f,
+            "i",
+            BigInteger.TEN,
+            "b",
+            false,
+            "o",
+            Map.of(),
+            "a",
+            new int[] {1},
+            "u",
+            null,
+            "x",
+            new Object());
+    validator.validate(valid, "search");
+    validator.validate(args("i", (short) 1, "u", "text"), "search");
+    validator.validate(args("i", (byte) 1), "search");
+
+    assertEquals(
+        "Invalid argument 'u' for tool 'search': expected type [\"string\",\"null\"] but got"
+            + " 'Integer'.",
+        error(validator, args("u", 1)));
+    assertEquals(
+        "Invalid argument 'n' for tool 'search': expected type 'number' but got 'String'.",
+        error(validator, args("n", "1")));
+    assertEquals(
+        "Invalid argument 'b' for tool 'search': expected type 'boolean' but got 'null'.",
+        error(validator, args("b", null)));
+    assertEquals(
+        "Invalid argument 'o' for tool 'search': expected type 'object' but got 'ArrayList'.",
+        error(validator, args("o", new ArrayList<>())));
+    assertEquals(
+        "Invalid argument 'a' for tool 'search': expected type 'array' but got 'Object'.",
+        error(validator, args("a", new Object())));
+    assertEquals(
+        "Invalid argument 'a' for tool 'search': must have at least 1 items.",
+        error(validator, args("a", new String[0])));
+    assertEquals(
+        "Invalid argument 'a' for tool 'search': must have at least 1 items.",
+        error(validator, args("a", List.of())));
+  }
+
+  @Test
+  void testChecksEnumsAsJsonValues() throws Exception {
+    JsonSchemaValidator validator =
+        compile(
+            "{\"properties\":{\"e\":{\"enum\":[1,\"one\",null,true,[1,2],{\"k\":1}]},"
+                + "\"c\":{\"const\":{\"k\":[1]}}}}");
+    for (Object value :
+        new Object[] {1L, 1.0, "one", null, true, List.of(1L, 2.0), Map.of("k", 1.0)}) {
+      Map<String, Object> args = new HashMap<>();
+      args.put("e", value);
+      validator.validate(args, "search");
+    }
+    validator.validate(args("c", Map.of("k", List.of(1))), "search");
+
+    for (Object value :
+        new Object[] {2, "two", false, List.of(1), List.of(1, 3), Map.of("k", 2), Map.of("j", 1)}) {
+      assertEquals(
+          "Invalid argument 'e' for tool 'search': must be one of"
+              + " [1,\"one\",null,true,[1,2],{\"k\":1}].",
+          error(validator, args("e", value)));
+    }
+    assertEquals(
+        "Invalid argument 'c' for tool 'search': must be equal to {\"k\":[1]}.",
+        error(validator, args("c", Map.of("k", List.of(1), "j", 2))));
+  }
+
+  @Test
+  void testChecksExclusiveBoundsInBothDrafts() throws Exception {
+    JsonSchemaValidator draft6 =
+        compile("{\"properties\":{\"x\":{\"exclusiveMinimum\":0,\"exclusiveMaximum\":1.5}}}");
+    JsonSchemaValidator draft4 =
+        compile(
+            "{\"properties\":{\"x\":{\"minimum\":0,\"exclusiveMinimum\":true,"
+                + "\"maximum\":1.5,\"exclusiveMaximum\":true}}}");
+    for (JsonSchemaValidator validator : List.of(draft6, draft4)) {
+      validator.validate(args("x", 1), "search");
+      assertEquals(
+          "Invalid argument 'x' for tool 'search': must be greater than 0.",
+          error(validator, args("x", 0)));
+      assertEquals(
+          "Invalid argument 'x' for tool 'search': must be less than 1.5.",
+          error(validator, args("x", 1.5)));
+    }
+  }
+
+  @Test
+  void testChecksFormats() throws Exception {
+    JsonSchemaValidator validator =
+        compile(
+            "{\"properties\":{"
+                + "\"dt\":{\"format\":\"date-time\"},\"d\":{\"format\":\"date\"},"
+                + "\"t\":{\"format\":\"time\"},\"e\":{\"format\":\"email\"},"
+                + "\"id\":{\"format\":\"uuid\"},\"u\":{\"format\":\"uri\"},"
+                + "\"ip\":{\"format\":\"ipv4\"},\"h\":{\"format\":\"hostname\"}}}");
+    validator.validate(
+        args(
+            "dt", "2026-10-18T10:15:30Z",
+            "d", "2026-10-18",
+            "t", "10:15:30+02:00",
+            "e", "user@example.com",
+            "id", "123e4567-e89b-12d3-a456-426614174000",
+            "u", "https://example.com/a",
+            "ip", "192.168.0.1",
+            "h", "not checked!"),
+        "search");
+
+    Map<String, String> invalid =
+        Map.of(
+            "dt", "2026-10-18",
+            "d", "18/10/2026",
+            "t", "10:15",
+            "e", "user",
+            "id", "123e4567",
+            "u", "relative/path",
+            "ip", "256.1.1.1");
+    Map<String, String> formats =
+        Map.of(
+            "dt",
+            "date-time",
+            "d",
+            "date",
+            "t",
+            "time",
+            "e",
+            "email",
+            "id",
+            "uuid",
+            "u",
+            "uri",
+            "ip",
+            "ipv4");
+    invalid.forEach(
+        (name, value) ->
+            assertEquals(
+                "Invalid argument '"
+                    + name
+                    + "' for tool 'search': must be a valid "
+                    + formats.get(name)
+                    + ".",
+                error(validator, args(name, value))));
+    assertEquals(
+        "Invalid argument 'u' for tool 'search': must be a valid uri.",
+        error(validator, args("u", "http://exa mple.com")));
+  }
+
+  @Test
+  void testDateAndTimeFormatsFollowRfc3339() throws Exception {
+    JsonSchemaValidator validator =
+        compile(
+            "{\"properties\":{\"dt\":{\"format\":\"date-time\"},"
+                + "\"t\":{\"format\":\"time\"}}}");
+    for (String value :
+        List.of(
+            "2026-10-18t10:15:30z",
+            "2016-12-31T23:59:60Z",
+            "2026-10-18T10:15:30.123456789-08:00")) {
+      validator.validate(args("dt", value), "search");
+    }
+    for (String value : List.of("10:15:30z", "23:59:60.5+00:00", "10:15:30.1Z")) {
+      validator.validate(args("t", value), "search");
+    }
+
+    for (String value :
+        List.of("2026-02-30T10:15:30Z", "2026-10-18 10:15:30Z", "2026-10-18T10:15:30")) {
+      assertEquals(
+          "Invalid argument 'dt' for tool 'search': must be a valid date-time.",
+          error(validator, args("dt", value)));
+    }
+    for (String value : List.of("24:00:00Z", "10:15:61Z", "10:15:30+2:00")) {
+      assertEquals(
+          "Invalid argument 't' for tool 'search': must be a valid time.",
+          error(validator, args("t", value)));
+    }
+  }
+
+  @Test
+  void testValidatesAdditionalPropertiesAgainstASchema() throws Exception {
+    JsonSchemaValidator validator =
+        compile(
+            "{\"properties\":{\"labels\":{\"type\":\"object\","
+                + "\"additionalProperties\":{\"type\":\"string\"}}}}");
+    validator.validate(args("labels", Map.of("env", "prod")), "search");
+    assertEquals(
+        "Invalid argument 'labels.env' for tool 'search': expected type 'string' but got"
+            + " 'Integer'.",
+        error(validator, args("labels", Map.of("env", 1))));
+  }
+
+  @Test
+  void testIgnoresWhatItCannotCheck() throws Exception {
+    assertNull(JsonSchemaValidator.compile(null));
+    assertNull(compile("true"));
+    assertNull(compile("{}"));
+    assertNull(compile("{\"type\":\"custom\",\"properties\":{\"a\":{},\"b\":true}}"));
+    assertNull(compile("{\"properties\":{\"a\":{\"type\":[\"string\",\"custom\"]}}}"));
+    assertNull(compile("{\"properties\":{\"a\":{\"pattern\":\"[\",\"anyOf\":[]}}}"));
+    assertNull(compile("{\"additionalProperties\":true,\"items\":{}}"));
+  }
+
+  @Test
+  void testToolExecuteRejectsInvalidArgumentsBeforeCallingTheServer() throws Exception {
+    ToolDefinition definition =
+        new ToolDefinition(
+            "Searches",
+            List.of(new ToolDefinition.Parameter("query", "string", true, "Query", List.of())),
+            List.of(),
+            null,
+            null,
+            json(SEARCH_SCHEMA));
+    AtomicInteger calls = new AtomicInteger();
+    FakeToolbox toolbox =
+        FakeToolbox.builder()
+            .tool(
+                "search",
+                definition,
+                args -> {
+                  calls.incrementAndGet();
+                  return "found";
+                })
+            .build();
+    McpToolboxClient client = McpToolboxClient.builder().transport(toolbox.transport()).build();
+    Tool search = client.loadTool("search").get();
+    assertEquals(json(SEARCH_SCHEMA), search.definition().inputSchema());
+
+    ExecutionException e =
+        assertThrows(
+            ExecutionException.class,
+            () ->
+                search
+                    .execute(Map.of("query", "q", "filter", Map.of("field", "name", "x", 1)))
+                    .get());
+    assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    assertEquals(
+        "Invalid argument 'filter.x' for tool 'search': is not allowed.",
+        e.getCause().getMessage());
+    assertEquals(0, calls.get());
+
+    assertEquals(
+        "found",
+        search
+            .execute(Map.of("query", "q", "filter", Map.of("field", "name")))
+            .get()
+            .content()
+            .get(0)
+            .text());
+    assertEquals(1, calls.get());
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class LineDelimitedChannelTest {
+
+  @Test
+  void testReader_SplitsMessagesAcrossReadsAndSkipsBlankLines() throws Exception {
+    Pipe inbound = Pipe.open();
+    Pipe outbound = Pipe.open();
+    List<String> messages = new CopyOnWriteArrayList<>();
+    CompletableFuture<Throwable> closed = new CompletableFuture<>();
+    LineDelimitedChannel channel =
+        new LineDelimitedChannel(
+            "test", inbound.source(), outbound.sink(), messages::add, closed::complete);
+    channel.start();
+
+    write(inbound.sink(), "{\"a\":1}\n\n{\"b\"");
+    write(inbound.sink(), ":2}\r\n");
+    inbound.sink().close();
+
+    assertTrue(closed.get() instanceof java.io.EOFException);
+    assertEquals(List.of("{\"a\":1}", "{\"b\":2}"), messages);
+    assertFalse(channel.isOpen());
+  }
+
+  @Test
+  void testWriter_FramesMessagesAndFailsAfterClose() throws Exception {
+    Pipe inbound = Pipe.open();
+    Pipe outbound = Pipe.open();
+    LineDelimitedChannel channel =
+        new LineDelimitedChannel("test", inbound.source(), outbound.sink(), m -> {}, e -> {});
+    channel.start();
+
+    channel.send("{\"id\":1}").get();
+    channel.send("{\"id\":2}").get();
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    while (buffer.position() < 18) {
+      outbound.source().read(buffer);
+    }
+    assertEquals(
+        "{\"id\":1}\n{\"id\":2}\n",
+        new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8));
+
+    channel.close();
+    ExecutionException e = assertThrows(ExecutionException.class, () -> channel.send("{}").get());
+    assertTrue(e.getCause() instanceof McpException);
+  }
+
+  @Test
+  void testWriter_FailureClosesChannel() throws Exception {
+    Pipe inbound = Pipe.open();
+    CompletableFuture<Throwable> closed = new CompletableFuture<>();
+    WritableByteChannel failing =
+        new WritableByteChannel() {
+          @Override
+          public int write(ByteBuffer src) throws IOException {
+            throw new IOException("broken pipe");
+          }
+
+          @Override
+          public boolean isOpen() {
+            return true;
+          }
+
+          @Override
+          public void close() {}
+        };
+    LineDelimitedChannel channel =
+        new LineDelimitedChannel("test", inbound.source(), failing, m -> {}, closed::complete);
+    channel.start();
+
+    ExecutionException e = assertThrows(ExecutionException.class, () -> channel.send("{}").get());
+    assertEquals("broken pipe", e.getCause().getMessage());
+    assertEquals("broken pipe", closed.get().getMessage());
+  }
+
+  @Test
+  void testSend_InterruptedCallerFails() throws Exception {
+    Pipe inbound = Pipe.open();
+    Pipe outbound = Pipe.open();
+    LineDelimitedChannel channel =
+        new LineDelimitedChannel("test", inbound.source(), outbound.sink(), m -> {}, e -> {});
+
+    Thread.currentThread().interrupt();
+    CompletableFuture<Void> sent = channel.send("{}");
+
+    assertTrue(Thread.interrupted());
+    assertTrue(sent.isCompletedExceptionally());
+    channel.close();
+  }
+
+  @Test
+  void testSend_FailsWhenTheQueueStaysFull() throws Exception {
+    Pipe inbound = Pipe.open();
+    Pipe outbound = Pipe.open();
+    LineDelimitedChannel channel =
+        new LineDelimitedChannel(
+            "test", inbound.source(), outbound.sink(), m -> {}, e -> {}, Duration.ofMillis(10));
+
+    // Not started, so nothing drains the queue.
+    for (int i = 0; i < LineDelimitedChannel.MAX_QUEUED_MESSAGES; i++) {
+      assertFalse(channel.send("{}").isDone());
+    }
+    ExecutionException e = assertThrows(ExecutionException.class, () -> channel.send("{}").get());
+
+    assertTrue(e.getCause() instanceof LineDelimitedChannel.QueueFullException);
+    assertTrue(channel.isOpen());
+    channel.close();
+  }
+
+  private static void write(WritableByteChannel channel, String text) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
@@ -192,4 +192,51 @@ class McpToolboxClientBuilderTest {
     assertNull(ProtocolVersion.fromString("invalid-version"));
     assertEquals(ProtocolVersion.VERSION_2025_11_25, ProtocolVersion.fromString("2025-11-25"));
   }
+
+  @Test
+  void testTransportOptionsArePassedToTransport() throws Exception {
+    McpToolboxClient client =
+        McpToolboxClient.builder()
+            .baseUrl("http://localhost:8080")
+            .transportOptions(HttpTransportOptions.builder().sessionPoolSize(3).build())
+            .build();
+
+    Field transportField = McpToolboxClientImpl.class.getDeclaredField("transport");
+    transportField.setAccessible(true);
+    HttpMcpTransport transport = (HttpMcpTransport) transportField.get(client);
+    assertEquals(3, transport.sessionPool().sessions().size());
+  }
+
+  @Test
+  void testManifestCacheTtlValidation() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> McpToolboxClient.builder().manifestCacheTtl(java.time.Duration.ofSeconds(-1)));
+    assertNotNull(
+        McpToolboxClient.builder()
+            .baseUrl("http://localhost:8080")
+            .manifestCacheTtl(java.time.Duration.ofMinutes(1))
+            .build());
+  }
+
+  @Test
+  void testOptionsAddedLaterDefaultToUnsupported() {
+    McpToolboxClient.Builder builder =
+        org.mockito.Mockito.mock(
+            McpToolboxClient.Builder.class, org.mockito.Mockito.CALLS_REAL_METHODS);
+
+    UnsupportedOperationException e =
+        assertThrows(UnsupportedOperationException.class, () -> builder.virtualThreads(true));
+    assertTrue(e.getMessage().endsWith("does not support the virtualThreads option"));
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> builder.transportOptions(HttpTransportOptions.defaults()));
+    assertThrows(UnsupportedOperationException.class, () -> builder.transport(null));
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> builder.manifestCacheTtl(java.time.Duration.ZERO));
+    assertThrows(UnsupportedOperationException.class, () -> builder.metrics(null));
+    assertThrows(UnsupportedOperationException.class, () -> builder.callRecorder(null));
+    assertThrows(UnsupportedOperationException.class, () -> builder.interceptor(null));
+  }
 }
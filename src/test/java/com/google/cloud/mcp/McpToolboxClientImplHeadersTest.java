@@ -24,7 +24,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.lang.reflect.Field;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
@@ -55,21 +54,18 @@ class McpToolboxClientImplHeadersTest {
 
   @Test
   void testCustomHeadersPopulatedInAllRequests() throws Exception {
+    HttpClient mockHttpClient = mock(HttpClient.class);
     McpToolboxClient client =
         new McpToolboxClientBuilder()
             .baseUrl("http://localhost:8080")
             .apiKey("client-api-key")
             .headers(Map.of("X-Client-Header", "client-value", "X-Common-Header", "client-common"))
+            .transportOptions(
+                HttpTransportOptions.builder()
+                    .httpEngine(new JdkHttpEngine(mockHttpClient))
+                    .build())
             .build();
 
-    HttpClient mockHttpClient = mock(HttpClient.class);
-    Field transportField = McpToolboxClientImpl.class.getDeclaredField("transport");
-    transportField.setAccessible(true);
-    HttpMcpTransport transport = (HttpMcpTransport) transportField.get(client);
-    Field httpClientField = HttpMcpTransport.class.getDeclaredField("httpClient");
-    httpClientField.setAccessible(true);
-    httpClientField.set(transport, mockHttpClient);
-
     HttpResponse<String> initResponse = mock(HttpResponse.class);
     when(initResponse.statusCode()).thenReturn(200);
     when(initResponse.body()).thenReturn("{}");
@@ -139,21 +135,18 @@ class McpToolboxClientImplHeadersTest {
 
   @Test
   void testExtraHeadersOverrideAndAuthPriority() throws Exception {
+    HttpClient mockHttpClient = mock(HttpClient.class);
     McpToolboxClient client =
         new McpToolboxClientBuilder()
             .baseUrl("http://localhost:8080")
             .apiKey("client-api-key")
             .headers(Map.of("X-Client-Header", "client-value", "X-Common-Header", "client-common"))
+            .transportOptions(
+                HttpTransportOptions.builder()
+                    .httpEngine(new JdkHttpEngine(mockHttpClient))
+                    .build())
             .build();
 
-    HttpClient mockHttpClient = mock(HttpClient.class);
-    Field transportField = McpToolboxClientImpl.class.getDeclaredField("transport");
-    transportField.setAccessible(true);
-    HttpMcpTransport transport = (HttpMcpTransport) transportField.get(client);
-    Field httpClientField = HttpMcpTransport.class.getDeclaredField("httpClient");
-    httpClientField.setAccessible(true);
-    httpClientField.set(transport, mockHttpClient);
-
     HttpResponse<String> initResponse = mock(HttpResponse.class);
     when(initResponse.statusCode()).thenReturn(200);
     when(initResponse.body()).thenReturn("{}");
@@ -213,20 +206,17 @@ class McpToolboxClientImplHeadersTest {
     customHeaders.put("Authorization", "Bearer initial-token");
     customHeaders.put("authorization", "Bearer lowercase-token");
 
+    HttpClient mockHttpClient = mock(HttpClient.class);
     McpToolboxClient client =
         new McpToolboxClientBuilder()
             .baseUrl("http://localhost:8080")
             .headers(customHeaders)
+            .transportOptions(
+                HttpTransportOptions.builder()
+                    .httpEngine(new JdkHttpEngine(mockHttpClient))
+                    .build())
             .build();
 
-    HttpClient mockHttpClient = mock(HttpClient.class);
-    Field transportField = McpToolboxClientImpl.class.getDeclaredField("transport");
-    transportField.setAccessible(true);
-    HttpMcpTransport transport = (HttpMcpTransport) transportField.get(client);
-    Field httpClientField = HttpMcpTransport.class.getDeclaredField("httpClient");
-    httpClientField.setAccessible(true);
-    httpClientField.set(transport, mockHttpClient);
-
     HttpResponse<String> initResponse = mock(HttpResponse.class);
     when(initResponse.statusCode()).thenReturn(200);
     when(initResponse.body()).thenReturn("{}");
@@ -514,10 +514,8 @@ class McpToolboxClientImplTest {
   @Test
   void testInvokeTool_withInvalidUriThrowsException() throws Exception {
     HttpMcpTransport transport = new HttpMcpTransport("http://invalid uri", mockHttpClient);
-    Field initFutureField = HttpMcpTransport.class.getDeclaredField("initFuture");
-    initFutureField.setAccessible(true);
-    initFutureField.set(
-        transport, CompletableFuture.completedFuture(null)); // bypass initialization
+    transport.sessionPool().sessions().get(0).initFuture =
+        CompletableFuture.completedFuture(null); // bypass initialization
     McpToolboxClientImpl badClient =
         new McpToolboxClientImpl(transport, java.util.Collections.emptyMap(), null);
 
@@ -594,11 +592,17 @@ class McpToolboxClientImplTest {
         .thenReturn(CompletableFuture.completedFuture(initResponse))
         .thenReturn(CompletableFuture.completedFuture(notifResponse));
 
-    Method initMethod = HttpMcpTransport.class.getDeclaredMethod("ensureInitialized", Map.class);
+    Method initMethod =
+        HttpMcpTransport.class.getDeclaredMethod(
+            "ensureInitialized", McpSessionPool.Session.class, Map.class);
     initMethod.setAccessible(true);
 
     CompletableFuture<Void> future =
-        (CompletableFuture<Void>) initMethod.invoke(transport, java.util.Collections.emptyMap());
+        (CompletableFuture<Void>)
+            initMethod.invoke(
+                transport,
+                transport.sessionPool().sessions().get(0),
+                java.util.Collections.emptyMap());
     future.join(); // should complete and NOT set Authorization header
 
     ArgumentCaptor<HttpRequest> requestCaptor = ArgumentCaptor.forClass(HttpRequest.class);
@@ -782,9 +786,7 @@ class McpToolboxClientImplTest {
     HttpMcpTransport transport = new HttpMcpTransport("http://localhost:8080", mockHttpClient);
 
     // Force transport to be initialized first
-    Field initFutureField = HttpMcpTransport.class.getDeclaredField("initFuture");
-    initFutureField.setAccessible(true);
-    initFutureField.set(transport, CompletableFuture.completedFuture(null));
+    transport.sessionPool().sessions().get(0).initFuture = CompletableFuture.completedFuture(null);
 
     CompletableFuture<TransportManifest> future =
         transport.listTools("invalid path with spaces \\", java.util.Collections.emptyMap());
@@ -816,11 +818,17 @@ class McpToolboxClientImplTest {
     when(mockHttpClient.sendAsync(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
         .thenReturn(CompletableFuture.completedFuture(initResponse));
 
-    Method initMethod = HttpMcpTransport.class.getDeclaredMethod("ensureInitialized", Map.class);
+    Method initMethod =
+        HttpMcpTransport.class.getDeclaredMethod(
+            "ensureInitialized", McpSessionPool.Session.class, Map.class);
     initMethod.setAccessible(true);
 
     CompletableFuture<Void> future =
-        (CompletableFuture<Void>) initMethod.invoke(transport, java.util.Collections.emptyMap());
+        (CompletableFuture<Void>)
+            initMethod.invoke(
+                transport,
+                transport.sessionPool().sessions().get(0),
+                java.util.Collections.emptyMap());
 
     java.util.concurrent.ExecutionException ex =
         org.junit.jupiter.api.Assertions.assertThrows(
@@ -1059,4 +1067,118 @@ class McpToolboxClientImplTest {
     assertEquals("string", param.type());
     assertEquals("default-val", param.defaultValue());
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testWarmUp_ReportsPhasesAndServesPreloadedManifestOnce() throws Exception {
+    Transport mockTransport = mock(Transport.class);
+    ToolDefinition def =
+        new ToolDefinition("desc", java.util.List.of(), java.util.List.of(), null, null);
+    TransportManifest manifest = new TransportManifest(Map.of("test-tool", def));
+    when(mockTransport.getBaseUrl()).thenReturn("https://localhost:8080");
+    when(mockTransport.warmUp(org.mockito.ArgumentMatchers.eq(2), any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                Map.of(WarmUpReport.PHASE_INITIALIZE, java.time.Duration.ofMillis(5))));
+    when(mockTransport.listTools(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(manifest));
+    McpToolboxClientImpl warmClient =
+        new McpToolboxClientImpl(mockTransport, Map.of(), null, null, null);
+
+    WarmUpReport report = warmClient.warmUp(2).get();
+
+    assertEquals(1, report.toolCount());
+    assertEquals(java.time.Duration.ofMillis(5), report.phase(WarmUpReport.PHASE_INITIALIZE));
+    assertTrue(report.phases().containsKey(WarmUpReport.PHASE_MANIFEST));
+    assertEquals(java.time.Duration.ZERO, report.phase(WarmUpReport.PHASE_CONNECT));
+    assertFalse(report.total().isNegative());
+    assertTrue(report.toString().contains("toolCount=1"));
+    verify(mockTransport, times(1)).listTools(any(), any());
+
+    // The preloaded manifest is served once, then the manifest is fetched again.
+    assertEquals(Map.of("test-tool", def), warmClient.listTools().get());
+    verify(mockTransport, times(1)).listTools(any(), any());
+    warmClient.listTools().get();
+    verify(mockTransport, times(2)).listTools(any(), any());
+  }
+
+  @Test
+  void testWarmUp_DefaultCompletesWithEmptyReport() throws Exception {
+    McpToolboxClient client = mock(McpToolboxClient.class, org.mockito.Mockito.CALLS_REAL_METHODS);
+
+    WarmUpReport report = client.warmUp().get();
+
+    assertTrue(report.phases().isEmpty());
+    assertEquals(java.time.Duration.ZERO, report.total());
+    assertEquals(0, report.toolCount());
+    java.util.concurrent.ExecutionException e =
+        org.junit.jupiter.api.Assertions.assertThrows(
+            java.util.concurrent.ExecutionException.class, () -> client.warmUp(0).get());
+    assertTrue(e.getCause() instanceof IllegalArgumentException);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testManifestCacheTtl_ReusesManifestUntilExpiry() throws Exception {
+    Transport mockTransport = mock(Transport.class);
+    TransportManifest manifest = new TransportManifest(Map.of());
+    when(mockTransport.getBaseUrl()).thenReturn("https://localhost:8080");
+    when(mockTransport.listTools(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(manifest));
+    McpToolboxClientImpl cachingClient =
+        new McpToolboxClientImpl(
+            mockTransport,
+            Map.of(),
+            null,
+            null,
+            null,
+            ClientOptions.builder().manifestCacheTtl(java.time.Duration.ofMinutes(5)).build());
+
+    cachingClient.listTools().get();
+    cachingClient.loadTool("missing").handle((t, e) -> null).get();
+    cachingClient.loadToolset("other").get();
+
+    verify(mockTransport, times(1)).listTools(org.mockito.ArgumentMatchers.eq(""), any());
+    verify(mockTransport, times(1)).listTools(org.mockito.ArgumentMatchers.eq("other"), any());
+  }
+
+  @Test
+  void testManifestCacheTtl_ServesUnmodifiableManifest() throws Exception {
+    Transport mockTransport = mock(Transport.class);
+    Map<String, ToolDefinition> tools = new java.util.HashMap<>();
+    tools.put("search", new ToolDefinition("Searches", java.util.List.of(), java.util.List.of()));
+    when(mockTransport.getBaseUrl()).thenReturn("https://localhost:8080");
+    when(mockTransport.listTools(any(), any()))
+        .thenReturn(CompletableFuture.completedFuture(new TransportManifest(tools)));
+    McpToolboxClientImpl cachingClient =
+        new McpToolboxClientImpl(
+            mockTransport,
+            Map.of(),
+            null,
+            null,
+            null,
+            ClientOptions.builder().manifestCacheTtl(java.time.Duration.ofMinutes(5)).build());
+
+    Map<String, ToolDefinition> first = cachingClient.listTools().get();
+    org.junit.jupiter.api.Assertions.assertThrows(
+        UnsupportedOperationException.class, () -> first.remove("search"));
+    tools.clear();
+
+    Map<String, ToolDefinition> second = cachingClient.listTools().get();
+    assertTrue(second.containsKey("search"));
+    org.junit.jupiter.api.Assertions.assertThrows(
+        UnsupportedOperationException.class, second::clear);
+  }
+
+  @Test
+  void testManifestCache_ExpiredEntriesAreDropped() throws Exception {
+    ManifestCache cache = new ManifestCache(java.time.Duration.ofNanos(1));
+    cache.put(null, Map.of());
+    Thread.sleep(1);
+    assertNull(cache.get(""));
+
+    ManifestCache disabled = new ManifestCache(null);
+    disabled.put("toolset", Map.of());
+    assertNull(disabled.get("toolset"));
+  }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 10, unit = java.util.concurrent.TimeUnit.SECONDS)
+class StdioMcpTransportTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final int BATCH = 10;
+
+  /**
+   * A fake MCP server run as a separate process. It answers tools/call requests in reverse order,
+   * in batches, exits when asked to call with -1, closes its output but keeps running when asked to
+   * call with -2 and, with {@code --ignore-eof}, keeps running after its input is closed.
+   */
+  public static final class FakeServer {
+    public static void main(String[] args) throws Exception {
+      BufferedReader in =
+          new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+      PrintStream out = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+      List<JsonNode> calls = new ArrayList<>();
+      String line;
+      while ((line = in.readLine()) != null) {
+        JsonNode message = MAPPER.readTree(line);
+        String method = message.path("method").asText();
+        String id = message.has("id") ? message.get("id").toString() : null;
+        System.err.println("received " + method);
+        if (method.equals("initialize")) {
+          out.println(
+              "{\"jsonrpc\":\"2.0\",\"id\":"
+                  + id
+                  + ",\"result\":{\"protocolVersion\":\"2025-06-18\"}}");
+        } else if (method.equals("tools/list")) {
+          out.println(
+              "{\"jsonrpc\":\"2.0\",\"id\":"
+                  + id
+                  + ",\"result\":{\"tools\":["
+                  + "{\"name\":\"echo\",\"inputSchema\":{\"type\":\"object\"}}]}}");
+        } else if (method.equals("tools/call")) {
+          int n = message.get("params").get("arguments").get("n").asInt();
+          if (n == -2) {
+            System.out.close();
+            Thread.sleep(60_000);
+          }
+          if (n < 0) {
+            System.exit(3);
+          }
+          calls.add(message);
+          if (n == 0 || calls.size() == BATCH) {
+            Collections.reverse(calls);
+            for (JsonNode call : calls) {
+              out.println(
+                  "{\"jsonrpc\":\"2.0\",\"id\":"
+                      + call.get("id")
+                      + ",\"result\":{\"content\":[{\"type\":\"text\",\"text\":\""
+                      + call.get("params").get("arguments").get("n").asInt()
+                      + "\"}]}}");
+            }
+            calls.clear();
+          }
+        }
+      }
+      if (args.length > 0 && args[0].equals("--ignore-eof")) {
+        Thread.sleep(60_000);
+      }
+    }
+  }
+
+  private static List<String> fakeServerCommand(String... args) {
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(FakeServer.class.getName());
+    command.addAll(List.of(args));
+    return command;
+  }
+
+  @Test
+  void testListTools_PerformsHandshakeOverPipe() throws Exception {
+    StdioMcpTransport transport = new StdioMcpTransport(fakeServerCommand());
+    try {
+      TransportManifest manifest = transport.listTools("", Map.of()).get();
+
+      assertTrue(manifest.getTools().containsKey("echo"));
+      assertEquals(ProtocolVersion.VERSION_2025_06_18, transport.negotiatedProtocolVersion());
+      assertTrue(transport.getBaseUrl().startsWith("stdio:"));
+      assertTrue(transport.getBaseUrl().endsWith(FakeServer.class.getName()));
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  void testInvokeTool_CorrelatesConcurrentResponsesById() throws Exception {
+    StdioMcpTransport transport = new StdioMcpTransport(fakeServerCommand());
+    try {
+      transport.warmUp(1, Map.of()).get();
+      List<CompletableFuture<TransportResponse>> responses = new ArrayList<>();
+      for (int i = 1; i <= BATCH; i++) {
+        responses.add(transport.invokeTool("echo", Map.of("n", i), Map.of()));
+      }
+
+      for (int i = 1; i <= BATCH; i++) {
+        JsonNode body = MAPPER.readTree(responses.get(i - 1).get().getBody());
+        assertEquals(
+            String.valueOf(i), body.get("result").get("content").get(0).get("text").asText());
+      }
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  void testRestartsProcessAfterItExits() throws Exception {
+    StdioMcpTransport transport = new StdioMcpTransport(fakeServerCommand());
+    try {
+      transport.warmUp(1, Map.of()).get();
+      long firstPid = transport.process().pid();
+
+      ExecutionException e =
+          assertThrows(
+              ExecutionException.class,
+              () -> transport.invokeTool("echo", Map.of("n", -1), Map.of()).get());
+      assertTrue(e.getCause() instanceof McpException);
+      assertTrue(e.getCause().getMessage().contains("lost"));
+
+      TransportResponse response = transport.invokeTool("echo", Map.of("n", 0), Map.of()).get();
+
+      assertEquals(200, response.getStatusCode());
+      assertNotEquals(firstPid, transport.process().pid());
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  void testReconnect_StopsProcessThatClosedItsOutput() throws Exception {
+    StdioMcpTransport transport =
+        new StdioMcpTransport(
+            new ProcessBuilder(fakeServerCommand()).redirectError(ProcessBuilder.Redirect.DISCARD),
+            null);
+    try {
+      transport.warmUp(1, Map.of()).get();
+      Process first = transport.process();
+
+      assertThrows(
+          ExecutionException.class,
+          () -> transport.invokeTool("echo", Map.of("n", -2), Map.of()).get());
+      assertTrue(first.isAlive());
+      TransportResponse response = transport.invokeTool("echo", Map.of("n", 0), Map.of()).get();
+
+      assertEquals(200, response.getStatusCode());
+      assertFalse(first.isAlive());
+      assertNotEquals(first.pid(), transport.process().pid());
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  void testClose_StopsProcessThatIgnoresClosedInput() throws Exception {
+    StdioMcpTransport transport =
+        new StdioMcpTransport(
+            new ProcessBuilder(fakeServerCommand("--ignore-eof"))
+                .redirectError(ProcessBuilder.Redirect.DISCARD),
+            null);
+    transport.warmUp(1, Map.of()).get();
+    Process process = transport.process();
+
+    transport.close();
+
+    assertFalse(process.isAlive());
+    assertNull(transport.process());
+  }
+
+  @Test
+  void testFailures() throws Exception {
+    StdioMcpTransport missing =
+        new StdioMcpTransport(List.of(Path.of("does", "not", "exist").toString()));
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> missing.listTools("", Map.of()).get());
+    assertTrue(e.getCause() instanceof McpException);
+    assertTrue(e.getCause().getMessage().startsWith("Failed to start MCP server"));
+
+    ExecutionException notRunning =
+        assertThrows(ExecutionException.class, () -> missing.sendMessage("{}").get());
+    assertTrue(notRunning.getCause() instanceof McpException);
+
+    assertThrows(IllegalArgumentException.class, () -> new StdioMcpTransport(null));
+    assertThrows(IllegalArgumentException.class, () -> new StdioMcpTransport(List.of()));
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class StreamMcpTransportTest {
+
+  /** Answers the handshake in memory and fails every other message if asked to. */
+  private static final class ScriptedTransport extends StreamMcpTransport {
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private volatile boolean failSends;
+
+    private ScriptedTransport() {
+      super(null);
+    }
+
+    @Override
+    public String getBaseUrl() {
+      return "test:";
+    }
+
+    @Override
+    CompletableFuture<Void> connect() {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    CompletableFuture<Void> sendMessage(String message) {
+      sent.add(message);
+      try {
+        JsonNode node = objectMapper.readTree(message);
+        if (node.path("method").asText().equals("initialize")) {
+          onMessage("{\"jsonrpc\":\"2.0\",\"id\":" + node.get("id") + ",\"result\":{}}");
+          return CompletableFuture.completedFuture(null);
+        }
+      } catch (Exception e) {
+        return CompletableFuture.failedFuture(e);
+      }
+      return failSends
+          ? CompletableFuture.failedFuture(new McpException("send failed"))
+          : CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    void disconnect() {}
+  }
+
+  @Test
+  void testSendFailureFailsRequest() throws Exception {
+    ScriptedTransport transport = new ScriptedTransport();
+    transport.warmUp(1, Map.of()).get();
+    transport.failSends = true;
+
+    ExecutionException e =
+        assertThrows(
+            ExecutionException.class, () -> transport.invokeTool("t", Map.of(), Map.of()).get());
+    assertEquals("send failed", e.getCause().getMessage());
+
+    // A failed answer to a server request is only logged.
+    transport.onMessage("{\"jsonrpc\":\"2.0\",\"id\":7,\"method\":\"ping\"}");
+    transport.onMessage("{\"jsonrpc\":\"2.0\",\"result\":{}}");
+    while (!transport.sent.get(transport.sent.size() - 1).contains("\"id\":7")) {
+      Thread.sleep(5);
+    }
+  }
+
+  @Test
+  void testUnserializableArgumentsFailRequest() throws Exception {
+    ScriptedTransport transport = new ScriptedTransport();
+
+    ExecutionException e =
+        assertThrows(
+            ExecutionException.class,
+            () -> transport.invokeTool("t", Map.of("a", new Object()), Map.of()).get());
+    assertTrue(e.getCause() instanceof com.fasterxml.jackson.core.JsonProcessingException);
+    assertEquals(ProtocolVersion.VERSION_2025_11_25, transport.negotiatedProtocolVersion());
+  }
+
+  @Test
+  void testWarmUpRejectsZeroConnections() {
+    ExecutionException e =
+        assertThrows(
+            ExecutionException.class, () -> new ScriptedTransport().warmUp(0, Map.of()).get());
+    assertTrue(e.getCause() instanceof IllegalArgumentException);
+  }
+}
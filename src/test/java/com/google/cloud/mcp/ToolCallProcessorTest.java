@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class ToolCallProcessorTest {
+
+  private McpToolboxClient client;
+  private final Map<Object, CompletableFuture<ToolResult>> pending = new ConcurrentHashMap<>();
+
+  /** An upstream driven by the test, recording how much was requested. */
+  private static final class ManualUpstream implements Flow.Subscription {
+    final AtomicLong requested = new AtomicLong();
+    volatile boolean cancelled;
+
+    @Override
+    public void request(long n) {
+      requested.addAndGet(n);
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+    }
+  }
+
+  /** Records every signal and requests a fixed amount on subscription. */
+  private static final class Recorder implements Flow.Subscriber<ToolResult> {
+    final long initialRequest;
+    final List<String> items = new CopyOnWriteArrayList<>();
+    final CountDownLatch done = new CountDownLatch(1);
+    volatile Flow.Subscription subscription;
+    volatile Throwable error;
+    volatile boolean completed;
+
+    Recorder(long initialRequest) {
+      this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      if (initialRequest > 0) {
+        subscription.request(initialRequest);
+      }
+    }
+
+    @Override
+    public void onNext(ToolResult item) {
+      items.add(item.content().get(0).text());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+      done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+      done.countDown();
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    client = mock(McpToolboxClient.class);
+    when(client.invokeTool(eq("t"), anyMap()))
+        .thenAnswer(inv -> call(((Map<?, ?>) inv.getArgument(1)).get("i")));
+  }
+
+  private CompletableFuture<ToolResult> call(Object i) {
+    return pending.computeIfAbsent(i, k -> new CompletableFuture<>());
+  }
+
+  private static ToolResult text(Object text) {
+    return new ToolResult(List.of(new ToolResult.Content("text", String.valueOf(text))), false);
+  }
+
+  @Test
+  void testOrderedKeepsArgumentOrderWithinWindow() {
+    ToolCallProcessor processor = ToolCallProcessor.of(client, "t", 3, true);
+    ManualUpstream upstream = new ManualUpstream();
+    Recorder recorder = new Recorder(Long.MAX_VALUE);
+    processor.onSubscribe(upstream);
+    assertEquals(0, upstream.requested.get());
+    processor.subscribe(recorder);
+    assertEquals(3, upstream.requested.get());
+
+    for (int i = 0; i < 3; i++) {
+      processor.onNext(Map.of("i", i));
+    }
+    call(2).complete(text(2));
+    call(1).complete(text(1));
+    assertTrue(recorder.items.isEmpty());
+    assertEquals(3, upstream.requested.get());
+    call(0).complete(text(0));
+    assertEquals(List.of("0", "1", "2"), recorder.items);
+    assertEquals(6, upstream.requested.get());
+
+    processor.onComplete();
+    assertTrue(recorder.completed);
+  }
+
+  @Test
+  void testUnorderedPublishesInCompletionOrder() {
+    ToolCallProcessor processor = ToolCallProcessor.of(client, "t", 3, false);
+    ManualUpstream upstream = new ManualUpstream();
+    Recorder recorder = new Recorder(Long.MAX_VALUE);
+    processor.subscribe(recorder);
+    processor.onSubscribe(upstream);
+    for (int i = 0; i < 3; i++) {
+      processor.onNext(Map.of("i", i));
+    }
+    processor.onComplete();
+    call(2).complete(text(2));
+    call(0).complete(text(0));
+    assertFalse(recorder.completed);
+    call(1).complete(text(1));
+    assertEquals(List.of("2", "0", "1"), recorder.items);
+    assertTrue(recorder.completed);
+    assertEquals(3, upstream.requested.get());
+  }
+
+  @Test
+  void testRespectsDownstreamDemand() {
+    ToolCallProcessor processor = ToolCallProcessor.of(client, "t", 2, false);
+    ManualUpstream upstream = new ManualUpstream();
+    Recorder recorder = new Recorder(1);
+    processor.onSubscribe(upstream);
+    processor.subscribe(recorder);
+    processor.onNext(Map.of("i", 0));
+    processor.onNext(Map.of("i", 1));
+    call(0).complete(text(0));
+    call(1).complete(text(1));
+
+    assertEquals(List.of("0"), recorder.items);
+    assertEquals(3, upstream.requested.get());
+    recorder.subscription.request(5);
+    assertEquals(List.of("0", "1"), recorder.items);
+    assertEquals(4, upstream.requested.get());
+  }
+
+  @Test
+  void testFailedCallTerminatesStream() {
+    ToolCallProcessor processor = ToolCallProcessor.of(client, "t", 4, true);
+    ManualUpstream upstream = new ManualUpstream();
+    Recorder recorder = new Recorder(0);
+    processor.onSubscribe(upstream);
+    processor.subscribe(recorder);
+    processor.onNext(Map.of("i", 0));
+    processor.onNext(Map.of("i", 1));
+    IllegalStateException failure = new IllegalStateException("down");
+    call(0).completeExceptionally(failure);
+
+    assertSame(failure, recorder.error);
+    assertTrue(upstream.cancelled);
+    processor.onNext(Map.of("i", 2));
+    call(1).complete(text(1));
+    assertTrue(recorder.items.isEmpty());
+    assertFalse(pending.containsKey(2));
+  }
+
+  @Test
+  void testThrowingCallAndUpstreamErrors() {
+    McpToolboxClient throwing = mock(McpToolboxClient.class);
+    when(throwing.invokeTool(eq("t"), anyMap())).thenThrow(new IllegalArgumentException("bad"));
+    ToolCallProcessor processor = ToolCallProcessor.of(throwing, "t", 1, false);
+    Recorder recorder = new Recorder(1);
+    processor.onSubscribe(new ManualUpstream());
+    processor.subscribe(recorder);
+    processor.onNext(Map.of());
+    assertInstanceOf(IllegalArgumentException.class, recorder.error);
+
+    ToolCallProcessor failing = ToolCallProcessor.of(client, "t", 1, false);
+    ManualUpstream upstream = new ManualUpstream();
+    Recorder failed = new Recorder(1);
+    failing.onSubscribe(upstream);
+    failing.subscribe(failed);
+    IllegalStateException upstreamFailure = new IllegalStateException("source");
+    failing.onError(upstreamFailure);
+    assertSame(upstreamFailure, failed.error);
+  }
+
+  @Test
+  void testSubscriptionRules() {
+    ToolCallProcessor processor = ToolCallProcessor.of(client, "t", 1, false);
+    ManualUpstream upstream = new ManualUpstream();
+    ManualUpstream second = new ManualUpstream();
+    processor.onSubscribe(upstream);
+    processor.onSubscribe(second);
+    assertTrue(second.cancelled);
+
+    Recorder recorder = new Recorder(0);
+    processor.subscribe(recorder);
+    Recorder another = new Recorder(1);
+    processor.subscribe(another);
+    assertInstanceOf(IllegalStateException.class, another.error);
+    another.subscription.request(1);
+    another.subscription.cancel();
+    assertThrows(NullPointerException.class, () -> processor.subscribe(null));
+
+    recorder.subscription.request(0);
+    assertInstanceOf(IllegalArgumentException.class, recorder.error);
+    assertTrue(upstream.cancelled);
+  }
+
+  @Test
+  void testCancelStopsDelivery() {
+    ToolCallProcessor processor = ToolCallProcessor.of(client, "t", 2, true);
+    Recorder recorder = new Recorder(Long.MAX_VALUE);
+    processor.subscribe(recorder);
+    recorder.subscription.request(Long.MAX_VALUE);
+    ManualUpstream upstream = new ManualUpstream();
+    processor.onSubscribe(upstream);
+    processor.onNext(Map.of("i", 0));
+    recorder.subscription.cancel();
+    assertTrue(upstream.cancelled);
+    call(0).complete(text(0));
+    assertTrue(recorder.items.isEmpty());
+    assertNull(recorder.error);
+    assertFalse(recorder.completed);
+
+    ManualUpstream late = new ManualUpstream();
+    processor.onSubscribe(late);
+    assertTrue(late.cancelled);
+
+    ToolCallProcessor early = ToolCallProcessor.of(client, "t", 2, true);
+    Recorder canceller = new Recorder(0);
+    early.subscribe(canceller);
+    canceller.subscription.cancel();
+  }
+
+  @Test
+  void testValidation() {
+    assertThrows(IllegalArgumentException.class, () -> ToolCallProcessor.of(client, "t", 0, true));
+    assertThrows(IllegalArgumentException.class, () -> ToolCallProcessor.of(client, "", 1, true));
+    assertThrows(IllegalArgumentException.class, () -> ToolCallProcessor.of(client, null, 1, true));
+    assertThrows(IllegalArgumentException.class, () -> ToolCallProcessor.of(null, "t", 1, true));
+    assertThrows(IllegalArgumentException.class, () -> ToolCallProcessor.of((Tool) null, 1, true));
+  }
+
+  @Test
+  void testStreamsThroughTool() throws Exception {
+    ToolDefinition echo =
+        new ToolDefinition(
+            "Echoes",
+            List.of(new ToolDefinition.Parameter("text", "string", true, "Text", List.of())),
+            List.of());
+    McpToolboxClient real =
+        McpToolboxClient.builder()
+            .transport(
+                FakeToolbox.builder()
+                    .tool("echo", echo, args -> args.get("text"))
+                    .build()
+                    .transport())
+            .build();
+    Tool tool = real.loadTool("echo").get();
+    ToolCallProcessor processor = ToolCallProcessor.of(tool, 16, true);
+    Recorder recorder = new Recorder(Long.MAX_VALUE);
+    processor.subscribe(recorder);
+
+    List<String> expected = new ArrayList<>();
+    try (SubmissionPublisher<Map<String, Object>> source = new SubmissionPublisher<>()) {
+      source.subscribe(processor);
+      for (int i = 0; i < 500; i++) {
+        expected.add("m" + i);
+        source.submit(Map.of("text", "m" + i));
+      }
+    }
+    assertTrue(recorder.done.await(4, TimeUnit.SECONDS));
+    assertTrue(recorder.completed);
+    assertEquals(expected, recorder.items.stream().collect(Collectors.toList()));
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.cloud.mcp.testing.FakeMcpServer;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class ToolExecuteOverlapTest {
+
+  private static final ToolDefinition ECHO =
+      new ToolDefinition(
+          "Echoes",
+          List.of(
+              new ToolDefinition.Parameter("text", "string", true, "Text", List.of()),
+              new ToolDefinition.Parameter("user", "string", false, "User", List.of("google"))),
+          List.of());
+
+  private static FakeToolbox toolbox() {
+    return FakeToolbox.builder()
+        .tool("echo", ECHO, args -> args.get("text") + " from " + args.get("user"))
+        .build();
+  }
+
+  private static <T> CompletableFuture<T> delayed(T value, long millis) {
+    return CompletableFuture.supplyAsync(
+        () -> value, CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+  }
+
+  /** A pre-processor that waits for {@code latch} and records whether it was released in time. */
+  private static ToolPreProcessor awaiting(CountDownLatch latch, AtomicBoolean released) {
+    return (name, args) ->
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                released.set(latch.await(2, TimeUnit.SECONDS));
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              return args;
+            });
+  }
+
+  @Test
+  void testAuthAndCredentialsStartBeforePreProcessing() throws Exception {
+    CountDownLatch started = new CountDownLatch(2);
+    AtomicBoolean released = new AtomicBoolean();
+    McpToolboxClient client =
+        McpToolboxClient.builder()
+            .transport(toolbox().transport())
+            .credentialsProvider(
+                () -> {
+                  started.countDown();
+                  return CompletableFuture.completedFuture("Bearer client");
+                })
+            .build();
+    Tool tool = new Tool("echo", ECHO, client);
+    tool.addAuthTokenGetter(
+        "google",
+        () -> {
+          started.countDown();
+          return CompletableFuture.completedFuture("user-token");
+        });
+    tool.addPreProcessor(awaiting(started, released));
+
+    assertEquals(
+        "hi from user-token", tool.execute(Map.of("text", "hi")).get().content().get(0).text());
+    assertTrue(released.get(), "auth and credentials should start before pre-processing ends");
+  }
+
+  @Test
+  void testSlowStagesOverlapOverHttp() throws Exception {
+    try (FakeMcpServer server = toolbox().startServer()) {
+      McpToolboxClient client =
+          McpToolboxClient.builder()
+              .baseUrl(server.url())
+              .credentialsProvider(() -> delayed("Bearer client", 300))
+              .build();
+      Tool tool = new Tool("echo", ECHO, client);
+      tool.addAuthTokenGetter("google", () -> delayed("user-token", 300));
+      tool.addPreProcessor((name, args) -> delayed(args, 300));
+
+      long start = System.nanoTime();
+      ToolResult result = tool.execute(Map.of("text", "hi")).get();
+      long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+      assertEquals("hi from user-token", result.content().get(0).text());
+      assertTrue(elapsedMillis < 800, "took " + elapsedMillis + " ms");
+    }
+  }
+
+  @Test
+  void testSessionHandshakeStartsDuringPreProcessing() throws Exception {
+    try (FakeMcpServer server = toolbox().startServer()) {
+      McpToolboxClient client = McpToolboxClient.builder().baseUrl(server.url()).build();
+      Tool tool = new Tool("echo", ECHO, client);
+      AtomicBoolean handshakeSeen = new AtomicBoolean();
+      tool.addPreProcessor(
+          (name, args) ->
+              CompletableFuture.supplyAsync(
+                  () -> {
+                    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+                    while (server.requestCount() == 0 && System.nanoTime() < deadline) {
+                      Thread.onSpinWait();
+                    }
+                    handshakeSeen.set(server.requestCount() > 0);
+                    return args;
+                  }));
+
+      assertEquals(
+          "hi from null", tool.execute(Map.of("text", "hi")).get().content().get(0).text());
+      assertTrue(handshakeSeen.get(), "initialize should be sent before pre-processing ends");
+    }
+  }
+
+  @Test
+  void testInterceptedHttpClientDoesNotPrefetch() throws Exception {
+    try (FakeMcpServer server = toolbox().startServer()) {
+      McpToolboxClient client =
+          McpToolboxClient.builder()
+              .baseUrl(server.url())
+              .interceptor(new TransportInterceptor() {})
+              .build();
+      Tool tool = new Tool("echo", ECHO, client);
+      tool.addPreProcessor((name, args) -> delayed(args, 10));
+      tool.addAuthTokenGetter("google", () -> CompletableFuture.completedFuture("t"));
+      assertEquals("hi from t", tool.execute(Map.of("text", "hi")).get().content().get(0).text());
+    }
+  }
+
+  @Test
+  void testAuthFailureSurfacesAfterPreProcessing() throws Exception {
+    McpToolboxClient client =
+        McpToolboxClient.builder()
+            .transport(toolbox().transport())
+            .metrics(new InMemoryClientMetrics())
+            .build();
+    Tool tool = client.loadTool("echo").get();
+    tool.addAuthTokenGetter(
+        "google", () -> CompletableFuture.failedFuture(new IllegalStateException("no token")));
+    tool.addPreProcessor((name, args) -> delayed(args, 10));
+
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> tool.execute(Map.of("text", "hi")).get());
+    assertInstanceOf(IllegalStateException.class, e.getCause());
+    assertEquals("no token", e.getCause().getMessage());
+  }
+}
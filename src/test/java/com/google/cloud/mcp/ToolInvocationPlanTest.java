@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class ToolInvocationPlanTest {
+
+  @Test
+  void testMapsEachServiceToTheFirstParameterItFills() {
+    ToolDefinition def =
+        new ToolDefinition(
+            "tool",
+            List.of(
+                new ToolDefinition.Parameter("a", "string", false, "", List.of("google")),
+                new ToolDefinition.Parameter("b", "string", false, "", List.of("google", "github")),
+                new ToolDefinition.Parameter("c", "string", false, "", null)),
+            List.of());
+    ToolInvocationPlan plan = ToolInvocationPlan.compile(def);
+
+    assertEquals(3, plan.parameterCount());
+    assertEquals("a", plan.parameterForService("google"));
+    assertEquals("b", plan.parameterForService("github"));
+    assertNull(plan.parameterForService("other"));
+
+    ResolvedAuth auth = new ResolvedAuth(Map.of("google", "g", "github", "h"));
+    Map<String, Object> planned = new HashMap<>();
+    Map<String, String> plannedHeaders = new HashMap<>();
+    auth.applyTo(planned, plannedHeaders, plan);
+    Map<String, Object> scanned = new HashMap<>();
+    Map<String, String> scannedHeaders = new HashMap<>();
+    auth.applyTo(scanned, scannedHeaders, def);
+    assertEquals(Map.of("a", "g", "b", "h"), planned);
+    assertEquals(scanned, planned);
+    assertEquals(scannedHeaders, plannedHeaders);
+  }
+
+  @Test
+  void testEmptyDefinitionOnlyRemovesNulls() {
+    ToolInvocationPlan plan = ToolInvocationPlan.compile(new ToolDefinition("tool", null, null));
+    assertSame(plan, ToolInvocationPlan.compile(null));
+    assertEquals(0, plan.parameterCount());
+
+    Map<String, Object> args = new HashMap<>();
+    args.put("a", null);
+    args.put("b", 1);
+    plan.validateAndSanitize(args, "tool");
+    assertEquals(Map.of("b", 1), args);
+  }
+
+  @Test
+  void testResolvesTypesIgnoringCase() {
+    ToolInvocationPlan plan =
+        ToolInvocationPlan.compile(
+            new ToolDefinition(
+                "tool",
+                List.of(
+                    new ToolDefinition.Parameter("i", "INTEGER", false, "", null),
+                    new ToolDefinition.Parameter("n", "Number", false, "", null),
+                    new ToolDefinition.Parameter("b", "boolean", false, "", null),
+                    new ToolDefinition.Parameter("a", "array", false, "", null),
+                    new ToolDefinition.Parameter("o", "object", false, "", null),
+                    new ToolDefinition.Parameter("x", "uuid", false, "", null),
+                    new ToolDefinition.Parameter("u", null, false, "", null)),
+                List.of()));
+
+    Map<String, Object> args = new HashMap<>();
+    args.put("i", 1L);
+    args.put("n", 1.5);
+    args.put("b", true);
+    args.put("a", new int[] {1});
+    args.put("o", Map.of());
+    args.put("x", 42);
+    args.put("u", List.of());
+    plan.validateAndSanitize(args, "tool");
+
+    args.put("i", 1.5);
+    IllegalArgumentException e =
+        assertThrows(IllegalArgumentException.class, () -> plan.validateAndSanitize(args, "tool"));
+    assertEquals("Parameter 'i' expected type 'INTEGER' but got 'Double'.", e.getMessage());
+  }
+
+  @Test
+  void testSharesScalarDefaultsAndSnapshotsContainers() {
+    String text = new String("default");
+    List<Object> list = new ArrayList<>(List.of("first"));
+    ToolInvocationPlan plan =
+        ToolInvocationPlan.compile(
+            new ToolDefinition(
+                "tool",
+                List.of(
+                    new ToolDefinition.Parameter("s", "string", false, "", null, text),
+                    new ToolDefinition.Parameter("l", "array", false, "", null, list)),
+                List.of()));
+    list.set(0, "changed");
+
+    Map<String, Object> first = new HashMap<>();
+    plan.validateAndSanitize(first, "tool");
+    Map<String, Object> second = new HashMap<>();
+    plan.validateAndSanitize(second, "tool");
+
+    assertSame(text, first.get("s"));
+    assertEquals(List.of("first"), first.get("l"));
+    @SuppressWarnings("unchecked")
+    List<Object> injected = (List<Object>) first.get("l");
+    injected.add("more");
+    assertEquals(List.of("first"), second.get("l"));
+  }
+
+  @Test
+  void testFailingBoundSupplierFailsTheCall() {
+    Tool tool =
+        new Tool(
+            "tool", new ToolDefinition("tool", List.of(), List.of()), mock(McpToolboxClient.class));
+    tool.bindParam(
+        "p",
+        () -> {
+          throw new IllegalStateException("no value");
+        });
+
+    CompletionException e =
+        assertThrows(CompletionException.class, () -> tool.execute(Map.of()).join());
+    assertInstanceOf(IllegalStateException.class, e.getCause());
+    assertEquals("no value", e.getCause().getMessage());
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class ToolProcessorChainTest {
+
+  private static final ToolDefinition ECHO =
+      new ToolDefinition(
+          "Echoes",
+          List.of(new ToolDefinition.Parameter("text", "string", true, "Text", List.of())),
+          List.of());
+
+  private static SyncToolPreProcessor append(String suffix, List<String> log) {
+    return (name, args) -> {
+      log.add(suffix);
+      args.put("text", args.get("text") + suffix);
+      return args;
+    };
+  }
+
+  private static ToolResult text(String text) {
+    return new ToolResult(List.of(new ToolResult.Content("text", text)), false);
+  }
+
+  @Test
+  void testRunsSynchronousAndCompletedProcessorsInline() {
+    List<String> log = new ArrayList<>();
+    ToolProcessorChain chain =
+        ToolProcessorChain.of(
+            List.of(
+                append("a", log),
+                (name, args) -> {
+                  log.add("b");
+                  return CompletableFuture.completedFuture(args);
+                },
+                append("c", log)),
+            List.of(
+                (SyncToolPostProcessor)
+                    (name, result) -> text(result.content().get(0).text() + "!"),
+                (name, result) -> CompletableFuture.completedFuture(result)));
+
+    Map<String, Object> args = new HashMap<>(Map.of("text", "x"));
+    CompletableFuture<Map<String, Object>> pre = chain.preProcess("echo", args);
+    assertTrue(pre.isDone());
+    assertEquals("xac", pre.join().get("text"));
+    assertEquals(List.of("a", "b", "c"), log);
+
+    CompletableFuture<ToolResult> post = chain.postProcess("echo", text("hi"));
+    assertTrue(post.isDone());
+    assertEquals("hi!", post.join().content().get(0).text());
+  }
+
+  @Test
+  void testResumesAfterAPendingProcessor() {
+    List<String> log = new ArrayList<>();
+    CompletableFuture<Map<String, Object>> gate = new CompletableFuture<>();
+    CompletableFuture<ToolResult> postGate = new CompletableFuture<>();
+    ToolProcessorChain chain =
+        ToolProcessorChain.of(
+            List.of(append("a", log), (name, args) -> gate, append("c", log)),
+            List.of(
+                (name, result) -> postGate,
+                (SyncToolPostProcessor)
+                    (name, result) -> text(result.content().get(0).text() + "!")));
+
+    CompletableFuture<Map<String, Object>> pre =
+        chain.preProcess("echo", new HashMap<>(Map.of("text", "x")));
+    assertFalse(pre.isDone());
+    assertEquals(List.of("a"), log);
+    gate.complete(new HashMap<>(Map.of("text", "y")));
+    assertEquals("yc", pre.join().get("text"));
+
+    CompletableFuture<ToolResult> post = chain.postProcess("echo", text("ignored"));
+    assertFalse(post.isDone());
+    postGate.complete(text("late"));
+    assertEquals("late!", post.join().content().get(0).text());
+
+    CompletableFuture<Map<String, Object>> last = new CompletableFuture<>();
+    ToolProcessorChain lastPending =
+        ToolProcessorChain.of(List.of(append("a", log), (name, args) -> last), List.of());
+    CompletableFuture<Map<String, Object>> result =
+        lastPending.preProcess("echo", new HashMap<>(Map.of("text", "x")));
+    assertSame(last, result);
+  }
+
+  @Test
+  void testFailuresStopTheChain() {
+    List<String> log = new ArrayList<>();
+    ToolProcessorChain throwing =
+        ToolProcessorChain.of(
+            List.of(
+                (SyncToolPreProcessor)
+                    (name, args) -> {
+                      throw new IllegalStateException("pre");
+                    },
+                append("never", log)),
+            List.of(
+                (SyncToolPostProcessor)
+                    (name, result) -> {
+                      throw new IllegalStateException("post");
+                    }));
+    CompletionException pre =
+        assertThrows(
+            CompletionException.class, () -> throwing.preProcess("echo", new HashMap<>()).join());
+    assertEquals("pre", pre.getCause().getMessage());
+    CompletionException post =
+        assertThrows(
+            CompletionException.class, () -> throwing.postProcess("echo", text("x")).join());
+    assertEquals("post", post.getCause().getMessage());
+
+    ToolProcessorChain failed =
+        ToolProcessorChain.of(
+            List.of(
+                (name, args) -> CompletableFuture.failedFuture(new IllegalStateException("failed")),
+                append("never", log)),
+            List.of(
+                (name, result) ->
+                    CompletableFuture.failedFuture(new IllegalStateException("failed")),
+                (SyncToolPostProcessor) (name, result) -> result));
+    assertThrows(
+        CompletionException.class, () -> failed.preProcess("echo", new HashMap<>()).join());
+    assertThrows(CompletionException.class, () -> failed.postProcess("echo", text("x")).join());
+    assertTrue(log.isEmpty());
+  }
+
+  @Test
+  void testSynchronousProcessorsCanBeCalledAsynchronously() {
+    SyncToolPreProcessor pre = (name, args) -> Map.of("tool", name);
+    SyncToolPostProcessor post = (name, result) -> text(name);
+    assertEquals(Map.of("tool", "echo"), pre.process("echo", Map.of()).join());
+    assertEquals("echo", post.process("echo", text("x")).join().content().get(0).text());
+
+    SyncToolPreProcessor failingPre =
+        (name, args) -> {
+          throw new IllegalArgumentException("bad");
+        };
+    SyncToolPostProcessor failingPost =
+        (name, result) -> {
+          throw new IllegalArgumentException("bad");
+        };
+    assertTrue(failingPre.process("echo", Map.of()).isCompletedExceptionally());
+    assertTrue(failingPost.process("echo", text("x")).isCompletedExceptionally());
+  }
+
+  @Test
+  void testToolsShareTheClientChainUntilTheyAddTheirOwn() throws Exception {
+    List<String> log = new ArrayList<>();
+    McpToolboxClient client =
+        McpToolboxClient.builder()
+            .transport(
+                FakeToolbox.builder()
+                    .tool("echo", ECHO, args -> args.get("text"))
+                    .build()
+                    .transport())
+            .preProcessor(append("1", log))
+            .postProcessor(
+                (SyncToolPostProcessor)
+                    (name, result) -> text(result.content().get(0).text().toUpperCase()))
+            .build();
+
+    Tool first = client.loadTool("echo").get();
+    Tool second = client.loadTool("echo").get();
+    first.addPreProcessor(append("2", log));
+
+    assertEquals("X12", first.execute(Map.of("text", "x")).get().content().get(0).text());
+    assertEquals("X1", second.execute(Map.of("text", "x")).get().content().get(0).text());
+    Tool third = client.loadToolset("", null, null, false).get().get("echo");
+    assertEquals("X1", third.execute(Map.of("text", "x")).get().content().get(0).text());
+
+    second.addPreProcessor(
+        (SyncToolPreProcessor)
+            (name, args) -> {
+              throw new IllegalStateException("rejected");
+            });
+    ExecutionException e =
+        assertThrows(ExecutionException.class, () -> second.execute(Map.of("text", "x")).get());
+    assertInstanceOf(IllegalStateException.class, e.getCause());
+  }
+}
@@ -17,6 +17,7 @@
 package com.google.cloud.mcp;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyMap;
@@ -365,4 +366,102 @@ class ToolTest {
     verify(mockClient, never()).invokeTool(eq("test_tool"), anyMap(), anyMap());
     verify(mockClient, never()).invokeTool(eq("test_tool"), anyMap());
   }
+
+  @Test
+  void testWithMethods_returnVariantsWithoutChangingBase() {
+    List<Map<String, Object>> capturedArgs = new java.util.concurrent.CopyOnWriteArrayList<>();
+    List<Map<String, String>> capturedHeaders = new java.util.concurrent.CopyOnWriteArrayList<>();
+    when(mockClient.invokeTool(anyString(), anyMap(), anyMap()))
+        .thenAnswer(
+            inv -> {
+              capturedArgs.add(new HashMap<>(inv.getArgument(1)));
+              capturedHeaders.add(new HashMap<>(inv.getArgument(2)));
+              return CompletableFuture.completedFuture(
+                  new ToolResult(List.of(new ToolResult.Content("text", "ok")), false));
+            });
+    ToolPostProcessor post =
+        (name, result) ->
+            CompletableFuture.completedFuture(
+                new ToolResult(List.of(new ToolResult.Content("text", "post")), false));
+    tool.bindParam("base", "b");
+
+    Tool variant =
+        tool.withParam("static", "s")
+            .withParam("dynamic", () -> "d")
+            .withAuthTokenGetter("svc", () -> CompletableFuture.completedFuture("tok"))
+            .withPreProcessor(
+                (name, args) -> {
+                  args.put("pre", true);
+                  return CompletableFuture.completedFuture(args);
+                })
+            .withPostProcessor(post);
+
+    assertEquals("post", variant.execute(new HashMap<>()).join().content().get(0).text());
+    assertEquals(
+        Map.of("base", "b", "static", "s", "dynamic", "d", "pre", true), capturedArgs.get(0));
+    assertEquals("Bearer tok", capturedHeaders.get(0).get("Authorization"));
+    assertSame(tool.definition(), variant.definition());
+    assertEquals(tool.name(), variant.name());
+
+    assertEquals("ok", tool.execute(new HashMap<>()).join().content().get(0).text());
+    assertEquals(Map.of("base", "b"), capturedArgs.get(1));
+    assertTrue(capturedHeaders.get(1).isEmpty());
+  }
+
+  @Test
+  void testSharedTool_executesConcurrentlyWhileBindingsChange() throws Exception {
+    List<Map<String, Object>> capturedArgs = new java.util.concurrent.CopyOnWriteArrayList<>();
+    when(mockClient.invokeTool(anyString(), anyMap(), anyMap()))
+        .thenAnswer(
+            inv -> {
+              capturedArgs.add(new HashMap<>(inv.getArgument(1)));
+              return CompletableFuture.completedFuture(
+                  new ToolResult(List.of(new ToolResult.Content("text", "ok")), false));
+            });
+    tool.bindParam("shared", "v");
+
+    List<CompletableFuture<ToolResult>> results = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      int n = i;
+      results.add(
+          CompletableFuture.supplyAsync(() -> tool.withParam("n", n), pool)
+              .thenCompose(variant -> variant.execute(Map.of())));
+      if (i % 100 == 0) {
+        pool.execute(() -> tool.bindParam("extra" + n, n));
+      }
+    }
+    CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).get();
+
+    assertEquals(2000, capturedArgs.size());
+    assertEquals(2000, capturedArgs.stream().filter(a -> "v".equals(a.get("shared"))).count());
+    assertEquals(2000, capturedArgs.stream().map(a -> a.get("n")).distinct().count());
+  }
+
+  @Test
+  void testWithVariants_CopyUnderTheMutatorsLock() throws Exception {
+    List<Map<String, Object>> capturedArgs = new ArrayList<>();
+    when(mockClient.invokeTool(anyString(), anyMap(), anyMap()))
+        .thenAnswer(
+            inv -> {
+              capturedArgs.add(new HashMap<>(inv.getArgument(1)));
+              return CompletableFuture.completedFuture(
+                  new ToolResult(List.of(new ToolResult.Content("text", "ok")), false));
+            });
+
+    CompletableFuture<Tool> variant;
+    synchronized (tool) {
+      variant = CompletableFuture.supplyAsync(() -> tool.withParam("copy", 1), pool);
+      Thread.sleep(50);
+      assertFalse(variant.isDone());
+      tool.bindParam("first", 1)
+          .addPreProcessor(
+              (name, args) -> {
+                args.put("pre", true);
+                return CompletableFuture.completedFuture(args);
+              });
+    }
+
+    variant.get().execute(new HashMap<>()).join();
+    assertEquals(Map.of("first", 1, "copy", 1, "pre", true), capturedArgs.get(0));
+  }
 }
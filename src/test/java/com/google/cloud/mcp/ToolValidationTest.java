@@ -74,6 +74,21 @@ class ToolValidationTest {
     assertFalse(args.containsKey("param-null"));
   }
 
+  @Test
+  void testInputSchema_IsCopiedOnConstruction() throws Exception {
+    com.fasterxml.jackson.databind.node.ObjectNode schema =
+        (com.fasterxml.jackson.databind.node.ObjectNode)
+            new com.fasterxml.jackson.databind.ObjectMapper()
+                .readTree("{\"type\":\"object\",\"properties\":{}}");
+    ToolDefinition def = new ToolDefinition("test-tool", null, List.of(), null, null, schema);
+
+    schema.putArray("required").add("p-added");
+
+    assertFalse(def.inputSchema().has("required"));
+    assertEquals(
+        def, new ToolDefinition("test-tool", null, List.of(), null, null, def.inputSchema()));
+  }
+
   @Test
   void testValidateAndSanitizeArgs_missingRequired() {
     List<ToolDefinition.Parameter> params =
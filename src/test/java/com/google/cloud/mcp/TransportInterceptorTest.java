@@ -0,0 +1,310 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.cloud.mcp.testing.FakeMcpServer;
+import com.google.cloud.mcp.testing.FakeToolbox;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class TransportInterceptorTest {
+
+  private static final ToolDefinition ECHO =
+      new ToolDefinition(
+          "Echoes",
+          List.of(new ToolDefinition.Parameter("text", "string", true, "Text", List.of())),
+          List.of());
+
+  private static FakeToolbox toolbox() {
+    return FakeToolbox.builder().tool("echo", ECHO, args -> args.get("text")).build();
+  }
+
+  private static TransportInterceptor logging(String name, List<String> log) {
+    return new TransportInterceptor() {
+      @Override
+      public CompletableFuture<TransportManifest> listTools(
+          String toolsetName, Map<String, String> metadata, Transport next) {
+        log.add(name + ":list");
+        return next.listTools(toolsetName, metadata);
+      }
+
+      @Override
+      public CompletableFuture<TransportResponse> invokeTool(
+          String toolName,
+          Map<String, Object> arguments,
+          Map<String, String> metadata,
+          Transport next) {
+        log.add(name + ":before");
+        return next.invokeTool(toolName, arguments, metadata)
+            .thenApply(
+                res -> {
+                  log.add(name + ":after");
+                  return res;
+                });
+      }
+    };
+  }
+
+  @Test
+  void testInterceptorsRunInTheOrderTheyWereAdded() throws Exception {
+    List<String> log = new ArrayList<>();
+    McpToolboxClient client =
+        McpToolboxClient.builder()
+            .transport(toolbox().transport())
+            .interceptor(logging("outer", log))
+            .interceptor(null)
+            .interceptor(logging("inner", log))
+            .build();
+
+    Tool echo = client.loadTool("echo").get();
+    assertEquals(List.of("outer:list", "inner:list"), log);
+
+    log.clear();
+    assertEquals("hi", echo.execute(Map.of("text", "hi")).get().content().get(0).text());
+    assertEquals(List.of("outer:before", "inner:before", "inner:after", "outer:after"), log);
+
+    log.clear();
+    client.invokeTool("echo", Map.of("text", "hi")).get();
+    assertEquals(List.of("outer:before", "inner:before", "inner:after", "outer:after"), log);
+  }
+
+  @Test
+  void testInterceptorCanChangeArgumentsAndMetadata() throws Exception {
+    Map<String, String> seen = new HashMap<>();
+    Transport recording =
+        new Transport() {
+          private final Transport delegate = toolbox().transport();
+
+          @Override
+          public String getBaseUrl() {
+            return delegate.getBaseUrl();
+          }
+
+          @Override
+          public CompletableFuture<TransportManifest> listTools(
+              String toolsetName, Map<String, String> metadata) {
+            return delegate.listTools(toolsetName, metadata);
+          }
+
+          @Override
+          public CompletableFuture<TransportResponse> invokeTool(
+              String toolName, Map<String, Object> arguments, Map<String, String> metadata) {
+            seen.putAll(metadata);
+            return delegate.invokeTool(toolName, arguments, metadata);
+          }
+
+          @Override
+          public void close() {}
+        };
+    McpToolboxClient client =
+        McpToolboxClient.builder()
+            .transport(recording)
+            .interceptor(
+                new TransportInterceptor() {
+                  @Override
+                  public CompletableFuture<TransportResponse> invokeTool(
+                      String toolName,
+                      Map<String, Object> arguments,
+                      Map<String, String> metadata,
+                      Transport next) {
+                    Map<String, Object> args = new HashMap<>(arguments);
+                    args.put("text", "changed");
+                    Map<String, String> headers = new HashMap<>(metadata);
+                    headers.put("X-Trace", "abc");
+                    return next.invokeTool(toolName, args, headers);
+                  }
+                })
+            .build();
+
+    ToolResult result = client.invokeTool("echo", Map.of("text", "hi")).get();
+
+    assertEquals("changed", result.content().get(0).text());
+    assertEquals("abc", seen.get("X-Trace"));
+  }
+
+  @Test
+  void testInterceptorCanAnswerCallsAndRewriteResponses() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    McpToolboxClient client =
+        McpToolboxClient.builder()
+            .transport(toolbox().transport())
+            .interceptor(
+                new TransportInterceptor() {
+                  @Override
+                  public CompletableFuture<TransportResponse> invokeTool(
+                      String toolName,
+                      Map<String, Object> arguments,
+                      Map<String, String> metadata,
+                      Transport next) {
+                    if ("cached".equals(arguments.get("text"))) {
+                      return CompletableFuture.completedFuture(
+                          new TransportResponse(
+                              200,
+                              "{\"result\":{\"content\":[{\"type\":\"text\",\"text\":\"hit\"}]}}"));
+                    }
+                    calls.incrementAndGet();
+                    return next.invokeTool(toolName, arguments, metadata)
+                        .thenApply(res -> new TransportResponse(503, "rewritten"));
+                  }
+                })
+            .build();
+
+    assertEquals(
+        "hit", client.invokeTool("echo", Map.of("text", "cached")).get().content().get(0).text());
+    assertEquals(0, calls.get());
+
+    ToolResult rewritten = client.invokeTool("echo", Map.of("text", "hi")).get();
+    assertTrue(rewritten.isError());
+    assertEquals("Error 503: rewritten", rewritten.content().get(0).text());
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void testInterceptorExceptionFailsTheCall() throws Exception {
+    McpToolboxClient client =
+        McpToolboxClient.builder()
+            .transport(toolbox().transport())
+            .interceptor(
+                new TransportInterceptor() {
+                  @Override
+                  public CompletableFuture<TransportManifest> listTools(
+                      String toolsetName, Map<String, String> metadata, Transport next) {
+                    throw new IllegalStateException("rate limited");
+                  }
+
+                  @Override
+                  public CompletableFuture<TransportResponse> invokeTool(
+                      String toolName,
+                      Map<String, Object> arguments,
+                      Map<String, String> metadata,
+                      Transport next) {
+                    throw new IllegalStateException("rate limited");
+                  }
+                })
+            .build();
+
+    ExecutionException list =
+        assertThrows(ExecutionException.class, () -> client.loadToolset().get());
+    assertInstanceOf(IllegalStateException.class, list.getCause());
+    ExecutionException invoke =
+        assertThrows(ExecutionException.class, () -> client.invokeTool("echo", Map.of()).get());
+    assertEquals("rate limited", invoke.getCause().getMessage());
+  }
+
+  @Test
+  void testInterceptedHttpCallsAreTimed() throws Exception {
+    InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+    AtomicBoolean intercepted = new AtomicBoolean();
+    try (FakeMcpServer server = toolbox().startServer()) {
+      McpToolboxClient client =
+          McpToolboxClient.builder()
+              .baseUrl(server.url())
+              .metrics(metrics)
+              .interceptor(
+                  new TransportInterceptor() {
+                    @Override
+                    public CompletableFuture<TransportResponse> invokeTool(
+                        String toolName,
+                        Map<String, Object> arguments,
+                        Map<String, String> metadata,
+                        Transport next) {
+                      intercepted.set(true);
+                      return next.invokeTool(toolName, arguments, metadata);
+                    }
+                  })
+              .build();
+
+      Tool echo = client.loadTool("echo").get();
+      assertEquals("hi", echo.execute(Map.of("text", "hi")).get().content().get(0).text());
+    }
+
+    assertTrue(intercepted.get());
+    Map<String, ?> stages = metrics.tools().get("echo").stageLatency();
+    assertTrue(stages.containsKey(InvocationTiming.STAGE_NETWORK));
+    assertTrue(stages.containsKey(InvocationTiming.STAGE_PARSE));
+  }
+
+  @Test
+  void testInterceptorSeesHttpResponseHeaders() throws Exception {
+    AtomicReference<TransportResponse> seen = new AtomicReference<>();
+    try (FakeMcpServer server = toolbox().startServer()) {
+      McpToolboxClient client =
+          McpToolboxClient.builder()
+              .baseUrl(server.url())
+              .interceptor(
+                  new TransportInterceptor() {
+                    @Override
+                    public CompletableFuture<TransportResponse> invokeTool(
+                        String toolName,
+                        Map<String, Object> arguments,
+                        Map<String, String> metadata,
+                        Transport next) {
+                      return next.invokeTool(toolName, arguments, metadata)
+                          .thenApply(
+                              res -> {
+                                seen.set(res);
+                                return res;
+                              });
+                    }
+                  })
+              .build();
+
+      client.invokeTool("echo", Map.of("text", "hi")).get();
+    }
+
+    Map<String, List<String>> headers = seen.get().getHeaders();
+    assertEquals(
+        List.of("application/json"),
+        headers.entrySet().stream()
+            .filter(e -> e.getKey().equalsIgnoreCase("Content-Type"))
+            .findFirst()
+            .orElseThrow()
+            .getValue());
+  }
+
+  @Test
+  void testChainDelegatesEverythingElse() throws Exception {
+    FakeToolbox toolbox = toolbox();
+    Transport transport = toolbox.transport();
+    assertSame(transport, InterceptedTransport.chain(transport, List.of()));
+
+    Transport chain = InterceptedTransport.chain(transport, List.of(new TransportInterceptor() {}));
+    assertEquals(transport.getBaseUrl(), chain.getBaseUrl());
+    assertEquals(Map.<String, Duration>of(), chain.warmUp(1, Map.of()).get());
+    assertTrue(chain.listTools("", Map.of()).get().getTools().containsKey("echo"));
+    assertEquals(
+        200, chain.invokeTool("echo", Map.of("text", "hi"), Map.of()).get().getStatusCode());
+    chain.close();
+  }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class UnixSocketMcpTransportTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final int BATCH = 10;
+
+  @TempDir Path tempDir;
+
+  private Path socketPath;
+  private ServerSocketChannel server;
+  private Thread serverThread;
+  private final List<String> methods = new CopyOnWriteArrayList<>();
+  private final List<JsonNode> pingReplies = new CopyOnWriteArrayList<>();
+  private final AtomicInteger connections = new AtomicInteger();
+  private volatile boolean dropAfterList;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    socketPath = tempDir.resolve("mcp.sock");
+    server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+    server.bind(UnixDomainSocketAddress.of(socketPath));
+    serverThread = new Thread(this::serve, "fake-mcp-server");
+    serverThread.setDaemon(true);
+    serverThread.start();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.close();
+  }
+
+  /** A fake MCP server that answers tools/call requests in reverse order, in batches. */
+  private void serve() {
+    while (server.isOpen()) {
+      try (SocketChannel socket = server.accept()) {
+        connections.incrementAndGet();
+        BufferedReader in =
+            new BufferedReader(
+                new InputStreamReader(Channels.newInputStream(socket), StandardCharsets.UTF_8));
+        OutputStream out = Channels.newOutputStream(socket);
+        List<JsonNode> calls = new ArrayList<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+          JsonNode message = MAPPER.readTree(line);
+          if (!message.has("method")) {
+            pingReplies.add(message);
+            continue;
+          }
+          String method = message.get("method").asText();
+          methods.add(method);
+          String id = message.has("id") ? message.get("id").toString() : null;
+          if (method.equals("initialize")) {
+            write(
+                out,
+                "{\"jsonrpc\":\"2.0\",\"id\":"
+                    + id
+                    + ",\"result\":"
+                    + "{\"protocolVersion\":\"2025-06-18\"}}");
+          } else if (method.equals("tools/list")) {
+            write(out, "not json");
+            write(out, "{\"jsonrpc\":\"2.0\",\"id\":\"unknown\",\"result\":{}}");
+            write(
+                out,
+                "{\"jsonrpc\":\"2.0\",\"id\":"
+                    + id
+                    + ",\"result\":{\"tools\":["
+                    + "{\"name\":\"echo\",\"inputSchema\":{\"type\":\"object\"}}]}}");
+            if (dropAfterList) {
+              dropAfterList = false;
+              break;
+            }
+          } else if (method.equals("tools/call")) {
+            if (message.get("params").get("arguments").get("n").asInt() < 0) {
+              break;
+            }
+            calls.add(message);
+            if (calls.size() == BATCH) {
+              write(out, "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/progress\"}");
+              write(out, "{\"jsonrpc\":\"2.0\",\"id\":\"srv-1\",\"method\":\"ping\"}");
+              write(out, "{\"jsonrpc\":\"2.0\",\"id\":\"srv-2\",\"method\":\"sampling/create\"}");
+              Collections.reverse(calls);
+              for (JsonNode call : calls) {
+                write(
+                    out,
+                    "{\"jsonrpc\":\"2.0\",\"id\":"
+                        + call.get("id")
+                        + ",\"result\":"
+                        + "{\"content\":[{\"type\":\"text\",\"text\":\""
+                        + call.get("params").get("arguments").get("n").asInt()
+                        + "\"}]}}");
+              }
+              calls.clear();
+            }
+          }
+        }
+      } catch (IOException e) {
+        // Server closed or client disconnected.
+      }
+    }
+  }
+
+  private static void write(OutputStream out, String message) throws IOException {
+    out.write((message + "\n").getBytes(StandardCharsets.UTF_8));
+    out.flush();
+  }
+
+  @Test
+  void testListTools_PerformsHandshakeOverSocket() throws Exception {
+    UnixSocketMcpTransport transport = new UnixSocketMcpTransport(socketPath);
+    try {
+      TransportManifest manifest = transport.listTools("", Map.of()).get();
+
+      assertTrue(manifest.getTools().containsKey("echo"));
+      assertEquals(List.of("initialize", "notifications/initialized", "tools/list"), methods);
+      assertEquals(ProtocolVersion.VERSION_2025_06_18, transport.negotiatedProtocolVersion());
+      assertEquals("unix:" + socketPath, transport.getBaseUrl());
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  void testInvokeTool_CorrelatesConcurrentResponsesById() throws Exception {
+    UnixSocketMcpTransport transport = new UnixSocketMcpTransport(socketPath);
+    try {
+      List<CompletableFuture<TransportResponse>> responses = new ArrayList<>();
+      for (int i = 0; i < BATCH; i++) {
+        responses.add(transport.invokeTool("echo", Map.of("n", i), Map.of()));
+      }
+
+      for (int i = 0; i < BATCH; i++) {
+        TransportResponse response = responses.get(i).get();
+        assertEquals(200, response.getStatusCode());
+        JsonNode body = MAPPER.readTree(response.getBody());
+        assertEquals(
+            String.valueOf(i), body.get("result").get("content").get(0).get("text").asText());
+      }
+      while (pingReplies.size() < 2) {
+        Thread.sleep(5);
+      }
+      // Server requests are answered off the reader thread, so the replies may arrive in any order.
+      Map<String, JsonNode> replies = new java.util.HashMap<>();
+      pingReplies.forEach(reply -> replies.put(reply.get("id").asText(), reply));
+      assertTrue(replies.get("srv-1").has("result"));
+      assertEquals(-32601, replies.get("srv-2").get("error").get("code").asInt());
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  void testBlockingStageDoesNotStallOtherResponses() throws Exception {
+    AtomicInteger executed = new AtomicInteger();
+    java.util.concurrent.ExecutorService executor =
+        java.util.concurrent.Executors.newCachedThreadPool();
+    UnixSocketMcpTransport transport =
+        new UnixSocketMcpTransport(
+            socketPath,
+            null,
+            task -> {
+              executed.incrementAndGet();
+              executor.execute(task);
+            });
+    try {
+      List<CompletableFuture<TransportResponse>> responses = new ArrayList<>();
+      for (int i = 0; i < BATCH; i++) {
+        responses.add(transport.invokeTool("echo", Map.of("n", i), Map.of()));
+      }
+      // The server answers the last call first; its stage blocks until the first call's answer,
+      // which is read after it.
+      CompletableFuture<String> blocked =
+          responses
+              .get(BATCH - 1)
+              .thenApply(
+                  response -> responses.get(0).join().getBody() + Thread.currentThread().getName());
+
+      assertTrue(blocked.get().contains("\"text\":\"0\""));
+      assertFalse(blocked.get().contains("mcp-unix-socket"));
+      assertTrue(executed.get() >= BATCH);
+    } finally {
+      transport.close();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testReconnectsAfterServerDropsConnection() throws Exception {
+    dropAfterList = true;
+    UnixSocketMcpTransport transport = new UnixSocketMcpTransport(socketPath);
+    try {
+      transport.listTools(null, Map.of()).get();
+      while (transport.negotiatedProtocolVersion() != null) {
+        Thread.sleep(5);
+      }
+
+      transport.listTools(null, Map.of()).get();
+
+      assertEquals(2, connections.get());
+      assertEquals(2, Collections.frequency(methods, "initialize"));
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  void testFailures() throws Exception {
+    UnixSocketMcpTransport transport = new UnixSocketMcpTransport(socketPath);
+    ExecutionException named =
+        assertThrows(ExecutionException.class, () -> transport.listTools("named", Map.of()).get());
+    assertTrue(named.getCause() instanceof McpException);
+
+    transport.close();
+    ExecutionException closed =
+        assertThrows(ExecutionException.class, () -> transport.listTools("", Map.of()).get());
+    assertTrue(closed.getCause() instanceof McpException);
+
+    UnixSocketMcpTransport missing = new UnixSocketMcpTransport(tempDir.resolve("missing.sock"));
+    ExecutionException refused =
+        assertThrows(ExecutionException.class, () -> missing.warmUp(1, Map.of()).get());
+    assertTrue(refused.getCause() instanceof McpException);
+    assertThrows(IllegalArgumentException.class, () -> new UnixSocketMcpTransport(null));
+  }
+
+  @Test
+  void testClientBuilder_UsesGivenTransport() throws Exception {
+    UnixSocketMcpTransport transport = new UnixSocketMcpTransport(socketPath);
+    try {
+      McpToolboxClient client = McpToolboxClient.builder().transport(transport).build();
+
+      WarmUpReport report = client.warmUp().get();
+
+      assertEquals(1, report.toolCount());
+      assertTrue(report.phases().containsKey(WarmUpReport.PHASE_INITIALIZE));
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  void testPendingRequestsFailWhenConnectionDrops() throws Exception {
+    UnixSocketMcpTransport transport = new UnixSocketMcpTransport(socketPath);
+    try {
+      ExecutionException e =
+          assertThrows(
+              ExecutionException.class,
+              () -> transport.invokeTool("echo", Map.of("n", -1), Map.of("X-Ignored", "1")).get());
+      assertTrue(e.getCause() instanceof McpException);
+      assertTrue(e.getCause().getMessage().contains("lost"));
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  void testHandshakeRejectsNewerServerVersion() throws Exception {
+    UnixSocketMcpTransport transport =
+        new UnixSocketMcpTransport(socketPath, ProtocolVersion.VERSION_2024_11_05);
+    try {
+      for (int attempt = 0; attempt < 2; attempt++) {
+        ExecutionException e =
+            assertThrows(ExecutionException.class, () -> transport.listTools("", Map.of()).get());
+        assertTrue(e.getCause().getMessage().contains("version mismatch"));
+      }
+    } finally {
+      transport.close();
+    }
+  }
+}
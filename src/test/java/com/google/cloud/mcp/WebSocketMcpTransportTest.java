@@ -0,0 +1,379 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class WebSocketMcpTransportTest {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final int BATCH = 10;
+  private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+  private ServerSocket server;
+  private String url;
+  private final List<String> sessions = new CopyOnWriteArrayList<>();
+  private final List<Map<String, String>> handshakes = new CopyOnWriteArrayList<>();
+  private final List<JsonNode> pingReplies = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = new ServerSocket(0);
+    url = "ws://localhost:" + server.getLocalPort() + "/mcp/ws";
+    Thread acceptor =
+        new Thread(
+            () -> {
+              while (!server.isClosed()) {
+                try {
+                  Socket socket = server.accept();
+                  Thread handler = new Thread(() -> serve(socket), "fake-ws-connection");
+                  handler.setDaemon(true);
+                  handler.start();
+                } catch (IOException e) {
+                  // Server closed.
+                }
+              }
+            },
+            "fake-ws-server");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    server.close();
+  }
+
+  /**
+   * A fake MCP server speaking just enough of RFC 6455. It answers tools/call requests in reverse
+   * order, in batches, pushes notifications before tools/list results and closes the connection
+   * with status 1011 when asked to call with a negative number.
+   */
+  private void serve(Socket socket) {
+    try (socket) {
+      InputStream rawIn = socket.getInputStream();
+      OutputStream out = socket.getOutputStream();
+      Map<String, String> headers = readHandshake(rawIn);
+      sessions.add(headers.get("mcp-session-id"));
+      handshakes.add(headers);
+      byte[] digest =
+          MessageDigest.getInstance("SHA-1")
+              .digest(
+                  (headers.get("sec-websocket-key") + WEBSOCKET_GUID)
+                      .getBytes(StandardCharsets.US_ASCII));
+      out.write(
+          ("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                  + "Sec-WebSocket-Accept: "
+                  + Base64.getEncoder().encodeToString(digest)
+                  + "\r\n\r\n")
+              .getBytes(StandardCharsets.US_ASCII));
+      out.flush();
+
+      DataInputStream in = new DataInputStream(rawIn);
+      List<JsonNode> calls = new ArrayList<>();
+      ByteArrayOutputStream message = new ByteArrayOutputStream();
+      while (true) {
+        int first = in.readUnsignedByte();
+        int opcode = first & 0x0F;
+        byte[] payload = readPayload(in);
+        if (opcode == 0x8) {
+          writeFrame(out, 0x8, true, payload);
+          return;
+        }
+        message.write(payload);
+        if ((first & 0x80) == 0) {
+          continue;
+        }
+        JsonNode node = MAPPER.readTree(message.toByteArray());
+        message.reset();
+        if (!node.has("method")) {
+          pingReplies.add(node);
+          continue;
+        }
+        String method = node.get("method").asText();
+        String id = node.has("id") ? node.get("id").toString() : null;
+        if (method.equals("initialize")) {
+          writeText(
+              out,
+              "{\"jsonrpc\":\"2.0\",\"id\":"
+                  + id
+                  + ",\"result\":{\"protocolVersion\":\"2025-06-18\"}}");
+        } else if (method.equals("tools/list")) {
+          writeText(
+              out,
+              "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/tools/list_changed\","
+                  + "\"params\":{\"reason\":\"test\"}}");
+          writeText(out, "{\"jsonrpc\":\"2.0\",\"method\":\"notifications/progress\"}");
+          String result =
+              "{\"jsonrpc\":\"2.0\",\"id\":"
+                  + id
+                  + ",\"result\":{\"tools\":["
+                  + "{\"name\":\"echo\",\"inputSchema\":{\"type\":\"object\"}}]}}";
+          byte[] bytes = result.getBytes(StandardCharsets.UTF_8);
+          int half = bytes.length / 2;
+          writeFrame(out, 0x1, false, Arrays.copyOfRange(bytes, 0, half));
+          writeFrame(out, 0x0, true, Arrays.copyOfRange(bytes, half, bytes.length));
+        } else if (method.equals("tools/call")) {
+          int n = node.get("params").get("arguments").get("n").asInt();
+          if (n < 0) {
+            writeFrame(out, 0x8, true, new byte[] {0x03, (byte) 0xF3});
+            return;
+          }
+          calls.add(node);
+          if (n == 0 || calls.size() == BATCH) {
+            writeText(out, "{\"jsonrpc\":\"2.0\",\"id\":\"srv-1\",\"method\":\"ping\"}");
+            Collections.reverse(calls);
+            for (JsonNode call : calls) {
+              writeText(
+                  out,
+                  "{\"jsonrpc\":\"2.0\",\"id\":"
+                      + call.get("id")
+                      + ",\"result\":{\"content\":[{\"type\":\"text\",\"text\":\""
+                      + call.get("params").get("arguments").get("n").asInt()
+                      + "\"}]}}");
+            }
+            calls.clear();
+          }
+        }
+      }
+    } catch (Exception e) {
+      // Client disconnected.
+    }
+  }
+
+  private static Map<String, String> readHandshake(InputStream in) throws IOException {
+    ByteArrayOutputStream head = new ByteArrayOutputStream();
+    while (!head.toString(StandardCharsets.US_ASCII).endsWith("\r\n\r\n")) {
+      head.write(in.read());
+    }
+    Map<String, String> headers = new HashMap<>();
+    for (String line : head.toString(StandardCharsets.US_ASCII).split("\r\n")) {
+      int colon = line.indexOf(':');
+      if (colon > 0) {
+        headers.put(
+            line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+      }
+    }
+    return headers;
+  }
+
+  private static byte[] readPayload(DataInputStream in) throws IOException {
+    int second = in.readUnsignedByte();
+    long length = second & 0x7F;
+    if (length == 126) {
+      length = in.readUnsignedShort();
+    } else if (length == 127) {
+      length = in.readLong();
+    }
+    byte[] mask = new byte[4];
+    in.readFully(mask);
+    byte[] payload = new byte[(int) length];
+    in.readFully(payload);
+    for (int i = 0; i < payload.length; i++) {
+      payload[i] ^= mask[i % 4];
+    }
+    return payload;
+  }
+
+  private static void writeText(OutputStream out, String message) throws IOException {
+    writeFrame(out, 0x1, true, message.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void writeFrame(OutputStream out, int opcode, boolean fin, byte[] payload)
+      throws IOException {
+    out.write((fin ? 0x80 : 0) | opcode);
+    if (payload.length < 126) {
+      out.write(payload.length);
+    } else {
+      out.write(126);
+      out.write(payload.length >>> 8);
+      out.write(payload.length & 0xFF);
+    }
+    out.write(payload);
+    out.flush();
+  }
+
+  @Test
+  void testListTools_DeliversNotificationsAndSendsSessionId() throws Exception {
+    WebSocketMcpTransport transport = new WebSocketMcpTransport(url);
+    List<String> notifications = new CopyOnWriteArrayList<>();
+    transport.setNotificationListener((method, params) -> notifications.add(method + params));
+    try {
+      TransportManifest manifest = transport.listTools("", Map.of()).get();
+
+      assertTrue(manifest.getTools().containsKey("echo"));
+      assertEquals(
+          List.of("notifications/tools/list_changed{reason=test}", "notifications/progress{}"),
+          notifications);
+      assertEquals(List.of(transport.sessionId()), sessions);
+      assertEquals(ProtocolVersion.VERSION_2025_06_18, transport.negotiatedProtocolVersion());
+      assertEquals(url, transport.getBaseUrl());
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  void testHandshakeCarriesHeadersAndCredentials() throws Exception {
+    List<String> executed = new CopyOnWriteArrayList<>();
+    java.net.http.HttpClient httpClient =
+        java.net.http.HttpClient.newBuilder()
+            .executor(
+                task -> {
+                  executed.add(Thread.currentThread().getName());
+                  new Thread(task).start();
+                })
+            .build();
+    java.util.concurrent.atomic.AtomicInteger tokens =
+        new java.util.concurrent.atomic.AtomicInteger();
+    WebSocketMcpTransport transport =
+        new WebSocketMcpTransport(
+            url,
+            Map.of("X-Tenant", "acme", "Authorization", "Bearer static"),
+            () -> CompletableFuture.completedFuture("Bearer token-" + tokens.incrementAndGet()),
+            null,
+            httpClient);
+    try {
+      transport.listTools("", Map.of()).get();
+      assertThrows(
+          ExecutionException.class,
+          () -> transport.invokeTool("echo", Map.of("n", -1), Map.of()).get());
+      transport.invokeTool("echo", Map.of("n", 0), Map.of()).get();
+
+      assertEquals(2, handshakes.size());
+      assertEquals("acme", handshakes.get(0).get("x-tenant"));
+      assertEquals("Bearer token-1", handshakes.get(0).get("authorization"));
+      assertEquals("Bearer token-2", handshakes.get(1).get("authorization"));
+      assertFalse(executed.isEmpty());
+    } finally {
+      transport.close();
+    }
+
+    WebSocketMcpTransport staticAuth =
+        new WebSocketMcpTransport(url, Map.of("Authorization", "Bearer static"), null, null, null);
+    try {
+      staticAuth.listTools("", Map.of()).get();
+      assertEquals("Bearer static", handshakes.get(2).get("authorization"));
+    } finally {
+      staticAuth.close();
+    }
+  }
+
+  @Test
+  void testInvokeTool_CorrelatesConcurrentResponsesById() throws Exception {
+    WebSocketMcpTransport transport = new WebSocketMcpTransport(url);
+    try {
+      transport.listTools(null, Map.of()).get();
+      List<CompletableFuture<TransportResponse>> responses = new ArrayList<>();
+      for (int i = 1; i <= BATCH; i++) {
+        responses.add(transport.invokeTool("echo", Map.of("n", i), Map.of()));
+      }
+
+      for (int i = 1; i <= BATCH; i++) {
+        JsonNode body = MAPPER.readTree(responses.get(i - 1).get().getBody());
+        assertEquals(
+            String.valueOf(i), body.get("result").get("content").get(0).get("text").asText());
+      }
+      while (pingReplies.isEmpty()) {
+        Thread.sleep(5);
+      }
+      assertTrue(pingReplies.get(0).has("result"));
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  void testReconnectsWithSameSessionAfterDrop() throws Exception {
+    WebSocketMcpTransport transport = new WebSocketMcpTransport(url);
+    transport.setNotificationListener(
+        (method, params) -> {
+          throw new IllegalStateException("listener failure");
+        });
+    try {
+      transport.listTools("", Map.of()).get();
+      ExecutionException e =
+          assertThrows(
+              ExecutionException.class,
+              () -> transport.invokeTool("echo", Map.of("n", -1), Map.of()).get());
+      assertTrue(e.getCause() instanceof McpException);
+
+      TransportResponse response = transport.invokeTool("echo", Map.of("n", 0), Map.of()).get();
+
+      assertEquals(200, response.getStatusCode());
+      assertEquals(2, sessions.size());
+      assertEquals(sessions.get(0), sessions.get(1));
+    } finally {
+      transport.close();
+    }
+  }
+
+  @Test
+  void testFailures() throws Exception {
+    assertThrows(IllegalArgumentException.class, () -> new WebSocketMcpTransport(null));
+    assertThrows(
+        IllegalArgumentException.class, () -> new WebSocketMcpTransport("http://localhost/mcp"));
+
+    WebSocketMcpTransport notConnected = new WebSocketMcpTransport(url);
+    ExecutionException notOpen =
+        assertThrows(ExecutionException.class, () -> notConnected.sendMessage("{}").get());
+    assertTrue(notOpen.getCause() instanceof McpException);
+    notConnected.close();
+    ExecutionException closed =
+        assertThrows(ExecutionException.class, () -> notConnected.listTools("", Map.of()).get());
+    assertTrue(closed.getCause() instanceof McpException);
+
+    server.close();
+    WebSocketMcpTransport refused = new WebSocketMcpTransport(url);
+    for (int attempt = 0; attempt < 2; attempt++) {
+      ExecutionException e =
+          assertThrows(ExecutionException.class, () -> refused.warmUp(1, Map.of()).get());
+      assertTrue(e.getCause() instanceof McpException);
+      assertTrue(e.getCause().getMessage().startsWith("Failed to connect"));
+    }
+  }
+}
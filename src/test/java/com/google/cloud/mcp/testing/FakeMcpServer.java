@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.testing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.cloud.mcp.TransportResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An MCP server on a local port that serves the tools of a {@link FakeToolbox} over HTTP. It
+ * implements {@code initialize}, {@code ping}, {@code tools/list} and {@code tools/call}, accepts
+ * any notification, and serves all tools under any toolset path. Responses report the time spent
+ * handling the request as {@code Server-Timing: total;dur=<ms>}, and non-empty bodies are gzipped
+ * when the request accepts {@code gzip}. Create instances with {@link FakeToolbox#startServer()}.
+ */
+public final class FakeMcpServer implements AutoCloseable {
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final FakeToolbox toolbox;
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final AtomicLong requestCount = new AtomicLong();
+
+  private static final int ACCEPT_BACKLOG = 1024;
+
+  private FakeMcpServer(FakeToolbox toolbox, HttpServer server, ExecutorService executor) {
+    this.toolbox = toolbox;
+    this.server = server;
+    this.executor = executor;
+  }
+
+  static FakeMcpServer start(FakeToolbox toolbox) throws IOException {
+    // A deep accept backlog so that bursts of hundreds of new connections are not refused.
+    HttpServer server =
+        HttpServer.create(
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), ACCEPT_BACKLOG);
+    ExecutorService executor =
+        Executors.newCachedThreadPool(
+            r -> {
+              Thread thread = new Thread(r, "fake-mcp-server");
+              thread.setDaemon(true);
+              return thread;
+            });
+    FakeMcpServer fake = new FakeMcpServer(toolbox, server, executor);
+    server.createContext("/", fake::handle);
+    server.setExecutor(executor);
+    server.start();
+    return fake;
+  }
+
+  /**
+   * Returns the URL to pass to {@code McpToolboxClient.builder().baseUrl(...)}.
+   *
+   * @return The MCP endpoint URL.
+   */
+  public String url() {
+    return "http://"
+        + server.getAddress().getAddress().getHostAddress()
+        + ":"
+        + server.getAddress().getPort()
+        + "/mcp";
+  }
+
+  /**
+   * Returns the number of HTTP requests received so far, including notifications.
+   *
+   * @return The request count.
+   */
+  public long requestCount() {
+    return requestCount.get();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requestCount.incrementAndGet();
+    try (exchange) {
+      if (!exchange.getRequestMethod().equals("POST")) {
+        send(exchange, 405, "");
+        return;
+      }
+      JsonNode request;
+      try {
+        request = objectMapper.readTree(exchange.getRequestBody().readAllBytes());
+      } catch (IOException e) {
+        send(exchange, 400, FakeToolbox.error(null, -32700, "Parse error"));
+        return;
+      }
+      if (!request.has("id")) {
+        send(exchange, 202, "");
+        return;
+      }
+      if (request.path("method").asText().equals("initialize")) {
+        exchange.getResponseHeaders().set("Mcp-Session-Id", UUID.randomUUID().toString());
+      }
+      long start = System.nanoTime();
+      TransportResponse response = toolbox.dispatch(request).join();
+      exchange
+          .getResponseHeaders()
+          .set(
+              "Server-Timing",
+              String.format(Locale.ROOT, "total;dur=%.3f", (System.nanoTime() - start) / 1e6));
+      send(exchange, response.getStatusCode(), response.getBody());
+    }
+  }
+
+  private static void send(HttpExchange exchange, int status, String body) throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+    if (bytes.length > 0 && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4 + 32);
+      try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+        gzip.write(bytes);
+      }
+      bytes = compressed.toByteArray();
+      exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+    }
+    exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+    if (bytes.length > 0) {
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(bytes);
+      }
+    }
+  }
+
+  /** Stops the server immediately. */
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
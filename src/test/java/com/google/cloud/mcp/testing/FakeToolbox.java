@@ -0,0 +1,395 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.testing;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.cloud.mcp.ToolDefinition;
+import com.google.cloud.mcp.TransportResponse;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A set of tools implemented by Java handlers, served without a toolbox binary: in-process through
+ * {@link #transport()}, over HTTP through {@link #startServer()}, over a Unix domain socket through
+ * {@link #startUnixSocketServer(Path)} or over WebSocket through {@link #startWebSocketServer()}.
+ * Latency, failures and response size can be injected so that benchmarks, load tests and resilience
+ * tests run hermetically.
+ *
+ * <pre>{@code
+ * FakeToolbox toolbox =
+ *     FakeToolbox.builder()
+ *         .tool("echo", new ToolDefinition("Echoes", List.of(), List.of()), args -> args.get("text"))
+ *         .latency(Duration.ofMillis(2))
+ *         .errorRate(0.01)
+ *         .build();
+ * McpToolboxClient client = McpToolboxClient.builder().transport(toolbox.transport()).build();
+ * }</pre>
+ */
+public final class FakeToolbox {
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final TypeReference<Map<String, Object>> ARGUMENTS_TYPE = new TypeReference<>() {};
+
+  private final Map<String, ToolDefinition> definitions;
+  private final Map<String, ToolHandler> handlers;
+  private final ServiceTime serviceTime;
+  private final double errorRate;
+  private final int payloadSize;
+  private final Random random; // guarded by itself
+
+  private FakeToolbox(Builder builder) {
+    this.definitions = Collections.unmodifiableMap(new LinkedHashMap<>(builder.definitions));
+    this.handlers = Map.copyOf(builder.handlers);
+    this.serviceTime = builder.serviceTime;
+    this.errorRate = builder.errorRate;
+    this.payloadSize = builder.payloadSize;
+    this.random = new Random(builder.seed);
+  }
+
+  /**
+   * Creates a new builder.
+   *
+   * @return A new builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the definitions of the registered tools, in registration order.
+   *
+   * @return The tool definitions keyed by name.
+   */
+  public Map<String, ToolDefinition> definitions() {
+    return definitions;
+  }
+
+  /**
+   * Creates a transport that calls the tool handlers directly, without any serialization of the
+   * request or network I/O.
+   *
+   * @return A new in-process transport.
+   */
+  public InProcessTransport transport() {
+    return new InProcessTransport(this);
+  }
+
+  /**
+   * Starts an MCP server on a free local port that serves these tools over HTTP.
+   *
+   * @return The running server; close it when done.
+   * @throws IOException If the server cannot be started.
+   */
+  public FakeMcpServer startServer() throws IOException {
+    return FakeMcpServer.start(this);
+  }
+
+  /**
+   * Starts an MCP server that serves these tools over a Unix domain socket, one JSON-RPC message
+   * per line, for use with {@code UnixSocketMcpTransport}.
+   *
+   * @param path Where to create the socket file; it must not exist.
+   * @return The running server; close it when done.
+   * @throws IOException If the server cannot be started.
+   */
+  public FakeUnixSocketServer startUnixSocketServer(Path path) throws IOException {
+    return FakeUnixSocketServer.start(this, path);
+  }
+
+  /**
+   * Starts an MCP server on a free local port that serves these tools over WebSocket, for use with
+   * {@code WebSocketMcpTransport}.
+   *
+   * @return The running server; close it when done.
+   * @throws IOException If the server cannot be started.
+   */
+  public FakeWebSocketServer startWebSocketServer() throws IOException {
+    return FakeWebSocketServer.start(this);
+  }
+
+  /**
+   * Answers a JSON-RPC request: {@code initialize}, {@code ping}, {@code tools/list} or {@code
+   * tools/call}.
+   *
+   * @param request The request; it must have an id.
+   * @return The response: a JSON-RPC message with status 200, or status 500 for injected failures.
+   */
+  CompletableFuture<TransportResponse> dispatch(JsonNode request) {
+    JsonNode id = request.get("id");
+    String method = request.path("method").asText();
+    switch (method) {
+      case "initialize":
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("protocolVersion", request.path("params").path("protocolVersion").asText(null));
+        result.putObject("capabilities").putObject("tools");
+        result.putObject("serverInfo").put("name", "fake-mcp-server");
+        return CompletableFuture.completedFuture(new TransportResponse(200, success(id, result)));
+      case "ping":
+        return CompletableFuture.completedFuture(
+            new TransportResponse(200, success(id, objectMapper.createObjectNode())));
+      case "tools/list":
+        return CompletableFuture.completedFuture(
+            new TransportResponse(200, success(id, toolsListResult())));
+      case "tools/call":
+        JsonNode params = request.path("params");
+        Map<String, Object> arguments =
+            params.has("arguments")
+                ? objectMapper.convertValue(params.get("arguments"), ARGUMENTS_TYPE)
+                : Map.of();
+        return call(id, params.path("name").asText(), arguments);
+      default:
+        return CompletableFuture.completedFuture(
+            new TransportResponse(200, error(id, -32601, "Method not found: " + method)));
+    }
+  }
+
+  static String success(JsonNode id, JsonNode result) {
+    ObjectNode response = objectMapper.createObjectNode();
+    response.put("jsonrpc", "2.0");
+    response.set("id", id);
+    response.set("result", result);
+    return response.toString();
+  }
+
+  static String error(JsonNode id, int code, String message) {
+    ObjectNode response = objectMapper.createObjectNode();
+    response.put("jsonrpc", "2.0");
+    response.set("id", id);
+    response.putObject("error").put("code", code).put("message", message);
+    return response.toString();
+  }
+
+  /**
+   * Invokes a tool, applying the configured service time, failures and response size.
+   *
+   * @param id The JSON-RPC id to answer with.
+   * @param toolName The tool to invoke.
+   * @param arguments The tool arguments.
+   * @return The response: a JSON-RPC message with status 200, or status 500 for injected failures.
+   */
+  CompletableFuture<TransportResponse> call(
+      JsonNode id, String toolName, Map<String, Object> arguments) {
+    if (serviceTime == null) {
+      return CompletableFuture.completedFuture(respond(id, toolName, arguments));
+    }
+    Duration delay;
+    synchronized (random) {
+      delay = serviceTime.sample(random);
+    }
+    return CompletableFuture.supplyAsync(
+        () -> respond(id, toolName, arguments),
+        CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS));
+  }
+
+  private TransportResponse respond(JsonNode id, String toolName, Map<String, Object> arguments) {
+    boolean fail;
+    synchronized (random) {
+      fail = errorRate > 0 && random.nextDouble() < errorRate;
+    }
+    if (fail) {
+      return new TransportResponse(500, "Injected failure");
+    }
+    ToolHandler handler = handlers.get(toolName);
+    if (handler == null) {
+      return new TransportResponse(200, error(id, -32602, "Unknown tool: " + toolName));
+    }
+    String text;
+    boolean isError = false;
+    try {
+      Object output = handler.handle(arguments != null ? arguments : Map.of());
+      text = output instanceof String ? (String) output : objectMapper.writeValueAsString(output);
+    } catch (Exception e) {
+      text = String.valueOf(e.getMessage());
+      isError = true;
+    }
+    if (text.length() < payloadSize) {
+      text = text + "x".repeat(payloadSize - text.length());
+    }
+    ObjectNode result = objectMapper.createObjectNode();
+    result.putArray("content").addObject().put("type", "text").put("text", text);
+    result.put("isError", isError);
+    return new TransportResponse(200, success(id, result));
+  }
+
+  /**
+   * Builds the {@code tools/list} result for these tools. A definition's own input schema is sent
+   * in place of the one generated from its parameters.
+   *
+   * @return The result object.
+   */
+  ObjectNode toolsListResult() {
+    ObjectNode result = objectMapper.createObjectNode();
+    ArrayNode tools = result.putArray("tools");
+    definitions.forEach(
+        (name, definition) -> {
+          ObjectNode tool = tools.addObject();
+          tool.put("name", name);
+          tool.put("description", definition.description());
+          ObjectNode schema = tool.putObject("inputSchema");
+          schema.put("type", "object");
+          ObjectNode properties = schema.putObject("properties");
+          ArrayNode required = schema.putArray("required");
+          ObjectNode meta = tool.putObject("_meta");
+          ObjectNode authParam = meta.putObject("toolbox/authParam");
+          if (definition.inputSchema() != null) {
+            tool.set("inputSchema", definition.inputSchema());
+          }
+          if (definition.parameters() != null) {
+            for (ToolDefinition.Parameter parameter : definition.parameters()) {
+              ObjectNode property = properties.putObject(parameter.name());
+              property.put("type", parameter.type());
+              property.put("description", parameter.description());
+              if (parameter.defaultValue() != null) {
+                property.set("default", objectMapper.valueToTree(parameter.defaultValue()));
+              }
+              if (parameter.required()) {
+                required.add(parameter.name());
+              }
+              if (parameter.authSources() != null && !parameter.authSources().isEmpty()) {
+                authParam.set(parameter.name(), objectMapper.valueToTree(parameter.authSources()));
+              }
+            }
+          }
+          if (definition.authRequired() != null) {
+            meta.set("toolbox/authInvoke", objectMapper.valueToTree(definition.authRequired()));
+          }
+          if (definition.readOnlyHint() != null) {
+            tool.put("readOnlyHint", definition.readOnlyHint());
+          }
+          if (definition.destructiveHint() != null) {
+            tool.put("destructiveHint", definition.destructiveHint());
+          }
+        });
+    return result;
+  }
+
+  /** Builder for {@link FakeToolbox}. */
+  public static final class Builder {
+    private final Map<String, ToolDefinition> definitions = new LinkedHashMap<>();
+    private final Map<String, ToolHandler> handlers = new LinkedHashMap<>();
+    private ServiceTime serviceTime;
+    private double errorRate;
+    private int payloadSize;
+    private long seed = 42;
+
+    private Builder() {}
+
+    /**
+     * Registers a tool.
+     *
+     * @param name The tool name.
+     * @param definition The definition returned by {@code tools/list}.
+     * @param handler Implements the tool.
+     * @return This builder.
+     */
+    public Builder tool(String name, ToolDefinition definition, ToolHandler handler) {
+      if (name == null || definition == null || handler == null) {
+        throw new IllegalArgumentException("Name, definition and handler must be provided");
+      }
+      definitions.put(name, definition);
+      handlers.put(name, handler);
+      return this;
+    }
+
+    /**
+     * Sets the delay added to every tool call. Defaults to none, in which case calls complete on
+     * the calling thread.
+     *
+     * @param latency The delay.
+     * @return This builder.
+     */
+    public Builder latency(Duration latency) {
+      if (latency == null || latency.isNegative()) {
+        throw new IllegalArgumentException("Latency must not be negative");
+      }
+      this.serviceTime = latency.isZero() ? null : ServiceTime.fixed(latency);
+      return this;
+    }
+
+    /**
+     * Sets the distribution of the delay added to every tool call, for load tests that need a
+     * realistic spread of service times. Replaces any fixed {@link #latency}.
+     *
+     * @param serviceTime The distribution, or null for no delay.
+     * @return This builder.
+     */
+    public Builder serviceTime(ServiceTime serviceTime) {
+      this.serviceTime = serviceTime;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of tool calls that fail with status 500. Defaults to 0.
+     *
+     * @param errorRate A value between 0 and 1.
+     * @return This builder.
+     */
+    public Builder errorRate(double errorRate) {
+      if (!(errorRate >= 0 && errorRate <= 1)) {
+        throw new IllegalArgumentException("Error rate must be between 0 and 1");
+      }
+      this.errorRate = errorRate;
+      return this;
+    }
+
+    /**
+     * Sets the minimum length of the text returned by every tool call; shorter output is padded.
+     * Defaults to 0.
+     *
+     * @param payloadSize The minimum length in characters.
+     * @return This builder.
+     */
+    public Builder payloadSize(int payloadSize) {
+      if (payloadSize < 0) {
+        throw new IllegalArgumentException("Payload size must not be negative");
+      }
+      this.payloadSize = payloadSize;
+      return this;
+    }
+
+    /**
+     * Sets the seed deciding which calls fail and how long they take, so that runs are repeatable.
+     * Defaults to 42.
+     *
+     * @param seed The random seed.
+     * @return This builder.
+     */
+    public Builder seed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Builds the toolbox.
+     *
+     * @return A new FakeToolbox.
+     */
+    public FakeToolbox build() {
+      return new FakeToolbox(this);
+    }
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.testing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.cloud.mcp.McpException;
+import com.google.cloud.mcp.McpToolboxClient;
+import com.google.cloud.mcp.ToolDefinition;
+import com.google.cloud.mcp.ToolResult;
+import com.google.cloud.mcp.Transport;
+import com.google.cloud.mcp.UnixSocketMcpTransport;
+import com.google.cloud.mcp.WebSocketMcpTransport;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+@Timeout(value = 5, unit = java.util.concurrent.TimeUnit.SECONDS)
+class FakeToolboxTest {
+
+  private static final ToolDefinition ECHO =
+      new ToolDefinition(
+          "Echoes its input",
+          List.of(
+              new ToolDefinition.Parameter("text", "string", true, "Text to echo", List.of()),
+              new ToolDefinition.Parameter(
+                  "user", "string", false, "Caller", List.of("google"), "anonymous")),
+          List.of(),
+          true,
+          false);
+
+  private static FakeToolbox.Builder toolbox() {
+    return FakeToolbox.builder()
+        .tool("echo", ECHO, args -> args.get("text"))
+        .tool(
+            "sum",
+            new ToolDefinition("Adds", List.of(), null),
+            args -> Map.of("sum", ((Number) args.get("a")).intValue() + 1))
+        .tool(
+            "fail",
+            new ToolDefinition("Fails", null, List.of()),
+            args -> {
+              throw new IllegalStateException("tool failed");
+            });
+  }
+
+  @Test
+  void testInProcessTransport_DispatchesToHandlers() throws Exception {
+    Transport transport = toolbox().payloadSize(8).build().transport();
+    McpToolboxClient client = McpToolboxClient.builder().transport(transport).build();
+
+    assertEquals(3, client.listTools().get().size());
+    assertEquals("hixxxxxx", text(client.invokeTool("echo", Map.of("text", "hi")).get()));
+    assertEquals("{\"sum\":2}", text(client.invokeTool("sum", Map.of("a", 1)).get()));
+    ToolResult failed = client.invokeTool("fail", Map.of()).get();
+    assertTrue(failed.isError());
+    assertTrue(text(failed).startsWith("tool failed"));
+    ToolResult unknown = client.invokeTool("missing", Map.of()).get();
+    assertTrue(unknown.isError());
+    assertEquals("in-process:", transport.getBaseUrl());
+
+    transport.close();
+    assertThrows(ExecutionException.class, () -> transport.listTools("", Map.of()).get());
+    ExecutionException e =
+        assertThrows(
+            ExecutionException.class, () -> transport.invokeTool("echo", Map.of(), null).get());
+    assertTrue(e.getCause() instanceof McpException);
+  }
+
+  @Test
+  void testInjectedLatencyAndErrors() throws Exception {
+    FakeToolbox toolbox = toolbox().latency(Duration.ofMillis(20)).errorRate(1).build();
+    McpToolboxClient client = McpToolboxClient.builder().transport(toolbox.transport()).build();
+
+    long start = System.nanoTime();
+    ToolResult result = client.invokeTool("echo", Map.of("text", "hi")).get();
+
+    assertTrue(System.nanoTime() - start >= Duration.ofMillis(20).toNanos());
+    assertTrue(result.isError());
+    assertEquals("Error 500: Injected failure", text(result));
+  }
+
+  @Test
+  void testFakeMcpServer_ServesToolsOverHttp() throws Exception {
+    try (FakeMcpServer server = toolbox().build().startServer()) {
+      McpToolboxClient client = McpToolboxClient.builder().baseUrl(server.url()).build();
+
+      Map<String, ToolDefinition> tools = client.loadToolset("any").get();
+      ToolResult result = client.invokeTool("echo", Map.of("text", "over http")).get();
+
+      ToolDefinition echo = tools.get("echo");
+      assertEquals(ECHO.description(), echo.description());
+      assertEquals(Boolean.TRUE, echo.readOnlyHint());
+      assertEquals(Boolean.FALSE, echo.destructiveHint());
+      ToolDefinition.Parameter user =
+          echo.parameters().stream().filter(p -> p.name().equals("user")).findFirst().get();
+      assertFalse(user.required());
+      assertEquals("anonymous", user.defaultValue());
+      assertEquals(List.of("google"), user.authSources());
+      assertEquals("over http", text(result));
+      assertTrue(server.requestCount() >= 4);
+    }
+  }
+
+  @Test
+  void testFakeMcpServer_AnswersProtocolErrors() throws Exception {
+    try (FakeMcpServer server = FakeToolbox.builder().build().startServer()) {
+      assertEquals(
+          405,
+          HttpClient.newHttpClient()
+              .send(get(server), HttpResponse.BodyHandlers.ofString())
+              .statusCode());
+      assertEquals(400, post(server, "not json").statusCode());
+      assertTrue(
+          post(server, "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"}")
+              .body()
+              .contains("\"result\":{}"));
+      assertTrue(
+          post(server, "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"resources/list\"}")
+              .body()
+              .contains("-32601"));
+      assertTrue(
+          post(server, "{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"tools/call\"}")
+              .body()
+              .contains("Unknown tool"));
+    }
+  }
+
+  @Test
+  void testFakeUnixSocketServer_ServesToolsOverSocket(@TempDir Path tempDir) throws Exception {
+    FakeToolbox toolbox = toolbox().latency(Duration.ofMillis(1)).errorRate(0.5).seed(1).build();
+    try (FakeUnixSocketServer server = toolbox.startUnixSocketServer(tempDir.resolve("mcp.sock"))) {
+      UnixSocketMcpTransport transport = new UnixSocketMcpTransport(server.path());
+      McpToolboxClient client = McpToolboxClient.builder().transport(transport).build();
+
+      assertEquals(3, client.listTools().get().size());
+      int failures = 0;
+      for (int i = 0; i < 20; i++) {
+        ToolResult result = client.invokeTool("echo", Map.of("text", "hi")).get();
+        if (result.isError()) {
+          assertTrue(text(result).contains("Injected failure"));
+          failures++;
+        } else {
+          assertEquals("hi", text(result));
+        }
+      }
+      assertTrue(failures > 0 && failures < 20);
+      transport.close();
+    }
+  }
+
+  @Test
+  void testFakeWebSocketServer_ServesToolsOverWebSocket() throws Exception {
+    FakeToolbox toolbox = toolbox().latency(Duration.ofMillis(1)).errorRate(0.5).seed(1).build();
+    try (FakeWebSocketServer server = toolbox.startWebSocketServer()) {
+      WebSocketMcpTransport transport = new WebSocketMcpTransport(server.url());
+      McpToolboxClient client = McpToolboxClient.builder().transport(transport).build();
+
+      assertEquals(3, client.listTools().get().size());
+      int failures = 0;
+      for (int i = 0; i < 20; i++) {
+        ToolResult result = client.invokeTool("echo", Map.of("text", "hi".repeat(100))).get();
+        if (result.isError()) {
+          assertTrue(text(result).contains("Injected failure"));
+          failures++;
+        } else {
+          assertEquals("hi".repeat(100), text(result));
+        }
+      }
+      assertTrue(failures > 0 && failures < 20);
+      transport.close();
+    }
+  }
+
+  @Test
+  void testServiceTimeDistributions() throws Exception {
+    Random random = new Random(3);
+    Duration ms = Duration.ofMillis(1);
+    assertEquals(ms, ServiceTime.fixed(ms).sample(random));
+    long total = 0;
+    for (int i = 0; i < 1000; i++) {
+      Duration uniform = ServiceTime.uniform(ms, ms.multipliedBy(3)).sample(random);
+      assertTrue(uniform.compareTo(ms) >= 0 && uniform.compareTo(ms.multipliedBy(3)) <= 0);
+      total += ServiceTime.exponential(ms).sample(random).toNanos();
+      assertFalse(ServiceTime.logNormal(ms, 1).sample(random).isNegative());
+    }
+    assertEquals(ms.toNanos(), total / 1000.0, ms.toNanos() * 0.2);
+    assertEquals(ms, ServiceTime.logNormal(ms, 0).sample(random));
+
+    FakeToolbox toolbox = toolbox().serviceTime(ServiceTime.fixed(Duration.ofMillis(20))).build();
+    McpToolboxClient client = McpToolboxClient.builder().transport(toolbox.transport()).build();
+    long start = System.nanoTime();
+    assertEquals("hi", text(client.invokeTool("echo", Map.of("text", "hi")).get()));
+    assertTrue(System.nanoTime() - start >= Duration.ofMillis(20).toNanos());
+
+    assertThrows(IllegalArgumentException.class, () -> ServiceTime.fixed(null));
+    assertThrows(IllegalArgumentException.class, () -> ServiceTime.exponential(ms.negated()));
+    assertThrows(IllegalArgumentException.class, () -> ServiceTime.uniform(ms.multipliedBy(2), ms));
+    assertThrows(IllegalArgumentException.class, () -> ServiceTime.logNormal(ms, -1));
+  }
+
+  @Test
+  void testBuilderValidation() {
+    FakeToolbox.Builder builder = FakeToolbox.builder();
+    assertThrows(IllegalArgumentException.class, () -> builder.tool(null, ECHO, args -> ""));
+    assertThrows(IllegalArgumentException.class, () -> builder.tool("t", null, args -> ""));
+    assertThrows(IllegalArgumentException.class, () -> builder.tool("t", ECHO, null));
+    assertThrows(IllegalArgumentException.class, () -> builder.latency(null));
+    assertThrows(IllegalArgumentException.class, () -> builder.latency(Duration.ofMillis(-1)));
+    assertThrows(IllegalArgumentException.class, () -> builder.errorRate(1.5));
+    assertThrows(IllegalArgumentException.class, () -> builder.errorRate(Double.NaN));
+    assertThrows(IllegalArgumentException.class, () -> builder.payloadSize(-1));
+    assertEquals(0, builder.seed(7).build().definitions().size());
+  }
+
+  private static String text(ToolResult result) {
+    return result.content().get(0).text();
+  }
+
+  private static HttpRequest get(FakeMcpServer server) {
+    return HttpRequest.newBuilder(URI.create(server.url())).GET().build();
+  }
+
+  /** Uses a new client, and so a new connection, since the server closes it after errors. */
+  private static HttpResponse<String> post(FakeMcpServer server, String body) throws Exception {
+    return HttpClient.newHttpClient()
+        .send(
+            HttpRequest.newBuilder(URI.create(server.url()))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.testing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An MCP server that serves the tools of a {@link FakeToolbox} over a Unix domain socket, one
+ * JSON-RPC message per line. Responses are written as soon as they are ready, so calls with
+ * injected latency may be answered out of order; injected failures are answered with a JSON-RPC
+ * error. Create instances with {@link FakeToolbox#startUnixSocketServer(Path)}.
+ */
+public final class FakeUnixSocketServer implements AutoCloseable {
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final FakeToolbox toolbox;
+  private final Path path;
+  private final ServerSocketChannel server;
+
+  private FakeUnixSocketServer(FakeToolbox toolbox, Path path, ServerSocketChannel server) {
+    this.toolbox = toolbox;
+    this.path = path;
+    this.server = server;
+  }
+
+  static FakeUnixSocketServer start(FakeToolbox toolbox, Path path) throws IOException {
+    ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+    server.bind(UnixDomainSocketAddress.of(path));
+    FakeUnixSocketServer fake = new FakeUnixSocketServer(toolbox, path, server);
+    Thread acceptor = new Thread(fake::accept, "fake-mcp-unix-server");
+    acceptor.setDaemon(true);
+    acceptor.start();
+    return fake;
+  }
+
+  /**
+   * Returns the path of the socket file.
+   *
+   * @return The socket path.
+   */
+  public Path path() {
+    return path;
+  }
+
+  private void accept() {
+    while (server.isOpen()) {
+      try {
+        SocketChannel socket = server.accept();
+        Thread connection = new Thread(() -> serve(socket), "fake-mcp-unix-connection");
+        connection.setDaemon(true);
+        connection.start();
+      } catch (IOException e) {
+        // Server closed.
+      }
+    }
+  }
+
+  private void serve(SocketChannel socket) {
+    try (socket) {
+      BufferedReader in =
+          new BufferedReader(
+              new InputStreamReader(Channels.newInputStream(socket), StandardCharsets.UTF_8));
+      String line;
+      while ((line = in.readLine()) != null) {
+        JsonNode request = objectMapper.readTree(line);
+        if (!request.has("id") || !request.has("method")) {
+          continue;
+        }
+        toolbox
+            .dispatch(request)
+            .thenAccept(
+                response ->
+                    write(
+                        socket,
+                        response.getStatusCode() == 200
+                            ? response.getBody()
+                            : FakeToolbox.error(request.get("id"), -32603, response.getBody())));
+      }
+    } catch (IOException e) {
+      // Client disconnected.
+    }
+  }
+
+  /**
+   * Writes to the channel directly: the stream returned by {@link Channels#newOutputStream} would
+   * wait for the reader, which holds the channel's blocking lock while it waits for input.
+   */
+  private static void write(SocketChannel socket, String message) {
+    ByteBuffer buffer = ByteBuffer.wrap((message + "\n").getBytes(StandardCharsets.UTF_8));
+    synchronized (socket) {
+      try {
+        while (buffer.hasRemaining()) {
+          socket.write(buffer);
+        }
+      } catch (IOException e) {
+        // Client disconnected.
+      }
+    }
+  }
+
+  /** Stops accepting connections and deletes the socket file. */
+  @Override
+  public void close() throws IOException {
+    server.close();
+    Files.deleteIfExists(path);
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.testing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * An MCP server that serves the tools of a {@link FakeToolbox} over WebSocket, one JSON-RPC message
+ * per text message. It implements just enough of RFC 6455 for {@code WebSocketMcpTransport}:
+ * unextended frames, fragmented messages, pings and closes. Responses are written as soon as they
+ * are ready, so calls with injected latency may be answered out of order; injected failures are
+ * answered with a JSON-RPC error. Create instances with {@link FakeToolbox#startWebSocketServer()}.
+ */
+public final class FakeWebSocketServer implements AutoCloseable {
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final String WEBSOCKET_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+  private static final int OPCODE_TEXT = 0x1;
+  private static final int OPCODE_CLOSE = 0x8;
+  private static final int OPCODE_PING = 0x9;
+  private static final int OPCODE_PONG = 0xA;
+
+  private final FakeToolbox toolbox;
+  private final ServerSocket server;
+
+  private FakeWebSocketServer(FakeToolbox toolbox, ServerSocket server) {
+    this.toolbox = toolbox;
+    this.server = server;
+  }
+
+  static FakeWebSocketServer start(FakeToolbox toolbox) throws IOException {
+    ServerSocket server = new ServerSocket(0, 1024, InetAddress.getLoopbackAddress());
+    FakeWebSocketServer fake = new FakeWebSocketServer(toolbox, server);
+    Thread acceptor = new Thread(fake::accept, "fake-mcp-websocket-server");
+    acceptor.setDaemon(true);
+    acceptor.start();
+    return fake;
+  }
+
+  /**
+   * Returns the URL of the MCP endpoint, for example {@code ws://127.0.0.1:12345/mcp/ws}.
+   *
+   * @return The endpoint URL.
+   */
+  public String url() {
+    return "ws://"
+        + server.getInetAddress().getHostAddress()
+        + ":"
+        + server.getLocalPort()
+        + "/mcp/ws";
+  }
+
+  private void accept() {
+    while (!server.isClosed()) {
+      try {
+        Socket socket = server.accept();
+        socket.setTcpNoDelay(true);
+        Thread connection = new Thread(() -> serve(socket), "fake-mcp-websocket-connection");
+        connection.setDaemon(true);
+        connection.start();
+      } catch (IOException e) {
+        // Server closed.
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (socket) {
+      InputStream rawIn = socket.getInputStream();
+      OutputStream out = socket.getOutputStream();
+      upgrade(rawIn, out);
+      DataInputStream in = new DataInputStream(rawIn);
+      ByteArrayOutputStream message = new ByteArrayOutputStream();
+      while (true) {
+        int first = in.readUnsignedByte();
+        int opcode = first & 0x0F;
+        byte[] payload = readPayload(in);
+        if (opcode == OPCODE_CLOSE) {
+          writeFrame(out, OPCODE_CLOSE, payload);
+          return;
+        } else if (opcode == OPCODE_PING) {
+          writeFrame(out, OPCODE_PONG, payload);
+          continue;
+        } else if (opcode == OPCODE_PONG) {
+          continue;
+        }
+        message.write(payload);
+        if ((first & 0x80) == 0) {
+          continue;
+        }
+        JsonNode request = objectMapper.readTree(message.toByteArray());
+        message.reset();
+        if (!request.has("id") || !request.has("method")) {
+          continue;
+        }
+        toolbox
+            .dispatch(request)
+            .thenAccept(
+                response ->
+                    writeText(
+                        out,
+                        response.getStatusCode() == 200
+                            ? response.getBody()
+                            : FakeToolbox.error(request.get("id"), -32603, response.getBody())));
+      }
+    } catch (IOException | NoSuchAlgorithmException e) {
+      // Client disconnected.
+    }
+  }
+
+  private static void upgrade(InputStream in, OutputStream out)
+      throws IOException, NoSuchAlgorithmException {
+    ByteArrayOutputStream head = new ByteArrayOutputStream();
+    while (!head.toString(StandardCharsets.US_ASCII).endsWith("\r\n\r\n")) {
+      int b = in.read();
+      if (b < 0) {
+        throw new IOException("Connection closed during handshake");
+      }
+      head.write(b);
+    }
+    String key = null;
+    for (String line : head.toString(StandardCharsets.US_ASCII).split("\r\n")) {
+      int colon = line.indexOf(':');
+      if (colon > 0
+          && line.substring(0, colon).trim().toLowerCase(Locale.ROOT).equals("sec-websocket-key")) {
+        key = line.substring(colon + 1).trim();
+      }
+    }
+    byte[] digest =
+        MessageDigest.getInstance("SHA-1")
+            .digest((key + WEBSOCKET_GUID).getBytes(StandardCharsets.US_ASCII));
+    out.write(
+        ("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                + "Sec-WebSocket-Accept: "
+                + Base64.getEncoder().encodeToString(digest)
+                + "\r\n\r\n")
+            .getBytes(StandardCharsets.US_ASCII));
+    out.flush();
+  }
+
+  /** Reads the rest of a client frame and unmasks its payload. */
+  private static byte[] readPayload(DataInputStream in) throws IOException {
+    int second = in.readUnsignedByte();
+    long length = second & 0x7F;
+    if (length == 126) {
+      length = in.readUnsignedShort();
+    } else if (length == 127) {
+      length = in.readLong();
+    }
+    byte[] mask = new byte[4];
+    boolean masked = (second & 0x80) != 0;
+    if (masked) {
+      in.readFully(mask);
+    }
+    byte[] payload = new byte[Math.toIntExact(length)];
+    in.readFully(payload);
+    if (masked) {
+      for (int i = 0; i < payload.length; i++) {
+        payload[i] ^= mask[i & 3];
+      }
+    }
+    return payload;
+  }
+
+  private static void writeText(OutputStream out, String message) {
+    try {
+      writeFrame(out, OPCODE_TEXT, message.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      // Client disconnected.
+    }
+  }
+
+  private static void writeFrame(OutputStream out, int opcode, byte[] payload) throws IOException {
+    synchronized (out) {
+      out.write(0x80 | opcode);
+      if (payload.length < 126) {
+        out.write(payload.length);
+      } else if (payload.length <= 0xFFFF) {
+        out.write(126);
+        out.write(payload.length >>> 8);
+        out.write(payload.length & 0xFF);
+      } else {
+        out.write(127);
+        long length = payload.length;
+        for (int shift = 56; shift >= 0; shift -= 8) {
+          out.write((int) (length >>> shift) & 0xFF);
+        }
+      }
+      out.write(payload);
+      out.flush();
+    }
+  }
+
+  /** Stops accepting connections. Open connections end when their clients disconnect. */
+  @Override
+  public void close() throws IOException {
+    server.close();
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.testing;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.google.cloud.mcp.McpException;
+import com.google.cloud.mcp.Transport;
+import com.google.cloud.mcp.TransportManifest;
+import com.google.cloud.mcp.TransportResponse;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link Transport} that dispatches tool calls directly to the handlers of a {@link FakeToolbox}.
+ * Only the response is serialized, since the client parses it like any other transport's, so the
+ * measured cost is that of the SDK itself. Every toolset name returns all tools. Create instances
+ * with {@link FakeToolbox#transport()}.
+ */
+public final class InProcessTransport implements Transport {
+  private static final TextNode ID = TextNode.valueOf("in-process");
+
+  private final FakeToolbox toolbox;
+  private volatile boolean closed;
+
+  InProcessTransport(FakeToolbox toolbox) {
+    this.toolbox = toolbox;
+  }
+
+  @Override
+  public String getBaseUrl() {
+    return "in-process:";
+  }
+
+  @Override
+  public CompletableFuture<TransportManifest> listTools(
+      String toolsetName, Map<String, String> metadata) {
+    if (closed) {
+      return CompletableFuture.failedFuture(new McpException("Transport is closed"));
+    }
+    return CompletableFuture.completedFuture(new TransportManifest(toolbox.definitions()));
+  }
+
+  @Override
+  public CompletableFuture<TransportResponse> invokeTool(
+      String toolName, Map<String, Object> arguments, Map<String, String> metadata) {
+    if (closed) {
+      return CompletableFuture.failedFuture(new McpException("Transport is closed"));
+    }
+    return toolbox.call(ID, toolName, arguments);
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+}
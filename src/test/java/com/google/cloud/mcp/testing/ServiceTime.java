@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.testing;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * The distribution of the time a {@link FakeToolbox} takes to answer a tool call. Real tools rarely
+ * take a fixed time: use {@link #exponential} or {@link #logNormal} to model the long tail that
+ * load tests need to exercise.
+ */
+@FunctionalInterface
+public interface ServiceTime {
+
+  /**
+   * Draws the service time of one call.
+   *
+   * @param random The toolbox's seeded source of randomness.
+   * @return A non-negative duration.
+   */
+  Duration sample(Random random);
+
+  /**
+   * Returns a constant service time.
+   *
+   * @param duration The service time.
+   * @return The distribution.
+   */
+  static ServiceTime fixed(Duration duration) {
+    requireNonNegative(duration);
+    return random -> duration;
+  }
+
+  /**
+   * Returns service times spread evenly between two bounds.
+   *
+   * @param min The shortest service time.
+   * @param max The longest service time.
+   * @return The distribution.
+   */
+  static ServiceTime uniform(Duration min, Duration max) {
+    requireNonNegative(min);
+    requireNonNegative(max);
+    if (max.compareTo(min) < 0) {
+      throw new IllegalArgumentException("Maximum must not be less than minimum");
+    }
+    long span = max.toNanos() - min.toNanos();
+    return random -> min.plusNanos((long) (random.nextDouble() * span));
+  }
+
+  /**
+   * Returns exponentially distributed service times, as for a server whose calls complete
+   * independently of each other.
+   *
+   * @param mean The mean service time.
+   * @return The distribution.
+   */
+  static ServiceTime exponential(Duration mean) {
+    requireNonNegative(mean);
+    long nanos = mean.toNanos();
+    return random -> Duration.ofNanos((long) (-Math.log(1 - random.nextDouble()) * nanos));
+  }
+
+  /**
+   * Returns log-normally distributed service times: most calls take about the median, and a few
+   * take many times longer.
+   *
+   * @param median The median service time.
+   * @param sigma The standard deviation of the logarithm; 0.5 gives a p99 of about three times the
+   *     median, 1 of about ten times.
+   * @return The distribution.
+   */
+  static ServiceTime logNormal(Duration median, double sigma) {
+    requireNonNegative(median);
+    if (!(sigma >= 0)) {
+      throw new IllegalArgumentException("Sigma must not be negative");
+    }
+    long nanos = median.toNanos();
+    return random -> Duration.ofNanos((long) (nanos * Math.exp(sigma * random.nextGaussian())));
+  }
+
+  private static void requireNonNegative(Duration duration) {
+    if (duration == null || duration.isNegative()) {
+      throw new IllegalArgumentException("Service time must not be negative");
+    }
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 Google LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.cloud.mcp.testing;
+
+import java.util.Map;
+
+/** A functional interface for implementing a tool served by a {@link FakeToolbox}. */
+@FunctionalInterface
+public interface ToolHandler {
+
+  /**
+   * Handles one invocation of the tool.
+   *
+   * @param arguments The arguments sent by the client.
+   * @return The tool output. Strings are returned as text; anything else is serialized to JSON.
+   * @throws Exception If the tool fails; the client receives an error result with the message.
+   */
+  Object handle(Map<String, Object> arguments) throws Exception;
+}